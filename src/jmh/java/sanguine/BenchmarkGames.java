@@ -0,0 +1,98 @@
+package sanguine;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import sanguine.controller.FillFirstStrategy;
+import sanguine.controller.Move;
+import sanguine.model.Card;
+import sanguine.model.Player;
+import sanguine.model.SanguineGame;
+
+/**
+ * Builds the positions the benchmarks run on: games dealt from the example deck config, repeated
+ * as often as the board needs, shuffled with a fixed seed and played with random legal moves
+ * until about half of the board is filled, so every run measures the same mid-game positions.
+ * Seeds whose position leaves the player to move without a legal move are skipped, so every
+ * strategy has a decision to make.
+ */
+public final class BenchmarkGames {
+  /**
+   * The deck config the benchmark games are dealt from.
+   */
+  public static final String CONFIG = "deck.config";
+
+  private BenchmarkGames() {
+  }
+
+  /**
+   * Creates a mid-game position.
+   *
+   * @param board the board size as rows, an x and columns, such as {@code 3x5}
+   * @param handSize the hand size of each player
+   * @param seed the first seed of the shuffle and the random moves to try
+   * @return the position, with about half of the board filled
+   * @throws IllegalArgumentException if the board size is not formatted correctly
+   */
+  public static SanguineGame midGame(String board, int handSize, long seed) {
+    String[] size = board.split("x");
+    if (size.length != 2) {
+      throw new IllegalArgumentException("Board size must look like 3x5");
+    }
+    int rows = Integer.parseInt(size[0]);
+    int cols = Integer.parseInt(size[1]);
+    FillFirstStrategy legalMoves = new FillFirstStrategy();
+    for (long next = seed; ; next++) {
+      SanguineGame game = play(rows, cols, handSize, next);
+      if (!game.gameOver() && !legalMoves.generateMoves(game).isEmpty()) {
+        return game;
+      }
+    }
+  }
+
+  //plays random legal moves for about half as many turns as there are cells
+  private static SanguineGame play(int rows, int cols, int handSize, long seed) {
+    Random random = new Random(seed);
+    List<Card> red = deck(Player.RED, rows * cols);
+    List<Card> blue = deck(Player.BLUE, rows * cols);
+    Collections.shuffle(red, random);
+    Collections.shuffle(blue, random);
+    SanguineGame game = new SanguineGame(red, blue);
+    game.startGame(rows, cols, handSize, false);
+
+    FillFirstStrategy legalMoves = new FillFirstStrategy();
+    for (int turn = 0; turn < rows * cols / 2 && !game.gameOver(); turn++) {
+      List<Move> moves = legalMoves.generateMoves(game);
+      if (moves.isEmpty()) {
+        game.pass();
+      } else {
+        Move move = moves.get(random.nextInt(moves.size()));
+        game.playCard(move.getCard(), move.getRow(), move.getCol());
+      }
+    }
+    return game;
+  }
+
+  /**
+   * Loads the deck config for a player, repeated until it has at least the given number of
+   * cards.
+   *
+   * @param player the player the deck is for
+   * @param cards the fewest cards the deck needs
+   * @return the deck
+   */
+  public static List<Card> deck(Player player, int cards) {
+    try {
+      List<Card> config = Sanguine.loadConfig(CONFIG, player);
+      List<Card> deck = new ArrayList<>();
+      while (deck.size() < cards) {
+        deck.addAll(config);
+      }
+      return deck;
+    } catch (FileNotFoundException e) {
+      throw new IllegalStateException("Benchmarks run from the project directory", e);
+    }
+  }
+}
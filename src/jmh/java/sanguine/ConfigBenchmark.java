@@ -0,0 +1,36 @@
+package sanguine;
+
+import java.io.FileNotFoundException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import sanguine.model.Card;
+import sanguine.model.Player;
+
+/**
+ * Measures parsing the deck config file into cards.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigBenchmark {
+
+  /**
+   * Reads and parses the example deck config.
+   *
+   * @return the parsed deck
+   * @throws FileNotFoundException if the benchmark does not run from the project directory
+   */
+  @Benchmark
+  public List<Card> loadConfig() throws FileNotFoundException {
+    return Sanguine.loadConfig(BenchmarkGames.CONFIG, Player.RED);
+  }
+}
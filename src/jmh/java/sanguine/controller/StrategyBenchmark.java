@@ -0,0 +1,70 @@
+package sanguine.controller;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sanguine.BenchmarkGames;
+import sanguine.model.SanguineGame;
+
+/**
+ * Measures how long every strategy takes to choose a move in a mid-game position of every board
+ * and hand size. Strategies that keep state between turns would answer later calls from what
+ * they kept, so every call gets a strategy created from its description.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StrategyBenchmark {
+  //parameters are public so the code JMH generates in another package can set them
+  @Param({"fillfirst", "maxrow", "control", "minimax", "endgame", "mcts", "expectimax"})
+  public String strategy;
+
+  @Param({"3x5", "5x7", "7x9"})
+  public String board;
+
+  @Param({"3", "5", "7"})
+  public int handSize;
+
+  private SanguineGame game;
+  private Strategy fresh;
+
+  /**
+   * Creates the position.
+   */
+  @Setup
+  public void setUp() {
+    this.game = BenchmarkGames.midGame(this.board, this.handSize, 42);
+  }
+
+  /**
+   * Creates the strategy for the next call, outside of the measured time.
+   */
+  @Setup(Level.Invocation)
+  public void createStrategy() {
+    this.fresh = Strategies.create(this.strategy);
+  }
+
+  /**
+   * Chooses a move.
+   *
+   * @return the moves the strategy offers
+   */
+  @Benchmark
+  public List<Move> generateMoves() {
+    return this.fresh.generateMoves(this.game);
+  }
+}
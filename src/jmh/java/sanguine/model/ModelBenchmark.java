@@ -0,0 +1,132 @@
+package sanguine.model;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sanguine.BenchmarkGames;
+
+/**
+ * Measures the hot paths of the model that every strategy calls many times per move: playing a
+ * card on a board, the row and total scores, the game over check and copying the cells. Each
+ * runs on a mid-game position of every board and hand size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelBenchmark {
+  //parameters are public so the code JMH generates in another package can set them
+  @Param({"3x5", "5x7", "7x9"})
+  public String board;
+
+  @Param({"3", "5", "7"})
+  public int handSize;
+
+  private SanguineGame game;
+  private List<List<Cell>> cells;
+  private Card card;
+  private int row;
+  private int col;
+
+  /**
+   * Creates the position and finds a card in either hand that can be played in it, since the
+   * board does not check whose turn it is.
+   */
+  @Setup
+  public void setUp() {
+    this.game = BenchmarkGames.midGame(this.board, this.handSize, 42);
+    this.cells = this.game.getBoard().getCells();
+    for (Player player : Player.values()) {
+      for (Card candidate : this.game.getPlayerHand(player)) {
+        for (int r = 0; r < this.game.getNumRows(); r++) {
+          for (int c = 0; c < this.game.getNumCols(); c++) {
+            Cell cell = this.game.getCell(r, c);
+            if (this.card == null && cell instanceof PawnCell && cell.getPlayer() == player
+                    && candidate.getCost() <= cell.getValue()) {
+              this.card = candidate;
+              this.row = r;
+              this.col = c;
+            }
+          }
+        }
+      }
+    }
+    if (this.card == null) {
+      throw new IllegalStateException("The position has no legal move");
+    }
+  }
+
+  /**
+   * Copies the board, the baseline of {@link #playCard()}.
+   *
+   * @return the copy
+   */
+  @Benchmark
+  public InfluenceBoard copyBoard() {
+    return new InfluenceBoard(this.cells);
+  }
+
+  /**
+   * Plays a card on a copy of the board, as searching strategies do for every move they try.
+   *
+   * @return the board after the move
+   */
+  @Benchmark
+  public InfluenceBoard playCard() {
+    InfluenceBoard copy = new InfluenceBoard(this.cells);
+    copy.playCard(this.card, this.row, this.col);
+    return copy;
+  }
+
+  /**
+   * Scores the middle row for the player to move.
+   *
+   * @return the row score
+   */
+  @Benchmark
+  public int getRowScore() {
+    return this.game.getRowScore(this.game.getNumRows() / 2, this.game.getCurrentPlayer());
+  }
+
+  /**
+   * Scores the whole board for the player to move.
+   *
+   * @return the total score
+   */
+  @Benchmark
+  public int getTotalScore() {
+    return this.game.getTotalScore(this.game.getCurrentPlayer());
+  }
+
+  /**
+   * Checks whether the game is over.
+   *
+   * @return whether the game is over
+   */
+  @Benchmark
+  public boolean gameOver() {
+    return this.game.gameOver();
+  }
+
+  /**
+   * Copies the cells of the board, as views and strategies do to read the board.
+   *
+   * @return the copied cells
+   */
+  @Benchmark
+  public List<List<Cell>> getCells() {
+    return this.game.getBoard().getCells();
+  }
+}
@@ -1,16 +1,30 @@
 package sanguine;
 
+import java.awt.Window;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
+import javax.swing.SwingUtilities;
+import sanguine.controller.AsyncMachinePlayer;
+import sanguine.controller.DecisionTrace;
 import sanguine.controller.HumanPlayer;
 import sanguine.controller.PlayerActions;
+import sanguine.controller.Ponderer;
+import sanguine.controller.PonderingStrategy;
 import sanguine.controller.SanguineController;
 import sanguine.controller.SanguineGuiController;
+import sanguine.controller.Strategies;
+import sanguine.controller.Strategy;
+import sanguine.controller.TurnScheduler;
 import sanguine.model.Card;
 import sanguine.model.Coordinate;
+import sanguine.model.GameSave;
 import sanguine.model.InfluenceCard;
 import sanguine.model.Player;
 import sanguine.model.SanguineGame;
@@ -23,7 +37,14 @@ import sanguine.view.SanguineView;
  */
 public final class Sanguine {
   /**
-   * The main method that reads a config file for the possible deck of influence cards.
+   * The main method that reads a config file for the possible deck of influence cards. The
+   * arguments are the config file name, rows, columns, hand size and whether to shuffle,
+   * optionally followed by the red and blue players, each either "human" or a strategy
+   * description such as "endgame:maxrow". Setting the {@code sanguine.trace} system property to a
+   * number of records traces the decisions of machine players and prints them when the game
+   * ends. Setting the {@code sanguine.save} system property to a file saves the game there after
+   * every move and, if the file already exists, carries on the saved game instead of dealing a
+   * new one.
    *
    * @param args an array of arguments from the command line
    */
@@ -36,18 +57,40 @@ public final class Sanguine {
     int cols = Integer.parseInt(args[2]);
     int handSize = Integer.parseInt(args[3]);
     boolean shuffle = Boolean.parseBoolean(args[4]);
+    //the views, controllers and turn scheduler are only used on the event dispatch thread, which
+    //is also where machine players publish their moves
+    SwingUtilities.invokeLater(() -> start(args, rows, cols, handSize, shuffle));
+  }
+
+  //sets up the game, the players and their windows and starts the game
+  private static void start(String[] args, int rows, int cols, int handSize, boolean shuffle) {
     try {
       //reads the configuration file twice to give the model a deck for each player
-      SanguineModel model = new SanguineGame(loadConfig(args[0], Player.RED),
+      SanguineGame model = new SanguineGame(loadConfig(args[0], Player.RED),
               loadConfig(args[0], Player.BLUE));
       //creates windows for each player to interact with
       SanguineView redView = new SanguineFrame(model, Player.RED);
       SanguineView blueView = new SanguineFrame(model, Player.BLUE);
       //sets up players and controllers for each of the players
-      PlayerActions redPlayer = new HumanPlayer(Player.RED);
-      PlayerActions bluePlayer = new HumanPlayer(Player.BLUE);
-      SanguineController redController = new SanguineGuiController(redView, model, redPlayer);
-      SanguineController blueController = new SanguineGuiController(blueView, model, bluePlayer);
+      PlayerActions redPlayer = createPlayer(args, 5, Player.RED, model, redView);
+      PlayerActions bluePlayer = createPlayer(args, 6, Player.BLUE, model, blueView);
+      //both controllers share one scheduler so machine players take turns one after another
+      TurnScheduler scheduler = new TurnScheduler();
+      SanguineController redController = new SanguineGuiController(redView, model, redPlayer,
+              scheduler);
+      SanguineController blueController = new SanguineGuiController(blueView, model, bluePlayer,
+              scheduler);
+      String saveFile = System.getProperty("sanguine.save");
+      if (saveFile != null) {
+        GameSave save = new GameSave(Path.of(saveFile));
+        //restored after the controllers subscribe, so they play on from the saved turn
+        if (save.exists()) {
+          save.restore(model);
+          rows = model.getNumRows();
+          cols = model.getNumCols();
+        }
+        model.setCheckpoint(save);
+      }
       //uses the user inputs to start the game
       blueController.playGame(rows, cols, handSize, shuffle);
       redController.playGame(rows, cols, handSize, shuffle);
@@ -56,12 +99,58 @@ public final class Sanguine {
       redView.makeVisible();
     }  catch (FileNotFoundException e) {
       System.out.println("Configuration file not found");
+    } catch (IOException e) {
+      System.out.println("Could not restore the saved game: " + e.getMessage());
     } catch (NumberFormatException e) {
       System.out.println("Please input valid row, column, and card hand size numbers");
     }
   }
 
-  private static List<Card> loadConfig(String config, Player player)
+  //creates a human player unless the argument at the index describes a strategy, in which case
+  //the strategy thinks in the background, ponders during the opponent's turn if it can, and
+  //stops when the player's window closes
+  private static PlayerActions createPlayer(String[] args, int index, Player player,
+                                            SanguineModel model, SanguineView view) {
+    if (args.length <= index || args[index].equals("human")) {
+      return new HumanPlayer(player);
+    }
+    Strategy strategy = Strategies.create(args[index]);
+    AsyncMachinePlayer machine = new AsyncMachinePlayer(player, strategy,
+            SwingUtilities::invokeLater, latency -> System.out.printf("%s took %.1f ms%n",
+            player, latency / 1e6));
+    int traceRecords = Integer.getInteger("sanguine.trace", 0);
+    if (traceRecords > 0) {
+      DecisionTrace trace = new DecisionTrace(traceRecords);
+      machine.setTrace(trace);
+      trace.dumpWhenOver(model, System.out::print);
+    }
+    //subscribes before the controllers so the ponder stops before the next turn starts
+    Ponderer ponderer = strategy instanceof PonderingStrategy
+            ? new Ponderer(model, player, (PonderingStrategy) strategy) : null;
+    if (view instanceof Window) {
+      ((Window) view).addWindowListener(new WindowAdapter() {
+        @Override
+        public void windowClosing(WindowEvent e) {
+          machine.close();
+          if (ponderer != null) {
+            ponderer.close();
+          }
+        }
+      });
+    }
+    return machine;
+  }
+
+  /**
+   * Reads a deck configuration file from the docs directory into a deck of cards for a player.
+   *
+   * @param config the name of the configuration file in the docs directory
+   * @param player the player the deck is for
+   * @return the cards of the deck in file order
+   * @throws IllegalArgumentException if the file is not formatted correctly
+   * @throws FileNotFoundException if the file does not exist
+   */
+  public static List<Card> loadConfig(String config, Player player)
           throws IllegalArgumentException, FileNotFoundException {
     List<Card> cards = new ArrayList<>();
     String path = "docs" + File.separator + config;
@@ -0,0 +1,46 @@
+package sanguine;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Path;
+import sanguine.controller.GameArchive;
+import sanguine.controller.JournalReplayer;
+import sanguine.model.Player;
+
+/**
+ * Indexes the games of a game journal added since the last run into a game archive, so the
+ * positions they reached can be looked up, and prints how the indexing went.
+ */
+public final class SanguineArchive {
+  /**
+   * Reads the deck config the games were dealt from and indexes the journal. The arguments are
+   * the deck config file name, the journal file, the archive directory and optionally the number
+   * of threads, which defaults to one per processor.
+   *
+   * @param args an array of arguments from the command line
+   */
+  public static void main(String[] args) {
+    if (args.length < 3) {
+      throw new IllegalArgumentException("Usage: config journal archive [threads]");
+    }
+    try {
+      JournalReplayer replayer = new JournalReplayer(Sanguine.loadConfig(args[0], Player.RED),
+              Sanguine.loadConfig(args[0], Player.BLUE));
+      int threads = args.length > 3 ? Integer.parseInt(args[3])
+              : Runtime.getRuntime().availableProcessors();
+      try (GameArchive archive = GameArchive.open(Path.of(args[2]))) {
+        System.out.print(archive.index(Path.of(args[1]), replayer, threads).report());
+        System.out.printf("%d games indexed in %d segments%n", archive.getIndexedGames(),
+                archive.getSegmentCount());
+      }
+    } catch (FileNotFoundException e) {
+      System.out.println("Configuration file not found");
+    } catch (IOException e) {
+      System.out.println("Could not index the game journal: " + e.getMessage());
+    } catch (NumberFormatException e) {
+      System.out.println("Please input a valid number of threads");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
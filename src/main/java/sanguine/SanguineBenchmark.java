@@ -0,0 +1,43 @@
+package sanguine;
+
+import java.io.FileNotFoundException;
+import sanguine.controller.SearchBenchmark;
+import sanguine.model.Player;
+
+/**
+ * Prints how many positions the endgame solver visits per solve at increasing depths, with and
+ * without the history and killer move ordering heuristics.
+ */
+public final class SanguineBenchmark {
+  /**
+   * Reads the deck config, board and benchmark arguments and prints one line per depth. The
+   * arguments are the deck config file name, rows, columns, hand size, the deepest number of
+   * open cells to solve from and the number of positions per depth.
+   *
+   * @param args an array of arguments from the command line
+   */
+  public static void main(String[] args) {
+    if (args.length < 6) {
+      throw new IllegalArgumentException("Usage: config rows cols handSize maxDepth positions");
+    }
+    try {
+      SearchBenchmark benchmark = new SearchBenchmark(Sanguine.loadConfig(args[0], Player.RED),
+              Sanguine.loadConfig(args[0], Player.BLUE), Integer.parseInt(args[1]),
+              Integer.parseInt(args[2]), Integer.parseInt(args[3]));
+      int maxDepth = Integer.parseInt(args[4]);
+      int positions = Integer.parseInt(args[5]);
+      System.out.println("depth  swing-only nodes  with heuristics  ratio");
+      for (int depth = 1; depth <= maxDepth; depth++) {
+        long plain = benchmark.nodesToDepth(depth, positions, 0, false);
+        long ordered = benchmark.nodesToDepth(depth, positions, 0, true);
+        System.out.println(String.format("%5d  %16.1f  %15.1f  %5.2f", depth,
+                (double) plain / positions, (double) ordered / positions,
+                (double) ordered / plain));
+      }
+    } catch (FileNotFoundException e) {
+      System.out.println("Configuration file not found");
+    } catch (NumberFormatException e) {
+      System.out.println("Please input valid board, hand, depth and position numbers");
+    }
+  }
+}
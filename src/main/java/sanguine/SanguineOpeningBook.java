@@ -0,0 +1,50 @@
+package sanguine;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Path;
+import sanguine.controller.OpeningBookGenerator;
+import sanguine.controller.Strategies;
+import sanguine.model.Player;
+
+/**
+ * Generates an opening book from self-play for one board size and deck.
+ */
+public final class SanguineOpeningBook {
+  /**
+   * Reads the deck config, board and self-play arguments and writes the opening book. The
+   * arguments are the deck config file name, rows, columns, hand size, number of games, number
+   * of moves to record per game, number of threads, the self-play strategy description and the
+   * output file.
+   *
+   * @param args an array of arguments from the command line
+   */
+  public static void main(String[] args) {
+    if (args.length < 9) {
+      throw new IllegalArgumentException("Usage: config rows cols handSize games plies threads "
+              + "strategy output");
+    }
+    try {
+      String strategy = args[7];
+      //checks the description before starting any games
+      Strategies.create(strategy);
+      OpeningBookGenerator generator = new OpeningBookGenerator(
+              Sanguine.loadConfig(args[0], Player.RED), Sanguine.loadConfig(args[0], Player.BLUE),
+              Integer.parseInt(args[1]), Integer.parseInt(args[2]), Integer.parseInt(args[3]),
+              () -> Strategies.create(strategy));
+      long start = System.nanoTime();
+      int moves = generator.generate(Long.parseLong(args[4]), Integer.parseInt(args[5]),
+              Integer.parseInt(args[6]), Path.of(args[8]));
+      System.out.println("Recorded " + moves + " book moves in "
+              + (System.nanoTime() - start) / 1_000_000 + " ms");
+    } catch (FileNotFoundException e) {
+      System.out.println("Configuration file not found");
+    } catch (NumberFormatException e) {
+      System.out.println("Please input valid board, hand, game, ply and thread numbers");
+    } catch (IOException e) {
+      System.out.println("Could not write opening book: " + e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package sanguine;
+
+import java.io.FileNotFoundException;
+import sanguine.controller.RatingHarness;
+import sanguine.controller.Strategies;
+import sanguine.model.Player;
+
+/**
+ * Rates a pool of machine players with Glicko-2 and prints the ranking.
+ */
+public final class SanguineRatings {
+  /**
+   * Reads the deck config, board and rating arguments and rates the strategies. The arguments
+   * are the deck config file name, rows, columns, hand size, the game budget, matches per
+   * rating round, number of threads, the seed and then two or more strategy descriptions.
+   *
+   * @param args an array of arguments from the command line
+   */
+  public static void main(String[] args) {
+    if (args.length < 10) {
+      throw new IllegalArgumentException("Usage: config rows cols handSize maxGames "
+              + "matchesPerRound threads seed strategy strategy...");
+    }
+    try {
+      RatingHarness harness = new RatingHarness(Sanguine.loadConfig(args[0], Player.RED),
+              Sanguine.loadConfig(args[0], Player.BLUE), Integer.parseInt(args[1]),
+              Integer.parseInt(args[2]), Integer.parseInt(args[3]));
+      for (int i = 8; i < args.length; i++) {
+        String description = args[i];
+        //checks the description before starting any games
+        Strategies.create(description);
+        harness.addEntrant(description, () -> Strategies.create(description));
+      }
+      System.out.print(harness.run(Integer.parseInt(args[4]), Integer.parseInt(args[5]),
+              Integer.parseInt(args[6]), Long.parseLong(args[7])).report());
+    } catch (FileNotFoundException e) {
+      System.out.println("Configuration file not found");
+    } catch (NumberFormatException e) {
+      System.out.println("Please input valid board, hand, game, thread and seed numbers");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
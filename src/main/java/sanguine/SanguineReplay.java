@@ -0,0 +1,41 @@
+package sanguine;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Path;
+import sanguine.controller.JournalReplayer;
+import sanguine.model.Player;
+
+/**
+ * Replays every game of a game journal without any windows and prints which games no longer
+ * replay as recorded, for checking recorded games against a change to the rules.
+ */
+public final class SanguineReplay {
+  /**
+   * Reads the deck config the games were dealt from and replays the journal. The arguments are
+   * the deck config file name, the journal file and optionally the number of threads, which
+   * defaults to one per processor.
+   *
+   * @param args an array of arguments from the command line
+   */
+  public static void main(String[] args) {
+    if (args.length < 2) {
+      throw new IllegalArgumentException("Usage: config journal [threads]");
+    }
+    try {
+      JournalReplayer replayer = new JournalReplayer(Sanguine.loadConfig(args[0], Player.RED),
+              Sanguine.loadConfig(args[0], Player.BLUE));
+      int threads = args.length > 2 ? Integer.parseInt(args[2])
+              : Runtime.getRuntime().availableProcessors();
+      System.out.print(replayer.replay(Path.of(args[1]), threads, null).report());
+    } catch (FileNotFoundException e) {
+      System.out.println("Configuration file not found");
+    } catch (IOException e) {
+      System.out.println("Could not read the game journal: " + e.getMessage());
+    } catch (NumberFormatException e) {
+      System.out.println("Please input a valid number of threads");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
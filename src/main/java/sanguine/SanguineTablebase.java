@@ -0,0 +1,47 @@
+package sanguine;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Path;
+import sanguine.controller.EndgameStrategy;
+import sanguine.controller.TablebaseGenerator;
+import sanguine.model.Player;
+
+/**
+ * Generates an endgame tablebase offline for one board size and deck.
+ */
+public final class SanguineTablebase {
+  /**
+   * Reads the deck config and board arguments and writes the tablebase. The arguments are the
+   * deck config file name, rows, columns, hand size, number of games, number of threads, the
+   * checkpoint directory and the output file. Running again with the same checkpoint directory
+   * resumes where an interrupted run stopped.
+   *
+   * @param args an array of arguments from the command line
+   */
+  public static void main(String[] args) {
+    if (args.length < 8) {
+      throw new IllegalArgumentException("Usage: config rows cols handSize games threads "
+              + "checkpointDir output");
+    }
+    try {
+      TablebaseGenerator generator = new TablebaseGenerator(
+              Sanguine.loadConfig(args[0], Player.RED), Sanguine.loadConfig(args[0], Player.BLUE),
+              Integer.parseInt(args[1]), Integer.parseInt(args[2]), Integer.parseInt(args[3]),
+              EndgameStrategy.DEFAULT_MAX_OPEN_CELLS, EndgameStrategy.DEFAULT_MAX_HAND_CARDS);
+      long start = System.nanoTime();
+      int positions = generator.generate(Long.parseLong(args[4]), 1000,
+              Integer.parseInt(args[5]), Path.of(args[6]), Path.of(args[7]));
+      System.out.println("Solved " + positions + " positions in "
+              + (System.nanoTime() - start) / 1_000_000 + " ms");
+    } catch (FileNotFoundException e) {
+      System.out.println("Configuration file not found");
+    } catch (NumberFormatException e) {
+      System.out.println("Please input valid board, hand, game and thread numbers");
+    } catch (IOException e) {
+      System.out.println("Could not write tablebase: " + e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package sanguine;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Path;
+import sanguine.controller.Strategies;
+import sanguine.controller.Tournament;
+import sanguine.model.GameJournal;
+import sanguine.model.MetricsRegistry;
+import sanguine.model.Player;
+
+/**
+ * Runs a headless tournament between machine players and prints the results, followed by the
+ * metrics recorded while the games were played. Setting the {@code sanguine.journal} system
+ * property to a file appends every game played to that game journal.
+ */
+public final class SanguineTournament {
+  /**
+   * Reads the deck config, board and tournament arguments and plays the tournament. The
+   * arguments are the deck config file name, rows, columns, hand size, games per pairing,
+   * number of threads, the seed and then two or more strategy descriptions.
+   *
+   * @param args an array of arguments from the command line
+   */
+  public static void main(String[] args) {
+    if (args.length < 9) {
+      throw new IllegalArgumentException("Usage: config rows cols handSize gamesPerPairing "
+              + "threads seed strategy strategy...");
+    }
+    try {
+      Tournament tournament = new Tournament(Sanguine.loadConfig(args[0], Player.RED),
+              Sanguine.loadConfig(args[0], Player.BLUE), Integer.parseInt(args[1]),
+              Integer.parseInt(args[2]), Integer.parseInt(args[3]));
+      for (int i = 7; i < args.length; i++) {
+        String description = args[i];
+        //checks the description before starting any games
+        Strategies.create(description);
+        tournament.addEntrant(description, () -> Strategies.create(description));
+      }
+      String journalFile = System.getProperty("sanguine.journal");
+      try (GameJournal journal = journalFile == null ? null
+              : GameJournal.open(Path.of(journalFile))) {
+        tournament.setJournal(journal);
+        System.out.print(tournament.run(Integer.parseInt(args[4]), Integer.parseInt(args[5]),
+                Long.parseLong(args[6])).report());
+      }
+      System.out.println();
+      System.out.print(MetricsRegistry.global().report());
+    } catch (FileNotFoundException e) {
+      System.out.println("Configuration file not found");
+    } catch (IOException e) {
+      System.out.println("Could not write the game journal: " + e.getMessage());
+    } catch (NumberFormatException e) {
+      System.out.println("Please input valid board, hand, game, thread and seed numbers");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
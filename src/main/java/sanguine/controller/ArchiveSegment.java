@@ -0,0 +1,309 @@
+package sanguine.controller;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * One immutable, sorted segment file of a {@link GameArchive}. The file holds a header, the
+ * entries sorted by position key and then by payload, each a key and a payload of eight bytes,
+ * and a footer with the key of every {@link #SPARSE_INTERVAL}th entry. Only the footer is read
+ * into memory, so a lookup binary searches it and then reads one block of the mapped entries.
+ * Segments are written once, by flushing entries or merging other segments, and never changed.
+ */
+final class ArchiveSegment implements AutoCloseable {
+  static final int MAGIC = 0x53474149;
+  static final int VERSION = 1;
+  static final int HEADER_BYTES = 16;
+  static final int ENTRY_BYTES = 16;
+  static final int SPARSE_INTERVAL = 256;
+
+  private final Path file;
+  private final FileChannel channel;
+  private final MappedByteBuffer buffer;
+  private final long count;
+  private final long[] sparse;
+
+  private ArchiveSegment(Path file, FileChannel channel, MappedByteBuffer buffer) {
+    this.file = file;
+    this.channel = channel;
+    this.buffer = buffer;
+    if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC
+            || buffer.getInt(4) != VERSION) {
+      throw new IllegalArgumentException("Not a version " + VERSION + " archive segment");
+    }
+    this.count = buffer.getLong(8);
+    int samples = samples(this.count);
+    long footer = HEADER_BYTES + this.count * ENTRY_BYTES;
+    if (footer + (long) samples * Long.BYTES != buffer.capacity()) {
+      throw new IllegalArgumentException("Archive segment is truncated");
+    }
+    this.sparse = new long[samples];
+    for (int i = 0; i < samples; i++) {
+      this.sparse[i] = buffer.getLong((int) footer + i * Long.BYTES);
+    }
+  }
+
+  /**
+   * Maps a segment file and reads its sparse index.
+   *
+   * @param file the segment file
+   * @return the opened segment
+   * @throws IOException if the file cannot be read
+   * @throws IllegalArgumentException if the file is not a valid segment
+   */
+  static ArchiveSegment open(Path file) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("Archive segment is too large to map");
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return new ArchiveSegment(file, channel, buffer);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Writes entries as a segment file and opens it.
+   *
+   * @param file the file to write
+   * @param entries the entries as pairs of key and payload, sorted
+   * @param count the number of entries
+   * @return the opened segment
+   * @throws IOException if the file cannot be written
+   */
+  static ArchiveSegment write(Path file, long[] entries, int count) throws IOException {
+    try (Writer writer = new Writer(file, count)) {
+      for (int i = 0; i < count; i++) {
+        writer.add(entries[2 * i], entries[2 * i + 1]);
+      }
+    }
+    return open(file);
+  }
+
+  /**
+   * Merges segments into one new segment file and opens it.
+   *
+   * @param file the file to write
+   * @param inputs the segments to merge
+   * @return the opened segment
+   * @throws IOException if the file cannot be written
+   */
+  static ArchiveSegment merge(Path file, List<ArchiveSegment> inputs) throws IOException {
+    long total = 0;
+    for (ArchiveSegment input : inputs) {
+      total += input.count;
+    }
+    long[] next = new long[inputs.size()];
+    try (Writer writer = new Writer(file, total)) {
+      for (long written = 0; written < total; written++) {
+        //the few inputs merged at once are compared directly
+        int smallest = -1;
+        for (int i = 0; i < inputs.size(); i++) {
+          if (next[i] < inputs.get(i).count && (smallest < 0
+                  || compare(inputs.get(i), next[i], inputs.get(smallest), next[smallest]) < 0)) {
+            smallest = i;
+          }
+        }
+        ArchiveSegment input = inputs.get(smallest);
+        writer.add(input.key(next[smallest]), input.payload(next[smallest]));
+        next[smallest]++;
+      }
+    }
+    return open(file);
+  }
+
+  /**
+   * Adds the payloads of every entry with the given key to a list.
+   *
+   * @param key the position key to find
+   * @param payloads where the payloads found are added
+   */
+  void find(long key, List<Long> payloads) {
+    //the first block that can hold the key starts before the first sample not below it
+    int low = 0;
+    int high = this.sparse.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (this.sparse[mid] < key) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    long entry = Math.max(0, low - 1) * (long) SPARSE_INTERVAL;
+    for (; entry < this.count; entry++) {
+      long found = this.key(entry);
+      if (found > key) {
+        break;
+      } else if (found == key) {
+        payloads.add(this.payload(entry));
+      }
+    }
+  }
+
+  /**
+   * Returns how many entries the segment holds.
+   *
+   * @return the number of entries
+   */
+  long size() {
+    return this.count;
+  }
+
+  /**
+   * Returns the segment file.
+   *
+   * @return the file
+   */
+  Path getFile() {
+    return this.file;
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.channel.close();
+  }
+
+  private long key(long entry) {
+    return this.buffer.getLong((int) (HEADER_BYTES + entry * ENTRY_BYTES));
+  }
+
+  private long payload(long entry) {
+    return this.buffer.getLong((int) (HEADER_BYTES + entry * ENTRY_BYTES + Long.BYTES));
+  }
+
+  private static int compare(ArchiveSegment first, long firstEntry, ArchiveSegment second,
+                             long secondEntry) {
+    int byKey = Long.compare(first.key(firstEntry), second.key(secondEntry));
+    return byKey != 0 ? byKey
+            : Long.compare(first.payload(firstEntry), second.payload(secondEntry));
+  }
+
+  private static int samples(long count) {
+    return (int) ((count + SPARSE_INTERVAL - 1) / SPARSE_INTERVAL);
+  }
+
+  /**
+   * Sorts entries stored as pairs of key and payload by key and then payload, in place.
+   *
+   * @param entries the pairs
+   * @param count the number of pairs
+   */
+  static void sort(long[] entries, int count) {
+    sort(entries, 0, count - 1);
+  }
+
+  //a quicksort on pairs, so sorting a full buffer of entries creates no objects
+  private static void sort(long[] entries, int low, int high) {
+    while (high - low > 16) {
+      int mid = (low + high) >>> 1;
+      long pivotKey = entries[2 * mid];
+      long pivotPayload = entries[2 * mid + 1];
+      int i = low;
+      int j = high;
+      while (i <= j) {
+        while (less(entries, i, pivotKey, pivotPayload)) {
+          i++;
+        }
+        while (greater(entries, j, pivotKey, pivotPayload)) {
+          j--;
+        }
+        if (i <= j) {
+          swap(entries, i++, j--);
+        }
+      }
+      //recurses into the smaller side so the stack stays shallow
+      if (j - low < high - i) {
+        sort(entries, low, j);
+        low = i;
+      } else {
+        sort(entries, i, high);
+        high = j;
+      }
+    }
+    for (int i = low + 1; i <= high; i++) {
+      for (int j = i; j > low && less(entries, j, entries[2 * j - 2], entries[2 * j - 1]); j--) {
+        swap(entries, j, j - 1);
+      }
+    }
+  }
+
+  private static boolean less(long[] entries, int i, long key, long payload) {
+    long entryKey = entries[2 * i];
+    return entryKey < key || entryKey == key && entries[2 * i + 1] < payload;
+  }
+
+  private static boolean greater(long[] entries, int i, long key, long payload) {
+    long entryKey = entries[2 * i];
+    return entryKey > key || entryKey == key && entries[2 * i + 1] > payload;
+  }
+
+  private static void swap(long[] entries, int i, int j) {
+    long key = entries[2 * i];
+    entries[2 * i] = entries[2 * j];
+    entries[2 * j] = key;
+    long payload = entries[2 * i + 1];
+    entries[2 * i + 1] = entries[2 * j + 1];
+    entries[2 * j + 1] = payload;
+  }
+
+  //streams sorted entries to a file through one buffer, collecting the sparse index as it goes
+  private static final class Writer implements AutoCloseable {
+    private final FileChannel out;
+    private final ByteBuffer buffer;
+    private final long[] sparse;
+    private long written;
+
+    private Writer(Path file, long count) throws IOException {
+      this.out = FileChannel.open(file, StandardOpenOption.CREATE,
+              StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+      this.buffer = ByteBuffer.allocate(64 * 1024);
+      this.sparse = new long[samples(count)];
+      this.buffer.putInt(MAGIC).putInt(VERSION).putLong(count);
+    }
+
+    private void add(long key, long payload) throws IOException {
+      if (this.written % SPARSE_INTERVAL == 0) {
+        this.sparse[(int) (this.written / SPARSE_INTERVAL)] = key;
+      }
+      if (this.buffer.remaining() < ENTRY_BYTES) {
+        this.drain();
+      }
+      this.buffer.putLong(key).putLong(payload);
+      this.written++;
+    }
+
+    private void drain() throws IOException {
+      this.buffer.flip();
+      while (this.buffer.hasRemaining()) {
+        this.out.write(this.buffer);
+      }
+      this.buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        for (long sample : this.sparse) {
+          if (this.buffer.remaining() < Long.BYTES) {
+            this.drain();
+          }
+          this.buffer.putLong(sample);
+        }
+        this.drain();
+        //the segment must be on disk before the manifest names it
+        this.out.force(true);
+      } finally {
+        this.out.close();
+      }
+    }
+  }
+}
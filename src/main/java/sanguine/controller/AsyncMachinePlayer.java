@@ -0,0 +1,188 @@
+package sanguine.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongConsumer;
+import javax.swing.SwingUtilities;
+import sanguine.model.LatencyHistogram;
+import sanguine.model.MetricsRegistry;
+import sanguine.model.Player;
+import sanguine.model.SanguineGame;
+import sanguine.model.SanguineModel;
+import sanguine.view.FeatureListener;
+
+/**
+ * Machine player that computes its moves on a background thread so an expensive strategy does
+ * not freeze the windows while it thinks. The strategy searches a detached copy of the game, and
+ * the chosen move is handed back to the dispatcher, which is the Swing event dispatch thread by
+ * default, and published to the controller there like a {@link MachinePlayer} move. A turn that
+ * is cancelled before its move is published is dropped, and the time from the start of every
+ * published turn to its move is reported.
+ */
+public class AsyncMachinePlayer implements PlayerActions, AutoCloseable {
+  private static final LatencyHistogram GENERATE_MOVES =
+          MetricsRegistry.global().histogram(MetricsRegistry.GENERATE_MOVES);
+
+  private final Player player;
+  private final Strategy strategy;
+  private final Executor dispatcher;
+  private final LongConsumer latencyReporter;
+  private final ExecutorService worker;
+  private FeatureListener listener;
+  private Future<?> pending;
+  private DecisionTrace trace;
+  //identifies the latest turn so moves of cancelled turns are recognized and dropped
+  private long turn;
+  private boolean closed;
+
+  /**
+   * Creates a machine player that publishes its moves on the Swing event dispatch thread.
+   *
+   * @param player the player identity
+   * @param strategy strategy used to generate moves
+   */
+  public AsyncMachinePlayer(Player player, Strategy strategy) {
+    this(player, strategy, SwingUtilities::invokeLater, latency -> {});
+  }
+
+  /**
+   * Creates a machine player that publishes its moves through the given dispatcher.
+   *
+   * @param player the player identity
+   * @param strategy strategy used to generate moves
+   * @param dispatcher runs tasks on the thread the model and controller are used on, after the
+   *                   task that is running there returns
+   * @param latencyReporter receives the nanoseconds each published turn took
+   */
+  public AsyncMachinePlayer(Player player, Strategy strategy, Executor dispatcher,
+                            LongConsumer latencyReporter) {
+    if (player == null || strategy == null || dispatcher == null || latencyReporter == null) {
+      throw new IllegalArgumentException("Player, strategy, dispatcher and reporter cannot be "
+              + "null");
+    }
+    this.player = player;
+    this.strategy = strategy;
+    this.dispatcher = dispatcher;
+    this.latencyReporter = latencyReporter;
+    this.worker = Executors.newSingleThreadExecutor(task -> {
+      Thread thread = new Thread(task, "sanguine-" + player + "-strategy");
+      //a strategy that is still thinking must not keep the program running
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @Override
+  public void setListener(FeatureListener listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("Listener cannot be null");
+    }
+    this.listener = listener;
+  }
+
+  @Override
+  public synchronized void takeTurn(SanguineModel model) {
+    if (this.closed || listener == null || model == null || model.gameOver()) {
+      return;
+    }
+    if (model.getCurrentPlayer() != this.player) {
+      return;
+    }
+    this.cancelTurn();
+    long start = System.nanoTime();
+    long thisTurn = this.turn;
+    //the model starts the turn before it draws the player's card, so the position is copied once
+    //the move that started the turn has returned
+    this.dispatcher.execute(() -> this.search(model, thisTurn, start));
+  }
+
+  //runs on the dispatcher and starts the strategy on a copy of the position the turn starts from
+  private synchronized void search(SanguineModel model, long thisTurn, long start) {
+    if (this.closed || thisTurn != this.turn || model.gameOver()
+            || model.getCurrentPlayer() != this.player) {
+      return;
+    }
+    SanguineGame snapshot = new SanguineGame(model);
+    DecisionTrace trace = this.trace;
+    this.pending = this.worker.submit(() -> {
+      DecisionEvent decision = new DecisionEvent();
+      decision.begin();
+      if (trace != null) {
+        trace.begin(this.player, this.strategy);
+      }
+      long searchStart = System.nanoTime();
+      List<Move> moves;
+      try {
+        moves = this.strategy.generateMoves(snapshot);
+      } catch (RuntimeException e) {
+        //a failed search has no move to offer, so the player passes
+        moves = new ArrayList<>();
+      }
+      if (trace != null) {
+        trace.end(this.player, moves, System.nanoTime() - searchStart);
+      }
+      decision.end();
+      GENERATE_MOVES.recordSince(searchStart);
+      DecisionEvent.commit(decision, this.player, this.strategy, moves);
+      List<Move> chosen = moves;
+      this.dispatcher.execute(() -> this.publish(model, thisTurn, chosen, start));
+    });
+  }
+
+  /**
+   * Records this player's decisions into the given trace from the next turn on.
+   *
+   * @param trace the trace to record into, or null to stop tracing
+   */
+  public synchronized void setTrace(DecisionTrace trace) {
+    this.trace = trace;
+  }
+
+  @Override
+  public synchronized void cancelTurn() {
+    this.turn++;
+    if (this.pending != null) {
+      this.pending.cancel(true);
+      this.pending = null;
+    }
+  }
+
+  /**
+   * Cancels any pending turn and stops the background thread. Later turns are ignored.
+   */
+  @Override
+  public synchronized void close() {
+    this.cancelTurn();
+    this.closed = true;
+    this.worker.shutdownNow();
+  }
+
+  @Override
+  public Player getPlayer() {
+    return this.player;
+  }
+
+  @Override
+  public boolean isAutomated() {
+    return true;
+  }
+
+  //runs on the dispatcher and plays the computed moves against the live model
+  private void publish(SanguineModel model, long computedTurn, List<Move> moves, long start) {
+    synchronized (this) {
+      if (this.closed || computedTurn != this.turn) {
+        return;
+      }
+      this.pending = null;
+    }
+    this.latencyReporter.accept(System.nanoTime() - start);
+    //the search was already timed and recorded on the worker, so the moves are only published
+    if (!model.gameOver() && model.getCurrentPlayer() == this.player) {
+      MachinePlayer.publish(model, this.player, this.listener, moves);
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package sanguine.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import sanguine.model.Card;
+
+/**
+ * Groups cards that play identically into equivalence classes. Two cards of the same player with
+ * the same cost, value and influence pattern leave the same board whichever of them is played,
+ * so move generation only needs one move per class instead of one per copy in hand, and search
+ * engines do not explore the same subtree once for every copy. Names are ignored, since they
+ * never affect play. The card a move names is resolved back to an instance in hand by
+ * {@link #indexOf} when the move is applied.
+ */
+public final class CardClasses {
+  private CardClasses() {
+  }
+
+  /**
+   * Returns whether two cards play identically.
+   *
+   * @param first a card
+   * @param second another card
+   * @return true if the cards have the same player, cost, value and influence pattern
+   */
+  public static boolean equivalent(Card first, Card second) {
+    if (first == second) {
+      return true;
+    }
+    return first.getPlayer() == second.getPlayer()
+            && first.getCost() == second.getCost()
+            && first.getValue() == second.getValue()
+            && samePattern(first.getInfluence(), second.getInfluence());
+  }
+
+  /**
+   * Returns the first card of every class among the cards, in the order the classes first
+   * appear.
+   *
+   * @param cards the cards to group, such as a hand
+   * @return one card per class
+   */
+  public static List<Card> representatives(List<Card> cards) {
+    List<Card> representatives = new ArrayList<>(cards.size());
+    for (Card card : cards) {
+      if (find(representatives, card) < 0) {
+        representatives.add(card);
+      }
+    }
+    return representatives;
+  }
+
+  /**
+   * Finds the card in hand to play for a move's card: the card itself if it is in hand, or else
+   * the first card of the same class.
+   *
+   * @param hand the hand to search
+   * @param card the card of the move
+   * @return the index of the card to play, or -1 if no card in hand plays the same
+   */
+  public static int indexOf(List<Card> hand, Card card) {
+    int index = hand.indexOf(card);
+    return index >= 0 ? index : find(hand, card);
+  }
+
+  private static int find(List<Card> cards, Card card) {
+    for (int i = 0; i < cards.size(); i++) {
+      if (equivalent(cards.get(i), card)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  //influence patterns are sets of offsets, whatever order they were listed in
+  private static boolean samePattern(List<?> first, List<?> second) {
+    return first.size() == second.size()
+            && first.containsAll(second)
+            && second.containsAll(first);
+  }
+}
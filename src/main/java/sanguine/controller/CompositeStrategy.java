@@ -24,10 +24,14 @@ public class CompositeStrategy implements Strategy {
   @Override
   public List<Move> generateMoves(SanguineModel model) {
     List<Move> candidates = null;
+    DecisionTrace trace = DecisionTrace.active();
 
     // Chain strategies
-    for (Strategy strategy : strategies) {
+    for (int stage = 0; stage < strategies.size(); stage++) {
+      Strategy strategy = strategies.get(stage);
+      long start = trace == null ? 0 : System.nanoTime();
       List<Move> moves = strategy.generateMoves(model);
+      int before = candidates == null ? moves.size() : candidates.size();
       
       if (candidates == null) {
         // First strategy sets the candidates
@@ -36,6 +40,9 @@ public class CompositeStrategy implements Strategy {
         // Subsequent strategies filter existing candidates
         candidates = filterMoves(candidates, moves);
       }
+      if (trace != null) {
+        trace.stage(stage, strategy, before, candidates.size(), System.nanoTime() - start);
+      }
 
       if (candidates.isEmpty()) {
         return new ArrayList<>();
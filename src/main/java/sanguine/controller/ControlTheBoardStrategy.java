@@ -30,9 +30,10 @@ public class ControlTheBoardStrategy implements Strategy {
 
     List<Move> bestMoves = new ArrayList<>();
     int maxOwnership = -1;
+    DecisionTrace trace = DecisionTrace.active();
 
-    // Iterate over all possible moves
-    for (Card card : hand) {
+    // Iterate over all possible moves, once per class of identical cards
+    for (Card card : CardClasses.representatives(hand)) {
       for (int row = 0; row < cells.size(); row++) {
         for (int col = 0; col < cells.get(row).size(); col++) {
           Cell cell = board.getCell(row, col);
@@ -43,6 +44,9 @@ public class ControlTheBoardStrategy implements Strategy {
             
             // Calculate potential ownership
             int ownership = calculateOwnershipAfterMove(model, currentPlayer, row, col, card);
+            if (trace != null) {
+              trace.candidate(this, card, row, col, ownership);
+            }
             
             // Keep track of best moves
             if (ownership > maxOwnership) {
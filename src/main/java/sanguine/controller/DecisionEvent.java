@@ -0,0 +1,42 @@
+package sanguine.controller;
+
+import java.util.List;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import sanguine.model.Player;
+
+/**
+ * A Java Flight Recorder event for a machine player choosing its move, timed from when its
+ * strategy starts searching until it returns its moves. Like the model's events it is only filled
+ * in while a recording wants it.
+ */
+@Name("sanguine.Decision")
+@Label("Machine Decision")
+@Category({"Sanguine", "Strategy"})
+@Description("A machine player's strategy choosing the moves of a turn")
+@StackTrace(false)
+final class DecisionEvent extends Event {
+  @Label("Player")
+  String player;
+
+  @Label("Strategy")
+  String strategy;
+
+  @Label("Candidates")
+  @Description("How many moves the strategy returned, none meaning a pass")
+  int candidates;
+
+  //fills in and commits a decision whose timing has been begun and ended
+  static void commit(DecisionEvent event, Player player, Strategy strategy, List<Move> moves) {
+    if (event.shouldCommit()) {
+      event.player = player.toString();
+      event.strategy = strategy.getClass().getSimpleName();
+      event.candidates = moves == null ? 0 : moves.size();
+      event.commit();
+    }
+  }
+}
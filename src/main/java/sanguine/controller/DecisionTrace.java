@@ -0,0 +1,268 @@
+package sanguine.controller;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import sanguine.model.Card;
+import sanguine.model.Player;
+import sanguine.model.SanguineModel;
+import sanguine.view.ModelListener;
+
+/**
+ * An opt-in trace of why a machine player made its moves. While a player decides, the strategies
+ * it runs record the candidate moves they scored, each stage of a composite strategy records how
+ * many moves it kept and how long it took, and the player records the move it chose. Records are
+ * written as fixed-size groups of longs into an array allocated up front and used as a ring, so
+ * tracing allocates nothing per record and the oldest records are overwritten once it is full.
+ * The trace is decoded to text only when dumped, on demand or when the game ends.
+ * Scores are in each strategy's own units, such as rows won or cells owned.
+ */
+public final class DecisionTrace {
+  //the longs of one record: kind, player, stage and source; time; move or counts; score or time
+  private static final int WIDTH = 4;
+  private static final int BEGIN = 1;
+  private static final int CANDIDATE = 2;
+  private static final int STAGE = 3;
+  private static final int END = 4;
+  private static final long NO_MOVE = -1;
+
+  //strategy and card names are stored as small ids shared by every trace
+  private static final ConcurrentMap<String, Integer> IDS = new ConcurrentHashMap<>();
+  private static final List<String> NAMES = new CopyOnWriteArrayList<>();
+  //the trace of the decision being made on each thread, so strategies need no extra parameter
+  private static final ThreadLocal<DecisionTrace> ACTIVE = new ThreadLocal<>();
+
+  private final long[] records;
+  private final int capacity;
+  private long written;
+
+  /**
+   * Creates a trace that keeps the given number of most recent records.
+   *
+   * @param capacity how many records the ring holds
+   * @throws IllegalArgumentException if the capacity is not positive
+   */
+  public DecisionTrace(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive");
+    }
+    this.capacity = capacity;
+    this.records = new long[capacity * WIDTH];
+  }
+
+  /**
+   * Returns the trace of the decision being made on the calling thread, for strategies to record
+   * into.
+   *
+   * @return the active trace, or null if the current decision is not traced
+   */
+  static DecisionTrace active() {
+    return ACTIVE.get();
+  }
+
+  /**
+   * Starts tracing a decision on the calling thread until {@link #end} is called.
+   *
+   * @param player the player deciding
+   * @param strategy the strategy making the decision
+   */
+  public void begin(Player player, Strategy strategy) {
+    ACTIVE.set(this);
+    this.write(BEGIN, player.ordinal() + 1, 0, id(strategy), NO_MOVE, 0);
+  }
+
+  /**
+   * Records the moves a decision settled on and stops tracing on the calling thread.
+   *
+   * @param player the player who decided
+   * @param moves the moves returned, the first of which is played and none meaning a pass
+   * @param nanos how long the decision took
+   */
+  public void end(Player player, List<Move> moves, long nanos) {
+    ACTIVE.remove();
+    Move chosen = moves == null || moves.isEmpty() ? null : moves.get(0);
+    this.write(END, player.ordinal() + 1, 0, 0,
+            chosen == null ? NO_MOVE : move(chosen.getCard(), chosen.getRow(), chosen.getCol()),
+            nanos);
+  }
+
+  /**
+   * Records a move a strategy considered and the score it gave it.
+   *
+   * @param source the strategy that scored the move
+   * @param card the card of the move
+   * @param row the row of the move
+   * @param col the column of the move
+   * @param score the score in the strategy's own units
+   */
+  void candidate(Strategy source, Card card, int row, int col, double score) {
+    this.write(CANDIDATE, 0, 0, id(source), move(card, row, col),
+            Double.doubleToRawLongBits(score));
+  }
+
+  /**
+   * Records one stage of a strategy that filters moves through other strategies.
+   *
+   * @param stage the index of the stage
+   * @param source the strategy run in the stage
+   * @param before how many moves there were going into the stage
+   * @param after how many moves the stage kept
+   * @param nanos how long the stage took
+   */
+  void stage(int stage, Strategy source, int before, int after, long nanos) {
+    this.write(STAGE, 0, stage, id(source), (long) before << 32 | (after & 0xFFFFFFFFL), nanos);
+  }
+
+  /**
+   * Returns how many records were written, including those already overwritten.
+   *
+   * @return the number of records written
+   */
+  public synchronized long getWritten() {
+    return this.written;
+  }
+
+  /**
+   * Forgets every record.
+   */
+  public synchronized void clear() {
+    this.written = 0;
+  }
+
+  /**
+   * Decodes the records still in the ring to text, oldest first, with times relative to the
+   * oldest record.
+   *
+   * @return one line per record
+   */
+  public synchronized String dump() {
+    StringBuilder text = new StringBuilder();
+    long first = Math.max(0, this.written - this.capacity);
+    if (first > 0) {
+      text.append(String.format("(%d older records overwritten)%n", first));
+    }
+    long start = first < this.written ? this.records[this.slot(first) + 1] : 0;
+    for (long record = first; record < this.written; record++) {
+      int slot = this.slot(record);
+      long header = this.records[slot];
+      int kind = (int) (header & 0xFF);
+      int player = (int) (header >>> 8 & 0xFF);
+      int stage = (int) (header >>> 16 & 0xFFFF);
+      String source = NAMES.get((int) (header >>> 32));
+      long payload = this.records[slot + 2];
+      long value = this.records[slot + 3];
+      text.append(String.format("%+10.3fms ", (this.records[slot + 1] - start) / 1e6));
+      switch (kind) {
+        case BEGIN:
+          text.append(String.format("%s decides with %s", playerName(player), source));
+          break;
+        case CANDIDATE:
+          text.append(String.format("  %s scores %s at %s", source, moveName(payload),
+                  Double.longBitsToDouble(value)));
+          break;
+        case STAGE:
+          text.append(String.format("  stage %d %s kept %d of %d moves in %.3fms", stage, source,
+                  (int) payload, (int) (payload >>> 32), value / 1e6));
+          break;
+        default:
+          text.append(String.format("%s %s in %.3fms", playerName(player),
+                  payload == NO_MOVE ? "passes" : "plays " + moveName(payload), value / 1e6));
+          break;
+      }
+      text.append(System.lineSeparator());
+    }
+    return text.toString();
+  }
+
+  /**
+   * Hands the dump of this trace to a sink once the given game ends.
+   *
+   * @param model the game to watch
+   * @param sink where the dump goes, such as standard output or a log
+   */
+  public void dumpWhenOver(SanguineModel model, Consumer<String> sink) {
+    if (model == null || sink == null) {
+      throw new IllegalArgumentException("Model and sink cannot be null");
+    }
+    model.setListener(new ModelListener() {
+      private boolean dumped;
+
+      @Override
+      public void turnChanged(Player player) {
+        this.check();
+      }
+
+      @Override
+      public void gameOver(Player winner) {
+        this.check();
+      }
+
+      @Override
+      public void errorOccurrence(String reason) {
+        // errors do not end the game
+      }
+
+      @Override
+      public void turnPassed(Player player) {
+        this.check();
+      }
+
+      //the last pass or card ends the game before its notification goes out
+      private void check() {
+        if (!this.dumped && model.gameOver()) {
+          this.dumped = true;
+          sink.accept(DecisionTrace.this.dump());
+        }
+      }
+    });
+  }
+
+  private synchronized void write(int kind, int player, int stage, int source, long payload,
+                                  long value) {
+    int slot = this.slot(this.written);
+    this.records[slot] = kind | (long) player << 8 | (long) (stage & 0xFFFF) << 16
+            | (long) source << 32;
+    this.records[slot + 1] = System.nanoTime();
+    this.records[slot + 2] = payload;
+    this.records[slot + 3] = value;
+    this.written++;
+  }
+
+  private int slot(long record) {
+    return (int) (record % this.capacity) * WIDTH;
+  }
+
+  //packs the card's name id, the row and the column of a move
+  private static long move(Card card, int row, int col) {
+    return (long) id(card.getName()) << 32 | (row & 0xFFFF) << 16 | (col & 0xFFFF);
+  }
+
+  private static String moveName(long move) {
+    return String.format("%s (%d, %d)", NAMES.get((int) (move >>> 32)), move >>> 16 & 0xFFFF,
+            move & 0xFFFF);
+  }
+
+  private static String playerName(int player) {
+    return Player.values()[player - 1].toString();
+  }
+
+  private static int id(Strategy strategy) {
+    return id(strategy.getClass().getSimpleName());
+  }
+
+  //names are only added the first time they are seen
+  private static int id(String name) {
+    Integer id = IDS.get(name);
+    if (id != null) {
+      return id;
+    }
+    synchronized (NAMES) {
+      return IDS.computeIfAbsent(name, key -> {
+        NAMES.add(key);
+        return NAMES.size() - 1;
+      });
+    }
+  }
+}
@@ -0,0 +1,443 @@
+package sanguine.controller;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import sanguine.model.Card;
+import sanguine.model.Cell;
+import sanguine.model.PawnCell;
+import sanguine.model.Player;
+import sanguine.model.PositionHash;
+import sanguine.model.SanguineGame;
+import sanguine.model.SanguineModel;
+import sanguine.model.ValueCell;
+
+/**
+ * A strategy that plays the end of the game perfectly. Once only a few cells are left to fill
+ * and few cards are left in the hands, it searches every line of play to the end of the game on
+ * copies of the model and picks the move with the best final total score margin. Until then it
+ * defers to another strategy.
+ * An empty list of moves means that passing is the best move.
+ * Solved positions are kept between turns, so positions searched while pondering during the
+ * opponent's turn, or on earlier turns, are answered straight from the table. A position and its
+ * mirror image from top to bottom share one entry, since they have the same value; the best
+ * move of an entry is mirrored back when it is read from the other orientation.
+ * Moves are searched in order of the stored best move, then the killer moves of the ply, then
+ * their history of cutoffs and finally how far ahead they leave the player, so most cutoffs
+ * happen on the first moves tried.
+ */
+public class EndgameStrategy implements PonderingStrategy {
+  /**
+   * Default number of cells without a card on them at which the solver takes over.
+   */
+  public static final int DEFAULT_MAX_OPEN_CELLS = 5;
+
+  /**
+   * Default number of cards in both hands combined at which the solver takes over.
+   */
+  public static final int DEFAULT_MAX_HAND_CARDS = 12;
+
+  /**
+   * Default number of positions kept between turns before the table is emptied.
+   */
+  public static final int DEFAULT_MAX_TABLE_ENTRIES = 500_000;
+
+  //the stored value is exact, a lower bound or an upper bound of the position's value
+  private static final int EXACT = 0;
+  private static final int LOWER = 1;
+  private static final int UPPER = 2;
+
+  private final Strategy fallback;
+  private final int maxOpenCells;
+  private final int maxHandCards;
+  private final int maxTableEntries;
+  //guards the table, so a ponder and a turn never search at the same time
+  private final Object searchLock;
+  private final Map<Long, Entry> table;
+  private final MoveOrdering ordering;
+  private long nodesSearched;
+
+  /**
+   * Creates an endgame solver with the default thresholds.
+   *
+   * @param fallback the strategy to use before the endgame is reached
+   */
+  public EndgameStrategy(Strategy fallback) {
+    this(fallback, DEFAULT_MAX_OPEN_CELLS, DEFAULT_MAX_HAND_CARDS);
+  }
+
+  /**
+   * Creates an endgame solver that takes over once both thresholds are reached.
+   *
+   * @param fallback the strategy to use before the endgame is reached
+   * @param maxOpenCells the most cells without a card on them to solve from
+   * @param maxHandCards the most cards in both hands combined to solve from
+   * @throws IllegalArgumentException if the fallback is null or a threshold is negative
+   */
+  public EndgameStrategy(Strategy fallback, int maxOpenCells, int maxHandCards) {
+    this(fallback, maxOpenCells, maxHandCards, DEFAULT_MAX_TABLE_ENTRIES);
+  }
+
+  /**
+   * Creates an endgame solver that takes over once both thresholds are reached and keeps at most
+   * the given number of solved positions between turns.
+   *
+   * @param fallback the strategy to use before the endgame is reached
+   * @param maxOpenCells the most cells without a card on them to solve from
+   * @param maxHandCards the most cards in both hands combined to solve from
+   * @param maxTableEntries the most positions to keep before emptying the table
+   * @throws IllegalArgumentException if the fallback is null or a threshold is negative
+   */
+  public EndgameStrategy(Strategy fallback, int maxOpenCells, int maxHandCards,
+                         int maxTableEntries) {
+    this(fallback, maxOpenCells, maxHandCards, maxTableEntries, true);
+  }
+
+  /**
+   * Creates an endgame solver that orders its moves with or without the history and killer
+   * heuristics, which is how the benefit of the heuristics is measured.
+   *
+   * @param fallback the strategy to use before the endgame is reached
+   * @param maxOpenCells the most cells without a card on them to solve from
+   * @param maxHandCards the most cards in both hands combined to solve from
+   * @param maxTableEntries the most positions to keep before emptying the table
+   * @param orderingHeuristics whether to order moves by history and killer moves before their
+   *                           score swing
+   * @throws IllegalArgumentException if the fallback is null or a threshold is negative
+   */
+  public EndgameStrategy(Strategy fallback, int maxOpenCells, int maxHandCards,
+                         int maxTableEntries, boolean orderingHeuristics) {
+    if (fallback == null) {
+      throw new IllegalArgumentException("Fallback strategy cannot be null");
+    }
+    if (maxOpenCells < 0 || maxHandCards < 0 || maxTableEntries < 0) {
+      throw new IllegalArgumentException("Thresholds cannot be negative");
+    }
+    this.fallback = fallback;
+    this.maxOpenCells = maxOpenCells;
+    this.maxHandCards = maxHandCards;
+    this.maxTableEntries = maxTableEntries;
+    this.searchLock = new Object();
+    this.table = new HashMap<>();
+    this.ordering = new MoveOrdering(orderingHeuristics);
+  }
+
+  @Override
+  public List<Move> generateMoves(SanguineModel model) {
+    if (!this.isEndgame(model)) {
+      return this.fallback.generateMoves(model);
+    }
+    SanguineGame root = new SanguineGame(model);
+    if (root.gameOver()) {
+      return new ArrayList<>();
+    }
+    Move best;
+    synchronized (this.searchLock) {
+      this.trimTable();
+      this.nodesSearched = 0;
+      this.ordering.newSearch();
+      try {
+        this.solve(root, -Integer.MAX_VALUE, Integer.MAX_VALUE, 0);
+      } catch (SearchInterrupted e) {
+        //the turn was cancelled, and the positions solved so far are kept for the next one
+        return this.fallback.generateMoves(model);
+      }
+      best = orient(this.table.get(key(root)), isMirrored(root), root);
+    }
+    //a missing best move means passing is optimal
+    if (best == null) {
+      return new ArrayList<>();
+    }
+    return List.of(best);
+  }
+
+  /**
+   * Solves the positions after each of the opponent's replies, most promising replies for the
+   * opponent first, so the next turn finds its position already solved. Does nothing before the
+   * endgame.
+   *
+   * @param model a position where the opponent of this strategy's player is to move
+   */
+  @Override
+  public void ponder(SanguineModel model) {
+    if (!this.isEndgame(model)) {
+      return;
+    }
+    SanguineGame root = new SanguineGame(model);
+    if (root.gameOver()) {
+      return;
+    }
+    synchronized (this.searchLock) {
+      this.trimTable();
+      this.ordering.newSearch();
+      try {
+        for (Child reply : this.orderedChildren(root, this.table.get(key(root)),
+                isMirrored(root), 0)) {
+          this.solve(reply.game, -Integer.MAX_VALUE, Integer.MAX_VALUE, 1);
+        }
+      } catch (SearchInterrupted e) {
+        //the opponent has moved, and every position solved so far is kept
+      }
+    }
+  }
+
+  /**
+   * Returns whether the model has reached the point where this strategy solves it exactly.
+   *
+   * @param model the model to check
+   * @return true if few enough cells and cards remain
+   */
+  public boolean isEndgame(SanguineModel model) {
+    int handCards = model.getPlayerHand(Player.RED).size()
+            + model.getPlayerHand(Player.BLUE).size();
+    return handCards <= this.maxHandCards && openCells(model) <= this.maxOpenCells;
+  }
+
+  /**
+   * Computes the key that endgame positions are solved and stored under. Every turn fills a cell
+   * or passes, so no player can draw and play more cards than there are open cells, and only
+   * that many cards from the top of each deck can change the outcome. A position and its mirror
+   * image from top to bottom have the same key.
+   *
+   * @param model the started game to key
+   * @return the endgame key of the position
+   */
+  public static long key(SanguineModel model) {
+    return PositionHash.canonicalOf(model, openCells(model) + 1);
+  }
+
+  /**
+   * Returns whether the key of a position is the key of its mirror image, in which case moves
+   * stored under the key are mirrored from top to bottom relative to the position.
+   *
+   * @param model the started game to check
+   * @return true if the position is not in its canonical orientation
+   */
+  static boolean isMirrored(SanguineModel model) {
+    int deckDepth = openCells(model) + 1;
+    return PositionHash.orientedOf(model, deckDepth, true)
+            < PositionHash.orientedOf(model, deckDepth, false);
+  }
+
+  private static int openCells(SanguineModel model) {
+    int openCells = 0;
+    for (List<Cell> row : model.getBoard().getCells()) {
+      for (Cell cell : row) {
+        if (!(cell instanceof ValueCell)) {
+          openCells++;
+        }
+      }
+    }
+    return openCells;
+  }
+
+  /**
+   * Returns how many positions the last solve visited.
+   *
+   * @return the number of positions searched
+   */
+  public long getNodesSearched() {
+    return this.nodesSearched;
+  }
+
+  //reports every position in the table whose value is known exactly
+  void forEachExact(ExactVisitor visitor) {
+    for (Map.Entry<Long, Entry> solved : this.table.entrySet()) {
+      Entry entry = solved.getValue();
+      if (entry.flag == EXACT) {
+        visitor.visit(solved.getKey(), entry.value, entry.best, entry.mirrored);
+      }
+    }
+  }
+
+  //negamax search with alpha-beta pruning that returns the final total score margin
+  //for the player to move
+  private int solve(SanguineGame game, int alpha, int beta, int ply) {
+    if (Thread.currentThread().isInterrupted()) {
+      throw new SearchInterrupted();
+    }
+    this.nodesSearched++;
+    Player player = game.getCurrentPlayer();
+    if (game.gameOver()) {
+      return game.getTotalScore(player) - game.getTotalScore(opponent(player));
+    }
+    int deckDepth = openCells(game) + 1;
+    long direct = PositionHash.orientedOf(game, deckDepth, false);
+    long mirror = PositionHash.orientedOf(game, deckDepth, true);
+    long key = Math.min(direct, mirror);
+    boolean mirrored = mirror < direct;
+    Entry entry = this.table.get(key);
+    int originalAlpha = alpha;
+    if (entry != null) {
+      if (entry.flag == EXACT) {
+        return entry.value;
+      } else if (entry.flag == LOWER) {
+        alpha = Math.max(alpha, entry.value);
+      } else {
+        beta = Math.min(beta, entry.value);
+      }
+      if (alpha >= beta) {
+        return entry.value;
+      }
+    }
+
+    int bestValue = -Integer.MAX_VALUE;
+    Move bestMove = null;
+    for (Child child : this.orderedChildren(game, entry, mirrored, ply)) {
+      int value = -this.solve(child.game, -beta, -alpha, ply + 1);
+      if (value > bestValue) {
+        bestValue = value;
+        bestMove = child.move;
+      }
+      alpha = Math.max(alpha, value);
+      if (alpha >= beta) {
+        if (child.move != null) {
+          this.ordering.recordCutoff(child.key, ply, deckDepth - 1);
+        }
+        break;
+      }
+    }
+
+    int flag = EXACT;
+    if (bestValue <= originalAlpha) {
+      flag = UPPER;
+    } else if (bestValue >= beta) {
+      flag = LOWER;
+    }
+    this.table.put(key, new Entry(bestValue, flag, bestMove, mirrored));
+    return bestValue;
+  }
+
+  //plays every distinct move and the pass on copies, trying the stored best move first, then
+  //the killer moves and the moves with the most cutoffs, then the moves that leave the player
+  //furthest ahead and the pass last
+  private List<Child> orderedChildren(SanguineGame game, Entry entry, boolean mirrored,
+                                      int ply) {
+    Player player = game.getCurrentPlayer();
+    List<Child> children = new ArrayList<>();
+    //identical cards in hand lead to identical positions
+    for (Card card : CardClasses.representatives(game.getPlayerHand(player))) {
+      for (int row = 0; row < game.getNumRows(); row++) {
+        for (int col = 0; col < game.getNumCols(); col++) {
+          Cell cell = game.getCell(row, col);
+          if (cell instanceof PawnCell
+                  && cell.getPlayer() == player
+                  && card.getCost() <= cell.getValue()) {
+            SanguineGame next = new SanguineGame(game);
+            next.playCard(card, row, col);
+            int swing = next.getTotalScore(player) - next.getTotalScore(opponent(player));
+            Move move = new Move(card, row, col);
+            long key = MoveOrdering.key(move);
+            children.add(new Child(move, next, swing, key,
+                    this.ordering.killerRank(key, ply), this.ordering.history(key)));
+          }
+        }
+      }
+    }
+    children.sort(EndgameStrategy::compareChildren);
+    SanguineGame passed = new SanguineGame(game);
+    passed.pass();
+    children.add(new Child(null, passed, 0, 0, 0, 0));
+
+    if (entry != null) {
+      Move best = orient(entry, mirrored, game);
+      for (int i = 0; i < children.size(); i++) {
+        Move move = children.get(i).move;
+        if (move == null ? best == null : move.equals(best)) {
+          children.add(0, children.remove(i));
+          break;
+        }
+      }
+    }
+    return children;
+  }
+
+  //puts killer moves first, then moves by their history and then by their swing
+  private static int compareChildren(Child first, Child second) {
+    if (first.killer != second.killer) {
+      return Integer.compare(second.killer, first.killer);
+    }
+    if (first.history != second.history) {
+      return Integer.compare(second.history, first.history);
+    }
+    return Integer.compare(second.swing, first.swing);
+  }
+
+  //the best move of an entry as played in the given game, mirroring it if the entry was stored
+  //from the other orientation, or null for a pass or a card no longer in hand
+  private static Move orient(Entry entry, boolean mirrored, SanguineGame game) {
+    if (entry.best == null) {
+      return null;
+    }
+    boolean flip = entry.mirrored != mirrored;
+    int code = PositionHash.classCode(entry.best.getCard(), false);
+    //the entry may have been stored by a copy of the card, or by its mirror image
+    for (Card card : game.getPlayerHand(game.getCurrentPlayer())) {
+      if (PositionHash.classCode(card, flip) == code) {
+        int row = flip ? game.getNumRows() - 1 - entry.best.getRow() : entry.best.getRow();
+        return new Move(card, row, entry.best.getCol());
+      }
+    }
+    return null;
+  }
+
+  //keeps the table from growing without bound over a long game
+  private void trimTable() {
+    if (this.table.size() > this.maxTableEntries) {
+      this.table.clear();
+    }
+  }
+
+  private static Player opponent(Player player) {
+    return player == Player.RED ? Player.BLUE : Player.RED;
+  }
+
+  //receives the exactly solved positions of a search, where a null best move is a pass and the
+  //best move is mirrored from top to bottom relative to the key's orientation when mirrored
+  interface ExactVisitor {
+    void visit(long key, int value, Move best, boolean mirrored);
+  }
+
+  //unwinds a search once its thread is interrupted, because the opponent has moved or the turn
+  //was cancelled
+  private static class SearchInterrupted extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+  }
+
+  //a solved or partially solved position, where a null best move is a pass and the best move
+  //was found in the mirror image of the key's orientation when mirrored
+  private static class Entry {
+    private final int value;
+    private final int flag;
+    private final Move best;
+    private final boolean mirrored;
+
+    Entry(int value, int flag, Move best, boolean mirrored) {
+      this.value = value;
+      this.flag = flag;
+      this.best = best;
+      this.mirrored = mirrored;
+    }
+  }
+
+  //a position reached by playing a move, where a null move is a pass, with what the move is
+  //ordered by
+  private static class Child {
+    private final Move move;
+    private final SanguineGame game;
+    private final int swing;
+    private final long key;
+    private final int killer;
+    private final int history;
+
+    Child(Move move, SanguineGame game, int swing, long key, int killer, int history) {
+      this.move = move;
+      this.game = game;
+      this.swing = swing;
+      this.key = key;
+      this.killer = killer;
+      this.history = history;
+    }
+  }
+}
@@ -0,0 +1,273 @@
+package sanguine.controller;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import sanguine.model.Board;
+import sanguine.model.Card;
+import sanguine.model.Cell;
+import sanguine.model.InfluenceBoard;
+import sanguine.model.PawnCell;
+import sanguine.model.Player;
+import sanguine.model.SanguineModel;
+
+/**
+ * A strategy that looks ahead without peeking at hidden cards. The opponent's hand is unknown,
+ * but together with the opponent's deck it is exactly the cards the opponent has not played, so
+ * the hand is treated as a random draw from those cards. The player's own next draw is treated
+ * as a random card from its own deck. Cards that play identically are merged into one chance
+ * branch weighted by their count, and the chances come from exact card counts.
+ * For every move it computes the expected final-score margin after the opponent's best reply
+ * with the cards the opponent may be holding and, at depth 2, after the player's own best reply
+ * with the card it may draw next. It plays the move with the best expected margin, and an empty
+ * list of moves means passing.
+ */
+public class ExpectimaxStrategy implements Strategy {
+  /**
+   * Default depth, which looks ahead to the player's own next move.
+   */
+  public static final int DEFAULT_DEPTH = 2;
+
+  private final int depth;
+
+  /**
+   * Creates a strategy that looks ahead to its own next move.
+   */
+  public ExpectimaxStrategy() {
+    this(DEFAULT_DEPTH);
+  }
+
+  /**
+   * Creates a strategy with the given depth.
+   *
+   * @param depth 1 to look ahead to the opponent's reply, 2 to also look ahead to the player's
+   *              own next draw and move
+   * @throws IllegalArgumentException if the depth is not 1 or 2
+   */
+  public ExpectimaxStrategy(int depth) {
+    if (depth < 1 || depth > 2) {
+      throw new IllegalArgumentException("Depth must be 1 or 2");
+    }
+    this.depth = depth;
+  }
+
+  @Override
+  public List<Move> generateMoves(SanguineModel model) {
+    if (model.gameOver()) {
+      return new ArrayList<>();
+    }
+    Player player = model.getCurrentPlayer();
+    Player opponent = opponent(player);
+    Board board = model.getBoard();
+    List<Card> hand = model.getPlayerHand(player);
+
+    Map<Card, Integer> unseen = counts(model.getPlayerHand(opponent));
+    for (Map.Entry<Card, Integer> card : counts(model.getDeck(opponent)).entrySet()) {
+      unseen.merge(classOf(unseen, card.getKey()), card.getValue(), Integer::sum);
+    }
+    //the opponent draws before replying
+    int opponentHand = model.getPlayerHand(opponent).size()
+            + (model.getDeck(opponent).isEmpty() ? 0 : 1);
+    Turn turn = new Turn(player, model.getNumRows(), model.getNumCols(), unseen, opponentHand,
+            counts(model.getDeck(player)));
+
+    Move best = null;
+    double bestValue = Double.NEGATIVE_INFINITY;
+    DecisionTrace trace = DecisionTrace.active();
+    for (Card card : counts(hand).keySet()) {
+      //an interrupted search plays the best move found so far
+      if (Thread.currentThread().isInterrupted()) {
+        break;
+      }
+      for (int row = 0; row < turn.rows; row++) {
+        for (int col = 0; col < turn.cols; col++) {
+          if (!canPlay(board.getCell(row, col), card)) {
+            continue;
+          }
+          InfluenceBoard after = new InfluenceBoard(board.getCells());
+          after.playCard(card, row, col);
+          List<Card> rest = new ArrayList<>(hand);
+          rest.remove(CardClasses.indexOf(rest, card));
+          double value = this.replyValue(after, rest, turn);
+          if (trace != null) {
+            trace.candidate(this, card, row, col, value);
+          }
+          if (value > bestValue) {
+            bestValue = value;
+            best = new Move(card, row, col);
+          }
+        }
+      }
+    }
+    //passes only when it is strictly better than every play
+    if (best == null
+            || this.replyValue(new InfluenceBoard(board.getCells()), hand, turn) > bestValue) {
+      return new ArrayList<>();
+    }
+    return List.of(best);
+  }
+
+  //the expected margin after the opponent's best reply with whatever cards it is holding
+  private double replyValue(Board board, List<Card> hand, Turn turn) {
+    double passValue = this.nextValue(board, hand, turn);
+
+    List<Card> cards = new ArrayList<>();
+    List<Double> values = new ArrayList<>();
+    for (Card card : turn.unseen.keySet()) {
+      double cardValue = Double.POSITIVE_INFINITY;
+      for (int row = 0; row < turn.rows; row++) {
+        for (int col = 0; col < turn.cols; col++) {
+          if (canPlay(board.getCell(row, col), card)) {
+            InfluenceBoard after = new InfluenceBoard(board.getCells());
+            after.playCard(card, row, col);
+            cardValue = Math.min(cardValue, this.nextValue(after, hand, turn));
+          }
+        }
+      }
+      //only cards that beat passing are ever played
+      if (cardValue < passValue) {
+        int index = 0;
+        while (index < values.size() && values.get(index) <= cardValue) {
+          index++;
+        }
+        cards.add(index, card);
+        values.add(index, cardValue);
+      }
+    }
+
+    //the opponent plays the best card it holds, so each card is played when the opponent holds
+    //it and none of the better ones
+    double expected = 0;
+    int better = 0;
+    for (int i = 0; i < cards.size(); i++) {
+      int count = turn.unseen.get(cards.get(i));
+      expected += (turn.noneHeld[better] - turn.noneHeld[better + count]) * values.get(i);
+      better += count;
+    }
+    return expected + turn.noneHeld[better] * passValue;
+  }
+
+  //the margin once it is the player's turn again, expecting over the card it draws at depth 2
+  private double nextValue(Board board, List<Card> hand, Turn turn) {
+    double margin = margin(board, turn.player);
+    if (this.depth == 1) {
+      return margin;
+    }
+    double base = Math.max(margin, bestPlay(board, hand, turn));
+    if (turn.deckSize == 0) {
+      return base;
+    }
+    double expected = 0;
+    for (Map.Entry<Card, Integer> card : turn.deck.entrySet()) {
+      double drawn = Math.max(base, bestPlay(board, List.of(card.getKey()), turn));
+      expected += drawn * card.getValue() / turn.deckSize;
+    }
+    return expected;
+  }
+
+  //the best margin reachable by playing one of the cards, or minus infinity if none fits
+  private static double bestPlay(Board board, List<Card> cards, Turn turn) {
+    double best = Double.NEGATIVE_INFINITY;
+    for (Card card : counts(cards).keySet()) {
+      for (int row = 0; row < turn.rows; row++) {
+        for (int col = 0; col < turn.cols; col++) {
+          if (canPlay(board.getCell(row, col), card)) {
+            InfluenceBoard after = new InfluenceBoard(board.getCells());
+            after.playCard(card, row, col);
+            best = Math.max(best, margin(after, turn.player));
+          }
+        }
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Returns the chance that a hand drawn from a pool of cards holds none of a given set of them.
+   *
+   * @param pool the number of cards drawn from
+   * @param hand the number of cards drawn
+   * @param excluded the number of cards in the set
+   * @return the probability that none of the set is drawn
+   */
+  static double probabilityNoneDrawn(int pool, int hand, int excluded) {
+    if (pool - excluded < hand) {
+      return 0;
+    }
+    double probability = 1;
+    for (int i = 0; i < hand; i++) {
+      probability *= (double) (pool - excluded - i) / (pool - i);
+    }
+    return probability;
+  }
+
+  private static boolean canPlay(Cell cell, Card card) {
+    return cell instanceof PawnCell
+            && cell.getPlayer() == card.getPlayer()
+            && card.getCost() <= cell.getValue();
+  }
+
+  private static int margin(Board board, Player player) {
+    return board.getTotalScore(player) - board.getTotalScore(opponent(player));
+  }
+
+  //merges cards that play identically into one entry with their count, in the order they first
+  //appear
+  private static Map<Card, Integer> counts(List<Card> cards) {
+    Map<Card, Integer> counts = new LinkedHashMap<>();
+    for (Card card : cards) {
+      counts.merge(classOf(counts, card), 1, Integer::sum);
+    }
+    return counts;
+  }
+
+  //the card already counted that plays like the given one, or the card itself if there is none
+  private static Card classOf(Map<Card, Integer> counts, Card card) {
+    for (Card counted : counts.keySet()) {
+      if (CardClasses.equivalent(counted, card)) {
+        return counted;
+      }
+    }
+    return card;
+  }
+
+  private static Player opponent(Player player) {
+    return player == Player.RED ? Player.BLUE : Player.RED;
+  }
+
+  //what is known about the hidden cards during one turn's search, with the chances that the
+  //opponent's hand holds none of a number of its unseen cards computed once
+  private static final class Turn {
+    private final Player player;
+    private final int rows;
+    private final int cols;
+    private final Map<Card, Integer> unseen;
+    private final Map<Card, Integer> deck;
+    private final int deckSize;
+    private final double[] noneHeld;
+
+    Turn(Player player, int rows, int cols, Map<Card, Integer> unseen, int opponentHand,
+         Map<Card, Integer> deck) {
+      this.player = player;
+      this.rows = rows;
+      this.cols = cols;
+      this.unseen = unseen;
+      this.deck = deck;
+      int pool = 0;
+      for (int count : unseen.values()) {
+        pool += count;
+      }
+      int deckSize = 0;
+      for (int count : deck.values()) {
+        deckSize += count;
+      }
+      this.deckSize = deckSize;
+      this.noneHeld = new double[pool + 1];
+      for (int excluded = 0; excluded <= pool; excluded++) {
+        this.noneHeld[excluded] = probabilityNoneDrawn(pool, Math.min(opponentHand, pool),
+                excluded);
+      }
+    }
+  }
+}
@@ -11,7 +11,8 @@ import sanguine.model.SanguineModel;
 
 /**
  * A strategy that picks the first valid move it finds.
- * It iterates through cards and board positions in order.
+ * It iterates through cards and board positions in order, trying copies of the same card in
+ * hand only once.
  */
 public class FillFirstStrategy implements Strategy {
 
@@ -30,8 +31,8 @@ public class FillFirstStrategy implements Strategy {
     
     List<Move> moves = new ArrayList<>();
 
-    // Choose first card
-    for (Card card : hand) {
+    // Choose first card, once per class of identical cards
+    for (Card card : CardClasses.representatives(hand)) {
       // Find spots
       for (int row = 0; row < cells.size(); row++) {
         for (int col = 0; col < cells.get(row).size(); col++) {
@@ -0,0 +1,501 @@
+package sanguine.controller;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import sanguine.model.Player;
+import sanguine.model.PositionHash;
+import sanguine.model.ReadonlySanguineModel;
+
+/**
+ * An on-disk index of the positions reached in the games of a game journal, answering which
+ * games reached a position, after how many moves, and how they ended. Games are identified by
+ * their index in the journal, which stays the store of the games themselves. Indexing replays the
+ * journal games not indexed yet with a {@link JournalReplayer} and keys the position after every
+ * move with {@link PositionHash#visibleKey}, so the same position is found across games dealt
+ * from differently shuffled decks.
+ *
+ * <p>Entries are collected in memory, sorted and flushed into immutable
+ * {@link ArchiveSegment} files, which are only named in the manifest once every game of an
+ * indexing run is in a segment, so a crash never leaves a game half indexed. A background thread
+ * merges segments of similar size once there are {@value #MERGE_FACTOR} of them, so a lookup
+ * only searches a few segments, each with a binary search of its in-memory sparse index and one
+ * read of a block of its mapped entries. Lookups read an immutable list of the segments and run
+ * on any thread while indexing and merging go on.</p>
+ */
+public final class GameArchive implements AutoCloseable {
+  /**
+   * How many segments of similar size are merged into one.
+   */
+  public static final int MERGE_FACTOR = 4;
+
+  /**
+   * How many entries are collected in memory before they are flushed by default, 64MB of them.
+   */
+  public static final int DEFAULT_FLUSH_ENTRIES = 1 << 22;
+
+  //memtables handed to the background thread and not written yet, each 2 * flushEntries longs
+  private static final int MAX_PENDING_FLUSHES = 2;
+  //a merged segment stays below 1GB so it can be mapped in one piece
+  private static final long MAX_SEGMENT_ENTRIES = 1L << 26;
+  private static final String MANIFEST = "MANIFEST";
+  private static final String SEGMENT_PREFIX = "segment-";
+  private static final String SEGMENT_SUFFIX = ".sgi";
+  private static final int PLY_BITS = 12;
+  private static final int MARGIN_BITS = 16;
+
+  private final Path directory;
+  private final int flushEntries;
+  private final ExecutorService background;
+  private final AtomicInteger nextSegment;
+  //one indexing run at a time; the archive itself is only locked to publish segments
+  private final Object indexing;
+  private final Object memtableLock;
+  private final Semaphore pendingFlushes;
+  //replaced rather than changed, so lookups read it without locking
+  private volatile List<ArchiveSegment> segments;
+  private long indexedGames;
+  private long[] memtable;
+  private int memtableSize;
+  private List<Future<ArchiveSegment>> flushing;
+  //the first merge that failed since it was last reported, by the next indexing run or close
+  private volatile IOException mergeFailure;
+
+  private GameArchive(Path directory, int flushEntries) {
+    this.directory = directory;
+    this.flushEntries = flushEntries;
+    this.background = Executors.newSingleThreadExecutor(task -> {
+      Thread thread = new Thread(task, "sanguine-archive");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.nextSegment = new AtomicInteger();
+    this.indexing = new Object();
+    this.memtableLock = new Object();
+    this.pendingFlushes = new Semaphore(MAX_PENDING_FLUSHES);
+    this.segments = List.of();
+  }
+
+  /**
+   * Opens an archive in a directory, creating it if it does not exist. Segment files the
+   * manifest does not name, left by a crash while indexing or merging, are deleted.
+   *
+   * @param directory the archive directory
+   * @return the open archive
+   * @throws IOException if the archive cannot be read or created
+   */
+  public static GameArchive open(Path directory) throws IOException {
+    return open(directory, DEFAULT_FLUSH_ENTRIES);
+  }
+
+  //fewer entries per flush let tests make many segments from few games
+  static GameArchive open(Path directory, int flushEntries) throws IOException {
+    if (flushEntries <= 0) {
+      throw new IllegalArgumentException("Flush entries must be positive");
+    }
+    Files.createDirectories(directory);
+    GameArchive archive = new GameArchive(directory, flushEntries);
+    try {
+      archive.load();
+    } catch (IOException | RuntimeException e) {
+      archive.close();
+      throw e;
+    }
+    return archive;
+  }
+
+  private void load() throws IOException {
+    Path manifest = this.directory.resolve(MANIFEST);
+    List<String> named = new ArrayList<>();
+    if (Files.exists(manifest)) {
+      List<String> lines = Files.readAllLines(manifest, StandardCharsets.UTF_8);
+      if (lines.isEmpty() || !lines.get(0).startsWith("games ")) {
+        throw new IOException("Not an archive manifest");
+      }
+      this.indexedGames = Long.parseLong(lines.get(0).substring("games ".length()));
+      named.addAll(lines.subList(1, lines.size()));
+    }
+    List<ArchiveSegment> opened = new ArrayList<>();
+    for (String name : named) {
+      opened.add(ArchiveSegment.open(this.directory.resolve(name)));
+    }
+    this.segments = List.copyOf(opened);
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory,
+            SEGMENT_PREFIX + "*")) {
+      for (Path file : files) {
+        String name = file.getFileName().toString();
+        if (name.endsWith(SEGMENT_SUFFIX)) {
+          this.nextSegment.accumulateAndGet(Integer.parseInt(name.substring(
+                  SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())) + 1,
+                  Math::max);
+        }
+        if (!named.contains(name)) {
+          Files.delete(file);
+        }
+      }
+    }
+  }
+
+  /**
+   * Indexes the games of a journal added since the last time it was indexed, then merges
+   * segments in the background. A merge that failed since the last run is reported instead, and
+   * the next run indexes and merges again.
+   *
+   * @param journal the journal the archive indexes, which only ever grows
+   * @param replayer a replayer for the decks the journal was dealt from
+   * @param threads how many games to replay at once
+   * @return the result of replaying the new games
+   * @throws IOException if the journal cannot be read, the archive cannot be written or the last
+   *                     merge failed
+   * @throws InterruptedException if interrupted while indexing
+   */
+  public ReplayResult index(Path journal, JournalReplayer replayer, int threads)
+          throws IOException, InterruptedException {
+    synchronized (this.indexing) {
+      this.checkMerges();
+      this.memtable = new long[2 * this.flushEntries];
+      this.memtableSize = 0;
+      this.flushing = new ArrayList<>();
+      //each replaying thread collects the keys of its current game until the game ends
+      ThreadLocal<GameKeys> current = ThreadLocal.withInitial(GameKeys::new);
+      ReplayResult result = replayer.replay(journal, this.getIndexedGames(), threads,
+              (game, ply, model) -> {
+                GameKeys keys = current.get();
+                keys.add(game, ply, PositionHash.visibleKey(model));
+                if (model.gameOver()) {
+                  this.addGame(keys, model.getTotalScore(Player.RED)
+                          - model.getTotalScore(Player.BLUE));
+                }
+              });
+      List<ArchiveSegment> added = new ArrayList<>();
+      try {
+        synchronized (this.memtableLock) {
+          this.flush();
+        }
+        for (Future<ArchiveSegment> flushed : this.flushing) {
+          added.add(flushed.get());
+        }
+      } catch (ExecutionException e) {
+        throw new IOException("Could not write an archive segment", e.getCause());
+      } finally {
+        this.memtable = null;
+        this.flushing = null;
+      }
+      this.publish(List.of(), added, result.getGames());
+      this.background.submit(this::mergeAll);
+      return result;
+    }
+  }
+
+  //copies the entries of a finished game into the memtable, flushing it if it fills up
+  private void addGame(GameKeys keys, int margin) {
+    synchronized (this.memtableLock) {
+      for (int i = 0; i < keys.size; i++) {
+        if (this.memtableSize == this.flushEntries) {
+          this.flush();
+        }
+        this.memtable[2 * this.memtableSize] = keys.keys[i];
+        this.memtable[2 * this.memtableSize + 1] = payload(keys.game, i + 1, margin);
+        this.memtableSize++;
+      }
+    }
+    keys.size = 0;
+  }
+
+  //hands the memtable to the background thread to sort and write, and starts a new one
+  private void flush() {
+    if (this.memtableSize == 0) {
+      return;
+    }
+    long[] entries = this.memtable;
+    int count = this.memtableSize;
+    Path file = this.nextSegmentFile();
+    //the replaying threads wait while the background thread is behind, so memtables waiting to
+    //be written do not pile up
+    this.pendingFlushes.acquireUninterruptibly();
+    this.flushing.add(this.background.submit(() -> {
+      try {
+        ArchiveSegment.sort(entries, count);
+        return ArchiveSegment.write(file, entries, count);
+      } finally {
+        this.pendingFlushes.release();
+      }
+    }));
+    this.memtable = new long[2 * this.flushEntries];
+    this.memtableSize = 0;
+  }
+
+  private Path nextSegmentFile() {
+    return this.directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX,
+            this.nextSegment.getAndIncrement(), SEGMENT_SUFFIX));
+  }
+
+  //swaps segments and counts newly indexed games in the manifest, by writing it to a temporary
+  //file that then replaces it, and only then in the segments lookups read
+  private synchronized void publish(List<ArchiveSegment> removed, List<ArchiveSegment> added,
+                                    long games) throws IOException {
+    List<ArchiveSegment> live = new ArrayList<>(this.segments);
+    live.removeAll(removed);
+    live.addAll(added);
+    long indexed = this.indexedGames + games;
+    StringBuilder manifest = new StringBuilder("games ").append(indexed).append("\n");
+    for (ArchiveSegment segment : live) {
+      manifest.append(segment.getFile().getFileName()).append("\n");
+    }
+    Path temporary = this.directory.resolve(MANIFEST + ".tmp");
+    Files.writeString(temporary, manifest, StandardCharsets.UTF_8);
+    Files.move(temporary, this.directory.resolve(MANIFEST), StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+    this.segments = List.copyOf(live);
+    this.indexedGames = indexed;
+  }
+
+  //merges groups of segments of similar size until no group is left, on the background thread
+  private void mergeAll() {
+    try {
+      for (List<ArchiveSegment> group = this.mergeGroup(); group != null;
+           group = this.mergeGroup()) {
+        ArchiveSegment merged = ArchiveSegment.merge(this.nextSegmentFile(), group);
+        this.publish(group, List.of(merged), 0);
+        //lookups that still read the old segments keep their mappings after the files go
+        for (ArchiveSegment old : group) {
+          old.close();
+          Files.delete(old.getFile());
+        }
+      }
+    } catch (IOException e) {
+      //the manifest still names the unmerged segments, so the archive stays whole
+      if (this.mergeFailure == null) {
+        this.mergeFailure = e;
+      }
+    }
+  }
+
+  //reports a merge that failed since the last report
+  private void checkMerges() throws IOException {
+    IOException failure = this.mergeFailure;
+    if (failure != null) {
+      this.mergeFailure = null;
+      throw new IOException("Could not merge archive segments", failure);
+    }
+  }
+
+  //the smallest segments of the lowest size tier that has enough of them to merge
+  private synchronized List<ArchiveSegment> mergeGroup() {
+    List<ArchiveSegment> sorted = new ArrayList<>(this.segments);
+    sorted.sort(Comparator.comparingLong(ArchiveSegment::size));
+    for (int start = 0; start + MERGE_FACTOR <= sorted.size(); start++) {
+      List<ArchiveSegment> group = sorted.subList(start, start + MERGE_FACTOR);
+      long total = 0;
+      for (ArchiveSegment segment : group) {
+        total += segment.size();
+      }
+      if (tier(group.get(0).size()) == tier(group.get(MERGE_FACTOR - 1).size())
+              && total <= MAX_SEGMENT_ENTRIES) {
+        return new ArrayList<>(group);
+      }
+    }
+    return null;
+  }
+
+  private int tier(long size) {
+    int tier = 0;
+    for (long scaled = size / this.flushEntries; scaled > 0; scaled /= MERGE_FACTOR) {
+      tier++;
+    }
+    return tier;
+  }
+
+  /**
+   * Finds the games that reached the position of a game.
+   *
+   * @param model the position to find
+   * @return the games, sorted by game and then move
+   */
+  public List<Hit> find(ReadonlySanguineModel model) {
+    return this.find(PositionHash.visibleKey(model));
+  }
+
+  /**
+   * Finds the games that reached a position.
+   *
+   * @param key the {@link PositionHash#visibleKey} of the position
+   * @return the games, sorted by game and then move
+   */
+  public List<Hit> find(long key) {
+    List<Long> payloads = new ArrayList<>();
+    for (ArchiveSegment segment : this.segments) {
+      segment.find(key, payloads);
+    }
+    payloads.sort(null);
+    List<Hit> hits = new ArrayList<>(payloads.size());
+    for (long payload : payloads) {
+      hits.add(new Hit(payload >>> (PLY_BITS + MARGIN_BITS),
+              (int) (payload >>> MARGIN_BITS) & ((1 << PLY_BITS) - 1), (short) payload));
+    }
+    return hits;
+  }
+
+  /**
+   * Returns how many games of the journal have been indexed.
+   *
+   * @return the number of games
+   */
+  public synchronized long getIndexedGames() {
+    return this.indexedGames;
+  }
+
+  /**
+   * Returns how many segment files the archive is made of now.
+   *
+   * @return the number of segments
+   */
+  public int getSegmentCount() {
+    return this.segments.size();
+  }
+
+  //waits for the merges started so far
+  void awaitMerges() throws InterruptedException, ExecutionException {
+    this.background.submit(() -> {}).get();
+  }
+
+  /**
+   * Waits for the merges started so far and closes the segments.
+   *
+   * @throws IOException if a merge failed since the last indexing run
+   */
+  @Override
+  public void close() throws IOException {
+    this.background.shutdown();
+    try {
+      this.background.awaitTermination(1, TimeUnit.MINUTES);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    for (ArchiveSegment segment : this.segments) {
+      segment.close();
+    }
+    this.checkMerges();
+  }
+
+  //game in the high bits so entries of a key sort by game and then move
+  private static long payload(long game, int ply, int margin) {
+    if (ply >= 1 << PLY_BITS) {
+      throw new IllegalArgumentException("Game is too long to index");
+    }
+    return game << (PLY_BITS + MARGIN_BITS) | (long) ply << MARGIN_BITS | (margin & 0xFFFF);
+  }
+
+  //the keys of the game a replaying thread is on
+  private static final class GameKeys {
+    private long game = -1;
+    private long[] keys = new long[64];
+    private int size;
+
+    private void add(long game, int ply, long key) {
+      //a game that failed part way never reached its end, so its keys are dropped
+      if (game != this.game || ply != this.size + 1) {
+        this.game = game;
+        this.size = 0;
+      }
+      if (this.size == this.keys.length) {
+        this.keys = Arrays.copyOf(this.keys, this.size * 2);
+      }
+      this.keys[this.size++] = key;
+    }
+  }
+
+  /**
+   * A game that reached a position: which game, after how many moves, and how it ended.
+   */
+  public static final class Hit {
+    private final long game;
+    private final int ply;
+    private final int margin;
+
+    /**
+     * Creates a hit.
+     *
+     * @param game the index of the game in the journal
+     * @param ply how many moves were played when the position was reached, from 1
+     * @param margin the red player's final total score minus the blue player's
+     */
+    public Hit(long game, int ply, int margin) {
+      this.game = game;
+      this.ply = ply;
+      this.margin = margin;
+    }
+
+    /**
+     * Returns the index of the game in the journal.
+     *
+     * @return the game
+     */
+    public long getGame() {
+      return this.game;
+    }
+
+    /**
+     * Returns how many moves were played when the position was reached.
+     *
+     * @return the number of moves, from 1
+     */
+    public int getPly() {
+      return this.ply;
+    }
+
+    /**
+     * Returns the red player's final total score minus the blue player's.
+     *
+     * @return the final margin
+     */
+    public int getMargin() {
+      return this.margin;
+    }
+
+    /**
+     * Returns who won the game.
+     *
+     * @return the winner, or null for a draw
+     */
+    public Player getWinner() {
+      return this.margin > 0 ? Player.RED : this.margin < 0 ? Player.BLUE : null;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (obj == null || getClass() != obj.getClass()) {
+        return false;
+      }
+      Hit hit = (Hit) obj;
+      return this.game == hit.game && this.ply == hit.ply && this.margin == hit.margin;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * (31 * Long.hashCode(this.game) + this.ply) + this.margin;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("game %d move %d (%+d)", this.game, this.ply, this.margin);
+    }
+  }
+}
@@ -0,0 +1,197 @@
+package sanguine.controller;
+
+import java.util.List;
+
+/**
+ * A Glicko-2 rating: a rating on the familiar Elo scale, a rating deviation that measures how
+ * uncertain the rating is and a volatility that measures how erratic the results have been.
+ * Ratings are updated once per rating period from all the games played in it.
+ */
+public final class GlickoRating {
+  /**
+   * Rating of a new entrant.
+   */
+  public static final double DEFAULT_RATING = 1500;
+
+  /**
+   * Rating deviation of a new entrant.
+   */
+  public static final double DEFAULT_DEVIATION = 350;
+
+  /**
+   * Volatility of a new entrant.
+   */
+  public static final double DEFAULT_VOLATILITY = 0.06;
+
+  //converts between the Elo scale and the Glicko-2 scale
+  private static final double SCALE = 173.7178;
+  //constrains how quickly the volatility changes
+  private static final double TAU = 0.5;
+  private static final double EPSILON = 0.000001;
+
+  private final double rating;
+  private final double deviation;
+  private final double volatility;
+
+  /**
+   * Creates a rating.
+   *
+   * @param rating the rating on the Elo scale
+   * @param deviation the rating deviation on the Elo scale
+   * @param volatility the volatility
+   */
+  public GlickoRating(double rating, double deviation, double volatility) {
+    if (deviation <= 0 || volatility <= 0) {
+      throw new IllegalArgumentException("Deviation and volatility must be positive");
+    }
+    this.rating = rating;
+    this.deviation = deviation;
+    this.volatility = volatility;
+  }
+
+  /**
+   * Creates the rating of a new entrant.
+   */
+  public GlickoRating() {
+    this(DEFAULT_RATING, DEFAULT_DEVIATION, DEFAULT_VOLATILITY);
+  }
+
+  public double getRating() {
+    return this.rating;
+  }
+
+  public double getDeviation() {
+    return this.deviation;
+  }
+
+  public double getVolatility() {
+    return this.volatility;
+  }
+
+  /**
+   * Returns the lower end of the 95% confidence interval of the rating.
+   *
+   * @return the lowest plausible rating
+   */
+  public double getLowerBound() {
+    return this.rating - 1.96 * this.deviation;
+  }
+
+  /**
+   * Returns the upper end of the 95% confidence interval of the rating.
+   *
+   * @return the highest plausible rating
+   */
+  public double getUpperBound() {
+    return this.rating + 1.96 * this.deviation;
+  }
+
+  /**
+   * Returns the expected score of a game against an opponent, counting a draw as half a win.
+   *
+   * @param opponent the rating of the opponent
+   * @return the expected score between 0 and 1
+   */
+  public double expectedScore(GlickoRating opponent) {
+    return expected(this.mu(), opponent.mu(), opponent.phi());
+  }
+
+  /**
+   * Computes the rating after a rating period.
+   *
+   * @param opponents the ratings of the opponents of every game in the period
+   * @param scores the score of every game, 1 for a win, 0.5 for a draw and 0 for a loss
+   * @return the updated rating
+   * @throws IllegalArgumentException if there is not exactly one score per opponent
+   */
+  public GlickoRating update(List<GlickoRating> opponents, List<Double> scores) {
+    if (opponents.size() != scores.size()) {
+      throw new IllegalArgumentException("Need one score per opponent");
+    }
+    double mu = this.mu();
+    double phi = this.phi();
+    //an entrant that did not play only becomes less certain
+    if (opponents.isEmpty()) {
+      return fromScale(mu, Math.sqrt(phi * phi + this.volatility * this.volatility),
+              this.volatility);
+    }
+
+    double inverseVariance = 0;
+    double improvement = 0;
+    for (int i = 0; i < opponents.size(); i++) {
+      GlickoRating opponent = opponents.get(i);
+      double impact = impact(opponent.phi());
+      double expected = expected(mu, opponent.mu(), opponent.phi());
+      inverseVariance += impact * impact * expected * (1 - expected);
+      improvement += impact * (scores.get(i) - expected);
+    }
+    double variance = 1 / inverseVariance;
+    double delta = variance * improvement;
+
+    double sigma = this.newVolatility(phi, variance, delta);
+    double phiStar = Math.sqrt(phi * phi + sigma * sigma);
+    double newPhi = 1 / Math.sqrt(1 / (phiStar * phiStar) + 1 / variance);
+    double newMu = mu + newPhi * newPhi * improvement;
+    return fromScale(newMu, newPhi, sigma);
+  }
+
+  //finds the new volatility with the Illinois algorithm
+  private double newVolatility(double phi, double variance, double delta) {
+    double a = Math.log(this.volatility * this.volatility);
+    double lower = a;
+    double upper;
+    if (delta * delta > phi * phi + variance) {
+      upper = Math.log(delta * delta - phi * phi - variance);
+    } else {
+      int k = 1;
+      while (volatilityFunction(a - k * TAU, delta, phi, variance, a) < 0) {
+        k++;
+      }
+      upper = a - k * TAU;
+    }
+    double lowerValue = volatilityFunction(lower, delta, phi, variance, a);
+    double upperValue = volatilityFunction(upper, delta, phi, variance, a);
+    while (Math.abs(upper - lower) > EPSILON) {
+      double next = lower + (lower - upper) * lowerValue / (upperValue - lowerValue);
+      double nextValue = volatilityFunction(next, delta, phi, variance, a);
+      if (nextValue * upperValue <= 0) {
+        lower = upper;
+        lowerValue = upperValue;
+      } else {
+        lowerValue = lowerValue / 2;
+      }
+      upper = next;
+      upperValue = nextValue;
+    }
+    return Math.exp(lower / 2);
+  }
+
+  //the function whose root is the new volatility, in terms of its log squared
+  private static double volatilityFunction(double x, double delta, double phi, double variance,
+                                           double a) {
+    double ex = Math.exp(x);
+    double denominator = phi * phi + variance + ex;
+    return ex * (delta * delta - phi * phi - variance - ex) / (2 * denominator * denominator)
+            - (x - a) / (TAU * TAU);
+  }
+
+  private static double impact(double phi) {
+    return 1 / Math.sqrt(1 + 3 * phi * phi / (Math.PI * Math.PI));
+  }
+
+  private static double expected(double mu, double opponentMu, double opponentPhi) {
+    return 1 / (1 + Math.exp(-impact(opponentPhi) * (mu - opponentMu)));
+  }
+
+  private double mu() {
+    return (this.rating - DEFAULT_RATING) / SCALE;
+  }
+
+  private double phi() {
+    return this.deviation / SCALE;
+  }
+
+  private static GlickoRating fromScale(double mu, double phi, double volatility) {
+    return new GlickoRating(mu * SCALE + DEFAULT_RATING, phi * SCALE, volatility);
+  }
+}
@@ -0,0 +1,164 @@
+package sanguine.controller;
+
+import sanguine.model.Player;
+import sanguine.model.SanguineModel;
+import sanguine.view.FeatureListener;
+import sanguine.view.ModelListener;
+
+/**
+ * Controller that connects a player to the model without a view, so machine players can play
+ * complete games without opening any windows. Selections are applied as they arrive, confirmed
+ * moves and passes are sent straight to the model, and an illegal move is turned into a pass.
+ */
+public class HeadlessController implements SanguineController, FeatureListener, ModelListener {
+  private final SanguineModel model;
+  private final PlayerActions playerActions;
+  private final Player controllerPlayer;
+  private final TurnScheduler scheduler;
+  private int selectedCellRow;
+  private int selectedCellCol;
+  private int selectedCardIndex;
+  private boolean gameOver;
+
+  /**
+   * Subscribes the controller to the model and the player.
+   *
+   * @param model the Sanguine model
+   * @param player the player of this controller
+   */
+  public HeadlessController(SanguineModel model, PlayerActions player) {
+    this(model, player, new TurnScheduler());
+  }
+
+  /**
+   * Subscribes the controller to the model and the player, taking turns through a scheduler
+   * shared with the other player's controller.
+   *
+   * @param model the Sanguine model
+   * @param player the player of this controller
+   * @param scheduler the scheduler that runs the turns of both players
+   */
+  public HeadlessController(SanguineModel model, PlayerActions player, TurnScheduler scheduler) {
+    if (model == null || player == null || scheduler == null) {
+      throw new IllegalArgumentException("Model, player and scheduler cannot be null");
+    }
+    this.model = model;
+    this.scheduler = scheduler;
+    this.playerActions = player;
+    this.controllerPlayer = player.getPlayer();
+    this.model.setListener(this);
+    this.playerActions.setListener(this);
+    this.clearSelections();
+  }
+
+  @Override
+  public void playGame(int rows, int cols, int handSize, boolean shuffle) {
+    try {
+      this.model.startGame(rows, cols, handSize, shuffle);
+    } catch (IllegalStateException e) {
+      // game already started
+    }
+    if (this.model.getCurrentPlayer() == this.controllerPlayer) {
+      this.scheduleTurn();
+    }
+  }
+
+  @Override
+  public void checkGameOver() {
+    if (this.model.gameOver()) {
+      this.gameOver(this.model.getWinner());
+    }
+  }
+
+  @Override
+  public void selectBoardCell(int row, int col, Player player) {
+    if (this.canAct(player)) {
+      this.selectedCellRow = row;
+      this.selectedCellCol = col;
+    }
+  }
+
+  @Override
+  public void selectCard(int cardIndex, Player player) {
+    if (this.canAct(player)) {
+      this.selectedCardIndex = cardIndex;
+    }
+  }
+
+  @Override
+  public void confirmMove(Player player) {
+    if (!this.canAct(player)) {
+      return;
+    }
+    try {
+      this.model.playCard(this.model.getPlayerHand(player).get(this.selectedCardIndex),
+              this.selectedCellRow, this.selectedCellCol);
+      this.clearSelections();
+      this.checkGameOver();
+    } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+      //nobody can correct an illegal move without a view, so it forfeits the turn instead of
+      //stalling the game
+      this.passTurn(player);
+    }
+  }
+
+  @Override
+  public void passTurn(Player player) {
+    if (!this.canAct(player)) {
+      return;
+    }
+    this.clearSelections();
+    this.model.pass();
+    this.checkGameOver();
+  }
+
+  @Override
+  public void turnChanged(Player player) {
+    if (player == this.controllerPlayer) {
+      this.scheduleTurn();
+    }
+  }
+
+  @Override
+  public void gameOver(Player winner) {
+    this.playerActions.cancelTurn();
+    this.gameOver = true;
+  }
+
+  @Override
+  public void errorOccurrence(String reason) {
+    // there is no view to show errors on
+  }
+
+  @Override
+  public void turnPassed(Player player) {
+    // there is no view to show passes on
+  }
+
+  /**
+   * Returns whether this controller has seen the game end.
+   *
+   * @return true if the game is over
+   */
+  public boolean isGameOver() {
+    return this.gameOver;
+  }
+
+  //queues the turn of an automated player behind the turn that is being taken
+  private void scheduleTurn() {
+    if (this.playerActions.isAutomated()) {
+      this.scheduler.schedule(() -> this.playerActions.takeTurn(this.model));
+    }
+  }
+
+  private boolean canAct(Player player) {
+    return player == this.controllerPlayer && player == this.model.getCurrentPlayer()
+            && !this.model.gameOver();
+  }
+
+  private void clearSelections() {
+    this.selectedCardIndex = -1;
+    this.selectedCellRow = -1;
+    this.selectedCellCol = -1;
+  }
+}
@@ -36,6 +36,11 @@ public class HumanPlayer implements PlayerActions {
     // Human actions come from the view
   }
 
+  @Override
+  public void cancelTurn() {
+    // Human actions are never computed in the background
+  }
+
   @Override
   public Player getPlayer() {
     return this.player;
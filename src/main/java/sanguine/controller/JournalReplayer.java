@@ -0,0 +1,268 @@
+package sanguine.controller;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import sanguine.model.Card;
+import sanguine.model.GameJournal;
+import sanguine.model.Player;
+import sanguine.model.ReadonlySanguineModel;
+import sanguine.model.SanguineGame;
+
+/**
+ * Replays the games of a journal through the model's rules without any windows, checking that
+ * every recorded move is still legal and that every game ends with its recorded scores, so a rule
+ * change can be tested against every game ever recorded. Each game is dealt the way a tournament
+ * deals it, from the unshuffled decks and the recorded seed, once the decks are checked against
+ * the recorded deck hash, as an unrecorded game so the replay is not counted in the metrics
+ * again. The journal is memory mapped one window at a time, so files much larger than memory
+ * stream through, and its games are cut into batches that a pool of threads replays at once while
+ * the next window is scanned.
+ */
+public class JournalReplayer {
+  /**
+   * How many games a thread replays per batch by default.
+   */
+  public static final int DEFAULT_BATCH_GAMES = 4096;
+
+  /**
+   * How many bytes of the journal are mapped at once by default.
+   */
+  public static final long DEFAULT_WINDOW_SIZE = 1L << 30;
+
+  private final List<Card> redDeck;
+  private final List<Card> blueDeck;
+  private final long configHash;
+  private final int batchGames;
+  private final long windowSize;
+
+  /**
+   * Creates a replayer for games dealt from the given decks.
+   *
+   * @param redDeck the unshuffled deck of the red player
+   * @param blueDeck the unshuffled deck of the blue player
+   * @throws IllegalArgumentException if a deck is null
+   */
+  public JournalReplayer(List<Card> redDeck, List<Card> blueDeck) {
+    this(redDeck, blueDeck, DEFAULT_BATCH_GAMES, DEFAULT_WINDOW_SIZE);
+  }
+
+  //smaller batches and windows let tests cross their boundaries with few games
+  JournalReplayer(List<Card> redDeck, List<Card> blueDeck, int batchGames, long windowSize) {
+    if (redDeck == null || blueDeck == null) {
+      throw new IllegalArgumentException("Decks cannot be null");
+    }
+    if (batchGames <= 0 || windowSize <= 0 || windowSize > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Invalid batch or window size");
+    }
+    this.redDeck = new ArrayList<>(redDeck);
+    this.blueDeck = new ArrayList<>(blueDeck);
+    this.configHash = GameJournal.configHash(this.redDeck, this.blueDeck);
+    this.batchGames = batchGames;
+    this.windowSize = windowSize;
+  }
+
+  /**
+   * Replays every game of a journal.
+   *
+   * @param journal the journal file
+   * @param threads how many games to replay at once
+   * @param listener receives the position after every move replayed, from the replaying threads,
+   *                 or null
+   * @return the games and moves replayed and the games that did not replay as recorded
+   * @throws IOException if the journal cannot be read or is not a journal
+   * @throws InterruptedException if interrupted while waiting for the replays
+   * @throws IllegalArgumentException if there are no threads
+   */
+  public ReplayResult replay(Path journal, int threads, MoveListener listener)
+          throws IOException, InterruptedException {
+    return this.replay(journal, 0, threads, listener);
+  }
+
+  /**
+   * Replays the games of a journal from the given game on. Earlier games are only skipped over,
+   * which reads their varints without replaying them, so a journal that grew since it was last
+   * replayed can be replayed from where the last replay stopped.
+   *
+   * @param journal the journal file
+   * @param fromGame the index of the first game to replay, from 0
+   * @param threads how many games to replay at once
+   * @param listener receives the position after every move replayed, from the replaying threads,
+   *                 or null
+   * @return the games and moves replayed and the games that did not replay as recorded
+   * @throws IOException if the journal cannot be read or is not a journal
+   * @throws InterruptedException if interrupted while waiting for the replays
+   * @throws IllegalArgumentException if there are no threads or the first game is negative
+   */
+  public ReplayResult replay(Path journal, long fromGame, int threads, MoveListener listener)
+          throws IOException, InterruptedException {
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Threads must be positive");
+    }
+    if (fromGame < 0) {
+      throw new IllegalArgumentException("First game cannot be negative");
+    }
+    long started = System.nanoTime();
+    ExecutorService pool = Executors.newFixedThreadPool(threads, task -> {
+      Thread thread = new Thread(task, "sanguine-replay");
+      thread.setDaemon(true);
+      return thread;
+    });
+    //a few batches per thread are queued, so the scan never maps far ahead of the replays
+    Semaphore queued = new Semaphore(threads * 4);
+    List<Future<ReplayResult>> batches = new ArrayList<>();
+    long trailing = 0;
+    try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.READ)) {
+      long size = channel.size();
+      ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, 16));
+      GameJournal.checkHeader(header);
+      long start = header.position();
+      //the index of the next game scanned
+      long game = 0;
+      while (start < size) {
+        MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                Math.min(this.windowSize, size - start));
+        int batchStart = 0;
+        int count = 0;
+        while (GameJournal.skipGame(window)) {
+          if (game++ < fromGame) {
+            batchStart = window.position();
+            continue;
+          }
+          count++;
+          if (count == this.batchGames) {
+            batches.add(this.submit(pool, queued, window.slice(batchStart,
+                    window.position() - batchStart), game - count, listener));
+            count = 0;
+            batchStart = window.position();
+          }
+        }
+        if (count > 0) {
+          batches.add(this.submit(pool, queued, window.slice(batchStart,
+                  window.position() - batchStart), game - count, listener));
+        }
+        if (start + window.limit() == size) {
+          //bytes left at the end of the file are a game cut short
+          trailing = window.remaining();
+          break;
+        }
+        if (window.position() == 0) {
+          throw new IOException("A game at byte " + start + " is larger than the window");
+        }
+        start += window.position();
+      }
+
+      ReplayResult total = new ReplayResult();
+      for (Future<ReplayResult> batch : batches) {
+        total.add(batch.get());
+      }
+      total.finish(trailing, System.nanoTime() - started);
+      return total;
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("A replay failed", e.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  private Future<ReplayResult> submit(ExecutorService pool, Semaphore queued, ByteBuffer games,
+                                      long firstGame, MoveListener listener)
+          throws InterruptedException {
+    queued.acquire();
+    return pool.submit(() -> {
+      try {
+        return this.replayBatch(games, firstGame, listener);
+      } finally {
+        queued.release();
+      }
+    });
+  }
+
+  private ReplayResult replayBatch(ByteBuffer games, long firstGame, MoveListener listener) {
+    ReplayResult result = new ReplayResult();
+    GameJournal.Reader reader = new GameJournal.Reader(games);
+    for (long game = firstGame; reader.nextGame(); game++) {
+      this.replayGame(reader, game, listener, result);
+    }
+    return result;
+  }
+
+  //replays one game, reading all of its moves even once it has failed
+  private void replayGame(GameJournal.Reader reader, long game, MoveListener listener,
+                          ReplayResult result) {
+    String failure = null;
+    SanguineGame model = null;
+    if (reader.getConfigHash() != this.configHash) {
+      failure = "was dealt from other decks";
+    } else {
+      try {
+        //the games were counted when they were played, so replaying them is not
+        model = Tournament.deal(this.redDeck, this.blueDeck, reader.getSeed(), false);
+        model.startGame(reader.getRows(), reader.getCols(), reader.getHandSize(), false);
+      } catch (IllegalArgumentException | IllegalStateException e) {
+        failure = "cannot be dealt: " + e.getMessage();
+      }
+    }
+    int ply = 0;
+    for (int code = reader.nextMove(); code != GameJournal.END; code = reader.nextMove()) {
+      ply++;
+      if (failure != null) {
+        continue;
+      }
+      try {
+        if (model.gameOver()) {
+          failure = "move " + ply + " was made after the game ended";
+          continue;
+        }
+        if (code == GameJournal.PASS) {
+          model.pass();
+        } else {
+          Card card = model.getPlayerHand(model.getCurrentPlayer()).get(reader.handIndex(code));
+          model.playCard(card, reader.row(code), reader.col(code));
+        }
+        if (listener != null) {
+          listener.moveReplayed(game, ply, model);
+        }
+      } catch (IllegalArgumentException | IllegalStateException | IndexOutOfBoundsException e) {
+        failure = "move " + ply + " is illegal: " + e.getMessage();
+      }
+    }
+    if (failure == null && !model.gameOver()) {
+      failure = "ended before the game was over";
+    } else if (failure == null) {
+      int red = model.getTotalScore(Player.RED);
+      int blue = model.getTotalScore(Player.BLUE);
+      if (red != reader.getRedScore() || blue != reader.getBlueScore()) {
+        failure = String.format("ended %d-%d but was recorded as %d-%d", red, blue,
+                reader.getRedScore(), reader.getBlueScore());
+      }
+    }
+    result.addGame(ply, failure == null ? null : "game " + game + " " + failure);
+  }
+
+  /**
+   * Receives the position after every move replayed.
+   */
+  @FunctionalInterface
+  public interface MoveListener {
+    /**
+     * Called after a move is replayed. The model is only valid during the call, and calls for
+     * different games come from different threads at once.
+     *
+     * @param game the index of the game in the journal, from 0
+     * @param ply the number of moves played in the game so far, from 1
+     * @param model the position after the move
+     */
+    void moveReplayed(long game, int ply, ReadonlySanguineModel model);
+  }
+}
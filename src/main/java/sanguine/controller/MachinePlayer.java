@@ -3,6 +3,8 @@ package sanguine.controller;
 import java.util.List;
 import sanguine.model.Card;
 import sanguine.model.Cell;
+import sanguine.model.LatencyHistogram;
+import sanguine.model.MetricsRegistry;
 import sanguine.model.Player;
 import sanguine.model.SanguineModel;
 import sanguine.view.FeatureListener;
@@ -11,9 +13,13 @@ import sanguine.view.FeatureListener;
  * Machine player that computes and publishes actions using a strategy.
  */
 public class MachinePlayer implements PlayerActions {
+  private static final LatencyHistogram GENERATE_MOVES =
+          MetricsRegistry.global().histogram(MetricsRegistry.GENERATE_MOVES);
+
   private final Player player;
   private final Strategy strategy;
   private FeatureListener listener;
+  private DecisionTrace trace;
 
   /**
    * Creates a machine player for the given enum and strategy.
@@ -37,6 +43,15 @@ public class MachinePlayer implements PlayerActions {
     this.listener = listener;
   }
 
+  /**
+   * Records this player's decisions into the given trace from the next turn on.
+   *
+   * @param trace the trace to record into, or null to stop tracing
+   */
+  public void setTrace(DecisionTrace trace) {
+    this.trace = trace;
+  }
+
   @Override
   public void takeTurn(SanguineModel model) {
     if (listener == null || model == null || model.gameOver()) {
@@ -45,25 +60,50 @@ public class MachinePlayer implements PlayerActions {
     if (model.getCurrentPlayer() != this.player) {
       return;
     }
-    List<Move> moves = strategy.generateMoves(model);
-    if (moves == null || moves.isEmpty()) {
-      listener.passTurn(player);
-      return;
+    long start = System.nanoTime();
+    DecisionEvent decision = new DecisionEvent();
+    decision.begin();
+    List<Move> moves = null;
+    if (this.trace != null) {
+      this.trace.begin(this.player, this.strategy);
     }
-    for (Move move : moves) {
-      if (move == null) {
-        continue;
+    try {
+      moves = strategy.generateMoves(model);
+    } finally {
+      if (this.trace != null) {
+        this.trace.end(this.player, moves, System.nanoTime() - start);
       }
-      if (!this.isValidMove(model, move)) {
-        continue;
+    }
+    decision.end();
+    GENERATE_MOVES.recordSince(start);
+    DecisionEvent.commit(decision, this.player, this.strategy, moves);
+    publish(model, this.player, this.listener, moves);
+  }
+
+  /**
+   * Publishes the first valid move of a list through a listener, or passes if there is none.
+   * Nothing is searched, timed or recorded, so players that chose their moves elsewhere publish
+   * them like this player does.
+   *
+   * @param model the live game
+   * @param player the player whose turn it is
+   * @param listener the controller the move is published to
+   * @param moves the chosen moves, best first, or null or empty to pass
+   */
+  static void publish(SanguineModel model, Player player, FeatureListener listener,
+                      List<Move> moves) {
+    if (moves != null) {
+      for (Move move : moves) {
+        if (move != null && isValidMove(model, move)) {
+          publishMove(model, player, listener, move);
+          return;
+        }
       }
-      this.publishMove(model, move);
-      return;
     }
     listener.passTurn(player);
   }
 
-  private boolean isValidMove(SanguineModel model, Move move) {
+  private static boolean isValidMove(SanguineModel model, Move move) {
     try {
       Cell targetCell = model.getCell(move.getRow(), move.getCol());
       model.checkValidMove(targetCell, move.getCard());
@@ -73,9 +113,11 @@ public class MachinePlayer implements PlayerActions {
     }
   }
 
-  private void publishMove(SanguineModel model, Move move) {
+  private static void publishMove(SanguineModel model, Player player, FeatureListener listener,
+                                  Move move) {
     List<Card> hand = model.getPlayerHand(player);
-    int cardIndex = hand.indexOf(move.getCard());
+    //a move names one card of its class, and any copy in hand plays the same
+    int cardIndex = CardClasses.indexOf(hand, move.getCard());
     if (cardIndex < 0) {
       listener.passTurn(player);
       return;
@@ -85,6 +127,11 @@ public class MachinePlayer implements PlayerActions {
     listener.confirmMove(player);
   }
 
+  @Override
+  public void cancelTurn() {
+    // Turns are finished before takeTurn returns
+  }
+
   @Override
   public Player getPlayer() {
     return this.player;
@@ -30,6 +30,7 @@ public class MaximizeRowScoreStrategy implements Strategy {
     List<List<Cell>> cells = board.getCells();
     
     List<Move> bestMoves = new ArrayList<>();
+    DecisionTrace trace = DecisionTrace.active();
 
     // Visit rows top-down
     for (int row = 0; row < cells.size(); row++) {
@@ -38,8 +39,8 @@ public class MaximizeRowScoreStrategy implements Strategy {
       
       // Only consider rows where we are behind or tied
       if (currentScore <= opponentScore) {
-        // Try each card
-        for (Card card : hand) {
+        // Try each distinct card
+        for (Card card : CardClasses.representatives(hand)) {
           // Try each column
           for (int col = 0; col < cells.get(row).size(); col++) {
             Cell cell = board.getCell(row, col);
@@ -49,6 +50,9 @@ public class MaximizeRowScoreStrategy implements Strategy {
                 && card.getCost() <= cell.getValue()) {
               
               int potentialScore = currentScore + card.getValue();
+              if (trace != null) {
+                trace.candidate(this, card, row, col, potentialScore - opponentScore);
+              }
               if (potentialScore > opponentScore) {
                 bestMoves.add(new Move(card, row, col));
               }
@@ -0,0 +1,293 @@
+package sanguine.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import sanguine.model.Card;
+import sanguine.model.Cell;
+import sanguine.model.PawnCell;
+import sanguine.model.Player;
+import sanguine.model.PositionHash;
+import sanguine.model.SanguineGame;
+import sanguine.model.SanguineModel;
+
+/**
+ * A strategy that runs Monte Carlo tree search on copies of the model. Every iteration walks the
+ * tree by the upper confidence bound of each move, reaches one new position, finishes the game
+ * with random moves and credits the result to every position on the way. The most visited move
+ * is played, and an empty list of moves means passing.
+ * The tree is kept between turns: on the next turn the position reached by the moves actually
+ * played is found in the tree by its position hash and becomes the new root, its statistics
+ * seed the new search and everything that can no longer be reached is dropped. Nodes live in two
+ * preallocated {@link NodeArena}s that take turns holding the tree, so the tree never grows past
+ * the node budget and growing it allocates nothing; once it is full, iterations keep refining
+ * the existing nodes.
+ */
+public class MctsStrategy implements Strategy {
+  /**
+   * Default number of iterations per turn.
+   */
+  public static final int DEFAULT_ITERATIONS = 2000;
+
+  /**
+   * Default largest number of positions kept in the tree.
+   */
+  public static final int DEFAULT_MAX_NODES = 100_000;
+
+  //how far below the old root the position of the next turn is searched for
+  private static final int REROOT_DEPTH = 4;
+  //weighs exploring rarely tried moves against exploiting good ones
+  private static final double EXPLORATION = Math.sqrt(2);
+
+  private final int iterations;
+  private final Random random;
+  private NodeArena tree;
+  //receives the reachable part of the tree when it is re-rooted, then swaps with it
+  private NodeArena spare;
+  //move codes of the position being expanded or played out
+  private int[] codes;
+  private int reusedVisits;
+
+  /**
+   * Creates a search with the default iterations and node budget.
+   */
+  public MctsStrategy() {
+    this(DEFAULT_ITERATIONS, DEFAULT_MAX_NODES, new Random().nextLong());
+  }
+
+  /**
+   * Creates a search with the given iterations, node budget and random seed.
+   *
+   * @param iterations the number of iterations per turn
+   * @param maxNodes the largest number of positions kept in the tree
+   * @param seed the seed of the random playouts
+   * @throws IllegalArgumentException if there are no iterations or no room for a root
+   */
+  public MctsStrategy(int iterations, int maxNodes, long seed) {
+    if (iterations <= 0 || maxNodes <= 0) {
+      throw new IllegalArgumentException("Iterations and node budget must be positive");
+    }
+    this.iterations = iterations;
+    this.random = new Random(seed);
+    this.tree = new NodeArena(maxNodes);
+    this.spare = new NodeArena(maxNodes);
+    this.codes = new int[64];
+  }
+
+  @Override
+  public List<Move> generateMoves(SanguineModel model) {
+    SanguineGame game = new SanguineGame(model);
+    if (game.gameOver()) {
+      return new ArrayList<>();
+    }
+    this.reroot(game);
+    //an interrupted search plays the best move found so far, leaving the tree whole
+    for (int i = 0; i < this.iterations && !Thread.currentThread().isInterrupted(); i++) {
+      this.iterate(game);
+    }
+
+    int best = NodeArena.NONE;
+    int first = this.tree.getFirstChild(0);
+    DecisionTrace trace = DecisionTrace.active();
+    for (int child = first; child < first + this.tree.getChildCount(0); child++) {
+      int code = this.tree.getMove(child);
+      if (trace != null && code != NodeArena.PASS) {
+        //the move played is the one visited most
+        Move move = decode(game, code);
+        trace.candidate(this, move.getCard(), move.getRow(), move.getCol(),
+                this.tree.getVisits(child));
+      }
+      if (best == NodeArena.NONE || this.tree.getVisits(child) > this.tree.getVisits(best)) {
+        best = child;
+      }
+    }
+    //a root without children has only the pass to offer
+    if (best == NodeArena.NONE || this.tree.getMove(best) == NodeArena.PASS) {
+      return new ArrayList<>();
+    }
+    return List.of(decode(game, this.tree.getMove(best)));
+  }
+
+  /**
+   * Returns how many positions the tree holds.
+   *
+   * @return the number of nodes
+   */
+  public int getTreeSize() {
+    return this.tree.size();
+  }
+
+  /**
+   * Returns how many visits the root of the last search carried over from earlier turns.
+   *
+   * @return the visits of the reused root, or 0 if the search started from scratch
+   */
+  public int getReusedVisits() {
+    return this.reusedVisits;
+  }
+
+  //makes the node of the given position the root, or starts a new tree if it is not in reach
+  private void reroot(SanguineGame game) {
+    long key = PositionHash.of(game);
+    int found = this.tree.size() == 0 ? NodeArena.NONE : this.find(0, key, 0);
+    if (found == NodeArena.NONE) {
+      this.tree.clear();
+      this.tree.addRoot(key);
+      this.reusedVisits = 0;
+      return;
+    }
+    this.tree.compactInto(this.spare, found);
+    NodeArena old = this.tree;
+    this.tree = this.spare;
+    this.spare = old;
+    this.reusedVisits = this.tree.getVisits(0);
+  }
+
+  //searches for the reached node of a position a few moves below the given node
+  private int find(int node, long key, int depth) {
+    if (this.tree.getVisits(node) > 0 && this.tree.getKey(node) == key) {
+      return node;
+    }
+    if (depth == REROOT_DEPTH || !this.tree.isExpanded(node)) {
+      return NodeArena.NONE;
+    }
+    int first = this.tree.getFirstChild(node);
+    for (int child = first; child < first + this.tree.getChildCount(node); child++) {
+      int found = this.find(child, key, depth + 1);
+      if (found != NodeArena.NONE) {
+        return found;
+      }
+    }
+    return NodeArena.NONE;
+  }
+
+  //selects, expands, plays out and backs up once
+  private void iterate(SanguineGame rootGame) {
+    SanguineGame game = new SanguineGame(rootGame);
+    int node = 0;
+    while (!game.gameOver()) {
+      //a full tree is walked through its existing nodes and played out from its leaves
+      if (!this.tree.isExpanded(node) && !this.expand(node, game)) {
+        break;
+      }
+      node = this.select(node);
+      apply(game, this.tree.getMove(node));
+      if (this.tree.getVisits(node) == 0) {
+        this.tree.setKey(node, PositionHash.of(game));
+        break;
+      }
+    }
+    this.playOut(game);
+
+    int red = game.getTotalScore(Player.RED);
+    int blue = game.getTotalScore(Player.BLUE);
+    for (int visited = node; visited != NodeArena.NONE;
+         visited = this.tree.getParent(visited)) {
+      int mover = this.tree.getMover(visited);
+      int margin = mover == Player.RED.ordinal() ? red - blue : blue - red;
+      this.tree.addVisit(visited, mover < 0 ? 0 : margin > 0 ? 1 : margin == 0 ? 0.5 : 0);
+    }
+  }
+
+  private boolean expand(int node, SanguineGame game) {
+    int count = this.legalMoves(game);
+    return this.tree.expand(node, this.codes, count, game.getCurrentPlayer().ordinal());
+  }
+
+  //picks an unvisited child, or else the child with the best upper confidence bound for the
+  //player making the move
+  private int select(int node) {
+    int best = NodeArena.NONE;
+    double bestScore = Double.NEGATIVE_INFINITY;
+    double logVisits = Math.log(Math.max(1, this.tree.getVisits(node)));
+    int first = this.tree.getFirstChild(node);
+    for (int child = first; child < first + this.tree.getChildCount(node); child++) {
+      int visits = this.tree.getVisits(child);
+      if (visits == 0) {
+        return child;
+      }
+      double score = this.tree.getWins(child) / visits
+              + EXPLORATION * Math.sqrt(logVisits / visits);
+      if (score > bestScore) {
+        bestScore = score;
+        best = child;
+      }
+    }
+    return best;
+  }
+
+  //finishes the game with random moves, passing only when nothing can be played
+  private void playOut(SanguineGame game) {
+    while (!game.gameOver()) {
+      int count = this.legalMoves(game);
+      //the pass is last, so it is only chosen when it is the only move
+      int playable = Math.max(1, count - 1);
+      apply(game, this.codes[this.random.nextInt(playable)]);
+    }
+  }
+
+  //writes the codes of every distinct card on every cell it can be played on, in random order
+  //and followed by the pass, and returns how many there are
+  private int legalMoves(SanguineGame game) {
+    Player player = game.getCurrentPlayer();
+    List<Card> hand = game.getPlayerHand(player);
+    int most = hand.size() * game.getNumRows() * game.getNumCols() + 1;
+    if (this.codes.length < most) {
+      this.codes = new int[most];
+    }
+    int count = 0;
+    for (int index = 0; index < hand.size(); index++) {
+      if (isRepeat(hand, index)) {
+        continue;
+      }
+      Card card = hand.get(index);
+      for (int row = 0; row < game.getNumRows(); row++) {
+        for (int col = 0; col < game.getNumCols(); col++) {
+          Cell cell = game.getCell(row, col);
+          if (cell instanceof PawnCell
+                  && cell.getPlayer() == player
+                  && card.getCost() <= cell.getValue()) {
+            this.codes[count++] = encode(index, row, col);
+          }
+        }
+      }
+    }
+    for (int i = count - 1; i > 0; i--) {
+      int swap = this.random.nextInt(i + 1);
+      int code = this.codes[i];
+      this.codes[i] = this.codes[swap];
+      this.codes[swap] = code;
+    }
+    this.codes[count++] = NodeArena.PASS;
+    return count;
+  }
+
+  //identical cards in hand lead to identical positions
+  private static boolean isRepeat(List<Card> hand, int index) {
+    for (int earlier = 0; earlier < index; earlier++) {
+      if (CardClasses.equivalent(hand.get(earlier), hand.get(index))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  //packs the hand index of the card, the row and the column into one move code
+  private static int encode(int handIndex, int row, int col) {
+    return handIndex << 16 | row << 8 | col;
+  }
+
+  private static Move decode(SanguineGame game, int code) {
+    Card card = game.getPlayerHand(game.getCurrentPlayer()).get(code >>> 16);
+    return new Move(card, code >> 8 & 0xFF, code & 0xFF);
+  }
+
+  private static void apply(SanguineGame game, int code) {
+    if (code == NodeArena.PASS) {
+      game.pass();
+    } else {
+      game.playCard(game.getPlayerHand(game.getCurrentPlayer()).get(code >>> 16),
+              code >> 8 & 0xFF, code & 0xFF);
+    }
+  }
+}
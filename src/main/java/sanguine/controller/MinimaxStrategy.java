@@ -36,9 +36,14 @@ public class MinimaxStrategy implements Strategy {
 
     Move bestMove = null;
     int minOpponentValue = Integer.MAX_VALUE;
+    DecisionTrace trace = DecisionTrace.active();
 
-    // Try all possible moves
-    for (Card card : hand) {
+    // Try all possible moves, once per class of identical cards
+    for (Card card : CardClasses.representatives(hand)) {
+      //an interrupted search plays the best move found so far
+      if (Thread.currentThread().isInterrupted()) {
+        break;
+      }
       for (int row = 0; row < cells.size(); row++) {
         for (int col = 0; col < cells.get(row).size(); col++) {
           Cell cell = board.getCell(row, col);
@@ -49,6 +54,10 @@ public class MinimaxStrategy implements Strategy {
             
             // Simulate move and evaluate opponent's best response
             int opponentValue = evaluateOpponentResponse(model, card, row, col);
+            if (trace != null) {
+              //lower is better, so the score is the opponent's rows won negated
+              trace.candidate(this, card, row, col, -opponentValue);
+            }
             
             // Minimize the opponent's gain
             if (opponentValue < minOpponentValue) {
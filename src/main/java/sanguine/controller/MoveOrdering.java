@@ -0,0 +1,112 @@
+package sanguine.controller;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import sanguine.model.PositionHash;
+
+/**
+ * Remembers which moves caused cutoffs in an alpha-beta search so they are tried early in other
+ * positions. The history table scores a move by its card class and cell, adding more for cutoffs
+ * found with more of the game left to search, since those prune more. Killer moves are the last
+ * two moves that caused a cutoff at each ply, which often cut off again in sibling positions.
+ * Moves are identified by {@link #key}, so copies of a card share their statistics. An ordering
+ * without heuristics keeps no statistics and leaves the order to the caller's static ordering.
+ */
+final class MoveOrdering {
+  private static final int KILLERS = 2;
+  private static final long NO_MOVE = Long.MIN_VALUE;
+
+  private final boolean heuristics;
+  private final Map<Long, Integer> history;
+  private long[][] killers;
+
+  /**
+   * Creates an empty ordering.
+   *
+   * @param heuristics whether to keep history and killer moves
+   */
+  MoveOrdering(boolean heuristics) {
+    this.heuristics = heuristics;
+    this.history = new HashMap<>();
+    this.killers = new long[0][];
+  }
+
+  /**
+   * Identifies a move by its card class and cell.
+   *
+   * @param move the move, not a pass
+   * @return the key of the move
+   */
+  static long key(Move move) {
+    return (long) PositionHash.classCode(move.getCard(), false) << 16
+            | move.getRow() << 8 | move.getCol();
+  }
+
+  /**
+   * Ranks a move among the killer moves of a ply.
+   *
+   * @param key the key of the move
+   * @param ply how many moves below the root the position is
+   * @return 2 for the newest killer, 1 for the older one and 0 for any other move
+   */
+  int killerRank(long key, int ply) {
+    if (ply >= this.killers.length) {
+      return 0;
+    }
+    for (int i = 0; i < KILLERS; i++) {
+      if (this.killers[ply][i] == key) {
+        return KILLERS - i;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Returns the history score of a move.
+   *
+   * @param key the key of the move
+   * @return how much the move has pruned so far
+   */
+  int history(long key) {
+    return this.history.getOrDefault(key, 0);
+  }
+
+  /**
+   * Records that a move caused a cutoff.
+   *
+   * @param key the key of the move
+   * @param ply how many moves below the root the position is
+   * @param depth how many moves are left to search below the position
+   */
+  void recordCutoff(long key, int ply, int depth) {
+    if (!this.heuristics) {
+      return;
+    }
+    this.history.merge(key, depth * depth, Integer::sum);
+    if (ply >= this.killers.length) {
+      int length = this.killers.length;
+      this.killers = Arrays.copyOf(this.killers, Math.max(ply + 1, length * 2));
+      for (int i = length; i < this.killers.length; i++) {
+        this.killers[i] = new long[] {NO_MOVE, NO_MOVE};
+      }
+    }
+    long[] slots = this.killers[ply];
+    if (slots[0] != key) {
+      slots[1] = slots[0];
+      slots[0] = key;
+    }
+  }
+
+  /**
+   * Prepares for a new search: killer moves are forgotten, since the plies now belong to other
+   * positions, and history scores are halved so recent cutoffs weigh more.
+   */
+  void newSearch() {
+    for (long[] slots : this.killers) {
+      Arrays.fill(slots, NO_MOVE);
+    }
+    this.history.replaceAll((key, score) -> score / 2);
+    this.history.values().removeIf(score -> score == 0);
+  }
+}
@@ -0,0 +1,211 @@
+package sanguine.controller;
+
+/**
+ * Fixed-capacity storage for the nodes of a search tree, kept as parallel arrays of primitives
+ * instead of one object per node, so growing the tree allocates nothing. A node is an index into
+ * the arrays. The children of a node are allocated together as one contiguous range when the
+ * node is expanded, and each child records the move code that leads to it and the player who
+ * made that move. An arena is emptied and refilled between turns rather than replaced.
+ */
+final class NodeArena {
+  /**
+   * The move code of a pass.
+   */
+  static final int PASS = -1;
+
+  /**
+   * The index of no node, used as the parent of the root.
+   */
+  static final int NONE = -1;
+
+  private final long[] keys;
+  private final int[] visits;
+  private final double[] wins;
+  private final int[] parents;
+  private final int[] firstChildren;
+  private final int[] childCounts;
+  private final int[] moves;
+  private final byte[] movers;
+  //the source node of every node copied by compactInto, in copy order
+  private final int[] sources;
+  private int size;
+
+  /**
+   * Creates an empty arena that holds up to the given number of nodes.
+   *
+   * @param capacity the largest number of nodes
+   */
+  NodeArena(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive");
+    }
+    this.keys = new long[capacity];
+    this.visits = new int[capacity];
+    this.wins = new double[capacity];
+    this.parents = new int[capacity];
+    this.firstChildren = new int[capacity];
+    this.childCounts = new int[capacity];
+    this.moves = new int[capacity];
+    this.movers = new byte[capacity];
+    this.sources = new int[capacity];
+    this.size = 0;
+  }
+
+  /**
+   * Removes every node.
+   */
+  void clear() {
+    this.size = 0;
+  }
+
+  int size() {
+    return this.size;
+  }
+
+  int capacity() {
+    return this.keys.length;
+  }
+
+  /**
+   * Adds a root node with no statistics.
+   *
+   * @param key the position hash of the root
+   * @return the index of the root
+   * @throws IllegalStateException if the arena is not empty
+   */
+  int addRoot(long key) {
+    if (this.size != 0) {
+      throw new IllegalStateException("Arena already has a root");
+    }
+    this.size = 1;
+    this.init(0, NONE, PASS, (byte) -1);
+    this.keys[0] = key;
+    return 0;
+  }
+
+  /**
+   * Allocates the children of a node as one range, one per move code. Their keys are filled in
+   * when they are first reached.
+   *
+   * @param parent the node being expanded
+   * @param codes the move codes of the children
+   * @param count how many of the codes to use
+   * @param mover the index of the player who makes the moves
+   * @return false if the arena has no room for the children
+   */
+  boolean expand(int parent, int[] codes, int count, int mover) {
+    if (this.size + count > this.capacity()) {
+      return false;
+    }
+    this.firstChildren[parent] = this.size;
+    this.childCounts[parent] = count;
+    for (int i = 0; i < count; i++) {
+      this.init(this.size + i, parent, codes[i], (byte) mover);
+    }
+    this.size += count;
+    return true;
+  }
+
+  boolean isExpanded(int node) {
+    return this.firstChildren[node] != NONE;
+  }
+
+  int getFirstChild(int node) {
+    return this.firstChildren[node];
+  }
+
+  int getChildCount(int node) {
+    return this.childCounts[node];
+  }
+
+  int getParent(int node) {
+    return this.parents[node];
+  }
+
+  int getMove(int node) {
+    return this.moves[node];
+  }
+
+  int getMover(int node) {
+    return this.movers[node];
+  }
+
+  long getKey(int node) {
+    return this.keys[node];
+  }
+
+  void setKey(int node, long key) {
+    this.keys[node] = key;
+  }
+
+  int getVisits(int node) {
+    return this.visits[node];
+  }
+
+  double getWins(int node) {
+    return this.wins[node];
+  }
+
+  /**
+   * Counts a visit to a node and credits its mover with the result.
+   *
+   * @param node the node visited
+   * @param win 1 for a win of the node's mover, 0.5 for a draw and 0 for a loss
+   */
+  void addVisit(int node, double win) {
+    this.visits[node]++;
+    this.wins[node] += win;
+  }
+
+  /**
+   * Empties the target and copies the subtree of a node into it, with that node as the root.
+   * Nodes outside the subtree are dropped, and every child range stays contiguous.
+   *
+   * @param target the arena to copy into
+   * @param root the node that becomes the root of the target
+   */
+  void compactInto(NodeArena target, int root) {
+    target.clear();
+    target.size = 1;
+    target.copy(0, this, root, NONE);
+    target.sources[0] = root;
+    //the target is filled breadth first, so its own nodes double as the queue
+    for (int next = 0; next < target.size; next++) {
+      int source = target.sources[next];
+      if (!this.isExpanded(source)) {
+        continue;
+      }
+      int count = this.childCounts[source];
+      int first = this.firstChildren[source];
+      target.firstChildren[next] = target.size;
+      target.childCounts[next] = count;
+      for (int i = 0; i < count; i++) {
+        target.copy(target.size + i, this, first + i, next);
+        target.sources[target.size + i] = first + i;
+      }
+      target.size += count;
+    }
+  }
+
+  private void copy(int node, NodeArena from, int source, int parent) {
+    this.keys[node] = from.keys[source];
+    this.visits[node] = from.visits[source];
+    this.wins[node] = from.wins[source];
+    this.parents[node] = parent;
+    this.firstChildren[node] = NONE;
+    this.childCounts[node] = 0;
+    this.moves[node] = from.moves[source];
+    this.movers[node] = from.movers[source];
+  }
+
+  private void init(int node, int parent, int move, byte mover) {
+    this.keys[node] = 0;
+    this.visits[node] = 0;
+    this.wins[node] = 0;
+    this.parents[node] = parent;
+    this.firstChildren[node] = NONE;
+    this.childCounts[node] = 0;
+    this.moves[node] = move;
+    this.movers[node] = mover;
+  }
+}
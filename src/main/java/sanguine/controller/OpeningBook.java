@@ -0,0 +1,239 @@
+package sanguine.controller;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A read-only book of opening moves and their self-play results stored in a memory-mapped file.
+ * The file holds a header followed by fixed-size records sorted by position key and then by
+ * move. Each record holds the visible key of a position, the code of the card played, the row
+ * and column of the move, where a row of -1 marks a pass, the number of games the move was
+ * played in and the points it scored for the player who made it, two for a win and one for a
+ * draw.
+ */
+public final class OpeningBook implements AutoCloseable {
+  static final int MAGIC = 0x5347424B;
+  static final int VERSION = 1;
+  static final int HEADER_BYTES = 20;
+  static final int RECORD_BYTES = 22;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer buffer;
+  private final int rows;
+  private final int cols;
+  private final int size;
+
+  private OpeningBook(FileChannel channel, MappedByteBuffer buffer) {
+    this.channel = channel;
+    this.buffer = buffer;
+    if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+      throw new IllegalArgumentException("Not a version " + VERSION + " opening book file");
+    }
+    this.rows = buffer.getInt(8);
+    this.cols = buffer.getInt(12);
+    int count = buffer.getInt(16);
+    if (HEADER_BYTES + (long) count * RECORD_BYTES != buffer.capacity()) {
+      throw new IllegalArgumentException("Opening book file is truncated");
+    }
+    this.size = count;
+  }
+
+  /**
+   * Maps an opening book file into memory.
+   *
+   * @param file the opening book file
+   * @return the opened book
+   * @throws IOException if the file cannot be read
+   * @throws IllegalArgumentException if the file is not a valid opening book
+   */
+  public static OpeningBook open(Path file) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("Opening book file is too large to map");
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return new OpeningBook(channel, buffer);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Writes book moves as an opening book file. The entries must already be sorted by key and
+   * then by move.
+   *
+   * @param file the file to write
+   * @param rows the number of rows of the board the games were played on
+   * @param cols the number of columns of the board the games were played on
+   * @param entries the sorted book moves
+   * @throws IOException if the file cannot be written
+   */
+  static void write(Path file, int rows, int cols, List<Entry> entries) throws IOException {
+    try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+      buffer.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(cols).putInt(entries.size());
+      for (Entry entry : entries) {
+        if (buffer.remaining() < RECORD_BYTES) {
+          drain(out, buffer);
+        }
+        buffer.putLong(entry.key).putInt(entry.cardCode).put((byte) entry.row)
+                .put((byte) entry.col).putInt(entry.games).putInt(entry.points);
+      }
+      drain(out, buffer);
+    }
+  }
+
+  private static void drain(FileChannel out, ByteBuffer buffer) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      out.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  /**
+   * Finds every book move recorded for the position with the given visible key.
+   *
+   * @param key the visible key of the position
+   * @return the book moves of the position, empty if the book does not cover it
+   */
+  public List<Entry> lookup(long key) {
+    //binary search for the first record with the key
+    int low = 0;
+    int high = this.size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (this.keyAt(mid) < key) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    List<Entry> entries = new ArrayList<>();
+    for (int i = low; i < this.size && this.keyAt(i) == key; i++) {
+      int offset = HEADER_BYTES + i * RECORD_BYTES;
+      entries.add(new Entry(key, this.buffer.getInt(offset + 8), this.buffer.get(offset + 12),
+              this.buffer.get(offset + 13), this.buffer.getInt(offset + 14),
+              this.buffer.getInt(offset + 18)));
+    }
+    return entries;
+  }
+
+  private long keyAt(int index) {
+    return this.buffer.getLong(HEADER_BYTES + index * RECORD_BYTES);
+  }
+
+  /**
+   * Returns how many book moves the book holds.
+   *
+   * @return the number of book moves
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the number of rows of the board the games were played on.
+   *
+   * @return the number of rows
+   */
+  public int getRows() {
+    return this.rows;
+  }
+
+  /**
+   * Returns the number of columns of the board the games were played on.
+   *
+   * @return the number of columns
+   */
+  public int getCols() {
+    return this.cols;
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.channel.close();
+  }
+
+  /**
+   * A move played from a book position and the results of the games it was played in.
+   */
+  public static final class Entry {
+    private final long key;
+    private final int cardCode;
+    private final int row;
+    private final int col;
+    private final int games;
+    private final int points;
+
+    /**
+     * Creates a book move.
+     *
+     * @param key the visible key of the position
+     * @param cardCode the code of the card played, ignored for a pass
+     * @param row the row of the move, or -1 for a pass
+     * @param col the column of the move
+     * @param games the number of games the move was played in
+     * @param points two points per win and one per draw for the player who made the move
+     */
+    public Entry(long key, int cardCode, int row, int col, int games, int points) {
+      this.key = key;
+      this.cardCode = cardCode;
+      this.row = row;
+      this.col = col;
+      this.games = games;
+      this.points = points;
+    }
+
+    public long getKey() {
+      return this.key;
+    }
+
+    public int getCardCode() {
+      return this.cardCode;
+    }
+
+    public int getRow() {
+      return this.row;
+    }
+
+    public int getCol() {
+      return this.col;
+    }
+
+    public int getGames() {
+      return this.games;
+    }
+
+    public int getPoints() {
+      return this.points;
+    }
+
+    /**
+     * Returns the share of the available points the move scored, counting draws as half a win.
+     *
+     * @return the score rate between 0 and 1
+     */
+    public double getScoreRate() {
+      return this.games == 0 ? 0 : this.points / (2.0 * this.games);
+    }
+
+    /**
+     * Returns whether the move is a pass.
+     *
+     * @return true if the move is a pass
+     */
+    public boolean isPass() {
+      return this.row < 0;
+    }
+  }
+}
@@ -0,0 +1,211 @@
+package sanguine.controller;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import sanguine.model.Card;
+import sanguine.model.Cell;
+import sanguine.model.Player;
+import sanguine.model.PositionHash;
+import sanguine.model.SanguineGame;
+
+/**
+ * Builds opening books from self-play. Every game is dealt from decks shuffled with its own seed
+ * and both sides play the same strategy, picking at random among the moves it suggests so the
+ * book sees more than one line. The first moves of every game are recorded by visible position
+ * key and credited with the game's result for the player who made them.
+ * Games are split into chunks that run in parallel, each with its own strategy instances.
+ */
+public class OpeningBookGenerator {
+  private final List<Card> redDeck;
+  private final List<Card> blueDeck;
+  private final int rows;
+  private final int cols;
+  private final int handSize;
+  private final Supplier<Strategy> strategies;
+
+  /**
+   * Creates a generator for games on the given board.
+   *
+   * @param redDeck the unshuffled deck of the red player
+   * @param blueDeck the unshuffled deck of the blue player
+   * @param rows the number of rows on the board
+   * @param cols the number of columns on the board
+   * @param handSize the hand size of each player
+   * @param strategies creates a new instance of the self-play strategy for each chunk
+   */
+  public OpeningBookGenerator(List<Card> redDeck, List<Card> blueDeck, int rows, int cols,
+                              int handSize, Supplier<Strategy> strategies) {
+    if (redDeck == null || blueDeck == null || strategies == null) {
+      throw new IllegalArgumentException("Decks and strategies cannot be null");
+    }
+    this.redDeck = new ArrayList<>(redDeck);
+    this.blueDeck = new ArrayList<>(blueDeck);
+    this.rows = rows;
+    this.cols = cols;
+    this.handSize = handSize;
+    this.strategies = strategies;
+  }
+
+  /**
+   * Plays the given number of self-play games and writes the book of their opening moves.
+   *
+   * @param games how many games to play, using seeds 0 to games - 1
+   * @param plies how many moves at the start of each game to record
+   * @param threads how many chunks of games to play at once
+   * @param output the opening book file to write
+   * @return the number of book moves written
+   * @throws IOException if the book cannot be written
+   * @throws InterruptedException if interrupted while waiting for games
+   */
+  public int generate(long games, int plies, int threads, Path output)
+          throws IOException, InterruptedException {
+    if (games < 0 || plies < 0 || threads <= 0) {
+      throw new IllegalArgumentException("Invalid game, ply or thread count");
+    }
+    long chunkSize = Math.max(1, games / (threads * 4L));
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    Map<BookMove, int[]> results = new HashMap<>();
+    try {
+      List<Future<Map<BookMove, int[]>>> chunks = new ArrayList<>();
+      for (long first = 0; first < games; first += chunkSize) {
+        long start = first;
+        long end = Math.min(games, first + chunkSize);
+        chunks.add(pool.submit(() -> this.playChunk(start, end, plies)));
+      }
+      for (Future<Map<BookMove, int[]>> chunk : chunks) {
+        for (Map.Entry<BookMove, int[]> result : chunk.get().entrySet()) {
+          int[] total = results.computeIfAbsent(result.getKey(), k -> new int[2]);
+          total[0] += result.getValue()[0];
+          total[1] += result.getValue()[1];
+        }
+      }
+    } catch (ExecutionException e) {
+      throw new IOException("Self-play failed", e.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+
+    List<OpeningBook.Entry> entries = new ArrayList<>();
+    for (Map.Entry<BookMove, int[]> result : results.entrySet()) {
+      BookMove move = result.getKey();
+      entries.add(new OpeningBook.Entry(move.key, move.cardCode, move.row, move.col,
+              result.getValue()[0], result.getValue()[1]));
+    }
+    entries.sort(Comparator.comparingLong(OpeningBook.Entry::getKey)
+            .thenComparingInt(OpeningBook.Entry::getCardCode)
+            .thenComparingInt(OpeningBook.Entry::getRow)
+            .thenComparingInt(OpeningBook.Entry::getCol));
+    OpeningBook.write(output, this.rows, this.cols, entries);
+    return entries.size();
+  }
+
+  //plays the games with seeds from first up to last, mapping each book move to its number of
+  //games and points
+  private Map<BookMove, int[]> playChunk(long first, long last, int plies) {
+    Strategy strategy = this.strategies.get();
+    Map<BookMove, int[]> results = new HashMap<>();
+    for (long seed = first; seed < last; seed++) {
+      Random random = new Random(seed);
+      List<Card> red = new ArrayList<>(this.redDeck);
+      List<Card> blue = new ArrayList<>(this.blueDeck);
+      Collections.shuffle(red, random);
+      Collections.shuffle(blue, random);
+      SanguineGame game = new SanguineGame(red, blue);
+      game.startGame(this.rows, this.cols, this.handSize, false);
+
+      List<BookMove> opening = new ArrayList<>();
+      List<Player> movers = new ArrayList<>();
+      while (!game.gameOver()) {
+        Player mover = game.getCurrentPlayer();
+        long key = PositionHash.visibleKey(game);
+        Move move = chooseMove(strategy, game, random);
+        if (opening.size() < plies) {
+          opening.add(move == null ? new BookMove(key, 0, -1, -1)
+                  : new BookMove(key, PositionHash.cardCode(move.getCard()), move.getRow(),
+                  move.getCol()));
+          movers.add(mover);
+        }
+        if (move == null) {
+          game.pass();
+        } else {
+          game.playCard(move.getCard(), move.getRow(), move.getCol());
+        }
+      }
+
+      Player winner = game.getWinner();
+      for (int i = 0; i < opening.size(); i++) {
+        int[] total = results.computeIfAbsent(opening.get(i), k -> new int[2]);
+        total[0]++;
+        if (winner == null) {
+          total[1] += 1;
+        } else if (winner == movers.get(i)) {
+          total[1] += 2;
+        }
+      }
+    }
+    return results;
+  }
+
+  //picks a random legal move among the strategy's suggestions, or null to pass
+  private static Move chooseMove(Strategy strategy, SanguineGame game, Random random) {
+    List<Move> legal = new ArrayList<>();
+    for (Move move : strategy.generateMoves(game)) {
+      if (move != null && game.getPlayerHand(game.getCurrentPlayer()).contains(move.getCard())) {
+        try {
+          Cell cell = game.getCell(move.getRow(), move.getCol());
+          game.checkValidMove(cell, move.getCard());
+          legal.add(move);
+        } catch (IllegalArgumentException e) {
+          //strategies may suggest moves that are not legal, which the player skips
+        }
+      }
+    }
+    return legal.isEmpty() ? null : legal.get(random.nextInt(legal.size()));
+  }
+
+  //a move from a position, identified by the position's visible key, where a row of -1 is a pass
+  private static final class BookMove {
+    private final long key;
+    private final int cardCode;
+    private final int row;
+    private final int col;
+
+    BookMove(long key, int cardCode, int row, int col) {
+      this.key = key;
+      this.cardCode = cardCode;
+      this.row = row;
+      this.col = col;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof BookMove)) {
+        return false;
+      }
+      BookMove that = (BookMove) obj;
+      return key == that.key && cardCode == that.cardCode && row == that.row
+              && col == that.col;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(key, cardCode, row, col);
+    }
+  }
+}
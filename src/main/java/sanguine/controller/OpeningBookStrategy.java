@@ -0,0 +1,75 @@
+package sanguine.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import sanguine.model.Card;
+import sanguine.model.Cell;
+import sanguine.model.PositionHash;
+import sanguine.model.SanguineModel;
+
+/**
+ * A strategy that plays the best scoring move from an opening book while the game is still in
+ * the book, and defers to another strategy once it leaves the book. Only book moves played in
+ * enough games are trusted. An empty list of moves means that passing is the best move.
+ */
+public class OpeningBookStrategy implements Strategy {
+  private final OpeningBook book;
+  private final Strategy fallback;
+  private final int minGames;
+
+  /**
+   * Creates a strategy that consults the book before the wrapped strategy.
+   *
+   * @param book the opening book
+   * @param fallback the strategy for positions outside the book
+   * @param minGames how many games a book move needs before it is played
+   * @throws IllegalArgumentException if the book or fallback is null
+   */
+  public OpeningBookStrategy(OpeningBook book, Strategy fallback, int minGames) {
+    if (book == null || fallback == null) {
+      throw new IllegalArgumentException("Book and fallback cannot be null");
+    }
+    this.book = book;
+    this.fallback = fallback;
+    this.minGames = minGames;
+  }
+
+  @Override
+  public List<Move> generateMoves(SanguineModel model) {
+    if (model.getNumRows() != this.book.getRows()
+            || model.getNumCols() != this.book.getCols()) {
+      return this.fallback.generateMoves(model);
+    }
+    OpeningBook.Entry best = null;
+    for (OpeningBook.Entry entry : this.book.lookup(PositionHash.visibleKey(model))) {
+      if (entry.getGames() >= this.minGames
+              && (best == null || entry.getScoreRate() > best.getScoreRate())) {
+        best = entry;
+      }
+    }
+    if (best == null) {
+      return this.fallback.generateMoves(model);
+    }
+    if (best.isPass()) {
+      return new ArrayList<>();
+    }
+    Move move = this.resolve(model, best);
+    return move == null ? this.fallback.generateMoves(model) : List.of(move);
+  }
+
+  //finds the card in hand that the book move was played with and checks the move is legal
+  private Move resolve(SanguineModel model, OpeningBook.Entry entry) {
+    for (Card card : model.getPlayerHand(model.getCurrentPlayer())) {
+      if (PositionHash.cardCode(card) == entry.getCardCode()) {
+        try {
+          Cell cell = model.getCell(entry.getRow(), entry.getCol());
+          model.checkValidMove(cell, card);
+          return new Move(card, entry.getRow(), entry.getCol());
+        } catch (IllegalArgumentException e) {
+          return null;
+        }
+      }
+    }
+    return null;
+  }
+}
@@ -23,6 +23,12 @@ public interface PlayerActions {
    */
   void takeTurn(SanguineModel model);
 
+  /**
+   * Stops a turn that is still being computed so its move is never published. Players that
+   * finish their turns inside {@link #takeTurn} have nothing to cancel.
+   */
+  void cancelTurn();
+
   /**
    * Returns the enum identity for this player.
    *
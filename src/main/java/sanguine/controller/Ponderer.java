@@ -0,0 +1,126 @@
+package sanguine.controller;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.swing.SwingUtilities;
+import sanguine.model.Player;
+import sanguine.model.SanguineGame;
+import sanguine.model.SanguineModel;
+import sanguine.view.ModelListener;
+
+/**
+ * Lets a strategy think during the opponent's turn. Listening to the model, it starts the
+ * strategy's ponder on a background thread as soon as the opponent is to move, searching a
+ * detached copy of the game, and interrupts it when the opponent's move arrives so the
+ * strategy's own turn can reuse whatever was searched. The copy is taken through the dispatcher
+ * once the move that started the opponent's turn has returned, so it holds the card the
+ * opponent drew for the turn. The ponderer closes itself once the game is over.
+ */
+public class Ponderer implements ModelListener, AutoCloseable {
+  private final SanguineModel model;
+  private final Player player;
+  private final PonderingStrategy strategy;
+  private final Executor dispatcher;
+  private final ExecutorService worker;
+  private Future<?> pending;
+  //identifies the latest turn so a ponder is not started for a turn that has already ended
+  private long turn;
+
+  /**
+   * Subscribes to the model to ponder for the given player, with the model used on the Swing
+   * event dispatch thread.
+   *
+   * @param model the Sanguine model
+   * @param player the player the strategy plays for
+   * @param strategy the strategy to ponder with
+   */
+  public Ponderer(SanguineModel model, Player player, PonderingStrategy strategy) {
+    this(model, player, strategy, SwingUtilities::invokeLater);
+  }
+
+  /**
+   * Subscribes to the model to ponder for the given player.
+   *
+   * @param model the Sanguine model
+   * @param player the player the strategy plays for
+   * @param strategy the strategy to ponder with
+   * @param dispatcher runs tasks on the thread the model is used on, after the task that is
+   *                   running there returns
+   */
+  public Ponderer(SanguineModel model, Player player, PonderingStrategy strategy,
+                  Executor dispatcher) {
+    if (model == null || player == null || strategy == null || dispatcher == null) {
+      throw new IllegalArgumentException("Model, player, strategy and dispatcher cannot be null");
+    }
+    this.model = model;
+    this.player = player;
+    this.strategy = strategy;
+    this.dispatcher = dispatcher;
+    this.worker = Executors.newSingleThreadExecutor(task -> {
+      Thread thread = new Thread(task, "sanguine-" + player + "-ponder");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.model.setListener(this);
+  }
+
+  @Override
+  public synchronized void turnChanged(Player player) {
+    this.stop();
+    //the last card ends the game before its notification goes out
+    if (this.model.gameOver()) {
+      this.close();
+    } else if (player != this.player) {
+      long thisTurn = this.turn;
+      this.dispatcher.execute(() -> this.start(thisTurn));
+    }
+  }
+
+  //runs on the dispatcher and ponders a copy of the position the opponent's turn starts from
+  private synchronized void start(long thisTurn) {
+    if (thisTurn != this.turn || this.worker.isShutdown() || this.model.gameOver()
+            || this.model.getCurrentPlayer() == this.player) {
+      return;
+    }
+    SanguineGame snapshot = new SanguineGame(this.model);
+    this.pending = this.worker.submit(() -> this.strategy.ponder(snapshot));
+  }
+
+  @Override
+  public void gameOver(Player winner) {
+    this.close();
+  }
+
+  @Override
+  public void errorOccurrence(String reason) {
+    // errors do not change the position
+  }
+
+  @Override
+  public void turnPassed(Player player) {
+    //the last pass ends the game without a turn change, otherwise the turn change that follows
+    //starts or stops the ponder
+    if (this.model.gameOver()) {
+      this.close();
+    }
+  }
+
+  /**
+   * Stops any ponder in progress and the background thread.
+   */
+  @Override
+  public synchronized void close() {
+    this.stop();
+    this.worker.shutdownNow();
+  }
+
+  private void stop() {
+    this.turn++;
+    if (this.pending != null) {
+      this.pending.cancel(true);
+      this.pending = null;
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package sanguine.controller;
+
+import sanguine.model.SanguineModel;
+
+/**
+ * A strategy that can use the opponent's thinking time. While the opponent is to move, it
+ * searches the opponent's likely replies and keeps what it learns, so that its own next turn
+ * can reuse those results instead of searching from scratch.
+ */
+public interface PonderingStrategy extends Strategy {
+
+  /**
+   * Searches the replies of the player to move in the given position and keeps the results for
+   * later turns. Returns early, keeping what was already searched, when the calling thread is
+   * interrupted.
+   *
+   * @param model a position where the opponent of this strategy's player is to move
+   */
+  void ponder(SanguineModel model);
+}
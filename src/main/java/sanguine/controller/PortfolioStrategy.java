@@ -0,0 +1,336 @@
+package sanguine.controller;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import sanguine.model.SanguineGame;
+import sanguine.model.SanguineModel;
+
+/**
+ * A strategy that races several strategies against one deadline. Every member searches its own
+ * copy of the model on a thread of its own, and when the deadline passes the members that have
+ * not finished are cancelled. Each finished member votes for its first move with its weight,
+ * copies of a card counting as the same move, and the move with the most weight is played, ties
+ * going to the member listed first. If no member finishes in time the first legal move is played,
+ * so a turn never takes much longer than the deadline even when a member stalls. A member that is
+ * still searching a cancelled earlier turn sits the turn out, so a member that keeps state between
+ * turns never runs two searches at once. An empty list of moves means passing.
+ * The latency of every member and how often its move was played are recorded per turn.
+ */
+public class PortfolioStrategy implements Strategy, AutoCloseable {
+  /**
+   * Default deadline of a turn in milliseconds.
+   */
+  public static final long DEFAULT_DEADLINE_MILLIS = 1000;
+
+  //the vote of a member that passes
+  private static final long PASS = Long.MIN_VALUE;
+
+  private final long deadlineMillis;
+  private final List<Strategy> members;
+  private final List<Double> weights;
+  private final List<MemberStats> stats;
+  private final Strategy fallback;
+  private final ExecutorService pool;
+  //whether each member is searching, which may outlast its turn if it ignores the interrupt
+  private final List<AtomicBoolean> searching;
+
+  /**
+   * Creates a portfolio of equally weighted members with the default deadline.
+   *
+   * @param members the strategies to race
+   * @throws IllegalArgumentException if there are no members or a member is null
+   */
+  public PortfolioStrategy(Strategy... members) {
+    this(DEFAULT_DEADLINE_MILLIS, Arrays.asList(members),
+            Collections.nCopies(members.length, 1.0));
+  }
+
+  /**
+   * Creates a portfolio of weighted members with the given deadline.
+   *
+   * @param deadlineMillis how long every member may search per turn, in milliseconds
+   * @param members the strategies to race
+   * @param weights the weight of each member's vote
+   * @throws IllegalArgumentException if there are no members, a member is null, the weights do
+   *                                  not match the members or are not positive, or the deadline
+   *                                  is not positive
+   */
+  public PortfolioStrategy(long deadlineMillis, List<Strategy> members, List<Double> weights) {
+    if (members == null || members.isEmpty()) {
+      throw new IllegalArgumentException("A portfolio needs at least one member");
+    }
+    for (Strategy member : members) {
+      if (member == null) {
+        throw new IllegalArgumentException("Members cannot be null");
+      }
+    }
+    if (weights == null || weights.size() != members.size()) {
+      throw new IllegalArgumentException("Every member needs one weight");
+    }
+    for (Double weight : weights) {
+      if (weight == null || weight <= 0) {
+        throw new IllegalArgumentException("Weights must be positive");
+      }
+    }
+    if (deadlineMillis <= 0) {
+      throw new IllegalArgumentException("Deadline must be positive");
+    }
+    this.deadlineMillis = deadlineMillis;
+    this.members = new ArrayList<>(members);
+    this.weights = new ArrayList<>(weights);
+    this.stats = new ArrayList<>();
+    for (int i = 0; i < members.size(); i++) {
+      this.stats.add(new MemberStats());
+    }
+    this.fallback = new FillFirstStrategy();
+    this.searching = new ArrayList<>();
+    for (int i = 0; i < members.size(); i++) {
+      this.searching.add(new AtomicBoolean());
+    }
+    //a cancelled member that ignores interrupts keeps its thread, so later turns get new ones
+    this.pool = Executors.newCachedThreadPool(task -> {
+      Thread thread = new Thread(task, "sanguine-portfolio");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @Override
+  public List<Move> generateMoves(SanguineModel model) {
+    CompletionService<Result> race = new ExecutorCompletionService<>(this.pool);
+    List<Future<Result>> running = new ArrayList<>();
+    for (int i = 0; i < this.members.size(); i++) {
+      AtomicBoolean searching = this.searching.get(i);
+      if (searching.get()) {
+        continue;
+      }
+      int member = i;
+      SanguineGame copy = new SanguineGame(model);
+      running.add(race.submit(() -> {
+        //a search of an earlier turn may have started since the check, and then this one has no
+        //vote
+        if (!searching.compareAndSet(false, true)) {
+          return null;
+        }
+        try {
+          long start = System.nanoTime();
+          List<Move> moves = this.members.get(member).generateMoves(copy);
+          return new Result(member, moves, System.nanoTime() - start);
+        } finally {
+          searching.set(false);
+        }
+      }));
+    }
+
+    List<Result> finished = new ArrayList<>();
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.deadlineMillis);
+    try {
+      for (int polled = 0; polled < running.size(); polled++) {
+        Future<Result> done = race.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        if (done == null) {
+          break;
+        }
+        try {
+          Result result = done.get();
+          if (result != null) {
+            finished.add(result);
+          }
+        } catch (ExecutionException e) {
+          //a member that fails has no vote
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      for (Future<Result> future : running) {
+        future.cancel(true);
+      }
+    }
+    return this.vote(model, finished);
+  }
+
+  /**
+   * Returns what has been recorded about a member over every turn so far.
+   *
+   * @param member the index of the member, in the order they were given
+   * @return the member's statistics
+   * @throws IllegalArgumentException if there is no such member
+   */
+  public MemberStats getStats(int member) {
+    if (member < 0 || member >= this.stats.size()) {
+      throw new IllegalArgumentException("No member " + member);
+    }
+    return this.stats.get(member);
+  }
+
+  /**
+   * Cancels the members still searching and stops the threads.
+   */
+  @Override
+  public void close() {
+    this.pool.shutdownNow();
+  }
+
+  //plays the move with the most weight among the finished members and records their part in it
+  private List<Move> vote(SanguineModel model, List<Result> finished) {
+    for (MemberStats member : this.stats) {
+      member.addTurn();
+    }
+    for (Result result : finished) {
+      this.stats.get(result.member).addFinished(result.latencyNanos);
+    }
+    if (finished.isEmpty()) {
+      return this.fallback.generateMoves(model);
+    }
+    //members are counted in the order they were given so ties go to the first
+    finished.sort((a, b) -> Integer.compare(a.member, b.member));
+    Map<Long, Double> totals = new LinkedHashMap<>();
+    Map<Long, Move> moves = new LinkedHashMap<>();
+    DecisionTrace trace = DecisionTrace.active();
+    for (Result result : finished) {
+      Move move = result.moves == null || result.moves.isEmpty() ? null : result.moves.get(0);
+      long key = move == null ? PASS : MoveOrdering.key(move);
+      totals.merge(key, this.weights.get(result.member), Double::sum);
+      moves.putIfAbsent(key, move);
+      if (trace != null && move != null) {
+        //members search on threads of their own, so their votes are traced here
+        trace.candidate(this.members.get(result.member), move.getCard(), move.getRow(),
+                move.getCol(), this.weights.get(result.member));
+      }
+    }
+    long best = PASS;
+    double bestTotal = -1;
+    for (Map.Entry<Long, Double> total : totals.entrySet()) {
+      if (total.getValue() > bestTotal) {
+        bestTotal = total.getValue();
+        best = total.getKey();
+      }
+    }
+    for (Result result : finished) {
+      Move move = result.moves == null || result.moves.isEmpty() ? null : result.moves.get(0);
+      if ((move == null ? PASS : MoveOrdering.key(move)) == best) {
+        this.stats.get(result.member).addChosen();
+      }
+    }
+    Move chosen = moves.get(best);
+    return chosen == null ? new ArrayList<>() : List.of(chosen);
+  }
+
+  /**
+   * What has been recorded about one member of a portfolio: how many turns it was raced on, how
+   * many it finished in time, how long those took and how many times its move was played.
+   */
+  public static final class MemberStats {
+    private int turns;
+    private int finished;
+    private long totalLatencyNanos;
+    private long maxLatencyNanos;
+    private int chosen;
+
+    private MemberStats() {
+    }
+
+    private synchronized void addTurn() {
+      this.turns++;
+    }
+
+    private synchronized void addFinished(long latencyNanos) {
+      this.finished++;
+      this.totalLatencyNanos += latencyNanos;
+      this.maxLatencyNanos = Math.max(this.maxLatencyNanos, latencyNanos);
+    }
+
+    private synchronized void addChosen() {
+      this.chosen++;
+    }
+
+    /**
+     * Returns how many turns the member was raced on.
+     *
+     * @return the number of turns
+     */
+    public synchronized int getTurns() {
+      return this.turns;
+    }
+
+    /**
+     * Returns how many turns the member finished before the deadline.
+     *
+     * @return the number of finished turns
+     */
+    public synchronized int getFinished() {
+      return this.finished;
+    }
+
+    /**
+     * Returns how many turns the member was cancelled at the deadline, failed, or sat out because
+     * it was still searching an earlier turn.
+     *
+     * @return the number of unfinished turns
+     */
+    public synchronized int getTimeouts() {
+      return this.turns - this.finished;
+    }
+
+    /**
+     * Returns the mean time the member took over the turns it finished.
+     *
+     * @return the mean latency in nanoseconds, or 0 if it never finished
+     */
+    public synchronized long getMeanLatencyNanos() {
+      return this.finished == 0 ? 0 : this.totalLatencyNanos / this.finished;
+    }
+
+    /**
+     * Returns the longest time the member took over the turns it finished.
+     *
+     * @return the longest latency in nanoseconds
+     */
+    public synchronized long getMaxLatencyNanos() {
+      return this.maxLatencyNanos;
+    }
+
+    /**
+     * Returns how many turns the move played was the member's move.
+     *
+     * @return the number of turns the member's vote won
+     */
+    public synchronized int getChosen() {
+      return this.chosen;
+    }
+
+    /**
+     * Returns the share of turns in which the move played was the member's move.
+     *
+     * @return the member's share of the moves played, from 0 to 1
+     */
+    public synchronized double getContribution() {
+      return this.turns == 0 ? 0 : (double) this.chosen / this.turns;
+    }
+  }
+
+  //the moves of a member that finished in time
+  private static final class Result {
+    private final int member;
+    private final List<Move> moves;
+    private final long latencyNanos;
+
+    Result(int member, List<Move> moves, long latencyNanos) {
+      this.member = member;
+      this.moves = moves;
+      this.latencyNanos = latencyNanos;
+    }
+  }
+}
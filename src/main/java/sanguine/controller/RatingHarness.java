@@ -0,0 +1,193 @@
+package sanguine.controller;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import sanguine.model.Card;
+import sanguine.model.Player;
+import sanguine.model.SanguineModel;
+
+/**
+ * Rates a pool of strategies with Glicko-2 by playing them against each other in rounds. Every
+ * match is two games dealt from the same seed with the colours swapped, so neither entrant is
+ * favoured by the deal or by moving first. After each round every rating is updated at once and
+ * the next round gives more matches to the pairings whose outcome is least certain: entrants
+ * that are close in rating and whose ratings are still uncertain. Rating stops once the 95%
+ * confidence intervals of neighbouring entrants in the ranking no longer overlap, or once the
+ * game budget is spent.
+ */
+public class RatingHarness {
+  private final Tournament games;
+  private final List<String> names;
+  private final List<Supplier<Strategy>> entrants;
+
+  /**
+   * Creates a harness on the given board with no entrants.
+   *
+   * @param redDeck the unshuffled deck of the red player
+   * @param blueDeck the unshuffled deck of the blue player
+   * @param rows the number of rows on the board
+   * @param cols the number of columns on the board
+   * @param handSize the hand size of each player
+   */
+  public RatingHarness(List<Card> redDeck, List<Card> blueDeck, int rows, int cols,
+                       int handSize) {
+    this.games = new Tournament(redDeck, blueDeck, rows, cols, handSize);
+    this.names = new ArrayList<>();
+    this.entrants = new ArrayList<>();
+  }
+
+  /**
+   * Adds an entrant to the pool.
+   *
+   * @param name the name to report the entrant under
+   * @param strategy creates a new instance of the entrant's strategy for every game
+   */
+  public void addEntrant(String name, Supplier<Strategy> strategy) {
+    if (name == null || strategy == null) {
+      throw new IllegalArgumentException("Name and strategy cannot be null");
+    }
+    this.names.add(name);
+    this.entrants.add(strategy);
+  }
+
+  /**
+   * Plays rounds of matches until the ranking is settled or the budget is spent.
+   *
+   * @param maxGames the most games to play in total
+   * @param matchesPerRound how many matches of two games to play between rating updates
+   * @param threads how many games to play at once
+   * @param seed the seed the pairings and the decks of every game are derived from
+   * @return the ratings of the entrants
+   * @throws InterruptedException if interrupted while waiting for games
+   */
+  public RatingResult run(int maxGames, int matchesPerRound, int threads, long seed)
+          throws InterruptedException {
+    if (this.entrants.size() < 2 || maxGames < 0 || matchesPerRound <= 0 || threads <= 0) {
+      throw new IllegalArgumentException("Need two entrants, games, matches and threads");
+    }
+    GlickoRating[] ratings = new GlickoRating[this.entrants.size()];
+    Arrays.fill(ratings, new GlickoRating());
+    int[] played = new int[ratings.length];
+    Random random = new Random(seed);
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    long start = System.nanoTime();
+    long match = 0;
+    int total = 0;
+    try {
+      while (total + 2 <= maxGames && !settled(ratings)) {
+        int matches = Math.min(matchesPerRound, (maxGames - total) / 2);
+        List<Future<MatchRecord>> round = new ArrayList<>();
+        for (int i = 0; i < matches; i++) {
+          int[] pairing = this.choosePairing(ratings, random);
+          long matchSeed = seed + match++;
+          round.add(pool.submit(() -> this.playMatch(pairing[0], pairing[1], matchSeed)));
+        }
+        List<List<GlickoRating>> opponents = new ArrayList<>();
+        List<List<Double>> scores = new ArrayList<>();
+        for (int i = 0; i < ratings.length; i++) {
+          opponents.add(new ArrayList<>());
+          scores.add(new ArrayList<>());
+        }
+        for (Future<MatchRecord> future : round) {
+          MatchRecord record = future.get();
+          for (double score : record.scores) {
+            opponents.get(record.first).add(ratings[record.second]);
+            scores.get(record.first).add(score);
+            opponents.get(record.second).add(ratings[record.first]);
+            scores.get(record.second).add(1 - score);
+          }
+          played[record.first] += record.scores.length;
+          played[record.second] += record.scores.length;
+          total += record.scores.length;
+        }
+        GlickoRating[] updated = new GlickoRating[ratings.length];
+        for (int i = 0; i < ratings.length; i++) {
+          updated[i] = ratings[i].update(opponents.get(i), scores.get(i));
+        }
+        ratings = updated;
+      }
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Game failed", e.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+    return new RatingResult(this.names, Arrays.asList(ratings), played, total,
+            settled(ratings), System.nanoTime() - start);
+  }
+
+  //picks a pairing at random, weighted by how much its result would tell us
+  private int[] choosePairing(GlickoRating[] ratings, Random random) {
+    int size = ratings.length;
+    double[] weights = new double[size * size];
+    double sum = 0;
+    for (int i = 0; i < size; i++) {
+      for (int j = i + 1; j < size; j++) {
+        double expected = ratings[i].expectedScore(ratings[j]);
+        double uncertainty = ratings[i].getDeviation() * ratings[i].getDeviation()
+                + ratings[j].getDeviation() * ratings[j].getDeviation();
+        weights[i * size + j] = expected * (1 - expected) * uncertainty;
+        sum += weights[i * size + j];
+      }
+    }
+    double target = random.nextDouble() * sum;
+    int last = 1;
+    for (int i = 0; i < size; i++) {
+      for (int j = i + 1; j < size; j++) {
+        target -= weights[i * size + j];
+        last = i * size + j;
+        if (target < 0) {
+          return new int[] {i, j};
+        }
+      }
+    }
+    return new int[] {last / size, last % size};
+  }
+
+  //whether the confidence intervals of neighbouring entrants in the ranking are disjoint
+  private static boolean settled(GlickoRating[] ratings) {
+    GlickoRating[] ranked = ratings.clone();
+    Arrays.sort(ranked, Comparator.comparingDouble(GlickoRating::getRating).reversed());
+    for (int i = 0; i + 1 < ranked.length; i++) {
+      if (ranked[i].getLowerBound() <= ranked[i + 1].getUpperBound()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  //plays both colours of a deal and scores them for the first entrant
+  private MatchRecord playMatch(int first, int second, long seed) {
+    SanguineModel asRed = this.games.playGame(this.entrants.get(first).get(),
+            this.entrants.get(second).get(), seed);
+    SanguineModel asBlue = this.games.playGame(this.entrants.get(second).get(),
+            this.entrants.get(first).get(), seed);
+    return new MatchRecord(first, second,
+            score(asRed.getTotalScore(Player.RED) - asRed.getTotalScore(Player.BLUE)),
+            score(asBlue.getTotalScore(Player.BLUE) - asBlue.getTotalScore(Player.RED)));
+  }
+
+  private static double score(int margin) {
+    return margin > 0 ? 1 : margin < 0 ? 0 : 0.5;
+  }
+
+  //the entrants of a finished match and the first entrant's score in each game
+  private static final class MatchRecord {
+    private final int first;
+    private final int second;
+    private final double[] scores;
+
+    MatchRecord(int first, int second, double... scores) {
+      this.first = first;
+      this.second = second;
+      this.scores = scores;
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package sanguine.controller;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The ratings of a pool of entrants after a rating run, with how many games each entrant played
+ * and whether the ranking was settled when the run stopped.
+ */
+public class RatingResult {
+  private final List<String> names;
+  private final List<GlickoRating> ratings;
+  private final int[] played;
+  private final int games;
+  private final boolean settled;
+  private final long elapsedNanos;
+
+  /**
+   * Creates the result of a rating run.
+   *
+   * @param names the names of the entrants
+   * @param ratings the final rating of each entrant
+   * @param played how many games each entrant played
+   * @param games how many games were played in total
+   * @param settled whether neighbouring entrants in the ranking are told apart
+   * @param elapsedNanos the wall-clock time of the run
+   */
+  public RatingResult(List<String> names, List<GlickoRating> ratings, int[] played, int games,
+                      boolean settled, long elapsedNanos) {
+    if (names.size() != ratings.size() || names.size() != played.length) {
+      throw new IllegalArgumentException("Need one rating and game count per entrant");
+    }
+    this.names = new ArrayList<>(names);
+    this.ratings = new ArrayList<>(ratings);
+    this.played = played.clone();
+    this.games = games;
+    this.settled = settled;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * Returns the final rating of an entrant.
+   *
+   * @param entrant the index of the entrant
+   * @return the rating
+   */
+  public GlickoRating getRating(int entrant) {
+    return this.ratings.get(entrant);
+  }
+
+  /**
+   * Returns how many games an entrant played.
+   *
+   * @param entrant the index of the entrant
+   * @return the number of games
+   */
+  public int getGamesPlayed(int entrant) {
+    return this.played[entrant];
+  }
+
+  /**
+   * Returns the entrants from highest to lowest rated.
+   *
+   * @return the indices of the entrants in ranking order
+   */
+  public List<Integer> getRanking() {
+    List<Integer> ranking = new ArrayList<>();
+    for (int i = 0; i < this.names.size(); i++) {
+      ranking.add(i);
+    }
+    ranking.sort(Comparator.comparingDouble((Integer i) -> this.ratings.get(i).getRating())
+            .reversed());
+    return ranking;
+  }
+
+  /**
+   * Returns how many games were played in total.
+   *
+   * @return the number of games
+   */
+  public int getGames() {
+    return this.games;
+  }
+
+  /**
+   * Returns whether the run stopped because the ranking was settled rather than because the
+   * game budget ran out.
+   *
+   * @return true if neighbouring entrants' confidence intervals do not overlap
+   */
+  public boolean isSettled() {
+    return this.settled;
+  }
+
+  /**
+   * Formats the ranking as text, one line per entrant with its rating, 95% confidence interval
+   * and number of games.
+   *
+   * @return the report
+   */
+  public String report() {
+    StringBuilder sb = new StringBuilder();
+    for (int entrant : this.getRanking()) {
+      GlickoRating rating = this.ratings.get(entrant);
+      sb.append(String.format("%-20s %7.1f  [%7.1f, %7.1f]  %d games%n", this.names.get(entrant),
+              rating.getRating(), rating.getLowerBound(), rating.getUpperBound(),
+              this.played[entrant]));
+    }
+    sb.append(String.format("%d games in %.1f s, ranking %s%n", this.games,
+            this.elapsedNanos / 1e9, this.settled ? "settled" : "not settled"));
+    return sb.toString();
+  }
+}
@@ -0,0 +1,142 @@
+package sanguine.controller;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The results of replaying a game journal: how many games and moves were replayed, which games
+ * did not replay as recorded and how fast the moves were replayed. Only the first failures are
+ * kept as messages, so a journal replayed against the wrong rules does not fill memory.
+ */
+public class ReplayResult {
+  /**
+   * How many failure messages are kept.
+   */
+  public static final int MAX_FAILURES = 100;
+
+  private final List<String> failures;
+  private long games;
+  private long moves;
+  private long failureCount;
+  private long trailingBytes;
+  private long elapsedNanos;
+
+  /**
+   * Creates empty results.
+   */
+  public ReplayResult() {
+    this.failures = new ArrayList<>();
+  }
+
+  /**
+   * Adds the result of replaying one game.
+   *
+   * @param moves the number of moves the game recorded
+   * @param failure why the game did not replay as recorded, or null if it did
+   */
+  public void addGame(int moves, String failure) {
+    this.games++;
+    this.moves += moves;
+    if (failure != null) {
+      this.failureCount++;
+      if (this.failures.size() < MAX_FAILURES) {
+        this.failures.add(failure);
+      }
+    }
+  }
+
+  //merges the results of a batch, in journal order
+  void add(ReplayResult other) {
+    this.games += other.games;
+    this.moves += other.moves;
+    this.failureCount += other.failureCount;
+    for (String failure : other.failures) {
+      if (this.failures.size() < MAX_FAILURES) {
+        this.failures.add(failure);
+      }
+    }
+  }
+
+  void finish(long trailingBytes, long elapsedNanos) {
+    this.trailingBytes = trailingBytes;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * Returns how many games were replayed.
+   *
+   * @return the number of games
+   */
+  public long getGames() {
+    return this.games;
+  }
+
+  /**
+   * Returns how many moves were read, including passes.
+   *
+   * @return the number of moves
+   */
+  public long getMoves() {
+    return this.moves;
+  }
+
+  /**
+   * Returns how many games did not replay as recorded.
+   *
+   * @return the number of failed games
+   */
+  public long getFailureCount() {
+    return this.failureCount;
+  }
+
+  /**
+   * Returns why the first games that failed did not replay as recorded.
+   *
+   * @return up to {@link #MAX_FAILURES} messages, in journal order
+   */
+  public List<String> getFailures() {
+    return Collections.unmodifiableList(this.failures);
+  }
+
+  /**
+   * Returns how many bytes at the end of the journal did not form a whole game, such as a game
+   * being written when the journal was copied.
+   *
+   * @return the number of trailing bytes
+   */
+  public long getTrailingBytes() {
+    return this.trailingBytes;
+  }
+
+  /**
+   * Returns how many moves were replayed per second of wall-clock time.
+   *
+   * @return the move throughput
+   */
+  public double getMovesPerSecond() {
+    return this.elapsedNanos == 0 ? 0 : this.moves * 1e9 / this.elapsedNanos;
+  }
+
+  /**
+   * Formats the results as text, with the kept failure messages one per line.
+   *
+   * @return the report
+   */
+  public String report() {
+    StringBuilder sb = new StringBuilder();
+    for (String failure : this.failures) {
+      sb.append(failure).append("\n");
+    }
+    if (this.failureCount > this.failures.size()) {
+      sb.append(String.format("(%d more failures)%n", this.failureCount - this.failures.size()));
+    }
+    if (this.trailingBytes > 0) {
+      sb.append(String.format("%d trailing bytes do not form a whole game%n",
+              this.trailingBytes));
+    }
+    sb.append(String.format("%d games, %d moves, %d failed, %.0f moves/s in %.3fs%n", this.games,
+            this.moves, this.failureCount, this.getMovesPerSecond(), this.elapsedNanos / 1e9));
+    return sb.toString();
+  }
+}
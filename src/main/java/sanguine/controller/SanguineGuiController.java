@@ -1,5 +1,7 @@
 package sanguine.controller;
 
+import sanguine.model.LatencyHistogram;
+import sanguine.model.MetricsRegistry;
 import sanguine.model.Player;
 import sanguine.model.SanguineModel;
 import sanguine.view.FeatureListener;
@@ -12,6 +14,9 @@ import sanguine.view.SanguineView;
  * from the model and the view.
  */
 public class SanguineGuiController implements SanguineController, FeatureListener, ModelListener {
+  private static final LatencyHistogram VIEW_REFRESH =
+          MetricsRegistry.global().histogram(MetricsRegistry.VIEW_REFRESH);
+
   private final SanguineView playerView;
   private final SanguineModel model;
   private final PlayerActions playerActions;
@@ -21,6 +26,8 @@ public class SanguineGuiController implements SanguineController, FeatureListene
   private int selectedCellCol;
   private int selectedCardIndex;
   private final Player controllerPlayer;
+  private final TurnScheduler scheduler;
+  private final Runnable refresh;
 
   /**
    * Initializes the panels for the board and card hands and ensures there are no selections yet.
@@ -30,10 +37,31 @@ public class SanguineGuiController implements SanguineController, FeatureListene
    * @param player the player of this controller
    */
   public SanguineGuiController(SanguineView playerView, SanguineModel model, PlayerActions player) {
-    if (playerView == null || model == null || player == null) {
-      throw new IllegalArgumentException("View, model, and player cannot be null");
+    this(playerView, model, player, new TurnScheduler());
+  }
+
+  /**
+   * Initializes the controller with a turn scheduler shared with the other player's controller,
+   * so games between machine players take their turns one after another rather than inside each
+   * other and the view is only repainted once the queued turns have been taken.
+   *
+   * @param playerView the view frame for a specified player
+   * @param model the Sanguine model
+   * @param player the player of this controller
+   * @param scheduler the scheduler that runs the turns of both players
+   */
+  public SanguineGuiController(SanguineView playerView, SanguineModel model, PlayerActions player,
+                               TurnScheduler scheduler) {
+    if (playerView == null || model == null || player == null || scheduler == null) {
+      throw new IllegalArgumentException("View, model, player, and scheduler cannot be null");
     }
     this.playerView = playerView;
+    this.scheduler = scheduler;
+    this.refresh = () -> {
+      long start = System.nanoTime();
+      this.playerView.refresh();
+      VIEW_REFRESH.recordSince(start);
+    };
     this.model = model;
     this.playerActions = player;
     //adds the ability for feature listening to the frame
@@ -64,9 +92,7 @@ public class SanguineGuiController implements SanguineController, FeatureListene
     //shows the first player's turn
     if (this.model.getCurrentPlayer() == this.controllerPlayer) {
       this.playerView.showTurn(this.controllerPlayer);
-      if (this.playerActions.isAutomated()) {
-        this.playerActions.takeTurn(this.model);
-      }
+      this.scheduleTurn();
     }
   }
 
@@ -151,7 +177,7 @@ public class SanguineGuiController implements SanguineController, FeatureListene
     this.clearSelections();
     try {
       this.model.pass();
-      this.playerView.refresh();
+      this.scheduler.whenIdle(this.refresh);
       this.checkGameOver();
     } catch (IllegalStateException e) {
       this.playerView.showError(e.getMessage());
@@ -160,17 +186,16 @@ public class SanguineGuiController implements SanguineController, FeatureListene
 
   @Override
   public void turnChanged(Player player) {
-    this.playerView.refresh();
+    this.scheduler.whenIdle(this.refresh);
     if (player == this.controllerPlayer) {
       this.playerView.showTurn(player);
-      if (this.playerActions.isAutomated()) {
-        this.playerActions.takeTurn(this.model);
-      }
+      this.scheduleTurn();
     }
   }
 
   @Override
   public void gameOver(Player winner) {
+    this.playerActions.cancelTurn();
     this.playerView.endGame(winner);
   }
 
@@ -183,12 +208,19 @@ public class SanguineGuiController implements SanguineController, FeatureListene
 
   @Override
   public void turnPassed(Player player) {
-    this.playerView.refresh();
+    this.scheduler.whenIdle(this.refresh);
     if (player == this.controllerPlayer) {
       this.playerView.showPass(player);
     }
   }
 
+  //queues the turn of an automated player behind the turn that is being taken
+  private void scheduleTurn() {
+    if (this.playerActions.isAutomated()) {
+      this.scheduler.schedule(() -> this.playerActions.takeTurn(this.model));
+    }
+  }
+
   private boolean canAct(Player player) {
     if (player != this.controllerPlayer) {
       this.playerView.showError("Cannot act for player " + player);
@@ -0,0 +1,106 @@
+package sanguine.controller;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import sanguine.model.Card;
+import sanguine.model.SanguineGame;
+
+/**
+ * Measures how many positions the endgame solver visits to solve positions of a given depth,
+ * with and without the history and killer move ordering heuristics. Positions are reached by
+ * dealing decks shuffled with a seed and playing random legal moves until only the given number
+ * of cells is open, so both orderings solve exactly the same positions, each with a fresh
+ * solver so no solved positions are shared between them.
+ */
+public class SearchBenchmark {
+  private final List<Card> redDeck;
+  private final List<Card> blueDeck;
+  private final int rows;
+  private final int cols;
+  private final int handSize;
+
+  /**
+   * Creates a benchmark for games on the given board.
+   *
+   * @param redDeck the unshuffled deck of the red player
+   * @param blueDeck the unshuffled deck of the blue player
+   * @param rows the number of rows on the board
+   * @param cols the number of columns on the board
+   * @param handSize the hand size of each player
+   */
+  public SearchBenchmark(List<Card> redDeck, List<Card> blueDeck, int rows, int cols,
+                         int handSize) {
+    if (redDeck == null || blueDeck == null) {
+      throw new IllegalArgumentException("Decks cannot be null");
+    }
+    this.redDeck = new ArrayList<>(redDeck);
+    this.blueDeck = new ArrayList<>(blueDeck);
+    this.rows = rows;
+    this.cols = cols;
+    this.handSize = handSize;
+  }
+
+  /**
+   * Solves positions with the given number of open cells and counts the positions visited.
+   *
+   * @param depth how many cells are open in each position
+   * @param positions how many positions to solve, using seeds from the given one upwards
+   * @param seed the seed of the first position
+   * @param orderingHeuristics whether the solver orders moves with history and killer moves
+   * @return the total number of positions visited over every solve
+   * @throws IllegalArgumentException if the depth or number of positions is not positive
+   * @throws IllegalStateException if too few of the games dealt reach the depth
+   */
+  public long nodesToDepth(int depth, int positions, long seed, boolean orderingHeuristics) {
+    if (depth <= 0 || positions <= 0) {
+      throw new IllegalArgumentException("Depth and positions must be positive");
+    }
+    long nodes = 0;
+    int solved = 0;
+    //games that end before reaching the depth are skipped, up to a bound so a depth no game
+    //reaches does not deal games forever
+    long lastGame = seed + positions * 100L;
+    for (long game = seed; solved < positions; game++) {
+      if (game == lastGame) {
+        throw new IllegalStateException("Only " + solved + " of " + (lastGame - seed)
+                + " games reached depth " + depth);
+      }
+      EndgameStrategy solver = new EndgameStrategy(new FillFirstStrategy(), depth,
+              Integer.MAX_VALUE, Integer.MAX_VALUE, orderingHeuristics);
+      SanguineGame position = this.playToDepth(game, solver);
+      if (position != null) {
+        solver.generateMoves(position);
+        nodes += solver.getNodesSearched();
+        solved++;
+      }
+    }
+    return nodes;
+  }
+
+  //plays random legal moves until the solver takes over, or returns null if the game ends first
+  private SanguineGame playToDepth(long seed, EndgameStrategy solver) {
+    Random random = new Random(seed);
+    List<Card> red = new ArrayList<>(this.redDeck);
+    List<Card> blue = new ArrayList<>(this.blueDeck);
+    Collections.shuffle(red, random);
+    Collections.shuffle(blue, random);
+    SanguineGame game = new SanguineGame(red, blue);
+    game.startGame(this.rows, this.cols, this.handSize, false);
+    Strategy legalMoves = new FillFirstStrategy();
+    while (!game.gameOver()) {
+      if (solver.isEndgame(game)) {
+        return game;
+      }
+      List<Move> moves = legalMoves.generateMoves(game);
+      if (moves.isEmpty()) {
+        game.pass();
+      } else {
+        Move move = moves.get(random.nextInt(moves.size()));
+        game.playCard(move.getCard(), move.getRow(), move.getCol());
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,70 @@
+package sanguine.controller;
+
+/**
+ * Creates strategies from short text descriptions so tools can be configured from the command
+ * line. A description is a strategy name, several names joined by {@code +} for a
+ * {@link CompositeStrategy} chain, or {@code endgame:} followed by a description for an
+ * {@link EndgameStrategy} that defers to the described strategy, or {@code portfolio:} followed
+ * by descriptions separated by commas for a {@link PortfolioStrategy} that races them. The
+ * names are {@code fillfirst}, {@code maxrow}, {@code control}, {@code minimax},
+ * {@code endgame}, {@code mcts} and {@code expectimax}.
+ */
+public final class Strategies {
+  private Strategies() {
+  }
+
+  /**
+   * Creates a new strategy from its description. Each call returns new instances, so strategies
+   * that keep state between moves are never shared.
+   *
+   * @param description the description of the strategy
+   * @return the described strategy
+   * @throws IllegalArgumentException if the description names an unknown strategy
+   */
+  public static Strategy create(String description) {
+    if (description == null || description.isEmpty()) {
+      throw new IllegalArgumentException("Strategy description cannot be empty");
+    }
+    if (description.startsWith("portfolio:")) {
+      String[] descriptions = description.substring("portfolio:".length()).split(",");
+      Strategy[] members = new Strategy[descriptions.length];
+      for (int i = 0; i < descriptions.length; i++) {
+        members[i] = create(descriptions[i]);
+      }
+      return new PortfolioStrategy(members);
+    }
+    if (description.startsWith("endgame:")) {
+      return new EndgameStrategy(create(description.substring("endgame:".length())));
+    }
+    String[] names = description.split("\\+");
+    if (names.length == 1) {
+      return named(names[0]);
+    }
+    Strategy[] chain = new Strategy[names.length];
+    for (int i = 0; i < names.length; i++) {
+      chain[i] = named(names[i]);
+    }
+    return new CompositeStrategy(chain);
+  }
+
+  private static Strategy named(String name) {
+    switch (name) {
+      case "fillfirst":
+        return new FillFirstStrategy();
+      case "maxrow":
+        return new MaximizeRowScoreStrategy();
+      case "control":
+        return new ControlTheBoardStrategy();
+      case "minimax":
+        return new MinimaxStrategy(new FillFirstStrategy());
+      case "endgame":
+        return new EndgameStrategy(new FillFirstStrategy());
+      case "mcts":
+        return new MctsStrategy();
+      case "expectimax":
+        return new ExpectimaxStrategy();
+      default:
+        throw new IllegalArgumentException("Unknown strategy: " + name);
+    }
+  }
+}
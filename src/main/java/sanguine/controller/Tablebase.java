@@ -0,0 +1,230 @@
+package sanguine.controller;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * A read-only table of solved endgame positions stored in a memory-mapped file. Positions are
+ * found by binary search on their endgame key, so probing touches only a few pages of the file
+ * and the operating system shares the pages between every strategy and process that opens it.
+ * The file holds a header followed by fixed-size records sorted by key, each holding the key,
+ * the class code of the best card, the final total score margin for the player to move and the
+ * row and column of the best move, where a row of -1 marks a pass. Keys fold a position with its
+ * mirror image from top to bottom, and moves are stored as they are played in the canonical
+ * orientation.
+ */
+public final class Tablebase implements AutoCloseable {
+  static final int MAGIC = 0x53475442;
+  static final int VERSION = 2;
+  static final int HEADER_BYTES = 24;
+  static final int RECORD_BYTES = 16;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer buffer;
+  private final int rows;
+  private final int cols;
+  private final int size;
+
+  private Tablebase(FileChannel channel, MappedByteBuffer buffer) {
+    this.channel = channel;
+    this.buffer = buffer;
+    if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+      throw new IllegalArgumentException("Not a version " + VERSION + " tablebase file");
+    }
+    this.rows = buffer.getInt(8);
+    this.cols = buffer.getInt(12);
+    long count = buffer.getLong(16);
+    if (HEADER_BYTES + count * RECORD_BYTES != buffer.capacity()) {
+      throw new IllegalArgumentException("Tablebase file is truncated");
+    }
+    this.size = (int) count;
+  }
+
+  /**
+   * Maps a tablebase file into memory.
+   *
+   * @param file the tablebase file
+   * @return the opened tablebase
+   * @throws IOException if the file cannot be read
+   * @throws IllegalArgumentException if the file is not a valid tablebase
+   */
+  public static Tablebase open(Path file) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("Tablebase file is too large to map");
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return new Tablebase(channel, buffer);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Writes solved positions as a tablebase file. The records must already be sorted by key and
+   * hold no duplicate keys.
+   *
+   * @param file the file to write
+   * @param rows the number of rows of the board the positions were solved on
+   * @param cols the number of columns of the board the positions were solved on
+   * @param records the sorted records
+   * @throws IOException if the file cannot be written
+   */
+  static void write(Path file, int rows, int cols, List<Record> records) throws IOException {
+    try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+      buffer.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(cols).putLong(records.size());
+      for (Record record : records) {
+        if (buffer.remaining() < RECORD_BYTES) {
+          drain(out, buffer);
+        }
+        record.writeTo(buffer);
+      }
+      drain(out, buffer);
+    }
+  }
+
+  private static void drain(FileChannel out, ByteBuffer buffer) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      out.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  /**
+   * Finds the solved position with the given endgame key.
+   *
+   * @param key the endgame key of the position
+   * @return the solved position, or null if the tablebase does not cover it
+   */
+  public Record probe(long key) {
+    int low = 0;
+    int high = this.size - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      long midKey = this.buffer.getLong(HEADER_BYTES + mid * RECORD_BYTES);
+      if (midKey < key) {
+        low = mid + 1;
+      } else if (midKey > key) {
+        high = mid - 1;
+      } else {
+        return Record.readFrom(this.buffer, HEADER_BYTES + mid * RECORD_BYTES);
+      }
+    }
+    return null;
+  }
+
+  //reads the record at the given position in key order
+  Record get(int index) {
+    return Record.readFrom(this.buffer, HEADER_BYTES + index * RECORD_BYTES);
+  }
+
+  /**
+   * Returns how many positions the tablebase holds.
+   *
+   * @return the number of solved positions
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the number of rows of the board the positions were solved on.
+   *
+   * @return the number of rows
+   */
+  public int getRows() {
+    return this.rows;
+  }
+
+  /**
+   * Returns the number of columns of the board the positions were solved on.
+   *
+   * @return the number of columns
+   */
+  public int getCols() {
+    return this.cols;
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.channel.close();
+  }
+
+  /**
+   * A solved position: its key, the final total score margin for the player to move with
+   * perfect play and the best move, identified by the code of its card and its cell.
+   */
+  public static final class Record {
+    private final long key;
+    private final int cardCode;
+    private final int value;
+    private final int row;
+    private final int col;
+
+    /**
+     * Creates a solved position.
+     *
+     * @param key the endgame key of the position
+     * @param cardCode the class code of the card of the best move, ignored for a pass
+     * @param value the final total score margin for the player to move
+     * @param row the row of the best move, or -1 if passing is best
+     * @param col the column of the best move
+     */
+    public Record(long key, int cardCode, int value, int row, int col) {
+      this.key = key;
+      this.cardCode = cardCode;
+      this.value = value;
+      this.row = row;
+      this.col = col;
+    }
+
+    static Record readFrom(ByteBuffer buffer, int offset) {
+      return new Record(buffer.getLong(offset), buffer.getInt(offset + 8),
+              buffer.getShort(offset + 12), buffer.get(offset + 14), buffer.get(offset + 15));
+    }
+
+    void writeTo(ByteBuffer buffer) {
+      buffer.putLong(this.key).putInt(this.cardCode).putShort((short) this.value)
+              .put((byte) this.row).put((byte) this.col);
+    }
+
+    public long getKey() {
+      return this.key;
+    }
+
+    public int getCardCode() {
+      return this.cardCode;
+    }
+
+    public int getValue() {
+      return this.value;
+    }
+
+    public int getRow() {
+      return this.row;
+    }
+
+    public int getCol() {
+      return this.col;
+    }
+
+    /**
+     * Returns whether passing is the best move.
+     *
+     * @return true if the best move is a pass
+     */
+    public boolean isPass() {
+      return this.row < 0;
+    }
+  }
+}
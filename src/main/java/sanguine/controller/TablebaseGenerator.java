@@ -0,0 +1,183 @@
+package sanguine.controller;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import sanguine.model.Card;
+import sanguine.model.PositionHash;
+import sanguine.model.SanguineGame;
+
+/**
+ * Builds endgame tablebases offline. Every game is dealt from decks shuffled with its own seed
+ * and played with random legal moves until it reaches the endgame, which is then solved exactly.
+ * Every position of the solve whose value is exact is kept, so each game adds the whole solved
+ * tree below its endgame, not just one position.
+ * Games are split into chunks that run in parallel. Each finished chunk is written to its own
+ * file in the work directory, which acts as a checkpoint: running the generator again with the
+ * same work directory skips finished chunks and only merges once every chunk is done.
+ */
+public class TablebaseGenerator {
+  private final List<Card> redDeck;
+  private final List<Card> blueDeck;
+  private final int rows;
+  private final int cols;
+  private final int handSize;
+  private final int maxOpenCells;
+  private final int maxHandCards;
+
+  /**
+   * Creates a generator for games on the given board.
+   *
+   * @param redDeck the unshuffled deck of the red player
+   * @param blueDeck the unshuffled deck of the blue player
+   * @param rows the number of rows on the board
+   * @param cols the number of columns on the board
+   * @param handSize the hand size of each player
+   * @param maxOpenCells the most open cells at which a game counts as an endgame
+   * @param maxHandCards the most cards in both hands at which a game counts as an endgame
+   */
+  public TablebaseGenerator(List<Card> redDeck, List<Card> blueDeck, int rows, int cols,
+                            int handSize, int maxOpenCells, int maxHandCards) {
+    if (redDeck == null || blueDeck == null) {
+      throw new IllegalArgumentException("Decks cannot be null");
+    }
+    this.redDeck = new ArrayList<>(redDeck);
+    this.blueDeck = new ArrayList<>(blueDeck);
+    this.rows = rows;
+    this.cols = cols;
+    this.handSize = handSize;
+    this.maxOpenCells = maxOpenCells;
+    this.maxHandCards = maxHandCards;
+  }
+
+  /**
+   * Solves the endgames of the given number of games and writes the merged tablebase.
+   *
+   * @param games how many games to play, using seeds 0 to games - 1
+   * @param chunkSize how many games make up one checkpointed chunk
+   * @param threads how many chunks to run at once
+   * @param workDir the directory holding the checkpoint of each finished chunk
+   * @param output the tablebase file to write
+   * @return the number of positions in the tablebase
+   * @throws IOException if a checkpoint or the tablebase cannot be written
+   * @throws InterruptedException if interrupted while waiting for chunks
+   */
+  public int generate(long games, int chunkSize, int threads, Path workDir, Path output)
+          throws IOException, InterruptedException {
+    if (games < 0 || chunkSize <= 0 || threads <= 0) {
+      throw new IllegalArgumentException("Invalid game count, chunk size or thread count");
+    }
+    Files.createDirectories(workDir);
+    long chunks = (games + chunkSize - 1) / chunkSize;
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<Path>> pending = new ArrayList<>();
+      for (long chunk = 0; chunk < chunks; chunk++) {
+        long first = chunk * chunkSize;
+        long last = Math.min(games, first + chunkSize);
+        Path checkpoint = workDir.resolve(String.format("chunk-%08d.tb", chunk));
+        //finished chunks are kept from earlier runs
+        if (!Files.exists(checkpoint)) {
+          pending.add(pool.submit(() -> this.solveChunk(first, last, checkpoint)));
+        }
+      }
+      for (Future<Path> future : pending) {
+        future.get();
+      }
+    } catch (ExecutionException e) {
+      throw new IOException("Chunk failed", e.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+    return this.merge(workDir, chunks, output);
+  }
+
+  //solves the games with seeds from first up to last and writes them to the checkpoint
+  private Path solveChunk(long first, long last, Path checkpoint) throws IOException {
+    Map<Long, Tablebase.Record> solved = new HashMap<>();
+    for (long seed = first; seed < last; seed++) {
+      //a fresh solver per game, since a solver keeps every position it has solved
+      EndgameStrategy solver = new EndgameStrategy(new FillFirstStrategy(), this.maxOpenCells,
+              this.maxHandCards);
+      SanguineGame game = this.playToEndgame(seed, solver);
+      if (game != null) {
+        solver.generateMoves(game);
+        solver.forEachExact((key, value, best, mirrored) ->
+                solved.put(key, this.toRecord(key, value, best, mirrored)));
+      }
+    }
+    List<Tablebase.Record> records = new ArrayList<>(solved.values());
+    records.sort(Comparator.comparingLong(Tablebase.Record::getKey));
+    //writes to a temporary file first so a crash never leaves a partial checkpoint
+    Path temp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+    Tablebase.write(temp, this.rows, this.cols, records);
+    Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+    return checkpoint;
+  }
+
+  //plays random legal moves until the endgame is reached, or returns null if the game ends first
+  private SanguineGame playToEndgame(long seed, EndgameStrategy solver) {
+    Random random = new Random(seed);
+    List<Card> red = new ArrayList<>(this.redDeck);
+    List<Card> blue = new ArrayList<>(this.blueDeck);
+    Collections.shuffle(red, random);
+    Collections.shuffle(blue, random);
+    SanguineGame game = new SanguineGame(red, blue);
+    game.startGame(this.rows, this.cols, this.handSize, false);
+    Strategy legalMoves = new FillFirstStrategy();
+    while (!game.gameOver()) {
+      if (solver.isEndgame(game)) {
+        return game;
+      }
+      List<Move> moves = legalMoves.generateMoves(game);
+      if (moves.isEmpty()) {
+        game.pass();
+      } else {
+        Move move = moves.get(random.nextInt(moves.size()));
+        game.playCard(move.getCard(), move.getRow(), move.getCol());
+      }
+    }
+    return null;
+  }
+
+  //records the best move in the key's canonical orientation
+  private Tablebase.Record toRecord(long key, int value, Move best, boolean mirrored) {
+    if (best == null) {
+      return new Tablebase.Record(key, 0, value, -1, -1);
+    }
+    int row = mirrored ? this.rows - 1 - best.getRow() : best.getRow();
+    return new Tablebase.Record(key, PositionHash.classCode(best.getCard(), mirrored), value,
+            row, best.getCol());
+  }
+
+  //combines every chunk into one sorted tablebase without duplicate positions
+  private int merge(Path workDir, long chunks, Path output) throws IOException {
+    Map<Long, Tablebase.Record> merged = new HashMap<>();
+    for (long chunk = 0; chunk < chunks; chunk++) {
+      try (Tablebase part = Tablebase.open(
+              workDir.resolve(String.format("chunk-%08d.tb", chunk)))) {
+        for (int i = 0; i < part.size(); i++) {
+          Tablebase.Record record = part.get(i);
+          merged.put(record.getKey(), record);
+        }
+      }
+    }
+    List<Tablebase.Record> records = new ArrayList<>(merged.values());
+    records.sort(Comparator.comparingLong(Tablebase.Record::getKey));
+    Tablebase.write(output, this.rows, this.cols, records);
+    return records.size();
+  }
+}
@@ -0,0 +1,57 @@
+package sanguine.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import sanguine.model.Card;
+import sanguine.model.PositionHash;
+import sanguine.model.SanguineModel;
+
+/**
+ * A strategy that answers from a tablebase of solved endgame positions. Covered positions are
+ * played perfectly with a single lookup, and every other position is left to another strategy.
+ * An empty list of moves means that passing is the best move.
+ */
+public class TablebaseStrategy implements Strategy {
+  private final Tablebase tablebase;
+  private final Strategy fallback;
+
+  /**
+   * Creates a strategy that probes the given tablebase before deferring to the fallback.
+   *
+   * @param tablebase the solved positions
+   * @param fallback the strategy for positions the tablebase does not cover
+   * @throws IllegalArgumentException if either argument is null
+   */
+  public TablebaseStrategy(Tablebase tablebase, Strategy fallback) {
+    if (tablebase == null || fallback == null) {
+      throw new IllegalArgumentException("Tablebase and fallback cannot be null");
+    }
+    this.tablebase = tablebase;
+    this.fallback = fallback;
+  }
+
+  @Override
+  public List<Move> generateMoves(SanguineModel model) {
+    if (model.getNumRows() != this.tablebase.getRows()
+            || model.getNumCols() != this.tablebase.getCols()) {
+      return this.fallback.generateMoves(model);
+    }
+    Tablebase.Record record = this.tablebase.probe(EndgameStrategy.key(model));
+    if (record == null) {
+      return this.fallback.generateMoves(model);
+    }
+    if (record.isPass()) {
+      return new ArrayList<>();
+    }
+    //finds the card in hand that plays like the stored move's card, mirroring the move if the
+    //position is the mirror image of the one it was stored for
+    boolean mirrored = EndgameStrategy.isMirrored(model);
+    int row = mirrored ? model.getNumRows() - 1 - record.getRow() : record.getRow();
+    for (Card card : model.getPlayerHand(model.getCurrentPlayer())) {
+      if (PositionHash.classCode(card, mirrored) == record.getCardCode()) {
+        return List.of(new Move(card, row, record.getCol()));
+      }
+    }
+    return this.fallback.generateMoves(model);
+  }
+}
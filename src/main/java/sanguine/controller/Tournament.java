@@ -0,0 +1,195 @@
+package sanguine.controller;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import sanguine.model.Card;
+import sanguine.model.GameJournal;
+import sanguine.model.Player;
+import sanguine.model.SanguineGame;
+import sanguine.model.SanguineModel;
+
+/**
+ * Runs round-robin tournaments between machine players without any windows. Every ordered pair
+ * of different entrants plays the same number of games, so each pairing is played with both
+ * colours. Games run on a thread pool and each game shuffles its decks with its own seed, so a
+ * tournament with the same seed always deals the same games.
+ */
+public class Tournament {
+  private final List<Card> redDeck;
+  private final List<Card> blueDeck;
+  private final int rows;
+  private final int cols;
+  private final int handSize;
+  private final List<String> names;
+  private final List<Supplier<Strategy>> entrants;
+  private GameJournal journal;
+  private long configHash;
+
+  /**
+   * Creates a tournament on the given board with no entrants.
+   *
+   * @param redDeck the unshuffled deck of the red player
+   * @param blueDeck the unshuffled deck of the blue player
+   * @param rows the number of rows on the board
+   * @param cols the number of columns on the board
+   * @param handSize the hand size of each player
+   */
+  public Tournament(List<Card> redDeck, List<Card> blueDeck, int rows, int cols, int handSize) {
+    if (redDeck == null || blueDeck == null) {
+      throw new IllegalArgumentException("Decks cannot be null");
+    }
+    this.redDeck = new ArrayList<>(redDeck);
+    this.blueDeck = new ArrayList<>(blueDeck);
+    this.rows = rows;
+    this.cols = cols;
+    this.handSize = handSize;
+    this.names = new ArrayList<>();
+    this.entrants = new ArrayList<>();
+  }
+
+  /**
+   * Records every game played from now on into the given journal.
+   *
+   * @param journal the journal to append games to, or null to stop recording
+   */
+  public void setJournal(GameJournal journal) {
+    this.journal = journal;
+    this.configHash = GameJournal.configHash(this.redDeck, this.blueDeck);
+  }
+
+  /**
+   * Creates an unstarted game with both decks shuffled by one random generator seeded with the
+   * given seed, the red deck first, the way every tournament game is dealt.
+   *
+   * @param redDeck the unshuffled deck of the red player
+   * @param blueDeck the unshuffled deck of the blue player
+   * @param seed the seed to shuffle the decks with
+   * @return the dealt game
+   */
+  public static SanguineGame deal(List<Card> redDeck, List<Card> blueDeck, long seed) {
+    return deal(redDeck, blueDeck, seed, true);
+  }
+
+  //deals a game like deal, which is only counted in the metrics when it is recorded
+  static SanguineGame deal(List<Card> redDeck, List<Card> blueDeck, long seed,
+                           boolean recorded) {
+    Random random = new Random(seed);
+    List<Card> redCards = new ArrayList<>(redDeck);
+    List<Card> blueCards = new ArrayList<>(blueDeck);
+    Collections.shuffle(redCards, random);
+    Collections.shuffle(blueCards, random);
+    return recorded ? new SanguineGame(redCards, blueCards)
+            : SanguineGame.unrecorded(redCards, blueCards);
+  }
+
+  /**
+   * Adds an entrant to the tournament.
+   *
+   * @param name the name to report the entrant under
+   * @param strategy creates a new instance of the entrant's strategy for every game
+   */
+  public void addEntrant(String name, Supplier<Strategy> strategy) {
+    if (name == null || strategy == null) {
+      throw new IllegalArgumentException("Name and strategy cannot be null");
+    }
+    this.names.add(name);
+    this.entrants.add(strategy);
+  }
+
+  /**
+   * Plays every pairing and collects the results.
+   *
+   * @param gamesPerPairing how many games each ordered pair of entrants plays
+   * @param threads how many games to play at once
+   * @param seed the seed the decks of every game are derived from
+   * @return the results of the tournament
+   * @throws InterruptedException if interrupted while waiting for games
+   */
+  public TournamentResult run(int gamesPerPairing, int threads, long seed)
+          throws InterruptedException {
+    if (this.entrants.size() < 2 || gamesPerPairing < 0 || threads <= 0) {
+      throw new IllegalArgumentException("Need two entrants, games and threads");
+    }
+    TournamentResult result = new TournamentResult(this.names);
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    long start = System.nanoTime();
+    try {
+      List<Future<GameRecord>> games = new ArrayList<>();
+      long game = 0;
+      for (int red = 0; red < this.entrants.size(); red++) {
+        for (int blue = 0; blue < this.entrants.size(); blue++) {
+          if (red == blue) {
+            continue;
+          }
+          for (int i = 0; i < gamesPerPairing; i++) {
+            int redEntrant = red;
+            int blueEntrant = blue;
+            long gameSeed = seed + game++;
+            games.add(pool.submit(() -> this.playGame(redEntrant, blueEntrant, gameSeed)));
+          }
+        }
+      }
+      for (Future<GameRecord> future : games) {
+        GameRecord record = future.get();
+        result.record(record.red, record.blue, record.margin);
+      }
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Game failed", e.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+    result.setElapsedNanos(System.nanoTime() - start);
+    return result;
+  }
+
+  /**
+   * Plays one game between two strategies with decks shuffled by the given seed.
+   *
+   * @param red the strategy of the red player
+   * @param blue the strategy of the blue player
+   * @param seed the seed to shuffle the decks with
+   * @return the finished game
+   */
+  public SanguineModel playGame(Strategy red, Strategy blue, long seed) {
+    SanguineGame model = deal(this.redDeck, this.blueDeck, seed);
+    if (this.journal != null) {
+      model.setJournal(this.journal.newGame(seed, this.configHash, this.rows, this.cols,
+              this.handSize));
+    }
+    TurnScheduler scheduler = new TurnScheduler();
+    SanguineController redController = new HeadlessController(model,
+            new MachinePlayer(Player.RED, red), scheduler);
+    SanguineController blueController = new HeadlessController(model,
+            new MachinePlayer(Player.BLUE, blue), scheduler);
+    redController.playGame(this.rows, this.cols, this.handSize, false);
+    blueController.playGame(this.rows, this.cols, this.handSize, false);
+    return model;
+  }
+
+  private GameRecord playGame(int red, int blue, long seed) {
+    SanguineModel model = this.playGame(this.entrants.get(red).get(),
+            this.entrants.get(blue).get(), seed);
+    return new GameRecord(red, blue,
+            model.getTotalScore(Player.RED) - model.getTotalScore(Player.BLUE));
+  }
+
+  //the entrants of a finished game and the red player's final total score margin
+  private static final class GameRecord {
+    private final int red;
+    private final int blue;
+    private final int margin;
+
+    GameRecord(int red, int blue, int margin) {
+      this.red = red;
+      this.blue = blue;
+      this.margin = margin;
+    }
+  }
+}
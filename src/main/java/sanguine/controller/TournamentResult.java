@@ -0,0 +1,142 @@
+package sanguine.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The results of a tournament: how often each entrant won, lost and drew against each other
+ * entrant, their average final total score margins and how fast the games were played.
+ */
+public class TournamentResult {
+  private final List<String> names;
+  private final int[][] wins;
+  private final int[][] draws;
+  private final long[][] marginSums;
+  private long games;
+  private long elapsedNanos;
+
+  /**
+   * Creates empty results for the given entrants.
+   *
+   * @param names the names of the entrants
+   */
+  public TournamentResult(List<String> names) {
+    this.names = new ArrayList<>(names);
+    int size = names.size();
+    this.wins = new int[size][size];
+    this.draws = new int[size][size];
+    this.marginSums = new long[size][size];
+  }
+
+  /**
+   * Adds the result of one game.
+   *
+   * @param red the index of the entrant that played red
+   * @param blue the index of the entrant that played blue
+   * @param margin the red player's final total score minus the blue player's
+   */
+  public void record(int red, int blue, int margin) {
+    if (margin > 0) {
+      this.wins[red][blue]++;
+    } else if (margin < 0) {
+      this.wins[blue][red]++;
+    } else {
+      this.draws[red][blue]++;
+      this.draws[blue][red]++;
+    }
+    this.marginSums[red][blue] += margin;
+    this.marginSums[blue][red] -= margin;
+    this.games++;
+  }
+
+  void setElapsedNanos(long elapsedNanos) {
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * Returns how many games an entrant won against another, with either colour.
+   *
+   * @param entrant the index of the entrant
+   * @param opponent the index of the opponent
+   * @return the number of wins
+   */
+  public int getWins(int entrant, int opponent) {
+    return this.wins[entrant][opponent];
+  }
+
+  /**
+   * Returns how many games an entrant lost against another, with either colour.
+   *
+   * @param entrant the index of the entrant
+   * @param opponent the index of the opponent
+   * @return the number of losses
+   */
+  public int getLosses(int entrant, int opponent) {
+    return this.wins[opponent][entrant];
+  }
+
+  /**
+   * Returns how many games between two entrants were drawn.
+   *
+   * @param entrant the index of the entrant
+   * @param opponent the index of the opponent
+   * @return the number of draws
+   */
+  public int getDraws(int entrant, int opponent) {
+    return this.draws[entrant][opponent];
+  }
+
+  /**
+   * Returns the average final total score margin of an entrant against another.
+   *
+   * @param entrant the index of the entrant
+   * @param opponent the index of the opponent
+   * @return the average margin, or 0 if they have not played
+   */
+  public double getAverageMargin(int entrant, int opponent) {
+    int played = this.getWins(entrant, opponent) + this.getLosses(entrant, opponent)
+            + this.getDraws(entrant, opponent);
+    return played == 0 ? 0 : (double) this.marginSums[entrant][opponent] / played;
+  }
+
+  /**
+   * Returns how many games were played.
+   *
+   * @return the number of games
+   */
+  public long getGames() {
+    return this.games;
+  }
+
+  /**
+   * Returns how many games were played per second of wall-clock time.
+   *
+   * @return the game throughput
+   */
+  public double getGamesPerSecond() {
+    return this.elapsedNanos == 0 ? 0 : this.games * 1e9 / this.elapsedNanos;
+  }
+
+  /**
+   * Formats the results as text tables, one row per entrant, where each cell reads
+   * wins-losses-draws and average margin against the entrant of that column.
+   *
+   * @return the report
+   */
+  public String report() {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < this.names.size(); i++) {
+      sb.append(this.names.get(i)).append(":");
+      for (int j = 0; j < this.names.size(); j++) {
+        if (i != j) {
+          sb.append(String.format("  vs %s %d-%d-%d (%+.2f)", this.names.get(j),
+                  this.getWins(i, j), this.getLosses(i, j), this.getDraws(i, j),
+                  this.getAverageMargin(i, j)));
+        }
+      }
+      sb.append("\n");
+    }
+    sb.append(String.format("%d games, %.1f games/s%n", this.games, this.getGamesPerSecond()));
+    return sb.toString();
+  }
+}
@@ -0,0 +1,100 @@
+package sanguine.controller;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Runs player turns one at a time from a queue instead of inside each other. When a machine
+ * player moves, the model notifies the controllers, which would otherwise start the next turn
+ * before the current one returns, so a game between machine players became one deep chain of
+ * calls. Controllers instead hand turns to a scheduler: a turn scheduled while another is running
+ * waits in the queue and runs once the running turn returns, which keeps the stack depth constant
+ * however long the game is. Actions such as repainting can wait until the queue is empty so
+ * they run once rather than after every intermediate move.
+ *
+ * <p>A scheduler is not thread-safe; every call must come from the same thread, which is the
+ * event dispatch thread in games with a view.</p>
+ */
+public class TurnScheduler {
+  private final Deque<Runnable> turns;
+  private final List<Runnable> idleActions;
+  private boolean running;
+
+  /**
+   * Creates a scheduler with no pending turns.
+   */
+  public TurnScheduler() {
+    this.turns = new ArrayDeque<>();
+    this.idleActions = new ArrayList<>();
+    this.running = false;
+  }
+
+  /**
+   * Runs a turn now, or after the running turn and the turns queued before it if a turn is
+   * already running.
+   *
+   * @param turn the turn to run
+   */
+  public void schedule(Runnable turn) {
+    if (turn == null) {
+      throw new IllegalArgumentException("Turn cannot be null");
+    }
+    this.turns.addLast(turn);
+    this.drain();
+  }
+
+  /**
+   * Runs an action now, or once no turns are left if a turn is running. An action that is
+   * already waiting is not added again.
+   *
+   * @param action the action to run
+   */
+  public void whenIdle(Runnable action) {
+    if (action == null) {
+      throw new IllegalArgumentException("Action cannot be null");
+    }
+    if (!this.running) {
+      action.run();
+    } else if (!this.idleActions.contains(action)) {
+      this.idleActions.add(action);
+    }
+  }
+
+  /**
+   * Returns whether a turn or waiting action is being run.
+   *
+   * @return true if the scheduler is running
+   */
+  public boolean isRunning() {
+    return this.running;
+  }
+
+  private void drain() {
+    if (this.running) {
+      return;
+    }
+    this.running = true;
+    try {
+      while (!this.turns.isEmpty() || !this.idleActions.isEmpty()) {
+        while (!this.turns.isEmpty()) {
+          this.turns.removeFirst().run();
+        }
+        //waiting actions may schedule more turns, which run before the next idle point
+        List<Runnable> actions = new ArrayList<>(this.idleActions);
+        this.idleActions.clear();
+        for (Runnable action : actions) {
+          action.run();
+        }
+      }
+    } catch (RuntimeException e) {
+      //turns queued behind a failed turn belong to a game that can no longer continue
+      this.turns.clear();
+      this.idleActions.clear();
+      throw e;
+    } finally {
+      this.running = false;
+    }
+  }
+}
@@ -57,6 +57,13 @@ public interface Board {
    */
   List<List<Cell>> getCells();
 
+  /**
+   * Checks if a card has been placed on every cell of the board, without copying the cells.
+   *
+   * @return true if every cell is a value cell
+   */
+  boolean isFull();
+
   /**
    * Checks if a card placement on a given board coordinate is valid.
    * The cell must be a PawnCell and have enough pawns to cover the cost of the card.
@@ -0,0 +1,138 @@
+package sanguine.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The event-sourced history of one game: every change to its state in order, as immutable
+ * {@link StateEvent}s, and a detached snapshot of the game after every given number of events.
+ * Any position of the game is rebuilt from the latest snapshot at or before it plus the events
+ * after that snapshot, so rebuilding never applies more events than the snapshot interval, such
+ * as when a spectator joins or a position is analysed. A game emits its events into the log
+ * through {@link SanguineGame#setEventLog}. A log can be read from any thread while its game is
+ * played.
+ */
+public final class GameEventLog {
+  /**
+   * How many events are logged between snapshots by default.
+   */
+  public static final int DEFAULT_SNAPSHOT_INTERVAL = 32;
+
+  private final int snapshotInterval;
+  private final List<StateEvent> events;
+  //snapshot i is the game after (i + 1) * snapshotInterval events
+  private final List<SanguineGame> snapshots;
+
+  /**
+   * Creates an empty log that snapshots every {@value #DEFAULT_SNAPSHOT_INTERVAL} events.
+   */
+  public GameEventLog() {
+    this(DEFAULT_SNAPSHOT_INTERVAL);
+  }
+
+  /**
+   * Creates an empty log.
+   *
+   * @param snapshotInterval how many events are logged between snapshots
+   * @throws IllegalArgumentException if the interval is not positive
+   */
+  public GameEventLog(int snapshotInterval) {
+    if (snapshotInterval <= 0) {
+      throw new IllegalArgumentException("Snapshot interval must be positive");
+    }
+    this.snapshotInterval = snapshotInterval;
+    this.events = new ArrayList<>();
+    this.snapshots = new ArrayList<>();
+  }
+
+  /**
+   * Logs an event the game has just applied, snapshotting the game if the interval is reached.
+   *
+   * @param event the event
+   * @param game the game after the event
+   */
+  synchronized void append(StateEvent event, SanguineGame game) {
+    this.events.add(event);
+    if (this.events.size() % this.snapshotInterval == 0) {
+      //the interval can end between a pass and the turn it switches, which the copy constructor
+      //cannot tell from the position alone
+      this.snapshots.add(game.snapshot());
+    }
+  }
+
+  /**
+   * Returns how many events were logged.
+   *
+   * @return the number of events
+   */
+  public synchronized int size() {
+    return this.events.size();
+  }
+
+  /**
+   * Returns how many events are logged between snapshots.
+   *
+   * @return the snapshot interval
+   */
+  public int getSnapshotInterval() {
+    return this.snapshotInterval;
+  }
+
+  /**
+   * Returns the events logged from the given index on, such as those a spectator has not seen.
+   *
+   * @param from the index of the first event
+   * @return an unmodifiable copy of the events
+   * @throws IllegalArgumentException if the index is out of range
+   */
+  public synchronized List<StateEvent> getEvents(int from) {
+    if (from < 0 || from > this.events.size()) {
+      throw new IllegalArgumentException("Invalid event index");
+    }
+    return Collections.unmodifiableList(new ArrayList<>(this.events.subList(from,
+            this.events.size())));
+  }
+
+  /**
+   * Rebuilds the game as it is now.
+   *
+   * @return a detached game with no listeners
+   * @throws IllegalStateException if the game has not been dealt
+   */
+  public SanguineGame rebuild() {
+    synchronized (this) {
+      if (this.events.isEmpty()) {
+        throw new IllegalStateException("Game has not started");
+      }
+      return this.rebuild(this.events.size());
+    }
+  }
+
+  /**
+   * Rebuilds the game as it was after the given number of events, from the latest snapshot at or
+   * before it.
+   *
+   * @param count how many events to rebuild from, at least the deal
+   * @return a detached game with no listeners
+   * @throws IllegalArgumentException if the count is out of range
+   */
+  public SanguineGame rebuild(int count) {
+    SanguineGame game;
+    List<StateEvent> after;
+    synchronized (this) {
+      if (count <= 0 || count > this.events.size()) {
+        throw new IllegalArgumentException("Invalid event count");
+      }
+      int snapshot = count / this.snapshotInterval;
+      game = snapshot == 0 ? new SanguineGame(new ArrayList<>(), new ArrayList<>())
+              : this.snapshots.get(snapshot - 1).snapshot();
+      after = new ArrayList<>(this.events.subList(snapshot * this.snapshotInterval, count));
+    }
+    //snapshots are never changed, so the events are applied to a copy outside the lock
+    for (StateEvent event : after) {
+      game.apply(event);
+    }
+    return game;
+  }
+}
@@ -0,0 +1,97 @@
+package sanguine.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events for what happens in a game, so a recording lines up garbage
+ * collections and CPU spikes with the moves being played. Start a recording with
+ * {@code -XX:StartFlightRecording} and the events appear under the Sanguine category. When
+ * recording is off an event is never filled in or committed, and the JIT removes the event object
+ * itself, so a game pays nothing for them. Only games created from decks record events; copies
+ * made by strategies to simulate moves do not, since they would bury the real game.
+ */
+final class GameEvents {
+  private GameEvents() {
+  }
+
+  /**
+   * A card played on the board.
+   */
+  @Name("sanguine.PlayCard")
+  @Label("Play Card")
+  @Category({"Sanguine", "Model"})
+  @Description("A card played on the board")
+  @StackTrace(false)
+  static final class PlayCard extends Event {
+    @Label("Player")
+    String player;
+
+    @Label("Card")
+    String card;
+
+    @Label("Row")
+    int row;
+
+    @Label("Column")
+    int col;
+
+    @Label("Cells Influenced")
+    @Description("Cells on the board reached by the card's influence")
+    int cellsInfluenced;
+  }
+
+  /**
+   * A turn passed.
+   */
+  @Name("sanguine.Pass")
+  @Label("Pass")
+  @Category({"Sanguine", "Model"})
+  @Description("A turn passed")
+  @StackTrace(false)
+  static final class Pass extends Event {
+    @Label("Player")
+    String player;
+
+    @Label("Consecutive Passes")
+    int consecutivePasses;
+  }
+
+  /**
+   * The turn moved to the other player.
+   */
+  @Name("sanguine.TurnChanged")
+  @Label("Turn Changed")
+  @Category({"Sanguine", "Model"})
+  @Description("The turn moved to the other player")
+  @StackTrace(false)
+  static final class TurnChanged extends Event {
+    @Label("Player")
+    @Description("The player whose turn it now is")
+    String player;
+  }
+
+  /**
+   * A game ended.
+   */
+  @Name("sanguine.GameOver")
+  @Label("Game Over")
+  @Category({"Sanguine", "Model"})
+  @Description("A game ended")
+  @StackTrace(false)
+  static final class GameOver extends Event {
+    @Label("Winner")
+    @Description("The winning player, or null for a tie")
+    String winner;
+
+    @Label("Red Score")
+    int redScore;
+
+    @Label("Blue Score")
+    int blueScore;
+  }
+}
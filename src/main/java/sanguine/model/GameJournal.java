@@ -0,0 +1,709 @@
+package sanguine.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * An append-only journal of played games. Each game is written as the seed its decks were
+ * shuffled with, a hash of the unshuffled decks, the board and hand size, and then one varint per
+ * move, so a typical move takes a single byte. A game being played records its moves into a small
+ * buffer of its own, which costs about one store per move, and the finished game is copied into a
+ * memory-mapped region of the file in one go, so games played on many threads never interleave
+ * and appending makes no system call until the region is used up. A game that was not finished
+ * is never written, so a crash loses at most the games in progress.
+ *
+ * <p>The file starts with the magic number {@value #MAGIC} and the version. A game is the byte
+ * {@value #GAME}, varints for the rows, columns and hand size, the seed as a zigzag varint, the
+ * deck hash as eight bytes, and then move varints: {@value #END} ends the game and is followed by
+ * varints of the red and blue final scores, {@value #PASS} is a pass and any larger value plays
+ * the card at a hand index on a cell, as {@code FIRST_PLAY + (handIndex * rows + row) * cols +
+ * col}. Unwritten space is zero, which ends the journal. Journals are read back with a
+ * {@link Reader}.</p>
+ *
+ * <p>Whenever the journal is flushed or closed, the length of its games on the disk and how many
+ * there are is recorded next to it in a {@link #commitFile}, so reopening a large journal only
+ * scans the games appended since. Without that record the whole journal is scanned, a window of
+ * the file at a time.</p>
+ */
+public final class GameJournal implements AutoCloseable {
+  /**
+   * The first four bytes of every journal.
+   */
+  public static final int MAGIC = 0x53474A4C;
+
+  /**
+   * The version of the format written.
+   */
+  public static final int VERSION = 2;
+
+  /**
+   * The byte every game starts with.
+   */
+  public static final int GAME = 'G';
+
+  /**
+   * The move code that ends a game.
+   */
+  public static final int END = 1;
+
+  /**
+   * The move code of a pass.
+   */
+  public static final int PASS = 2;
+
+  /**
+   * The move code of playing the first card in hand on the top left cell.
+   */
+  public static final int FIRST_PLAY = 3;
+
+  /**
+   * How many bytes of the file are mapped at once by default.
+   */
+  public static final int DEFAULT_REGION_SIZE = 64 << 20;
+
+  /**
+   * How many bytes of the file are mapped at once by default when it is scanned for its games.
+   */
+  public static final long DEFAULT_SCAN_WINDOW = 1L << 30;
+
+  private static final int HEADER_SIZE = Integer.BYTES + 1;
+
+  //the magic number, the end and number of games, and the checksum of the bytes before the end
+  private static final int COMMIT_SIZE = Integer.BYTES + 2 * Long.BYTES + Integer.BYTES;
+
+  //how many bytes before the committed end are checksummed
+  private static final int COMMIT_TAIL = 64;
+
+  private final FileChannel channel;
+  private final Path commitFile;
+  private final int regionSize;
+  private MappedByteBuffer region;
+  //where the mapped region starts in the file
+  private long regionStart;
+  private long games;
+  private boolean closed;
+
+  private GameJournal(FileChannel channel, Path commitFile, int regionSize, long end)
+          throws IOException {
+    this.channel = channel;
+    this.commitFile = commitFile;
+    this.regionSize = regionSize;
+    this.map(end, 0);
+  }
+
+  /**
+   * Opens a journal for appending, creating it if it does not exist. Games already in the file
+   * are kept, and anything after the last complete game, such as a game cut short by a crash,
+   * is overwritten.
+   *
+   * @param file the journal file
+   * @return the open journal
+   * @throws IOException if the file cannot be opened or is not a journal
+   */
+  public static GameJournal open(Path file) throws IOException {
+    return open(file, DEFAULT_REGION_SIZE);
+  }
+
+  /**
+   * Opens a journal for appending, mapping the given number of bytes at a time.
+   *
+   * @param file the journal file
+   * @param regionSize how many bytes to map at once
+   * @return the open journal
+   * @throws IOException if the file cannot be opened or is not a journal
+   * @throws IllegalArgumentException if the region size is not positive
+   */
+  public static GameJournal open(Path file, int regionSize) throws IOException {
+    return open(file, regionSize, DEFAULT_SCAN_WINDOW);
+  }
+
+  //smaller windows let tests cross their boundaries with few games
+  static GameJournal open(Path file, int regionSize, long scanWindow) throws IOException {
+    if (regionSize <= 0) {
+      throw new IllegalArgumentException("Region size must be positive");
+    }
+    if (scanWindow <= 0 || scanWindow > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Invalid scan window");
+    }
+    boolean exists = Files.exists(file) && Files.size(file) > 0;
+    Path commitFile = commitFile(file);
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      long end;
+      long games = 0;
+      if (exists) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        read(channel, header, 0);
+        checkHeader(header.flip());
+        end = HEADER_SIZE;
+        long[] committed = readCommit(channel, commitFile);
+        if (committed != null) {
+          end = committed[0];
+          games = committed[1];
+        }
+        //counts the games appended since the last commit, or every game if there was none
+        long size = channel.size();
+        long window = scanWindow;
+        while (end < size) {
+          MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, end,
+                  Math.min(window, size - end));
+          while (skipGame(buffer)) {
+            games++;
+          }
+          boolean last = end + buffer.limit() == size;
+          end += buffer.position();
+          if (last || buffer.position() == 0 && window == Integer.MAX_VALUE
+                  || buffer.hasRemaining() && buffer.get(buffer.position()) != GAME) {
+            break;
+          }
+          //a game that does not fit in the window is read again with as much of the file as can
+          //be mapped, and one that does not fit in that either was cut short
+          window = buffer.position() == 0 ? Integer.MAX_VALUE : scanWindow;
+        }
+        //drops a game cut short so its bytes cannot be read as part of a later game
+        channel.truncate(end);
+      } else {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).put((byte) VERSION);
+        channel.write(header.flip(), 0);
+        end = HEADER_SIZE;
+        //a record left behind by a journal this one replaces does not describe it
+        Files.deleteIfExists(commitFile);
+      }
+      GameJournal journal = new GameJournal(channel, commitFile, regionSize, end);
+      journal.games = games;
+      return journal;
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Returns the file next to a journal in which the end and number of its games are recorded
+   * whenever it is flushed or closed. The record can be deleted at any time, at the cost of a full
+   * scan the next time the journal is opened.
+   *
+   * @param journal the journal file
+   * @return the file of its record
+   */
+  public static Path commitFile(Path journal) {
+    return journal.resolveSibling(journal.getFileName() + ".commit");
+  }
+
+  /**
+   * Hashes the unshuffled decks a game is dealt from, so a replay can check it deals the same
+   * cards.
+   *
+   * @param redDeck the red player's deck before shuffling
+   * @param blueDeck the blue player's deck before shuffling
+   * @return a 64-bit hash of every card in order
+   */
+  public static long configHash(List<Card> redDeck, List<Card> blueDeck) {
+    //64-bit FNV-1a over every field of every card
+    long hash = 0xcbf29ce484222325L;
+    for (List<Card> deck : List.of(redDeck, blueDeck)) {
+      for (Card card : deck) {
+        hash = mix(hash, card.getPlayer().ordinal());
+        for (int i = 0; i < card.getName().length(); i++) {
+          hash = mix(hash, card.getName().charAt(i));
+        }
+        hash = mix(hash, card.getCost());
+        hash = mix(hash, card.getValue());
+        for (Coordinate influence : card.getInfluence()) {
+          hash = mix(hash, influence.getX());
+          hash = mix(hash, influence.getY());
+        }
+      }
+      hash = mix(hash, -1);
+    }
+    return hash;
+  }
+
+  /**
+   * Starts recording a game. Nothing is written until the recorder is finished.
+   *
+   * @param seed the seed the decks were shuffled with
+   * @param configHash the hash of the unshuffled decks, from {@link #configHash}
+   * @param rows the number of rows on the board
+   * @param cols the number of columns on the board
+   * @param handSize the hand size of each player
+   * @return the recorder of the game
+   */
+  public Recorder newGame(long seed, long configHash, int rows, int cols, int handSize) {
+    return new Recorder(this, seed, configHash, rows, cols, handSize);
+  }
+
+  /**
+   * Returns how many complete games the journal holds.
+   *
+   * @return the number of games
+   */
+  public synchronized long getGames() {
+    return this.games;
+  }
+
+  /**
+   * Returns how many bytes of the file are in use.
+   *
+   * @return the length of the journal
+   */
+  public synchronized long getLength() {
+    return this.regionStart + this.region.position();
+  }
+
+  /**
+   * Writes the games appended so far through to the disk and records where they end.
+   *
+   * @throws IllegalStateException if the record cannot be written
+   */
+  public synchronized void flush() {
+    if (this.closed) {
+      return;
+    }
+    this.region.force();
+    try {
+      this.commit();
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not record the end of the game journal", e);
+    }
+  }
+
+  /**
+   * Writes the games through to the disk, records where they end and trims the unused end of the
+   * file.
+   *
+   * @throws IOException if the file cannot be trimmed or closed, or the record cannot be written
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (this.closed) {
+      return;
+    }
+    this.closed = true;
+    try (FileChannel channel = this.channel) {
+      this.region.force();
+      channel.truncate(this.getLength());
+      this.commit();
+    }
+  }
+
+  //records the end and number of the games once they are on the disk, replacing the record in
+  //one move so a crash leaves either the old record or the new one
+  private void commit() throws IOException {
+    long end = this.getLength();
+    ByteBuffer record = ByteBuffer.allocate(COMMIT_SIZE).putInt(MAGIC).putLong(end)
+            .putLong(this.games).putInt(tailChecksum(this.channel, end));
+    Path temporary = this.commitFile.resolveSibling(this.commitFile.getFileName() + ".tmp");
+    Files.write(temporary, record.array());
+    Files.move(temporary, this.commitFile, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  //reads the end and number of games of a journal's record, or returns null if there is none or
+  //it does not describe this journal, such as one left behind by a journal since replaced
+  private static long[] readCommit(FileChannel channel, Path commitFile) throws IOException {
+    if (!Files.exists(commitFile)) {
+      return null;
+    }
+    ByteBuffer record = ByteBuffer.wrap(Files.readAllBytes(commitFile));
+    if (record.remaining() != COMMIT_SIZE || record.getInt() != MAGIC) {
+      return null;
+    }
+    long end = record.getLong();
+    long games = record.getLong();
+    if (end < HEADER_SIZE || end > channel.size() || games < 0
+            || record.getInt() != tailChecksum(channel, end)) {
+      return null;
+    }
+    return new long[] {end, games};
+  }
+
+  //checksums the bytes just before an end, which appending later games never changes
+  private static int tailChecksum(FileChannel channel, long end) throws IOException {
+    long start = Math.max(HEADER_SIZE, end - COMMIT_TAIL);
+    ByteBuffer tail = ByteBuffer.allocate((int) (end - start));
+    read(channel, tail, start);
+    CRC32C checksum = new CRC32C();
+    checksum.update(tail.flip());
+    return (int) checksum.getValue();
+  }
+
+  //fills a buffer from the file, starting at the given position
+  private static void read(FileChannel channel, ByteBuffer buffer, long position)
+          throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new IOException("Not a game journal");
+      }
+    }
+  }
+
+  //copies a finished game into the mapped region, mapping the next region when it is full
+  private synchronized void append(byte[] bytes, int length) throws IOException {
+    if (this.closed) {
+      throw new IllegalStateException("Journal is closed");
+    }
+    if (this.region.remaining() < length) {
+      this.map(this.getLength(), length);
+    }
+    this.region.put(bytes, 0, length);
+    this.games++;
+  }
+
+  private void map(long start, int atLeast) throws IOException {
+    //flushing only forces the current region, and the record it writes vouches for the games
+    //of every earlier one, so a full region is written through before it is dropped
+    if (this.region != null) {
+      this.region.force();
+    }
+    this.regionStart = start;
+    this.region = this.channel.map(FileChannel.MapMode.READ_WRITE, start,
+            Math.max(this.regionSize, atLeast));
+  }
+
+  /**
+   * Checks that a buffer starts with a journal header of a version this code reads, and moves
+   * past it.
+   *
+   * @param buffer the start of a journal
+   * @throws IOException if the buffer does not start with a supported journal header
+   */
+  public static void checkHeader(ByteBuffer buffer) throws IOException {
+    if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+      throw new IOException("Not a game journal");
+    }
+    int version = buffer.get();
+    if (version != VERSION) {
+      throw new IOException("Unsupported journal version " + version);
+    }
+  }
+
+  /**
+   * Moves past the next complete game in a buffer, or leaves the buffer where it was if there is
+   * none, such as at the end of the journal or at a game cut short. Skipping only reads the
+   * varints, so it finds where games start much faster than they can be replayed.
+   *
+   * @param buffer the journal positioned at the start of a game
+   * @return true if a game was skipped
+   */
+  public static boolean skipGame(ByteBuffer buffer) {
+    int start = buffer.position();
+    try {
+      if (!buffer.hasRemaining() || buffer.get() != GAME) {
+        buffer.position(start);
+        return false;
+      }
+      for (int i = 0; i < 4; i++) {
+        readVarLong(buffer);
+      }
+      buffer.position(buffer.position() + Long.BYTES);
+      while (true) {
+        int code = readVarInt(buffer);
+        if (code == END) {
+          //the final scores
+          readVarLong(buffer);
+          readVarLong(buffer);
+          return true;
+        } else if (code == 0) {
+          buffer.position(start);
+          return false;
+        }
+      }
+    } catch (RuntimeException e) {
+      //a game running past the end of the buffer was cut short
+      buffer.position(start);
+      return false;
+    }
+  }
+
+  /**
+   * Reads an unsigned varint.
+   *
+   * @param buffer the buffer to read from
+   * @return the value
+   * @throws IllegalArgumentException if the varint is longer than an int
+   */
+  static int readVarInt(ByteBuffer buffer) {
+    long value = readVarLong(buffer);
+    if (value >>> 32 != 0) {
+      throw new IllegalArgumentException("Varint too long");
+    }
+    return (int) value;
+  }
+
+  /**
+   * Reads an unsigned varint of up to 64 bits.
+   *
+   * @param buffer the buffer to read from
+   * @return the value
+   */
+  static long readVarLong(ByteBuffer buffer) {
+    long value = 0;
+    for (int shift = 0; shift < Long.SIZE; shift += 7) {
+      byte next = buffer.get();
+      value |= (long) (next & 0x7F) << shift;
+      if (next >= 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Varint too long");
+  }
+
+  private static long mix(long hash, int value) {
+    return (hash ^ value) * 0x100000001b3L;
+  }
+
+  /**
+   * Records the moves of one game into a buffer of its own and appends the game to the journal
+   * when it is finished. A recorder is used by the thread playing its game.
+   */
+  public static final class Recorder {
+    private final GameJournal journal;
+    private final int rows;
+    private final int cols;
+    private byte[] bytes;
+    private int length;
+    private boolean finished;
+
+    private Recorder(GameJournal journal, long seed, long configHash, int rows, int cols,
+                     int handSize) {
+      this.journal = journal;
+      this.rows = rows;
+      this.cols = cols;
+      this.bytes = new byte[64 + 2 * rows * cols];
+      this.bytes[this.length++] = GAME;
+      this.writeVarLong(rows);
+      this.writeVarLong(cols);
+      this.writeVarLong(handSize);
+      //zigzag so negative seeds stay short
+      this.writeVarLong(seed << 1 ^ seed >> 63);
+      for (int shift = Long.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+        this.bytes[this.length++] = (byte) (configHash >>> shift);
+      }
+    }
+
+    /**
+     * Records a card played from the given index of the current player's hand.
+     *
+     * @param handIndex the index of the card in the hand before it was played
+     * @param row the row it was played on
+     * @param col the column it was played on
+     */
+    public void play(int handIndex, int row, int col) {
+      this.writeVarLong(FIRST_PLAY + ((long) handIndex * this.rows + row) * this.cols + col);
+    }
+
+    /**
+     * Records a pass.
+     */
+    public void pass() {
+      this.writeVarLong(PASS);
+    }
+
+    /**
+     * Ends the game with its final scores and appends it to the journal. Later calls do nothing.
+     *
+     * @param redScore the red player's final total score
+     * @param blueScore the blue player's final total score
+     * @throws IllegalStateException if the journal is closed or cannot be written
+     */
+    public void finish(int redScore, int blueScore) {
+      if (this.finished) {
+        return;
+      }
+      this.finished = true;
+      this.writeVarLong(END);
+      this.writeVarLong(redScore);
+      this.writeVarLong(blueScore);
+      try {
+        this.journal.append(this.bytes, this.length);
+      } catch (IOException e) {
+        throw new IllegalStateException("Could not write to the game journal", e);
+      }
+    }
+
+    private void writeVarLong(long value) {
+      //a varint of a long takes at most ten bytes
+      if (this.length + 10 > this.bytes.length) {
+        this.bytes = Arrays.copyOf(this.bytes, this.bytes.length * 2);
+      }
+      long rest = value;
+      while ((rest & ~0x7FL) != 0) {
+        this.bytes[this.length++] = (byte) (rest & 0x7F | 0x80);
+        rest >>>= 7;
+      }
+      this.bytes[this.length++] = (byte) rest;
+    }
+  }
+
+  /**
+   * Reads the games of a journal one move at a time without creating any objects, so replaying
+   * is limited by the model rather than by reading. A reader starts at the first game of the
+   * buffer it is given, which has no file header, such as a journal after
+   * {@link #checkHeader} or a slice of whole games.
+   */
+  public static final class Reader {
+    private final ByteBuffer buffer;
+    private int rows;
+    private int cols;
+    private int handSize;
+    private long seed;
+    private long configHash;
+    private int redScore;
+    private int blueScore;
+
+    /**
+     * Creates a reader of the games in a buffer, starting at its position.
+     *
+     * @param buffer the games to read
+     * @throws IllegalArgumentException if the buffer is null
+     */
+    public Reader(ByteBuffer buffer) {
+      if (buffer == null) {
+        throw new IllegalArgumentException("Buffer cannot be null");
+      }
+      this.buffer = buffer;
+    }
+
+    /**
+     * Reads the start of the next game. Any moves of the previous game not yet read must have
+     * been read first.
+     *
+     * @return true if there is another game, or false at the end of the journal
+     * @throws IllegalStateException if the next bytes are not the start of a game
+     */
+    public boolean nextGame() {
+      if (!this.buffer.hasRemaining() || this.buffer.get(this.buffer.position()) == 0) {
+        return false;
+      }
+      if (this.buffer.get() != GAME) {
+        throw new IllegalStateException("Corrupt journal at byte " + (this.buffer.position() - 1));
+      }
+      this.rows = readVarInt(this.buffer);
+      this.cols = readVarInt(this.buffer);
+      this.handSize = readVarInt(this.buffer);
+      long zigzag = readVarLong(this.buffer);
+      this.seed = zigzag >>> 1 ^ -(zigzag & 1);
+      this.configHash = this.buffer.getLong();
+      return true;
+    }
+
+    /**
+     * Reads the next move of the current game. After {@link GameJournal#END} the final scores
+     * can be read.
+     *
+     * @return {@link GameJournal#END}, {@link GameJournal#PASS} or the code of a card played
+     */
+    public int nextMove() {
+      int code = readVarInt(this.buffer);
+      if (code == END) {
+        this.redScore = readVarInt(this.buffer);
+        this.blueScore = readVarInt(this.buffer);
+      }
+      return code;
+    }
+
+    /**
+     * Returns the index in hand of the card a move code plays.
+     *
+     * @param code the code of a card played
+     * @return the index of the card in the current player's hand
+     */
+    public int handIndex(int code) {
+      return (code - FIRST_PLAY) / (this.rows * this.cols);
+    }
+
+    /**
+     * Returns the row a move code plays on.
+     *
+     * @param code the code of a card played
+     * @return the row
+     */
+    public int row(int code) {
+      return (code - FIRST_PLAY) / this.cols % this.rows;
+    }
+
+    /**
+     * Returns the column a move code plays on.
+     *
+     * @param code the code of a card played
+     * @return the column
+     */
+    public int col(int code) {
+      return (code - FIRST_PLAY) % this.cols;
+    }
+
+    /**
+     * Returns the number of rows of the current game's board.
+     *
+     * @return the rows
+     */
+    public int getRows() {
+      return this.rows;
+    }
+
+    /**
+     * Returns the number of columns of the current game's board.
+     *
+     * @return the columns
+     */
+    public int getCols() {
+      return this.cols;
+    }
+
+    /**
+     * Returns the hand size of the current game.
+     *
+     * @return the hand size
+     */
+    public int getHandSize() {
+      return this.handSize;
+    }
+
+    /**
+     * Returns the seed the current game's decks were shuffled with.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+      return this.seed;
+    }
+
+    /**
+     * Returns the hash of the decks the current game was dealt from.
+     *
+     * @return the deck hash
+     */
+    public long getConfigHash() {
+      return this.configHash;
+    }
+
+    /**
+     * Returns the red player's recorded final score, once the end of the game has been read.
+     *
+     * @return the red score
+     */
+    public int getRedScore() {
+      return this.redScore;
+    }
+
+    /**
+     * Returns the blue player's recorded final score, once the end of the game has been read.
+     *
+     * @return the blue score
+     */
+    public int getBlueScore() {
+      return this.blueScore;
+    }
+  }
+}
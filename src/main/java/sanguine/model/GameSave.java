@@ -0,0 +1,330 @@
+package sanguine.model;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Saves the full state of a game in progress to a file and restores it: the board, both hands,
+ * both decks in order, the current player and how many passes in a row were made. A save is
+ * encoded into one buffer kept between saves and written with a single write to a temporary
+ * file that is forced to the disk and then replaces the save, so a crash in the middle of saving
+ * leaves the previous save whole. A save takes a few microseconds plus the write and the sync, so
+ * a game can save after every move through {@link SanguineGame#setCheckpoint}.
+ *
+ * <p>A save starts with the magic number {@value #MAGIC}, the version, and the length and
+ * CRC-32C checksum of the rest. The rest is varints for the rows and columns, the current player,
+ * the passes in a row, a table of the distinct cards (player, name, cost, value and influences),
+ * each deck and hand as varint indexes into the table, and one cell per board square as its
+ * kind, player and value. Cards are restored as {@link InfluenceCard}s.</p>
+ */
+public final class GameSave {
+  /**
+   * The first four bytes of every save.
+   */
+  public static final int MAGIC = 0x53475356;
+
+  /**
+   * The version of the format written.
+   */
+  public static final int VERSION = 1;
+
+  //magic, version, payload length and checksum
+  private static final int HEADER_SIZE = Integer.BYTES + 1 + Integer.BYTES + Integer.BYTES;
+  private static final int EMPTY = 0;
+  private static final int PAWNS = 1;
+  private static final int CARD = 2;
+
+  private final Path file;
+  private final Path temporary;
+  private ByteBuffer buffer;
+
+  /**
+   * Creates saves of games in the given file.
+   *
+   * @param file the save file
+   * @throws IllegalArgumentException if the file is null
+   */
+  public GameSave(Path file) {
+    if (file == null) {
+      throw new IllegalArgumentException("File cannot be null");
+    }
+    this.file = file;
+    this.temporary = file.resolveSibling(file.getFileName() + ".tmp");
+    this.buffer = ByteBuffer.allocate(4096);
+  }
+
+  /**
+   * Returns whether there is a save to restore.
+   *
+   * @return true if the save file exists
+   */
+  public boolean exists() {
+    return Files.exists(this.file);
+  }
+
+  /**
+   * Saves the state of a started game, replacing the previous save.
+   *
+   * @param game the game to save
+   * @throws IllegalArgumentException if the game is null
+   * @throws IllegalStateException if the game has not started or the save cannot be written
+   */
+  public synchronized void save(ReadonlySanguineModel game) {
+    if (game == null) {
+      throw new IllegalArgumentException("Game cannot be null");
+    }
+    //the buffer only grows until it fits the largest game saved
+    while (true) {
+      try {
+        this.encode(game);
+        break;
+      } catch (BufferOverflowException e) {
+        this.buffer = ByteBuffer.allocate(this.buffer.capacity() * 2);
+      }
+    }
+    try {
+      try (FileChannel channel = FileChannel.open(this.temporary, StandardOpenOption.CREATE,
+              StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+        while (this.buffer.hasRemaining()) {
+          channel.write(this.buffer);
+        }
+        //the save must be on the disk before it replaces the previous one
+        channel.force(true);
+      }
+      Files.move(this.temporary, this.file, StandardCopyOption.REPLACE_EXISTING,
+              StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not save the game", e);
+    }
+  }
+
+  /**
+   * Deletes the save, if there is one, such as when its game is over.
+   *
+   * @throws IllegalStateException if the save cannot be deleted
+   */
+  public synchronized void delete() {
+    try {
+      Files.deleteIfExists(this.file);
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not delete the saved game", e);
+    }
+  }
+
+  /**
+   * Restores the saved state into a game that has not started, which keeps its listeners, so
+   * the controllers and views already attached to it carry on from the saved position.
+   *
+   * @param game the game to restore into
+   * @throws IOException if the save cannot be read, is not a save or is corrupt
+   * @throws IllegalArgumentException if the game is null
+   * @throws IllegalStateException if the game has already started
+   */
+  public void restore(SanguineGame game) throws IOException {
+    if (game == null) {
+      throw new IllegalArgumentException("Game cannot be null");
+    }
+    ByteBuffer saved = ByteBuffer.wrap(Files.readAllBytes(this.file));
+    if (saved.remaining() < HEADER_SIZE || saved.getInt() != MAGIC) {
+      throw new IOException("Not a game save");
+    }
+    int version = saved.get();
+    if (version != VERSION) {
+      throw new IOException("Unsupported save version " + version);
+    }
+    int length = saved.getInt();
+    int checksum = saved.getInt();
+    if (length != saved.remaining() || checksum != checksum(saved)) {
+      throw new IOException("Game save is corrupt");
+    }
+    try {
+      decode(saved, game);
+    } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+      throw new IOException("Game save is corrupt", e);
+    }
+  }
+
+  //leaves the buffer flipped, ready to be written
+  private void encode(ReadonlySanguineModel game) {
+    ByteBuffer out = this.buffer;
+    out.clear();
+    out.position(HEADER_SIZE);
+    int rows = game.getNumRows();
+    int cols = game.getNumCols();
+    writeVarInt(out, rows);
+    writeVarInt(out, cols);
+    out.put((byte) game.getCurrentPlayer().ordinal());
+    writeVarInt(out, game.getConsecutivePasses());
+
+    List<List<Card>> piles = List.of(game.getDeck(Player.RED), game.getPlayerHand(Player.RED),
+            game.getDeck(Player.BLUE), game.getPlayerHand(Player.BLUE));
+    Map<Card, Integer> indexes = new HashMap<>();
+    List<Card> table = new ArrayList<>();
+    for (List<Card> pile : piles) {
+      for (Card card : pile) {
+        if (indexes.putIfAbsent(card, table.size()) == null) {
+          table.add(card);
+        }
+      }
+    }
+    writeVarInt(out, table.size());
+    for (Card card : table) {
+      out.put((byte) card.getPlayer().ordinal());
+      byte[] name = card.getName().getBytes(StandardCharsets.UTF_8);
+      writeVarInt(out, name.length);
+      out.put(name);
+      writeVarInt(out, card.getCost());
+      writeVarInt(out, card.getValue());
+      writeVarInt(out, card.getInfluence().size());
+      for (Coordinate influence : card.getInfluence()) {
+        writeVarInt(out, zigzag(influence.getX()));
+        writeVarInt(out, zigzag(influence.getY()));
+      }
+    }
+    for (List<Card> pile : piles) {
+      writeVarInt(out, pile.size());
+      for (Card card : pile) {
+        writeVarInt(out, indexes.get(card));
+      }
+    }
+
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++) {
+        Cell cell = game.getCell(row, col);
+        if (cell == null) {
+          out.put((byte) EMPTY);
+        } else {
+          out.put((byte) ((cell instanceof ValueCell ? CARD : PAWNS)
+                  | cell.getPlayer().ordinal() << 2));
+          writeVarInt(out, cell.getValue());
+        }
+      }
+    }
+
+    int end = out.position();
+    out.position(0);
+    out.putInt(MAGIC);
+    out.put((byte) VERSION);
+    out.putInt(end - HEADER_SIZE);
+    out.putInt(checksum(out.duplicate().limit(end).position(HEADER_SIZE)));
+    out.limit(end);
+    out.position(0);
+  }
+
+  private static void decode(ByteBuffer in, SanguineGame game) {
+    int rows = GameJournal.readVarInt(in);
+    int cols = GameJournal.readVarInt(in);
+    //every cell and card takes at least a byte, which bounds what a bad length allocates
+    if (rows <= 0 || cols <= 0 || (long) rows * cols > in.remaining()) {
+      throw new IllegalArgumentException("Invalid board size");
+    }
+    Player current = player(in.get());
+    int passes = GameJournal.readVarInt(in);
+    decodePosition(in, game, rows, cols, current, passes);
+  }
+
+  //decodes the cards and the board that follow the turn and restores the game from them
+  private static void decodePosition(ByteBuffer in, SanguineGame game, int rows, int cols,
+                                     Player current, int passes) {
+    int cardCount = GameJournal.readVarInt(in);
+    if (cardCount > in.remaining()) {
+      throw new IllegalArgumentException("Invalid card count");
+    }
+    Card[] table = new Card[cardCount];
+    for (int i = 0; i < table.length; i++) {
+      Player player = player(in.get());
+      byte[] name = new byte[GameJournal.readVarInt(in)];
+      in.get(name);
+      int cost = GameJournal.readVarInt(in);
+      int value = GameJournal.readVarInt(in);
+      List<Coordinate> influences = new ArrayList<>();
+      for (int count = GameJournal.readVarInt(in); count > 0; count--) {
+        int x = unzigzag(GameJournal.readVarInt(in));
+        int y = unzigzag(GameJournal.readVarInt(in));
+        //blue cards mirror their influences when created, so they are mirrored back first
+        influences.add(new Coordinate(player == Player.RED ? x : -x, y));
+      }
+      table[i] = new InfluenceCard(player, new String(name, StandardCharsets.UTF_8), cost,
+              value, influences);
+    }
+    List<List<Card>> piles = new ArrayList<>();
+    for (int pile = 0; pile < 4; pile++) {
+      int size = GameJournal.readVarInt(in);
+      if (size > in.remaining()) {
+        throw new IllegalArgumentException("Invalid pile size");
+      }
+      List<Card> cards = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        cards.add(table[GameJournal.readVarInt(in)]);
+      }
+      piles.add(cards);
+    }
+
+    List<List<Cell>> cells = new ArrayList<>();
+    for (int row = 0; row < rows; row++) {
+      List<Cell> cellRow = new ArrayList<>(cols);
+      for (int col = 0; col < cols; col++) {
+        int kind = in.get();
+        if (kind == EMPTY) {
+          cellRow.add(null);
+          continue;
+        }
+        Player player = player(kind >> 2);
+        int value = GameJournal.readVarInt(in);
+        if ((kind & 3) == CARD) {
+          cellRow.add(new ValueCell(value, player));
+        } else if ((kind & 3) == PAWNS) {
+          cellRow.add(new PawnCell(value, player));
+        } else {
+          throw new IllegalArgumentException("Unknown cell kind " + kind);
+        }
+      }
+      cells.add(cellRow);
+    }
+    if (in.hasRemaining()) {
+      throw new IllegalArgumentException("Bytes after the board");
+    }
+    game.restore(new InfluenceBoard(cells), rows, cols, piles.get(0), piles.get(1),
+            piles.get(2), piles.get(3), current, passes);
+  }
+
+  private static Player player(int ordinal) {
+    return Player.values()[ordinal];
+  }
+
+  private static int checksum(ByteBuffer payload) {
+    CRC32C crc = new CRC32C();
+    crc.update(payload.duplicate());
+    return (int) crc.getValue();
+  }
+
+  private static void writeVarInt(ByteBuffer out, int value) {
+    int rest = value;
+    while ((rest & ~0x7F) != 0) {
+      out.put((byte) (rest & 0x7F | 0x80));
+      rest >>>= 7;
+    }
+    out.put((byte) rest);
+  }
+
+  private static int zigzag(int value) {
+    return value << 1 ^ value >> 31;
+  }
+
+  private static int unzigzag(int value) {
+    return value >>> 1 ^ -(value & 1);
+  }
+}
@@ -35,6 +35,26 @@ public class InfluenceBoard implements Board {
     this.initializePawns(rows, cols);
   }
 
+  /**
+   * Initializes a board with a copy of the given cells so the state of another board can be
+   * changed without affecting the original.
+   *
+   * @param cells the rows of cells to copy. Must be non-empty and every row the same length.
+   * @throws IllegalArgumentException If arguments are invalid.
+   */
+  public InfluenceBoard(List<List<Cell>> cells) throws IllegalArgumentException {
+    if (cells == null || cells.isEmpty() || cells.get(0).isEmpty()) {
+      throw new IllegalArgumentException("Cells cannot be null or empty.");
+    }
+    this.cells = new ArrayList<>();
+    for (List<Cell> row : cells) {
+      if (row.size() != cells.get(0).size()) {
+        throw new IllegalArgumentException("Rows must have the same number of cells.");
+      }
+      this.cells.add(new ArrayList<>(row));
+    }
+  }
+
   private void initializePawns(int rows, int cols) {
     for (int row = 0; row < rows; row++) {
       //adds pawns to the first column on each player's side
@@ -158,6 +178,20 @@ public class InfluenceBoard implements Board {
     return copy;
   }
 
+  @Override
+  public boolean isFull() {
+    //indexed so checking for the end of the game allocates no iterators
+    for (int row = 0; row < this.cells.size(); row++) {
+      List<Cell> cellsInRow = this.cells.get(row);
+      for (int col = 0; col < cellsInRow.size(); col++) {
+        if (!(cellsInRow.get(col) instanceof ValueCell)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
   private void checkValidCell(int row, int col) throws IllegalArgumentException {
     if (row < 0 || row >= this.cells.size()
             || col < 0 || col >= this.cells.get(0).size()) {
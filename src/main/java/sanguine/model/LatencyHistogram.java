@@ -0,0 +1,154 @@
+package sanguine.model;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of latencies in nanoseconds that many threads record into without locking. Values
+ * are counted in buckets that are linear within each power of two, like an HDR histogram, so any
+ * value from a nanosecond to hours is kept with a relative error of at most one part in
+ * {@value #SUB_BUCKETS}, in a fixed amount of memory. Every bucket is a striped counter, so
+ * threads recording at once rarely contend.
+ */
+public final class LatencyHistogram {
+  /**
+   * How many buckets each power of two is split into.
+   */
+  public static final int SUB_BUCKETS = 16;
+
+  private static final int SUB_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+
+  private final LongAdder[] buckets;
+  private final LongAdder count;
+  private final LongAdder sum;
+  private final LongAccumulator max;
+
+  /**
+   * Creates an empty histogram.
+   */
+  public LatencyHistogram() {
+    //values below SUB_BUCKETS get a bucket each, and every larger power of two gets SUB_BUCKETS
+    this.buckets = new LongAdder[(Long.SIZE - SUB_BITS + 1) * SUB_BUCKETS];
+    for (int i = 0; i < this.buckets.length; i++) {
+      this.buckets[i] = new LongAdder();
+    }
+    this.count = new LongAdder();
+    this.sum = new LongAdder();
+    this.max = new LongAccumulator(Math::max, 0);
+  }
+
+  /**
+   * Records one latency. Negative values are recorded as 0.
+   *
+   * @param nanos the latency in nanoseconds
+   */
+  public void record(long nanos) {
+    long value = Math.max(0, nanos);
+    this.buckets[index(value)].increment();
+    this.count.increment();
+    this.sum.add(value);
+    this.max.accumulate(value);
+  }
+
+  /**
+   * Records the time since a start time taken from {@link System#nanoTime()}.
+   *
+   * @param startNanos the start time
+   */
+  public void recordSince(long startNanos) {
+    this.record(System.nanoTime() - startNanos);
+  }
+
+  /**
+   * Returns how many latencies were recorded.
+   *
+   * @return the number of values
+   */
+  public long getCount() {
+    return this.count.sum();
+  }
+
+  /**
+   * Returns the mean of the recorded latencies.
+   *
+   * @return the mean in nanoseconds, or 0 if nothing was recorded
+   */
+  public double getMean() {
+    long values = this.count.sum();
+    return values == 0 ? 0 : (double) this.sum.sum() / values;
+  }
+
+  /**
+   * Returns the largest recorded latency.
+   *
+   * @return the maximum in nanoseconds, or 0 if nothing was recorded
+   */
+  public long getMax() {
+    return this.max.get();
+  }
+
+  /**
+   * Returns the latency below which the given share of the recorded latencies fall, rounded up
+   * to the top of its bucket but never above the maximum.
+   *
+   * @param percentile the share of values, from 0 to 100
+   * @return the latency at the percentile in nanoseconds, or 0 if nothing was recorded
+   * @throws IllegalArgumentException if the percentile is outside 0 to 100
+   */
+  public long getValueAtPercentile(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 100");
+    }
+    long[] counts = new long[this.buckets.length];
+    long total = 0;
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = this.buckets[i].sum();
+      total += counts[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Math.min(highestValue(i), this.getMax());
+      }
+    }
+    return this.getMax();
+  }
+
+  /**
+   * Forgets every recorded latency. Values recorded while resetting may be partly kept.
+   */
+  public void reset() {
+    for (LongAdder bucket : this.buckets) {
+      bucket.reset();
+    }
+    this.count.reset();
+    this.sum.reset();
+    this.max.reset();
+  }
+
+  //the bucket of a value: its power of two picks a group and its next bits a bucket in it
+  static int index(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int magnitude = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+    int shift = magnitude - SUB_BITS;
+    int sub = (int) (value >>> shift) - SUB_BUCKETS;
+    return (shift + 1) * SUB_BUCKETS + sub;
+  }
+
+  //the largest value that falls into a bucket
+  static long highestValue(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int shift = index / SUB_BUCKETS - 1;
+    long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+}
@@ -0,0 +1,161 @@
+package sanguine.model;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Named counters and latency histograms that the model, controllers and views record into while
+ * games run, so a long tournament shows where its time goes. Counters are striped
+ * {@link LongAdder}s and histograms are {@link LatencyHistogram}s, so recording takes no locks.
+ * Looking a metric up by name is slower than recording into it, so code on a hot path looks its
+ * metrics up once and keeps them. A snapshot of every metric can be written as text or JSON.
+ */
+public final class MetricsRegistry {
+  /**
+   * Cards played on recorded games; copies made by strategies are not counted.
+   */
+  public static final String MOVES = "model.moves";
+
+  /**
+   * Turns passed on recorded games; copies made by strategies are not counted.
+   */
+  public static final String PASSES = "model.passes";
+
+  /**
+   * Moves the model rejected.
+   */
+  public static final String INVALID_MOVES = "model.invalidMoves";
+
+  /**
+   * Calls made to model listeners.
+   */
+  public static final String NOTIFICATIONS = "model.notifications";
+
+  /**
+   * Latency of playing a card on a game.
+   */
+  public static final String PLAY_CARD = "model.playCard";
+
+  /**
+   * Latency of a strategy choosing the moves of a machine player's turn.
+   */
+  public static final String GENERATE_MOVES = "strategy.generateMoves";
+
+  /**
+   * Latency of repainting a view.
+   */
+  public static final String VIEW_REFRESH = "view.refresh";
+
+  private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+  private final ConcurrentMap<String, LongAdder> counters;
+  private final ConcurrentMap<String, LatencyHistogram> histograms;
+
+  /**
+   * Creates an empty registry.
+   */
+  public MetricsRegistry() {
+    this.counters = new ConcurrentHashMap<>();
+    this.histograms = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Returns the registry that the game itself records into.
+   *
+   * @return the shared registry
+   */
+  public static MetricsRegistry global() {
+    return GLOBAL;
+  }
+
+  /**
+   * Returns the counter with the given name, creating it if needed.
+   *
+   * @param name the name of the counter
+   * @return the counter
+   */
+  public LongAdder counter(String name) {
+    return this.counters.computeIfAbsent(name, key -> new LongAdder());
+  }
+
+  /**
+   * Returns the histogram with the given name, creating it if needed.
+   *
+   * @param name the name of the histogram
+   * @return the histogram
+   */
+  public LatencyHistogram histogram(String name) {
+    return this.histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+  }
+
+  /**
+   * Sets every counter to zero and empties every histogram, keeping the metrics themselves so
+   * code holding them keeps recording into the registry.
+   */
+  public void reset() {
+    for (LongAdder counter : this.counters.values()) {
+      counter.reset();
+    }
+    for (LatencyHistogram histogram : this.histograms.values()) {
+      histogram.reset();
+    }
+  }
+
+  /**
+   * Writes every metric as text, one per line in name order. Latencies are in microseconds.
+   *
+   * @return the report
+   */
+  public String report() {
+    StringBuilder report = new StringBuilder();
+    for (Map.Entry<String, LongAdder> counter : new TreeMap<>(this.counters).entrySet()) {
+      report.append(String.format("%-28s %d%n", counter.getKey(), counter.getValue().sum()));
+    }
+    for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(this.histograms).entrySet()) {
+      LatencyHistogram histogram = entry.getValue();
+      report.append(String.format("%-28s count=%d mean=%.1fus p50=%.1fus p99=%.1fus "
+                      + "max=%.1fus%n", entry.getKey(), histogram.getCount(),
+              histogram.getMean() / 1000, histogram.getValueAtPercentile(50) / 1000.0,
+              histogram.getValueAtPercentile(99) / 1000.0, histogram.getMax() / 1000.0));
+    }
+    return report.toString();
+  }
+
+  /**
+   * Writes every metric as a JSON object with a {@code counters} object of counts and a
+   * {@code histograms} object of latency summaries in nanoseconds, both in name order.
+   *
+   * @return the JSON text
+   */
+  public String toJson() {
+    StringBuilder json = new StringBuilder("{\"counters\":{");
+    String separator = "";
+    for (Map.Entry<String, LongAdder> counter : new TreeMap<>(this.counters).entrySet()) {
+      json.append(separator).append(quote(counter.getKey())).append(':')
+              .append(counter.getValue().sum());
+      separator = ",";
+    }
+    json.append("},\"histograms\":{");
+    separator = "";
+    for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(this.histograms).entrySet()) {
+      LatencyHistogram histogram = entry.getValue();
+      json.append(separator).append(quote(entry.getKey()))
+              .append(":{\"count\":").append(histogram.getCount())
+              .append(",\"mean\":").append(Math.round(histogram.getMean()))
+              .append(",\"p50\":").append(histogram.getValueAtPercentile(50))
+              .append(",\"p90\":").append(histogram.getValueAtPercentile(90))
+              .append(",\"p99\":").append(histogram.getValueAtPercentile(99))
+              .append(",\"max\":").append(histogram.getMax()).append('}');
+      separator = ",";
+    }
+    return json.append("}}").toString();
+  }
+
+  //metric names are plain text, so only quotes and backslashes need escaping
+  private static String quote(String name) {
+    return '"' + name.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+  }
+}
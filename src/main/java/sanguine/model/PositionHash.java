@@ -0,0 +1,221 @@
+package sanguine.model;
+
+import java.util.List;
+
+/**
+ * Computes 64-bit Zobrist-style keys for game positions. Every cell, card in hand and card in a
+ * deck contributes a key mixed from its contents instead of a random table, so the same position
+ * always has the same key across runs and machines and keys can be stored in files.
+ */
+public final class PositionHash {
+  private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+  private static final int TURN = 1;
+  private static final int CELL = 2;
+  private static final int HAND = 3;
+  private static final int DECK = 4;
+  private static final int CLASS = 5;
+  private static final int PATTERN = 6;
+
+  private PositionHash() {
+  }
+
+  /**
+   * Computes the key of the full position of a started game: the board, both hands, both decks
+   * in draw order, the current player and the pass state.
+   *
+   * @param model the started game to hash
+   * @return the key of the position
+   */
+  public static long of(ReadonlySanguineModel model) {
+    return of(model, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Computes the key of a position where only the top cards of each deck matter, for example
+   * because the game will end before any deeper card can be drawn and played.
+   *
+   * @param model the started game to hash
+   * @param deckDepth how many cards from the top of each deck are part of the key
+   * @return the key of the position
+   */
+  public static long of(ReadonlySanguineModel model, int deckDepth) {
+    long hash = mix(TURN, model.getCurrentPlayer().ordinal(), model.getConsecutivePasses(), 0);
+    hash ^= boardKey(model.getBoard());
+    for (Player player : Player.values()) {
+      hash ^= handKey(model.getPlayerHand(player), player);
+      //decks are drawn in order, so each card is keyed by its position in the deck
+      List<Card> deck = model.getDeck(player);
+      for (int i = 0; i < Math.min(deckDepth, deck.size()); i++) {
+        hash ^= mix(DECK, player.ordinal(), i, cardCode(deck.get(i)));
+      }
+    }
+    return hash;
+  }
+
+  /**
+   * Computes the key of what the player to move can see: the board, the turn, the pass state and
+   * their own hand. Unlike the full key it does not depend on the order of the decks or on the
+   * opponent's hand, so the same opening position is recognized across shuffled games.
+   *
+   * @param model the started game to hash
+   * @return the key of the position as seen by the player to move
+   */
+  public static long visibleKey(ReadonlySanguineModel model) {
+    Player player = model.getCurrentPlayer();
+    return mix(TURN, player.ordinal(), model.getConsecutivePasses(), 1)
+            ^ boardKey(model.getBoard())
+            ^ handKey(model.getPlayerHand(player), player);
+  }
+
+  /**
+   * Computes a key that is the same for a position and its mirror image from top to bottom. Row
+   * order does not change any score, and a card played on the mirrored board has the effect of
+   * the card with its row offsets negated, so both positions have the same value and can share
+   * one entry in a table. Cards are keyed by {@link #classCode}, so names and the order an
+   * influence pattern is listed in do not matter, and a card whose pattern is symmetric from top
+   * to bottom keys the same in both orientations. The smaller of the two orientation keys is the
+   * canonical one.
+   *
+   * @param model the started game to hash
+   * @param deckDepth how many cards from the top of each deck are part of the key
+   * @return the key shared by the position and its mirror image
+   */
+  public static long canonicalOf(ReadonlySanguineModel model, int deckDepth) {
+    return Math.min(orientedOf(model, deckDepth, false), orientedOf(model, deckDepth, true));
+  }
+
+  /**
+   * Computes the key of a position as it is or mirrored from top to bottom, keying cards by
+   * {@link #classCode}. A position is in its canonical orientation when its own key is not
+   * larger than its mirrored key.
+   *
+   * @param model the started game to hash
+   * @param deckDepth how many cards from the top of each deck are part of the key
+   * @param mirrored whether to key the mirror image of the position
+   * @return the key of the position in the given orientation
+   */
+  public static long orientedOf(ReadonlySanguineModel model, int deckDepth, boolean mirrored) {
+    long hash = mix(TURN, model.getCurrentPlayer().ordinal(), model.getConsecutivePasses(), 2);
+    hash ^= boardKey(model.getBoard().getCells(), mirrored);
+    for (Player player : Player.values()) {
+      long sum = 0;
+      for (Card card : model.getPlayerHand(player)) {
+        sum += mix(HAND, player.ordinal(), classCode(card, mirrored), 1);
+      }
+      hash ^= finish(sum);
+      List<Card> deck = model.getDeck(player);
+      for (int i = 0; i < Math.min(deckDepth, deck.size()); i++) {
+        hash ^= mix(DECK, player.ordinal(), i, classCode(deck.get(i), mirrored));
+      }
+    }
+    return hash;
+  }
+
+  /**
+   * Computes the key of a player's hand. The order of the cards does not matter.
+   *
+   * @param hand the cards in the hand
+   * @param player the owner of the hand
+   * @return the key of the hand
+   */
+  public static long handKey(List<Card> hand, Player player) {
+    //hand keys are added rather than xor-ed so duplicate cards do not cancel each other out
+    long sum = 0;
+    for (Card card : hand) {
+      sum += mix(HAND, player.ordinal(), cardCode(card), 0);
+    }
+    return finish(sum);
+  }
+
+  /**
+   * Computes the key of the cells of a board.
+   *
+   * @param board the board to hash
+   * @return the key of the board cells
+   */
+  public static long boardKey(Board board) {
+    return boardKey(board.getCells(), false);
+  }
+
+  //keys the cells as if each row had moved to its mirrored row when mirrored
+  private static long boardKey(List<List<Cell>> cells, boolean mirrored) {
+    long hash = 0;
+    for (int row = 0; row < cells.size(); row++) {
+      int keyedRow = mirrored ? cells.size() - 1 - row : row;
+      for (int col = 0; col < cells.get(row).size(); col++) {
+        Cell cell = cells.get(row).get(col);
+        //empty cells contribute nothing
+        if (cell != null) {
+          int type = cell instanceof ValueCell ? 2 : 1;
+          hash ^= mix(CELL, keyedRow * 64 + col, type * 4 + cell.getPlayer().ordinal(),
+                  cell.getValue());
+        }
+      }
+    }
+    return hash;
+  }
+
+  /**
+   * Computes a code for a card from its name, cost, value and influence pattern that stays the
+   * same across runs, unlike {@link Object#hashCode()} of cards that hash their player enum.
+   *
+   * @param card the card to encode
+   * @return the stable code of the card
+   */
+  public static int cardCode(Card card) {
+    int code = card.getName().hashCode();
+    code = 31 * code + card.getCost();
+    code = 31 * code + card.getValue();
+    for (Coordinate influence : card.getInfluence()) {
+      code = 31 * code + influence.getX();
+      code = 31 * code + influence.getY();
+    }
+    return code;
+  }
+
+  /**
+   * Computes a stable code for how a card plays: its player, cost, value and the set of cells it
+   * influences. Cards that only differ in name or in the order their pattern is listed in get the
+   * same code. The mirrored code is the code of the card with its row offsets negated, as it
+   * would be played on a board mirrored from top to bottom, so a card whose pattern is symmetric
+   * from top to bottom has the same code either way.
+   *
+   * @param card the card to encode
+   * @param mirrored whether to encode the mirror image of the card
+   * @return the stable code of the card's class
+   */
+  public static int classCode(Card card, boolean mirrored) {
+    //offsets are added rather than combined in order so the order they are listed in is ignored
+    long pattern = 0;
+    for (Coordinate influence : card.getInfluence()) {
+      int rowOffset = mirrored ? -influence.getY() : influence.getY();
+      pattern += mix(PATTERN, influence.getX(), rowOffset, 0);
+    }
+    long code = mix(CLASS, card.getPlayer().ordinal(), card.getCost() * 64L + card.getValue(),
+            pattern);
+    return (int) (code ^ (code >>> 32));
+  }
+
+  /**
+   * Mixes four values into a well-distributed 64-bit key.
+   *
+   * @param tag the kind of feature being keyed
+   * @param a the first value of the feature
+   * @param b the second value of the feature
+   * @param c the third value of the feature
+   * @return the key of the feature
+   */
+  public static long mix(long tag, long a, long b, long c) {
+    long z = finish(tag * GOLDEN);
+    z = finish(z + a * GOLDEN);
+    z = finish(z + b * GOLDEN);
+    return finish(z + c * GOLDEN);
+  }
+
+  //the splitmix64 finalizer
+  private static long finish(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
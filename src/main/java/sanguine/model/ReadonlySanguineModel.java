@@ -116,4 +116,12 @@ public interface ReadonlySanguineModel {
    * @return the number of columns in the board
    */
   int getNumCols();
+
+  /**
+   * Returns how many turns in a row have ended with a pass. The game is over once both players
+   * have passed one after the other.
+   *
+   * @return the number of consecutive passes
+   */
+  int getConsecutivePasses();
 }
@@ -3,6 +3,7 @@ package sanguine.model;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 import sanguine.view.ModelListener;
 
 /**
@@ -10,8 +11,23 @@ import sanguine.view.ModelListener;
  * is initialized and game states are handled.
  */
 public class SanguineGame implements SanguineModel {
+  //looked up once and only updated by recorded games, since games copied by strategies play
+  //cards on the hot path
+  private static final LongAdder MOVES = MetricsRegistry.global().counter(MetricsRegistry.MOVES);
+  private static final LongAdder PASSES =
+          MetricsRegistry.global().counter(MetricsRegistry.PASSES);
+  private static final LongAdder INVALID_MOVES =
+          MetricsRegistry.global().counter(MetricsRegistry.INVALID_MOVES);
+  private static final LongAdder NOTIFICATIONS =
+          MetricsRegistry.global().counter(MetricsRegistry.NOTIFICATIONS);
+  private static final LatencyHistogram PLAY_CARD =
+          MetricsRegistry.global().histogram(MetricsRegistry.PLAY_CARD);
+
   private Board board;
   private int handSize;
+  //kept so strategies asking for the size in their inner loops do not copy the board
+  private int rows;
+  private int cols;
 
   private final List<Card> redDeck;
   private final List<Card> blueDeck;
@@ -24,6 +40,11 @@ public class SanguineGame implements SanguineModel {
   private int consecutivePasses;
 
   private final List<ModelListener> listeners;
+  //copies simulate moves for strategies, so only games created from decks record events
+  private boolean recorded;
+  private GameJournal.Recorder journal;
+  private GameSave checkpoint;
+  private GameEventLog events;
 
   /**
    * Creates the deck of influence cards for each player to use.
@@ -43,6 +64,57 @@ public class SanguineGame implements SanguineModel {
     this.consecutivePasses = 0;
     this.lastPlayerWhoPassed = null;
     this.listeners = new ArrayList<>();
+    this.recorded = true;
+  }
+
+  /**
+   * Creates a detached copy of a started game with no listeners. Strategies use copies to
+   * simulate moves without notifying the controllers of the real game.
+   *
+   * @param other the started game to copy
+   * @throws IllegalStateException if the other game has not started
+   */
+  public SanguineGame(ReadonlySanguineModel other) {
+    this(new ArrayList<>(other.getDeck(Player.RED)), new ArrayList<>(other.getDeck(Player.BLUE)));
+    this.board = new InfluenceBoard(other.getBoard().getCells());
+    this.rows = other.getNumRows();
+    this.cols = other.getNumCols();
+    this.redHand.addAll(other.getPlayerHand(Player.RED));
+    this.blueHand.addAll(other.getPlayerHand(Player.BLUE));
+    this.currentPlayer = other.getCurrentPlayer();
+    this.consecutivePasses = other.getConsecutivePasses();
+    this.recorded = false;
+    //a pending pass can only have been made by the player before the current one
+    if (this.consecutivePasses > 0) {
+      this.lastPlayerWhoPassed = this.currentPlayer == Player.RED ? Player.BLUE : Player.RED;
+    }
+  }
+
+  /**
+   * Creates an unstarted game like the constructor that is not counted in the metrics or
+   * reported as events, for replaying games that were already recorded when they were played.
+   *
+   * @param redDeck the deck of the red player
+   * @param blueDeck the deck of the blue player
+   * @return the unrecorded game
+   * @throws IllegalArgumentException if a deck contains cards of the other player
+   */
+  public static SanguineGame unrecorded(List<Card> redDeck, List<Card> blueDeck) {
+    SanguineGame game = new SanguineGame(redDeck, blueDeck);
+    game.recorded = false;
+    return game;
+  }
+
+  /**
+   * Creates a detached copy of this started game like the copy constructor, which also keeps who
+   * passed last, so a pass applied to the copy before the turn switches counts as it would here.
+   *
+   * @return the copy
+   */
+  SanguineGame snapshot() {
+    SanguineGame copy = new SanguineGame(this);
+    copy.lastPlayerWhoPassed = this.lastPlayerWhoPassed;
+    return copy;
   }
 
   private void checkCorrectPlayers(List<Card> deck, Player player) {
@@ -61,6 +133,123 @@ public class SanguineGame implements SanguineModel {
     this.listeners.add(listener);
   }
 
+  /**
+   * Records every move played on this game from now on into a journal, and appends the game to
+   * the journal when it ends. Copies of the game are not recorded.
+   *
+   * @param journal the recorder of this game, or null to stop recording
+   */
+  public void setJournal(GameJournal.Recorder journal) {
+    this.journal = journal;
+  }
+
+  /**
+   * Saves this game after it starts and after every move, once the next player has drawn, so a
+   * crashed session can be restored from the last move. The save is deleted when the game ends.
+   * Copies of the game are not saved.
+   *
+   * @param checkpoint where to save the game, or null to stop saving
+   */
+  public void setCheckpoint(GameSave checkpoint) {
+    this.checkpoint = checkpoint;
+  }
+
+  /**
+   * Puts a game that has not started into a saved state, keeping its listeners.
+   *
+   * @throws IllegalStateException if the game has already started
+   * @throws IllegalArgumentException if the cards do not belong to their players or the pass
+   *                                  count is invalid
+   */
+  void restore(Board board, int rows, int cols, List<Card> redDeck, List<Card> redHand,
+               List<Card> blueDeck, List<Card> blueHand, Player currentPlayer, int passes) {
+    if (this.board != null) {
+      throw new IllegalStateException("Game has already been started");
+    }
+    if (passes < 0 || passes > 2) {
+      throw new IllegalArgumentException("Invalid number of passes");
+    }
+    this.checkCorrectPlayers(redDeck, Player.RED);
+    this.checkCorrectPlayers(redHand, Player.RED);
+    this.checkCorrectPlayers(blueDeck, Player.BLUE);
+    this.checkCorrectPlayers(blueHand, Player.BLUE);
+    this.redDeck.clear();
+    this.redDeck.addAll(redDeck);
+    this.redHand.clear();
+    this.redHand.addAll(redHand);
+    this.blueDeck.clear();
+    this.blueDeck.addAll(blueDeck);
+    this.blueHand.clear();
+    this.blueHand.addAll(blueHand);
+    this.rows = rows;
+    this.cols = cols;
+    this.currentPlayer = currentPlayer;
+    this.consecutivePasses = passes;
+    //a pending pass can only have been made by the player before the current one
+    this.lastPlayerWhoPassed = passes > 0
+            ? (currentPlayer == Player.RED ? Player.BLUE : Player.RED) : null;
+    this.board = board;
+  }
+
+  /**
+   * Logs every change to the state of this game as an event, from the deal on, so any of its
+   * positions can be rebuilt. Copies of the game are not logged.
+   *
+   * @param events the log of this game, or null to stop logging
+   * @throws IllegalStateException if the game has already started
+   */
+  public void setEventLog(GameEventLog events) {
+    if (this.board != null && events != null) {
+      throw new IllegalStateException("Game has already been started");
+    }
+    this.events = events;
+  }
+
+  /**
+   * Applies a logged event to this game without checking or notifying anyone, to rebuild a game
+   * from its log.
+   *
+   * @param event the event to apply
+   */
+  void apply(StateEvent event) {
+    Player player = event.getPlayer();
+    switch (event.getKind()) {
+      case DEAL:
+        this.restore(new InfluenceBoard(event.getRow(), event.getCol()), event.getRow(),
+                event.getCol(), event.getDeck(Player.RED), event.getHand(Player.RED),
+                event.getDeck(Player.BLUE), event.getHand(Player.BLUE), Player.RED, 0);
+        //rebuilt games are copies for spectators and analysis, like the snapshots
+        this.recorded = false;
+        break;
+      case DRAW:
+        this.drawCardToHand(player);
+        break;
+      case PLAY:
+        this.board.playCard(event.getCard(), event.getRow(), event.getCol());
+        this.consecutivePasses = 0;
+        this.removeCardFromHand(player, event.getCard());
+        break;
+      case PASS:
+        this.countPass();
+        break;
+      default:
+        this.currentPlayer = player;
+        break;
+    }
+  }
+
+  private void saveCheckpoint() {
+    if (this.checkpoint == null) {
+      return;
+    }
+    //a finished game has nothing to resume, so its save is dropped rather than restored forever
+    if (this.gameOver()) {
+      this.checkpoint.delete();
+    } else {
+      this.checkpoint.save(this);
+    }
+  }
+
   @Override
   public void startGame(int rows, int cols, int handSize, boolean shuffled) {
     if (board != null) {
@@ -84,28 +273,36 @@ public class SanguineGame implements SanguineModel {
     this.dealDeck(Player.BLUE);
 
     board = new InfluenceBoard(rows, cols);
+    this.rows = rows;
+    this.cols = cols;
     currentPlayer = Player.RED;
+    if (this.events != null) {
+      this.events.append(StateEvent.deal(rows, cols, this.redDeck, this.redHand, this.blueDeck,
+              this.blueHand), this);
+    }
 
     //draws a card for the first player so there is no lag during the game
-    if (!this.getDeck(this.currentPlayer).isEmpty()) {
-      this.drawCardToHand(this.currentPlayer);
-    }
+    this.drawForTurn();
     consecutivePasses = 0;
+    this.saveCheckpoint();
   }
 
   private void notifyTurn() {
+    NOTIFICATIONS.add(this.listeners.size());
     for (ModelListener listener : this.listeners) {
       listener.turnChanged(this.currentPlayer);
     }
   }
 
   private void notifyPass() {
+    NOTIFICATIONS.add(this.listeners.size());
     for (ModelListener listener : this.listeners) {
       listener.turnPassed(this.currentPlayer);
     }
   }
 
   private void notifyError(String reason) {
+    NOTIFICATIONS.add(this.listeners.size());
     for (ModelListener listener : this.listeners) {
       listener.errorOccurrence(reason);
     }
@@ -131,24 +328,111 @@ public class SanguineGame implements SanguineModel {
   @Override
   public void playCard(Card card, int row, int col) {
     this.checkGameStarted();
+    //copies simulate moves for strategies, so only recorded games are counted and timed
+    long start = this.recorded ? System.nanoTime() : 0;
+    this.placeCard(card, row, col);
+    //the listeners run the next turn, which is not part of playing this card
+    if (this.recorded) {
+      MOVES.increment();
+      PLAY_CARD.recordSince(start);
+      this.recordPlay(card, row, col);
+      this.recordTurn();
+      this.recordGameOver();
+    }
+    if (this.journal != null && this.gameOver()) {
+      this.journal.finish(this.getTotalScore(Player.RED), this.getTotalScore(Player.BLUE));
+    }
+    //notifies the controller about the turn switch
+    this.notifyTurn();
+    //draws a card at the start of the next player's turn
+    this.drawForTurn();
+    this.saveCheckpoint();
+  }
+
+  //places the card for the current player, removes it from their hand and switches turns
+  private void placeCard(Card card, int row, int col) {
     //ensures the card is owned by the current player
     if (card.getPlayer() != this.currentPlayer) {
+      this.countInvalidMove();
       String message = "Cannot play opponent's card";
       this.notifyError(message);
       throw new IllegalArgumentException(message);
     }
     //tries to place a card
-    board.playCard(card, row, col);
+    try {
+      board.playCard(card, row, col);
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      this.countInvalidMove();
+      throw e;
+    }
     consecutivePasses = 0;
+    if (this.journal != null) {
+      //the index the card is removed from, so a replay takes the same card
+      this.journal.play(this.getPlayerHand(this.currentPlayer).indexOf(card), row, col);
+    }
     //removes the card that was placed from the current player's hand
     this.removeCardFromHand(this.currentPlayer, card);
+    if (this.events != null) {
+      this.events.append(StateEvent.play(this.currentPlayer, card, row, col), this);
+    }
     //switches whose turn it is
     this.switchPlayer();
-    //notifies the controller about the turn switch
-    this.notifyTurn();
-    //draws a card at the start of the next player's turn
-    if (!this.getDeck(this.currentPlayer).isEmpty()) {
-      this.drawCardToHand(this.currentPlayer);
+  }
+
+  private void countInvalidMove() {
+    if (this.recorded) {
+      INVALID_MOVES.increment();
+    }
+  }
+
+  //each event is only filled in when a flight recording wants it
+  private void recordPlay(Card card, int row, int col) {
+    GameEvents.PlayCard event = new GameEvents.PlayCard();
+    if (event.shouldCommit()) {
+      int influenced = 0;
+      for (Coordinate influence : card.getInfluence()) {
+        int influencedRow = row + influence.getY();
+        int influencedCol = col + influence.getX();
+        if (influencedRow >= 0 && influencedRow < this.rows
+                && influencedCol >= 0 && influencedCol < this.cols) {
+          influenced++;
+        }
+      }
+      event.player = card.getPlayer().toString();
+      event.card = card.getName();
+      event.row = row;
+      event.col = col;
+      event.cellsInfluenced = influenced;
+      event.commit();
+    }
+  }
+
+  private void recordPass() {
+    GameEvents.Pass event = new GameEvents.Pass();
+    if (event.shouldCommit()) {
+      event.player = this.currentPlayer.toString();
+      event.consecutivePasses = this.consecutivePasses;
+      event.commit();
+    }
+  }
+
+  private void recordTurn() {
+    GameEvents.TurnChanged event = new GameEvents.TurnChanged();
+    if (event.shouldCommit()) {
+      event.player = this.currentPlayer.toString();
+      event.commit();
+    }
+  }
+
+  private void recordGameOver() {
+    GameEvents.GameOver event = new GameEvents.GameOver();
+    //checking for the end of the game scans the board, so it is skipped when nobody listens
+    if (event.shouldCommit() && this.gameOver()) {
+      Player winner = this.getWinner();
+      event.winner = winner == null ? null : winner.toString();
+      event.redScore = this.getTotalScore(Player.RED);
+      event.blueScore = this.getTotalScore(Player.BLUE);
+      event.commit();
     }
   }
 
@@ -162,6 +446,20 @@ public class SanguineGame implements SanguineModel {
   public void switchPlayer() {
     this.checkGameStarted();
     this.currentPlayer = this.currentPlayer == Player.RED ? Player.BLUE : Player.RED;
+    if (this.events != null) {
+      this.events.append(StateEvent.turn(this.currentPlayer), this);
+    }
+  }
+
+  //draws a card at the start of a turn, if the deck has any left
+  private void drawForTurn() {
+    if (!this.getDeck(this.currentPlayer).isEmpty()) {
+      this.drawCardToHand(this.currentPlayer);
+      if (this.events != null) {
+        List<Card> hand = this.getPlayerHand(this.currentPlayer);
+        this.events.append(StateEvent.draw(this.currentPlayer, hand.get(hand.size() - 1)), this);
+      }
+    }
   }
 
   private void drawCardToHand(Player player) {
@@ -179,18 +477,8 @@ public class SanguineGame implements SanguineModel {
   @Override
   public boolean gameOver() {
     this.checkGameStarted();
-    //if the board contains any cell other than value cells, then the board is not full
-    boolean boardFull = true;
-    for (List<Cell> row : this.getBoard().getCells()) {
-      for (Cell cell : row) {
-        if (!(cell instanceof ValueCell)) {
-          boardFull = false;
-          break;
-        }
-      }
-    }
     //game is over if consecutive passes from both players were made or board is full
-    return consecutivePasses >= 2 || boardFull;
+    return consecutivePasses >= 2 || this.board.isFull();
   }
 
   @Override
@@ -214,26 +502,46 @@ public class SanguineGame implements SanguineModel {
   @Override
   public void pass() {
     this.checkGameStarted();
-    //consecutive passes only increases if the pass was made by two different people
-    if (lastPlayerWhoPassed == this.currentPlayer) {
-      consecutivePasses = 1;
-    } else {
-      consecutivePasses++;
+    this.countPass();
+    if (this.events != null) {
+      this.events.append(StateEvent.pass(this.currentPlayer), this);
+    }
+    if (this.recorded) {
+      PASSES.increment();
+      this.recordPass();
+    }
+    if (this.journal != null) {
+      this.journal.pass();
+      if (this.consecutivePasses >= 2) {
+        this.journal.finish(this.getTotalScore(Player.RED), this.getTotalScore(Player.BLUE));
+      }
     }
-    //marks down who made the pass
-    this.lastPlayerWhoPassed = this.currentPlayer;
     //notifies the controller about the pass
     this.notifyPass();
     //switches the player turn
     this.switchPlayer();
+    if (this.recorded) {
+      this.recordTurn();
+      this.recordGameOver();
+    }
     //ensures that the controller is only notified about turn switches up until the game is over
     if (!this.gameOver()) {
       this.notifyTurn();
     }
     //since the turn is being switched, a card is drawn for the next player
-    if (!this.getDeck(this.currentPlayer).isEmpty()) {
-      this.drawCardToHand(this.currentPlayer);
+    this.drawForTurn();
+    this.saveCheckpoint();
+  }
+
+  private void countPass() {
+    //consecutive passes only increases if the pass was made by two different people
+    if (lastPlayerWhoPassed == this.currentPlayer) {
+      consecutivePasses = 1;
+    } else {
+      consecutivePasses++;
     }
+    //marks down who made the pass
+    this.lastPlayerWhoPassed = this.currentPlayer;
   }
 
   @Override
@@ -297,11 +605,18 @@ public class SanguineGame implements SanguineModel {
 
   @Override
   public int getNumRows() {
-    return this.board.getCells().size();
+    this.checkGameStarted();
+    return this.rows;
   }
 
   @Override
   public int getNumCols() {
-    return this.board.getCells().get(0).size();
+    this.checkGameStarted();
+    return this.cols;
+  }
+
+  @Override
+  public int getConsecutivePasses() {
+    return this.consecutivePasses;
   }
 }
@@ -0,0 +1,179 @@
+package sanguine.model;
+
+import java.util.List;
+
+/**
+ * An immutable record of one change to the state of a game, as emitted into a
+ * {@link GameEventLog}. Applying a game's events in order to an empty game rebuilds it exactly.
+ * A deal carries the board size and both decks and hands as dealt; a draw moves the first card
+ * of a player's deck into their hand; a play places a card; a pass counts towards the end of the
+ * game; and a turn switch hands the turn to a player.
+ */
+public final class StateEvent {
+  /**
+   * The kinds of change an event records.
+   */
+  public enum Kind {
+    DEAL, DRAW, PLAY, PASS, TURN
+  }
+
+  private final Kind kind;
+  private final Player player;
+  private final Card card;
+  private final int row;
+  private final int col;
+  private final List<List<Card>> piles;
+
+  private StateEvent(Kind kind, Player player, Card card, int row, int col,
+                     List<List<Card>> piles) {
+    this.kind = kind;
+    this.player = player;
+    this.card = card;
+    this.row = row;
+    this.col = col;
+    this.piles = piles;
+  }
+
+  /**
+   * Creates the event of a deal, copying the decks and hands.
+   *
+   * @param rows the rows of the board
+   * @param cols the columns of the board
+   * @param redDeck the red deck after dealing
+   * @param redHand the red hand as dealt
+   * @param blueDeck the blue deck after dealing
+   * @param blueHand the blue hand as dealt
+   * @return the event
+   */
+  static StateEvent deal(int rows, int cols, List<Card> redDeck, List<Card> redHand,
+                         List<Card> blueDeck, List<Card> blueHand) {
+    return new StateEvent(Kind.DEAL, Player.RED, null, rows, cols, List.of(
+            List.copyOf(redDeck), List.copyOf(redHand),
+            List.copyOf(blueDeck), List.copyOf(blueHand)));
+  }
+
+  /**
+   * Creates the event of a player drawing a card.
+   *
+   * @param player the player who drew
+   * @param card the card drawn
+   * @return the event
+   */
+  static StateEvent draw(Player player, Card card) {
+    return new StateEvent(Kind.DRAW, player, card, -1, -1, null);
+  }
+
+  /**
+   * Creates the event of a player placing a card.
+   *
+   * @param player the player who played
+   * @param card the card played
+   * @param row the row it was played on
+   * @param col the column it was played on
+   * @return the event
+   */
+  static StateEvent play(Player player, Card card, int row, int col) {
+    return new StateEvent(Kind.PLAY, player, card, row, col, null);
+  }
+
+  /**
+   * Creates the event of a player passing.
+   *
+   * @param player the player who passed
+   * @return the event
+   */
+  static StateEvent pass(Player player) {
+    return new StateEvent(Kind.PASS, player, null, -1, -1, null);
+  }
+
+  /**
+   * Creates the event of the turn passing to a player.
+   *
+   * @param player the player whose turn it is now
+   * @return the event
+   */
+  static StateEvent turn(Player player) {
+    return new StateEvent(Kind.TURN, player, null, -1, -1, null);
+  }
+
+  /**
+   * Returns the kind of change.
+   *
+   * @return the kind
+   */
+  public Kind getKind() {
+    return this.kind;
+  }
+
+  /**
+   * Returns the player who drew, played or passed, the player whose turn it is now, or red for a
+   * deal since red moves first.
+   *
+   * @return the player
+   */
+  public Player getPlayer() {
+    return this.player;
+  }
+
+  /**
+   * Returns the card drawn or played.
+   *
+   * @return the card, or null for other kinds
+   */
+  public Card getCard() {
+    return this.card;
+  }
+
+  /**
+   * Returns the row a card was played on, or the rows of the board for a deal.
+   *
+   * @return the row, or -1 for other kinds
+   */
+  public int getRow() {
+    return this.row;
+  }
+
+  /**
+   * Returns the column a card was played on, or the columns of the board for a deal.
+   *
+   * @return the column, or -1 for other kinds
+   */
+  public int getCol() {
+    return this.col;
+  }
+
+  /**
+   * Returns a player's deck as it was after a deal.
+   *
+   * @param player the player
+   * @return the unmodifiable deck, or null for other kinds
+   */
+  public List<Card> getDeck(Player player) {
+    return this.piles == null ? null : this.piles.get(player == Player.RED ? 0 : 2);
+  }
+
+  /**
+   * Returns a player's hand as it was dealt.
+   *
+   * @param player the player
+   * @return the unmodifiable hand, or null for other kinds
+   */
+  public List<Card> getHand(Player player) {
+    return this.piles == null ? null : this.piles.get(player == Player.RED ? 1 : 3);
+  }
+
+  @Override
+  public String toString() {
+    switch (this.kind) {
+      case DEAL:
+        return String.format("DEAL %dx%d", this.row, this.col);
+      case DRAW:
+        return String.format("DRAW %s %s", this.player, this.card.getName());
+      case PLAY:
+        return String.format("PLAY %s %s (%d, %d)", this.player, this.card.getName(), this.row,
+                this.col);
+      default:
+        return this.kind + " " + this.player;
+    }
+  }
+}
@@ -0,0 +1,233 @@
+package sanguine.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import sanguine.model.Card;
+import sanguine.model.Player;
+import sanguine.model.SanguineGame;
+import sanguine.model.SanguineModel;
+import sanguine.model.TestDecks;
+
+/**
+ * Tests for machine players that think on a background thread.
+ */
+public class AsyncMachinePlayerTest {
+  private ExecutorService gameThread;
+  private SanguineModel model;
+
+  /**
+   * Creates a 3x3 game and a single thread standing in for the event dispatch thread.
+   */
+  @Before
+  public void setUp() {
+    gameThread = Executors.newSingleThreadExecutor();
+    model = new SanguineGame(TestDecks.small(Player.RED), TestDecks.small(Player.BLUE));
+  }
+
+  /**
+   * Stops the game thread.
+   */
+  @After
+  public void tearDown() {
+    gameThread.shutdownNow();
+  }
+
+  // Tests that a game between background players finishes with every move made on the game
+  // thread and every turn's latency reported.
+  @Test
+  public void testPlaysGameThroughDispatcher() throws Exception {
+    AtomicInteger reported = new AtomicInteger();
+    List<String> threads = new ArrayList<>();
+    Strategy strategy = game -> {
+      synchronized (threads) {
+        threads.add(Thread.currentThread().getName());
+      }
+      return new FillFirstStrategy().generateMoves(game);
+    };
+    AsyncMachinePlayer red = new AsyncMachinePlayer(Player.RED, strategy, gameThread,
+            latency -> reported.incrementAndGet());
+    AsyncMachinePlayer blue = new AsyncMachinePlayer(Player.BLUE, strategy, gameThread,
+            latency -> reported.incrementAndGet());
+    CountDownLatch over = new CountDownLatch(1);
+    gameThread.submit(() -> {
+      TurnScheduler scheduler = new TurnScheduler();
+      HeadlessController redController = new HeadlessController(model, red, scheduler);
+      HeadlessController blueController = new HeadlessController(model, blue, scheduler) {
+        @Override
+        public void gameOver(Player winner) {
+          super.gameOver(winner);
+          over.countDown();
+        }
+      };
+      redController.playGame(3, 3, 3, false);
+      blueController.playGame(3, 3, 3, false);
+    });
+
+    assertTrue(over.await(10, TimeUnit.SECONDS));
+    assertTrue(gameThread.submit(() -> model.gameOver()).get());
+    assertEquals(threads.size(), reported.get());
+    assertTrue(threads.stream().allMatch(name -> name.endsWith("-strategy")));
+    red.close();
+    blue.close();
+  }
+
+  // Tests that the strategy searches the position after the card for its turn is drawn.
+  @Test
+  public void testSearchesAfterDraw() throws Exception {
+    List<String> mismatches = new ArrayList<>();
+    Strategy strategy = game -> {
+      Player player = game.getCurrentPlayer();
+      try {
+        List<Card> live = gameThread.submit(() -> model.getPlayerHand(player)).get();
+        if (!live.equals(game.getPlayerHand(player))) {
+          mismatches.add(player + " searched " + game.getPlayerHand(player) + " holding " + live);
+        }
+      } catch (InterruptedException | ExecutionException e) {
+        throw new IllegalStateException(e);
+      }
+      return new FillFirstStrategy().generateMoves(game);
+    };
+    AsyncMachinePlayer red = new AsyncMachinePlayer(Player.RED, strategy, gameThread,
+            latency -> {});
+    AsyncMachinePlayer blue = new AsyncMachinePlayer(Player.BLUE, strategy, gameThread,
+            latency -> {});
+    CountDownLatch over = new CountDownLatch(1);
+    gameThread.submit(() -> {
+      TurnScheduler scheduler = new TurnScheduler();
+      HeadlessController redController = new HeadlessController(model, red, scheduler);
+      HeadlessController blueController = new HeadlessController(model, blue, scheduler) {
+        @Override
+        public void gameOver(Player winner) {
+          super.gameOver(winner);
+          over.countDown();
+        }
+      };
+      redController.playGame(3, 3, 3, false);
+      blueController.playGame(3, 3, 3, false);
+    });
+
+    assertTrue(over.await(10, TimeUnit.SECONDS));
+    assertEquals(List.of(), mismatches);
+    red.close();
+    blue.close();
+  }
+
+  // Tests that every turn records one decision event, named after the strategy that searched.
+  @Test
+  public void testRecordsOneDecisionPerTurn() throws Exception {
+    AtomicInteger reported = new AtomicInteger();
+    AsyncMachinePlayer red = new AsyncMachinePlayer(Player.RED, new FillFirstStrategy(),
+            gameThread, latency -> reported.incrementAndGet());
+    AsyncMachinePlayer blue = new AsyncMachinePlayer(Player.BLUE, new FillFirstStrategy(),
+            gameThread, latency -> reported.incrementAndGet());
+    CountDownLatch over = new CountDownLatch(1);
+    Path file = Files.createTempFile("decision", ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable("sanguine.Decision");
+      recording.start();
+      gameThread.submit(() -> {
+        TurnScheduler scheduler = new TurnScheduler();
+        HeadlessController redController = new HeadlessController(model, red, scheduler);
+        HeadlessController blueController = new HeadlessController(model, blue, scheduler) {
+          @Override
+          public void gameOver(Player winner) {
+            super.gameOver(winner);
+            over.countDown();
+          }
+        };
+        redController.playGame(3, 3, 3, false);
+        blueController.playGame(3, 3, 3, false);
+      });
+      assertTrue(over.await(10, TimeUnit.SECONDS));
+      recording.stop();
+      recording.dump(file);
+
+      List<String> strategies = new ArrayList<>();
+      for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+        if (event.getEventType().getName().equals("sanguine.Decision")) {
+          strategies.add(event.getString("strategy"));
+        }
+      }
+      assertTrue(reported.get() > 0);
+      assertEquals(Collections.nCopies(reported.get(), "FillFirstStrategy"), strategies);
+    } finally {
+      Files.deleteIfExists(file);
+      red.close();
+      blue.close();
+    }
+  }
+
+  // Tests that a turn cancelled while the strategy is thinking publishes nothing.
+  @Test
+  public void testCancelledTurnIsDropped() throws Exception {
+    CountDownLatch thinking = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Strategy slow = game -> {
+      thinking.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return new FillFirstStrategy().generateMoves(game);
+    };
+    AtomicInteger reported = new AtomicInteger();
+    AsyncMachinePlayer red = new AsyncMachinePlayer(Player.RED, slow, gameThread,
+            latency -> reported.incrementAndGet());
+    gameThread.submit(() -> {
+      new HeadlessController(model, red).playGame(3, 3, 3, false);
+    }).get();
+
+    assertTrue(thinking.await(10, TimeUnit.SECONDS));
+    red.cancelTurn();
+    release.countDown();
+    //lets any dispatched move reach the game thread
+    Thread.sleep(100);
+    gameThread.submit(() -> {}).get();
+
+    assertEquals(0, reported.get());
+    assertEquals(Player.RED, gameThread.submit(() -> model.getCurrentPlayer()).get());
+    red.close();
+  }
+
+  // Tests that a closed player ignores new turns.
+  @Test
+  public void testClosedPlayerIgnoresTurns() throws Exception {
+    AtomicInteger reported = new AtomicInteger();
+    AsyncMachinePlayer red = new AsyncMachinePlayer(Player.RED, new FillFirstStrategy(),
+            gameThread, latency -> reported.incrementAndGet());
+    red.close();
+    gameThread.submit(() -> {
+      new HeadlessController(model, red).playGame(3, 3, 3, false);
+    }).get();
+    Thread.sleep(50);
+    gameThread.submit(() -> {}).get();
+
+    assertEquals(0, reported.get());
+    assertFalse(gameThread.submit(() -> model.gameOver()).get());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullDispatcher() {
+    new AsyncMachinePlayer(Player.RED, new FillFirstStrategy(), null, latency -> {});
+  }
+}
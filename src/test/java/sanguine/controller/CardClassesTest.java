@@ -0,0 +1,81 @@
+package sanguine.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import sanguine.model.Card;
+import sanguine.model.Coordinate;
+import sanguine.model.InfluenceCard;
+import sanguine.model.Player;
+import sanguine.model.SanguineGame;
+import sanguine.model.SanguineModel;
+
+/**
+ * Tests for the CardClasses class.
+ * Verifies that cards that play identically are grouped and resolved back to cards in hand.
+ */
+public class CardClassesTest {
+  private final Card security = new InfluenceCard(Player.RED, "Security", 1, 2,
+          Arrays.asList(new Coordinate(1, 0), new Coordinate(0, 1)));
+  private final Card guard = new InfluenceCard(Player.RED, "Guard", 1, 2,
+          Arrays.asList(new Coordinate(0, 1), new Coordinate(1, 0)));
+  private final Card crab = new InfluenceCard(Player.RED, "Crab", 1, 2,
+          Arrays.asList(new Coordinate(-1, 0), new Coordinate(0, 1)));
+
+  // Tests that names and the order influences are listed in do not matter, but stats do.
+  @Test
+  public void testEquivalent() {
+    assertTrue(CardClasses.equivalent(this.security, this.guard));
+    assertFalse(CardClasses.equivalent(this.security, this.crab));
+    assertFalse(CardClasses.equivalent(this.security, new InfluenceCard(Player.BLUE, "Security",
+            1, 2, Arrays.asList(new Coordinate(1, 0), new Coordinate(0, 1)))));
+    assertFalse(CardClasses.equivalent(this.security, new InfluenceCard(Player.RED, "Security",
+            2, 2, Arrays.asList(new Coordinate(1, 0), new Coordinate(0, 1)))));
+  }
+
+  // Tests that the first card of each class is kept in hand order.
+  @Test
+  public void testRepresentatives() {
+    List<Card> classes = CardClasses.representatives(
+            Arrays.asList(this.security, this.crab, this.guard, this.security));
+
+    assertEquals(2, classes.size());
+    assertSame(this.security, classes.get(0));
+    assertSame(this.crab, classes.get(1));
+  }
+
+  // Tests that a move's card resolves to itself, then to an equivalent card, then to nothing.
+  @Test
+  public void testIndexOf() {
+    assertEquals(2, CardClasses.indexOf(Arrays.asList(this.crab, this.guard, this.security),
+            this.security));
+    assertEquals(1, CardClasses.indexOf(Arrays.asList(this.crab, this.guard), this.security));
+    assertEquals(-1, CardClasses.indexOf(Arrays.asList(this.crab), this.security));
+  }
+
+  // Tests that a hand of identical cards gives one fill first move per cell.
+  @Test
+  public void testDuplicatesCollapsedInMoveGeneration() {
+    List<Card> deck = new ArrayList<>();
+    for (int i = 0; i < 15; i++) {
+      deck.add(new InfluenceCard(Player.RED, "Security" + i % 2, 1, 1,
+              Arrays.asList(new Coordinate(1, 0))));
+    }
+    List<Card> blue = new ArrayList<>();
+    for (int i = 0; i < 15; i++) {
+      blue.add(new InfluenceCard(Player.BLUE, "Security", 1, 1,
+              Arrays.asList(new Coordinate(-1, 0))));
+    }
+    SanguineModel game = new SanguineGame(deck, blue);
+    game.startGame(3, 5, 4, false);
+
+    //red owns one pawn in each row of the first column
+    assertEquals(3, new FillFirstStrategy().generateMoves(game).size());
+  }
+}
@@ -0,0 +1,103 @@
+package sanguine.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import sanguine.model.AllocationMeter;
+import sanguine.model.Card;
+import sanguine.model.Coordinate;
+import sanguine.model.Player;
+import sanguine.model.SanguineGame;
+import sanguine.model.SanguineModel;
+import sanguine.model.TestDecks;
+
+/**
+ * Tests for the DecisionTrace ring buffer and the strategies that record into it.
+ */
+public class DecisionTraceTest {
+
+  private List<Card> deck(Player player) {
+    return TestDecks.deck(player, 15, 3, 3, new Coordinate(0, 1), new Coordinate(1, 0));
+  }
+
+  private SanguineGame game() {
+    SanguineGame game = new SanguineGame(deck(Player.RED), deck(Player.BLUE));
+    game.startGame(3, 5, 4, false);
+    return game;
+  }
+
+  // Tests that a composite decision records every stage, the scored candidates and the move.
+  @Test
+  public void testCompositeDecision() {
+    SanguineGame game = game();
+    Strategy strategy = new CompositeStrategy(new ControlTheBoardStrategy(),
+            new FillFirstStrategy());
+    DecisionTrace trace = new DecisionTrace(256);
+
+    trace.begin(Player.RED, strategy);
+    assertEquals(trace, DecisionTrace.active());
+    List<Move> moves = strategy.generateMoves(game);
+    trace.end(Player.RED, moves, 1000);
+    assertNull(DecisionTrace.active());
+
+    String dump = trace.dump();
+    assertTrue(dump.contains("RED decides with CompositeStrategy"));
+    assertTrue(dump.contains("ControlTheBoardStrategy scores Card0 (0, 0)"));
+    assertTrue(dump.contains("stage 0 ControlTheBoardStrategy kept"));
+    assertTrue(dump.contains("stage 1 FillFirstStrategy kept"));
+    Move chosen = moves.get(0);
+    assertTrue(dump.contains("RED plays " + chosen.getCard().getName() + " ("
+            + chosen.getRow() + ", " + chosen.getCol() + ") in 0.001ms"));
+  }
+
+  // Tests that a full ring keeps only the newest records and says how many were dropped.
+  @Test
+  public void testRingOverwritesOldest() {
+    DecisionTrace trace = new DecisionTrace(4);
+    Strategy strategy = new FillFirstStrategy();
+    for (int i = 0; i < 5; i++) {
+      trace.begin(Player.BLUE, strategy);
+      trace.end(Player.BLUE, new ArrayList<>(), i);
+    }
+
+    String[] lines = trace.dump().split(System.lineSeparator());
+    assertEquals(10, trace.getWritten());
+    assertEquals("(6 older records overwritten)", lines[0]);
+    assertEquals(5, lines.length);
+    assertTrue(lines[4].endsWith("BLUE passes in 0.000ms"));
+
+    trace.clear();
+    assertEquals("", trace.dump());
+  }
+
+  // Tests that recording a candidate does not allocate once warmed up.
+  @Test
+  public void testRecordingDoesNotAllocate() {
+    DecisionTrace trace = new DecisionTrace(1024);
+    Strategy strategy = new MaximizeRowScoreStrategy();
+    Card card = deck(Player.RED).get(0);
+    AllocationMeter.assertWithinBudget("candidate", 0, 50_000, 50_000,
+            call -> trace.candidate(strategy, card, call % 3, call % 5, call));
+  }
+
+  // Tests that a trace set to dump when the game ends does so exactly once.
+  @Test
+  public void testDumpWhenOver() {
+    SanguineModel game = game();
+    DecisionTrace trace = new DecisionTrace(16);
+    List<String> dumps = new ArrayList<>();
+    trace.dumpWhenOver(game, dumps::add);
+    trace.begin(Player.RED, new FillFirstStrategy());
+    trace.end(Player.RED, new ArrayList<>(), 0);
+
+    game.pass();
+    assertEquals(0, dumps.size());
+    game.pass();
+    assertEquals(1, dumps.size());
+    assertTrue(dumps.get(0).contains("RED passes"));
+  }
+}
@@ -0,0 +1,185 @@
+package sanguine.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import sanguine.model.Card;
+import sanguine.model.Coordinate;
+import sanguine.model.InfluenceCard;
+import sanguine.model.Player;
+import sanguine.model.SanguineGame;
+import sanguine.model.SanguineModel;
+import sanguine.model.TestDecks;
+
+/**
+ * Tests for the EndgameStrategy class.
+ * Verifies that the solver defers before the endgame and plays perfectly once it takes over.
+ */
+public class EndgameStrategyTest {
+
+  // Tests that the fallback strategy decides while many cells are still open.
+  @Test
+  public void testDefersBeforeEndgame() {
+    List<Move> fallbackMoves = new ArrayList<>();
+    Strategy fallback = model -> fallbackMoves;
+    SanguineModel game = new SanguineGame(TestDecks.endgame(Player.RED, "Jab", 1),
+            TestDecks.endgame(Player.BLUE, "Jab", 1));
+    game.startGame(3, 3, 3, false);
+    EndgameStrategy strategy = new EndgameStrategy(fallback);
+
+    assertFalse(strategy.isEndgame(game));
+    assertSame(fallbackMoves, strategy.generateMoves(game));
+  }
+
+  // Tests that the solver passes when every play lets the opponent win by more.
+  @Test
+  public void testPassesWhenPlayingLosesMore() {
+    SanguineModel game = new SanguineGame(TestDecks.endgame(Player.RED, "Jab", 1),
+            TestDecks.endgame(Player.BLUE, "Big", 3));
+    game.startGame(1, 3, 3, false);
+    EndgameStrategy strategy = new EndgameStrategy(new FillFirstStrategy());
+
+    assertTrue(strategy.isEndgame(game));
+    assertTrue(strategy.generateMoves(game).isEmpty());
+    assertTrue(strategy.getNodesSearched() > 0);
+  }
+
+  // Tests that the solver plays when playing first wins the row.
+  @Test
+  public void testPlaysWinningMove() {
+    SanguineModel game = new SanguineGame(TestDecks.endgame(Player.RED, "Big", 3),
+            TestDecks.endgame(Player.BLUE, "Jab", 1));
+    game.startGame(1, 3, 3, false);
+    EndgameStrategy strategy = new EndgameStrategy(new FillFirstStrategy());
+
+    List<Move> moves = strategy.generateMoves(game);
+
+    assertEquals(1, moves.size());
+    assertEquals(0, moves.get(0).getRow());
+    assertEquals(0, moves.get(0).getCol());
+    assertEquals("Big", moves.get(0).getCard().getName());
+  }
+
+  // Tests that solving does not change the model.
+  @Test
+  public void testDoesNotMutateModel() {
+    SanguineModel game = new SanguineGame(TestDecks.endgame(Player.RED, "Big", 3),
+            TestDecks.endgame(Player.BLUE, "Jab", 1));
+    game.startGame(1, 3, 3, false);
+    String before = game.getBoard().getBoard();
+
+    new EndgameStrategy(new FillFirstStrategy()).generateMoves(game);
+
+    assertEquals(before, game.getBoard().getBoard());
+    assertEquals(Player.RED, game.getCurrentPlayer());
+    assertEquals(4, game.getPlayerHand(Player.RED).size());
+  }
+
+  // Tests that the turn after a ponder is answered from the positions solved while pondering.
+  @Test
+  public void testReusesPonderedPositions() {
+    SanguineModel game = new SanguineGame(TestDecks.endgame(Player.RED, "Big", 3),
+            TestDecks.endgame(Player.BLUE, "Jab", 1));
+    game.startGame(1, 3, 3, false);
+    EndgameStrategy strategy = new EndgameStrategy(new FillFirstStrategy());
+    Move first = strategy.generateMoves(game).get(0);
+    game.playCard(first.getCard(), first.getRow(), first.getCol());
+
+    strategy.ponder(game);
+    game.pass();
+    List<Move> moves = strategy.generateMoves(game);
+
+    assertEquals(1, strategy.getNodesSearched());
+    assertEquals(1, moves.size());
+  }
+
+  // Tests that an interrupted ponder stops before searching.
+  @Test
+  public void testInterruptedPonderReturns() {
+    SanguineModel game = new SanguineGame(TestDecks.endgame(Player.RED, "Big", 3),
+            TestDecks.endgame(Player.BLUE, "Jab", 1));
+    game.startGame(1, 3, 3, false);
+    game.pass();
+    EndgameStrategy strategy = new EndgameStrategy(new FillFirstStrategy());
+
+    Thread.currentThread().interrupt();
+    strategy.ponder(game);
+
+    assertTrue(Thread.interrupted());
+    assertEquals(0, strategy.getNodesSearched());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullFallback() {
+    new EndgameStrategy(null);
+  }
+
+  // Tests that a position solved in one orientation answers its mirror image with the mirrored
+  // move.
+  @Test
+  public void testReusesMirroredPosition() {
+    SanguineModel top = new SanguineGame(TestDecks.endgame(Player.RED, "Big", 3),
+            TestDecks.endgame(Player.BLUE, "Jab", 1));
+    SanguineModel bottom = new SanguineGame(TestDecks.endgame(Player.RED, "Big", 3),
+            TestDecks.endgame(Player.BLUE, "Jab", 1));
+    top.startGame(3, 3, 3, false);
+    bottom.startGame(3, 3, 3, false);
+    top.playCard(top.getPlayerHand(Player.RED).get(0), 0, 0);
+    bottom.playCard(bottom.getPlayerHand(Player.RED).get(0), 2, 0);
+    top.playCard(top.getPlayerHand(Player.BLUE).get(0), 0, 2);
+    bottom.playCard(bottom.getPlayerHand(Player.BLUE).get(0), 2, 2);
+    EndgameStrategy strategy = new EndgameStrategy(new FillFirstStrategy(), 9, 12);
+
+    assertEquals(EndgameStrategy.key(top), EndgameStrategy.key(bottom));
+    Move topMove = strategy.generateMoves(top).get(0);
+    Move bottomMove = strategy.generateMoves(bottom).get(0);
+
+    assertEquals(1, strategy.getNodesSearched());
+    assertEquals(2 - topMove.getRow(), bottomMove.getRow());
+    assertEquals(topMove.getCol(), bottomMove.getCol());
+  }
+
+  // Tests that ordering moves with history and killer moves finds a move of the same value as
+  // ordering by swing alone.
+  @Test
+  public void testOrderingHeuristicsKeepValue() {
+    List<Card> red = new ArrayList<>();
+    List<Card> blue = new ArrayList<>();
+    for (int i = 0; i < 15; i++) {
+      red.add(new InfluenceCard(Player.RED, "Red" + i % 3, 1, 1 + i % 3,
+              Arrays.asList(new Coordinate(1, 0), new Coordinate(0, 1))));
+      blue.add(new InfluenceCard(Player.BLUE, "Blue" + i % 2, 1, 1 + i % 2,
+              Arrays.asList(new Coordinate(1, 0), new Coordinate(0, -1))));
+    }
+    SanguineGame plainGame = new SanguineGame(red, blue);
+    plainGame.startGame(2, 3, 4, false);
+    SanguineGame orderedGame = new SanguineGame(plainGame);
+    EndgameStrategy plain = new EndgameStrategy(new FillFirstStrategy(), 6, 20, 1000, false);
+    EndgameStrategy ordered = new EndgameStrategy(new FillFirstStrategy(), 6, 20, 1000, true);
+
+    //both players play the solver's moves to the end, which gives the value of the position
+    while (!plainGame.gameOver()) {
+      play(plainGame, plain.generateMoves(plainGame));
+    }
+    while (!orderedGame.gameOver()) {
+      play(orderedGame, ordered.generateMoves(orderedGame));
+    }
+
+    assertEquals(plainGame.getTotalScore(Player.RED) - plainGame.getTotalScore(Player.BLUE),
+            orderedGame.getTotalScore(Player.RED) - orderedGame.getTotalScore(Player.BLUE));
+  }
+
+  private void play(SanguineGame game, List<Move> moves) {
+    if (moves.isEmpty()) {
+      game.pass();
+    } else {
+      game.playCard(moves.get(0).getCard(), moves.get(0).getRow(), moves.get(0).getCol());
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package sanguine.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import sanguine.model.Card;
+import sanguine.model.Coordinate;
+import sanguine.model.InfluenceCard;
+import sanguine.model.Player;
+import sanguine.model.SanguineGame;
+import sanguine.model.SanguineModel;
+
+/**
+ * Tests for the ExpectimaxStrategy class.
+ * Verifies the draw probabilities and that the strategy plays sensible legal moves.
+ */
+public class ExpectimaxStrategyTest {
+
+  private List<Card> deck(Player player, String name, int value) {
+    List<Card> deck = new ArrayList<>();
+    for (int i = 0; i < 15; i++) {
+      deck.add(new InfluenceCard(player, name + i % 3, 1, value + i % 3,
+              Arrays.asList(new Coordinate(1, 0), new Coordinate(0, 1))));
+    }
+    return deck;
+  }
+
+  // Tests the chance that a hand misses a set of cards against the hypergeometric formula.
+  @Test
+  public void testProbabilityNoneDrawn() {
+    //C(8, 3) / C(10, 3)
+    assertEquals(56.0 / 120, ExpectimaxStrategy.probabilityNoneDrawn(10, 3, 2), 1e-12);
+    assertEquals(1, ExpectimaxStrategy.probabilityNoneDrawn(10, 3, 0), 1e-12);
+    assertEquals(0, ExpectimaxStrategy.probabilityNoneDrawn(4, 3, 2), 1e-12);
+  }
+
+  // Tests that the strategy plays a legal move of the current player at both depths.
+  @Test
+  public void testPlaysLegalMove() {
+    for (int depth = 1; depth <= 2; depth++) {
+      SanguineModel game = new SanguineGame(deck(Player.RED, "Jab", 1),
+              deck(Player.BLUE, "Jab", 1));
+      game.startGame(3, 5, 4, false);
+      List<Move> moves = new ExpectimaxStrategy(depth).generateMoves(game);
+
+      assertEquals(1, moves.size());
+      game.checkValidMove(game.getCell(moves.get(0).getRow(), moves.get(0).getCol()),
+              moves.get(0).getCard());
+    }
+  }
+
+  // Tests that the strategy plays the highest value card when it wins the row outright.
+  @Test
+  public void testPrefersStrongerCard() {
+    SanguineModel game = new SanguineGame(deck(Player.RED, "Jab", 1),
+            deck(Player.BLUE, "Jab", 1));
+    game.startGame(1, 3, 3, false);
+    List<Move> moves = new ExpectimaxStrategy().generateMoves(game);
+
+    assertEquals(1, moves.size());
+    assertEquals(3, moves.get(0).getCard().getValue());
+  }
+
+  // Tests that searching does not change the model.
+  @Test
+  public void testDoesNotMutateModel() {
+    SanguineModel game = new SanguineGame(deck(Player.RED, "Jab", 1),
+            deck(Player.BLUE, "Jab", 1));
+    game.startGame(3, 5, 4, false);
+    String before = game.getBoard().getBoard();
+
+    new ExpectimaxStrategy().generateMoves(game);
+
+    assertEquals(before, game.getBoard().getBoard());
+    assertEquals(5, game.getPlayerHand(Player.RED).size());
+    assertFalse(game.gameOver());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidDepth() {
+    new ExpectimaxStrategy(3);
+  }
+}
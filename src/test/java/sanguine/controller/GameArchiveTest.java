@@ -0,0 +1,204 @@
+package sanguine.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import sanguine.model.GameJournal;
+import sanguine.model.Player;
+import sanguine.model.PositionHash;
+import sanguine.model.TestDecks;
+
+/**
+ * Tests for indexing journal games into a game archive and finding positions in it.
+ */
+public class GameArchiveTest {
+  private Path journal;
+  private Path directory;
+  private JournalReplayer replayer;
+
+  /**
+   * Picks a journal file and an archive directory that do not exist yet.
+   */
+  @Before
+  public void setUp() throws IOException {
+    journal = Files.createTempFile("journal", ".sgj");
+    Files.delete(journal);
+    directory = Files.createTempDirectory("archive");
+    replayer = new JournalReplayer(TestDecks.small(Player.RED), TestDecks.small(Player.BLUE));
+  }
+
+  /**
+   * Deletes the journal and the archive.
+   */
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(journal);
+    Files.deleteIfExists(GameJournal.commitFile(journal));
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        Files.delete(file);
+      }
+    }
+    Files.delete(directory);
+  }
+
+  //appends tournament games on a 3x3 board to the journal
+  private void record(int gamesPerPairing, long seed) throws IOException, InterruptedException {
+    Tournament tournament = new Tournament(TestDecks.small(Player.RED),
+            TestDecks.small(Player.BLUE), 3, 3, 3);
+    tournament.addEntrant("fillfirst", FillFirstStrategy::new);
+    tournament.addEntrant("control", ControlTheBoardStrategy::new);
+    try (GameJournal games = GameJournal.open(journal)) {
+      tournament.setJournal(games);
+      tournament.run(gamesPerPairing, 2, seed);
+    }
+  }
+
+  //the hits of every position, found by replaying the whole journal
+  private Map<Long, List<GameArchive.Hit>> expectedHits()
+          throws IOException, InterruptedException {
+    Map<Long, List<long[]>> reached = new HashMap<>();
+    Map<Long, List<GameArchive.Hit>> hits = new HashMap<>();
+    replayer.replay(journal, 1, (game, ply, model) -> {
+      reached.computeIfAbsent(game, key -> new ArrayList<>())
+              .add(new long[] {PositionHash.visibleKey(model), ply});
+      if (model.gameOver()) {
+        int margin = model.getTotalScore(Player.RED) - model.getTotalScore(Player.BLUE);
+        for (long[] position : reached.get(game)) {
+          hits.computeIfAbsent(position[0], key -> new ArrayList<>())
+                  .add(new GameArchive.Hit(game, (int) position[1], margin));
+        }
+      }
+    });
+    for (List<GameArchive.Hit> list : hits.values()) {
+      list.sort(Comparator.comparingLong(GameArchive.Hit::getGame)
+              .thenComparingInt(GameArchive.Hit::getPly));
+    }
+    return hits;
+  }
+
+  private void assertFindsEveryPosition(GameArchive archive)
+          throws IOException, InterruptedException {
+    Map<Long, List<GameArchive.Hit>> expected = expectedHits();
+    assertFalse(expected.isEmpty());
+    for (Map.Entry<Long, List<GameArchive.Hit>> position : expected.entrySet()) {
+      assertEquals(position.getValue(), archive.find(position.getKey()));
+    }
+    assertTrue(archive.find(42).isEmpty());
+  }
+
+  // Tests that every position of every game is found, across many small merged segments.
+  @Test
+  public void testFindsEveryPosition() throws Exception {
+    record(20, 7);
+    try (GameArchive archive = GameArchive.open(directory, 50)) {
+      assertEquals(40, archive.index(journal, replayer, 3).getGames());
+      archive.awaitMerges();
+
+      assertEquals(40, archive.getIndexedGames());
+      assertTrue(archive.getSegmentCount() < GameArchive.MERGE_FACTOR * 3);
+      assertFindsEveryPosition(archive);
+    }
+  }
+
+  // Tests that a reopened archive keeps its games and only indexes games added since.
+  @Test
+  public void testIndexesOnlyNewGames() throws Exception {
+    record(5, 1);
+    try (GameArchive archive = GameArchive.open(directory, 50)) {
+      archive.index(journal, replayer, 2);
+    }
+    record(5, 2);
+    try (GameArchive archive = GameArchive.open(directory, 50)) {
+      assertEquals(10, archive.getIndexedGames());
+      assertEquals(10, archive.index(journal, replayer, 2).getGames());
+      assertEquals(0, archive.index(journal, replayer, 2).getGames());
+      archive.awaitMerges();
+      assertFindsEveryPosition(archive);
+    }
+  }
+
+  // Tests that segment files the manifest does not name, as a crash leaves them, are deleted.
+  @Test
+  public void testDeletesUnnamedSegments() throws IOException, InterruptedException,
+          ExecutionException {
+    record(5, 1);
+    Path orphan = directory.resolve("segment-999999.sgi");
+    try (GameArchive archive = GameArchive.open(directory, 50)) {
+      archive.index(journal, replayer, 2);
+      archive.awaitMerges();
+    }
+    Files.write(orphan, new byte[] {1, 2, 3});
+    try (GameArchive archive = GameArchive.open(directory, 50)) {
+      assertFalse(Files.exists(orphan));
+      assertEquals(10, archive.getIndexedGames());
+    }
+  }
+
+  // Tests that a failed merge is reported by the next indexing run, which then merges again.
+  @Test
+  public void testReportsFailedMerge() throws Exception {
+    record(5, 1);
+    int flushEntries = 20;
+    long moves = replayer.replay(journal, 1, null).getMoves();
+    long flushes = (moves + flushEntries - 1) / flushEntries;
+    assertTrue(flushes >= GameArchive.MERGE_FACTOR);
+    try (GameArchive archive = GameArchive.open(directory, flushEntries)) {
+      //the merge writes to the file after the flushed segments, which cannot be a directory
+      Files.createDirectory(directory.resolve(String.format("segment-%06d.sgi", flushes)));
+      archive.index(journal, replayer, 2);
+      archive.awaitMerges();
+      assertEquals(flushes, archive.getSegmentCount());
+
+      try {
+        archive.index(journal, replayer, 2);
+        fail("the failed merge was not reported");
+      } catch (IOException e) {
+        assertEquals("Could not merge archive segments", e.getMessage());
+      }
+      assertEquals(0, archive.index(journal, replayer, 2).getGames());
+      archive.awaitMerges();
+      assertTrue(archive.getSegmentCount() < flushes);
+      assertFindsEveryPosition(archive);
+    }
+  }
+
+  // Tests that entries are sorted by key and then payload, including negative keys.
+  @Test
+  public void testSortsEntries() {
+    Random random = new Random(3);
+    long[] entries = new long[2 * 5000];
+    long[][] pairs = new long[5000][];
+    for (int i = 0; i < pairs.length; i++) {
+      //few distinct keys, so many entries share a key and are ordered by payload
+      pairs[i] = new long[] {random.nextInt(100) - 50L, random.nextLong()};
+      entries[2 * i] = pairs[i][0];
+      entries[2 * i + 1] = pairs[i][1];
+    }
+    ArchiveSegment.sort(entries, pairs.length);
+    Arrays.sort(pairs, Comparator.<long[]>comparingLong(pair -> pair[0])
+            .thenComparingLong(pair -> pair[1]));
+
+    for (int i = 0; i < pairs.length; i++) {
+      assertEquals(pairs[i][0], entries[2 * i]);
+      assertEquals(pairs[i][1], entries[2 * i + 1]);
+    }
+  }
+}
@@ -122,6 +122,11 @@ public class HumanPlayerTest {
     public int getNumCols() {
       return 0;
     }
+
+    @Override
+    public int getConsecutivePasses() {
+      return 0;
+    }
   }
 
   @Test(expected = IllegalArgumentException.class)
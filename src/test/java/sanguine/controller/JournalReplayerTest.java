@@ -0,0 +1,144 @@
+package sanguine.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import sanguine.model.Card;
+import sanguine.model.GameJournal;
+import sanguine.model.MetricsRegistry;
+import sanguine.model.Player;
+import sanguine.model.TestDecks;
+
+/**
+ * Tests for replaying the games of a journal recorded by a tournament.
+ */
+public class JournalReplayerTest {
+  private Path file;
+
+  /**
+   * Records 20 tournament games on a 3x3 board into a new journal.
+   */
+  @Before
+  public void setUp() throws IOException, InterruptedException {
+    file = Files.createTempFile("journal", ".sgj");
+    Files.delete(file);
+    Tournament tournament = new Tournament(TestDecks.small(Player.RED),
+            TestDecks.small(Player.BLUE), 3, 3, 3);
+    tournament.addEntrant("fillfirst", FillFirstStrategy::new);
+    tournament.addEntrant("control", ControlTheBoardStrategy::new);
+    try (GameJournal journal = GameJournal.open(file)) {
+      tournament.setJournal(journal);
+      tournament.run(10, 2, 7);
+    }
+  }
+
+  /**
+   * Deletes the journal.
+   */
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+    Files.deleteIfExists(GameJournal.commitFile(file));
+  }
+
+  // Tests that every recorded game replays as recorded, whether the journal is read in one
+  // window or in windows and batches of a few games.
+  @Test
+  public void testReplaysEveryGame() throws IOException, InterruptedException {
+    ReplayResult whole = new JournalReplayer(TestDecks.small(Player.RED),
+            TestDecks.small(Player.BLUE)).replay(file, 2, null);
+
+    assertEquals(20, whole.getGames());
+    assertEquals(0, whole.getFailureCount());
+    assertEquals(0, whole.getTrailingBytes());
+    assertTrue(whole.getMoves() >= 20 * 9);
+
+    ReplayResult windowed = new JournalReplayer(TestDecks.small(Player.RED),
+            TestDecks.small(Player.BLUE), 3, 64).replay(file, 3, null);
+
+    assertEquals(whole.getGames(), windowed.getGames());
+    assertEquals(whole.getMoves(), windowed.getMoves());
+    assertEquals(0, windowed.getFailureCount());
+  }
+
+  // Tests that replaying games does not count their moves and passes in the metrics again.
+  @Test
+  public void testReplayIsNotCounted() throws IOException, InterruptedException {
+    long moves = MetricsRegistry.global().counter(MetricsRegistry.MOVES).sum();
+    long passes = MetricsRegistry.global().counter(MetricsRegistry.PASSES).sum();
+
+    ReplayResult result = new JournalReplayer(TestDecks.small(Player.RED),
+            TestDecks.small(Player.BLUE)).replay(file, 2, null);
+
+    assertTrue(result.getMoves() > 0);
+    assertEquals(moves, MetricsRegistry.global().counter(MetricsRegistry.MOVES).sum());
+    assertEquals(passes, MetricsRegistry.global().counter(MetricsRegistry.PASSES).sum());
+  }
+
+  // Tests that the listener sees the position after every move of every game.
+  @Test
+  public void testListenerSeesEveryMove() throws IOException, InterruptedException {
+    AtomicLong moves = new AtomicLong();
+    AtomicLong over = new AtomicLong();
+    ReplayResult result = new JournalReplayer(TestDecks.small(Player.RED),
+            TestDecks.small(Player.BLUE)).replay(file, 2, (game, ply, model) -> {
+              moves.incrementAndGet();
+              if (model.gameOver()) {
+                over.incrementAndGet();
+              }
+            });
+
+    assertEquals(result.getMoves(), moves.get());
+    assertEquals(20, over.get());
+  }
+
+  // Tests that a game whose recorded score no longer matches is reported and the rest still
+  // replay.
+  @Test
+  public void testReportsChangedScore() throws IOException, InterruptedException {
+    byte[] bytes = Files.readAllBytes(file);
+    //the last byte is the blue score of the last game
+    bytes[bytes.length - 1]++;
+    Files.write(file, bytes);
+    ReplayResult result = new JournalReplayer(TestDecks.small(Player.RED),
+            TestDecks.small(Player.BLUE)).replay(file, 2, null);
+
+    assertEquals(20, result.getGames());
+    assertEquals(1, result.getFailureCount());
+    assertTrue(result.getFailures().get(0).startsWith("game 19 ended"));
+  }
+
+  // Tests that games dealt from other decks are reported rather than replayed.
+  @Test
+  public void testReportsOtherDecks() throws IOException, InterruptedException {
+    List<Card> other = TestDecks.small(Player.BLUE);
+    other.remove(0);
+    ReplayResult result = new JournalReplayer(TestDecks.small(Player.RED), other)
+            .replay(file, 1, null);
+
+    assertEquals(20, result.getFailureCount());
+    assertEquals("game 0 was dealt from other decks", result.getFailures().get(0));
+  }
+
+  // Tests that bytes of a game cut short at the end of the journal are counted, not replayed.
+  @Test
+  public void testCountsTrailingBytes() throws IOException, InterruptedException {
+    byte[] bytes = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(bytes, bytes.length - 2));
+    ReplayResult result = new JournalReplayer(TestDecks.small(Player.RED),
+            TestDecks.small(Player.BLUE)).replay(file, 2, null);
+
+    assertEquals(19, result.getGames());
+    assertEquals(0, result.getFailureCount());
+    assertTrue(result.getTrailingBytes() > 0);
+  }
+}
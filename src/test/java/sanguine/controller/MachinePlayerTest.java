@@ -3,9 +3,15 @@ package sanguine.controller;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.Test;
 import sanguine.model.Card;
 import sanguine.model.Cell;
@@ -159,6 +165,11 @@ public class MachinePlayerTest {
     public int getNumCols() {
       return 0;
     }
+
+    @Override
+    public int getConsecutivePasses() {
+      return 0;
+    }
   }
 
   private static class MockStrategy implements Strategy {
@@ -263,5 +274,35 @@ public class MachinePlayerTest {
 
     assertEquals(Arrays.asList("passTurn:RED"), listener.getLog());
   }
-}
 
+  @Test
+  public void recordsDecisionEvent() throws IOException {
+    Card card = new InfluenceCard(Player.RED, "C1", 1, 1, Arrays.asList(new Coordinate(1, 0)));
+    MockStrategy strategy = new MockStrategy(Arrays.asList(new Move(card, 0, 1),
+        new Move(card, 1, 1)));
+    MockModel model = new MockModel(Player.RED, Arrays.asList(card), new sanguine.model.PawnCell(3,
+        Player.RED), false);
+    MachinePlayer machine = new MachinePlayer(Player.RED, strategy);
+    machine.setListener(new MockListener());
+
+    Path file = Files.createTempFile("decision", ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable("sanguine.Decision");
+      recording.start();
+      machine.takeTurn(model);
+      recording.stop();
+      recording.dump(file);
+      List<RecordedEvent> events = new ArrayList<>();
+      for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+        if (event.getString("strategy").equals("MockStrategy")) {
+          events.add(event);
+        }
+      }
+      assertEquals(1, events.size());
+      assertEquals("RED", events.get(0).getString("player"));
+      assertEquals(2, events.get(0).getInt("candidates"));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
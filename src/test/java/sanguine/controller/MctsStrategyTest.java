@@ -0,0 +1,128 @@
+package sanguine.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import sanguine.model.Card;
+import sanguine.model.Coordinate;
+import sanguine.model.InfluenceCard;
+import sanguine.model.Player;
+import sanguine.model.SanguineGame;
+import sanguine.model.SanguineModel;
+
+/**
+ * Tests for the MctsStrategy class.
+ * Verifies that the search plays legal moves, keeps its tree between turns and stays within
+ * its node budget.
+ */
+public class MctsStrategyTest {
+
+  private List<Card> deck(Player player, String name, int value) {
+    List<Card> deck = new ArrayList<>();
+    for (int i = 0; i < 15; i++) {
+      deck.add(new InfluenceCard(player, name + i % 3, 1, value + i % 3,
+              Arrays.asList(new Coordinate(1, 0), new Coordinate(0, 1))));
+    }
+    return deck;
+  }
+
+  private SanguineModel startedGame() {
+    SanguineModel game = new SanguineGame(deck(Player.RED, "Jab", 1),
+            deck(Player.BLUE, "Jab", 1));
+    game.startGame(3, 3, 3, false);
+    return game;
+  }
+
+  private void play(SanguineModel game, List<Move> moves) {
+    if (moves.isEmpty()) {
+      game.pass();
+    } else {
+      Move move = moves.get(0);
+      game.playCard(move.getCard(), move.getRow(), move.getCol());
+    }
+  }
+
+  // Tests that the search plays a legal move of the current player.
+  @Test
+  public void testPlaysLegalMove() {
+    SanguineModel game = startedGame();
+    List<Move> moves = new MctsStrategy(300, 10_000, 1).generateMoves(game);
+
+    assertEquals(1, moves.size());
+    game.checkValidMove(game.getCell(moves.get(0).getRow(), moves.get(0).getCol()),
+            moves.get(0).getCard());
+  }
+
+  // Tests that an interrupted search stops iterating and still answers with a legal move.
+  @Test
+  public void testInterruptedSearchStops() {
+    SanguineModel game = startedGame();
+    MctsStrategy strategy = new MctsStrategy(Integer.MAX_VALUE, 10_000, 1);
+
+    Thread.currentThread().interrupt();
+    List<Move> moves = strategy.generateMoves(game);
+
+    assertTrue(Thread.interrupted());
+    assertTrue(moves.size() <= 1);
+    assertEquals(1, strategy.getTreeSize());
+  }
+
+  // Tests that the next turn continues from the node of the position actually reached.
+  @Test
+  public void testReusesTreeAfterReplies() {
+    SanguineModel game = startedGame();
+    MctsStrategy red = new MctsStrategy(500, 10_000, 2);
+    play(game, red.generateMoves(game));
+    play(game, new FillFirstStrategy().generateMoves(game));
+
+    red.generateMoves(game);
+
+    assertTrue(red.getReusedVisits() > 0);
+  }
+
+  // Tests that a position outside the old tree starts a new tree.
+  @Test
+  public void testStartsOverForUnknownPosition() {
+    MctsStrategy red = new MctsStrategy(200, 10_000, 3);
+    red.generateMoves(startedGame());
+    SanguineModel other = new SanguineGame(deck(Player.RED, "Big", 2),
+            deck(Player.BLUE, "Big", 2));
+    other.startGame(3, 3, 3, false);
+
+    red.generateMoves(other);
+
+    assertEquals(0, red.getReusedVisits());
+  }
+
+  // Tests that the tree never grows past the node budget.
+  @Test
+  public void testRespectsNodeBudget() {
+    SanguineModel game = startedGame();
+    MctsStrategy red = new MctsStrategy(2000, 50, 4);
+    red.generateMoves(game);
+
+    assertTrue(red.getTreeSize() <= 50);
+  }
+
+  // Tests that a game between two searches is played to the end.
+  @Test
+  public void testPlaysWholeGame() {
+    SanguineModel game = startedGame();
+    MctsStrategy red = new MctsStrategy(100, 5_000, 5);
+    MctsStrategy blue = new MctsStrategy(100, 5_000, 6);
+    while (!game.gameOver()) {
+      MctsStrategy mover = game.getCurrentPlayer() == Player.RED ? red : blue;
+      play(game, mover.generateMoves(game));
+    }
+    assertTrue(game.gameOver());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoIterations() {
+    new MctsStrategy(0, 10, 0);
+  }
+}
@@ -8,6 +8,7 @@ import sanguine.model.Board;
 import sanguine.model.Card;
 import sanguine.model.Cell;
 import sanguine.model.Player;
+import sanguine.model.ValueCell;
 
 /**
  * A mock implementation of the Board interface for testing purposes.
@@ -78,6 +79,19 @@ public class MockBoard implements Board {
     return cells;
   }
 
+  @Override
+  public boolean isFull() {
+    log.add("isFull");
+    for (List<Cell> row : cells) {
+      for (Cell cell : row) {
+        if (!(cell instanceof ValueCell)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
   @Override
   public void checkValidMove(Cell currentCell, Card card) {
     log.add("checkValidMove");
@@ -107,6 +107,12 @@ public class MockSanguineModel implements SanguineModel {
     return 0;
   }
 
+  @Override
+  public int getConsecutivePasses() {
+    log.add("getConsecutivePasses");
+    return 0;
+  }
+
   @Override
   public void checkValidMove(Cell currentCell, Card card) {
     log.add("checkValidMove");
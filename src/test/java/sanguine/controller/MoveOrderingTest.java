@@ -0,0 +1,107 @@
+package sanguine.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import sanguine.model.Card;
+import sanguine.model.Coordinate;
+import sanguine.model.InfluenceCard;
+import sanguine.model.Player;
+import sanguine.model.TestDecks;
+
+/**
+ * Tests for the MoveOrdering class and the search benchmark built on it.
+ * Verifies that cutoffs are remembered and that ordering never changes what the solver finds.
+ */
+public class MoveOrderingTest {
+  private final Card jab = new InfluenceCard(Player.RED, "Jab", 1, 1,
+          Arrays.asList(new Coordinate(1, 0)));
+  private final Card copy = new InfluenceCard(Player.RED, "Copy", 1, 1,
+          Arrays.asList(new Coordinate(1, 0)));
+  private final Card big = new InfluenceCard(Player.RED, "Big", 1, 3,
+          Arrays.asList(new Coordinate(1, 0)));
+
+  private List<Card> deck(Player player) {
+    List<Card> deck = new ArrayList<>();
+    for (int i = 0; i < 15; i++) {
+      deck.add(new InfluenceCard(player, "Card" + i % 3, 1 + i % 2, 1 + i % 3,
+              Arrays.asList(new Coordinate(1, 0), new Coordinate(0, i % 2 == 0 ? 1 : -1))));
+    }
+    return deck;
+  }
+
+  // Tests that the newest cutoff at a ply is the first killer and the older one the second.
+  @Test
+  public void testKillerMoves() {
+    MoveOrdering ordering = new MoveOrdering(true);
+    long first = MoveOrdering.key(new Move(this.jab, 0, 1));
+    long second = MoveOrdering.key(new Move(this.big, 1, 1));
+
+    ordering.recordCutoff(first, 3, 2);
+    ordering.recordCutoff(second, 3, 2);
+
+    assertEquals(2, ordering.killerRank(second, 3));
+    assertEquals(1, ordering.killerRank(first, 3));
+    assertEquals(0, ordering.killerRank(first, 2));
+    assertEquals(0, ordering.killerRank(first, 10));
+  }
+
+  // Tests that history grows with the depth of the cutoff, is shared by copies of a card and
+  // is halved by a new search, which also forgets the killers.
+  @Test
+  public void testHistory() {
+    MoveOrdering ordering = new MoveOrdering(true);
+    long key = MoveOrdering.key(new Move(this.jab, 0, 1));
+
+    ordering.recordCutoff(key, 0, 3);
+    ordering.recordCutoff(key, 0, 1);
+
+    assertEquals(MoveOrdering.key(new Move(this.copy, 0, 1)), key);
+    assertEquals(10, ordering.history(key));
+    ordering.newSearch();
+    assertEquals(5, ordering.history(key));
+    assertEquals(0, ordering.killerRank(key, 0));
+  }
+
+  // Tests that an ordering without heuristics keeps nothing.
+  @Test
+  public void testWithoutHeuristics() {
+    MoveOrdering ordering = new MoveOrdering(false);
+    long key = MoveOrdering.key(new Move(this.jab, 0, 1));
+
+    ordering.recordCutoff(key, 0, 3);
+
+    assertEquals(0, ordering.history(key));
+    assertEquals(0, ordering.killerRank(key, 0));
+  }
+
+  // Tests that the benchmark counts at least one position per solve with either ordering.
+  @Test
+  public void testBenchmark() {
+    SearchBenchmark benchmark = new SearchBenchmark(deck(Player.RED), deck(Player.BLUE), 3, 5, 5);
+
+    long plain = benchmark.nodesToDepth(5, 5, 0, false);
+    long ordered = benchmark.nodesToDepth(5, 5, 0, true);
+
+    assertTrue(ordered >= 5);
+    assertTrue(plain >= 5);
+  }
+
+  // Tests that the benchmark gives up on a depth no game reaches, since cards that only
+  // influence the row above a 1x5 board leave its middle open in every game.
+  @Test(expected = IllegalStateException.class)
+  public void testBenchmarkUnreachableDepth() {
+    new SearchBenchmark(TestDecks.deck(Player.RED, "Card", 1, 9, new Coordinate(0, -1)),
+            TestDecks.deck(Player.BLUE, "Card", 1, 9, new Coordinate(0, -1)), 1, 5, 3)
+            .nodesToDepth(1, 2, 0, true);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBenchmarkInvalidDepth() {
+    new SearchBenchmark(deck(Player.RED), deck(Player.BLUE), 3, 5, 5).nodesToDepth(0, 1, 0, true);
+  }
+}
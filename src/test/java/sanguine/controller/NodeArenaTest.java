@@ -0,0 +1,83 @@
+package sanguine.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the primitive node storage of search trees.
+ */
+public class NodeArenaTest {
+  private NodeArena arena;
+
+  /**
+   * Creates an arena with a root and two levels of children.
+   */
+  @Before
+  public void setUp() {
+    arena = new NodeArena(10);
+    arena.addRoot(7);
+    arena.expand(0, new int[] {11, 12, NodeArena.PASS}, 3, 0);
+    arena.expand(2, new int[] {21, 22}, 2, 1);
+    arena.addVisit(2, 1);
+    arena.setKey(2, 99);
+    arena.addVisit(4, 0.5);
+  }
+
+  // Tests that children are allocated as one range after their parent.
+  @Test
+  public void testExpandAllocatesRange() {
+    assertEquals(6, arena.size());
+    assertTrue(arena.isExpanded(0));
+    assertEquals(1, arena.getFirstChild(0));
+    assertEquals(3, arena.getChildCount(0));
+    assertEquals(NodeArena.PASS, arena.getMove(3));
+    assertEquals(0, arena.getParent(3));
+    assertEquals(1, arena.getMover(5));
+    assertFalse(arena.isExpanded(1));
+  }
+
+  // Tests that expanding past the capacity is refused without changing the arena.
+  @Test
+  public void testExpandRefusedWhenFull() {
+    assertFalse(arena.expand(1, new int[] {1, 2, 3, 4, 5}, 5, 1));
+    assertEquals(6, arena.size());
+    assertFalse(arena.isExpanded(1));
+  }
+
+  // Tests that compacting keeps only the subtree of the new root, with its statistics.
+  @Test
+  public void testCompactKeepsSubtree() {
+    NodeArena target = new NodeArena(10);
+    arena.compactInto(target, 2);
+
+    assertEquals(3, target.size());
+    assertEquals(99, target.getKey(0));
+    assertEquals(1, target.getVisits(0));
+    assertEquals(NodeArena.NONE, target.getParent(0));
+    assertEquals(1, target.getFirstChild(0));
+    assertEquals(21, target.getMove(1));
+    assertEquals(22, target.getMove(2));
+    assertEquals(0.5, target.getWins(1), 1e-9);
+    assertEquals(0, target.getParent(2));
+  }
+
+  // Tests that a cleared arena takes a new root.
+  @Test
+  public void testClearRecycles() {
+    arena.clear();
+    arena.addRoot(3);
+
+    assertEquals(1, arena.size());
+    assertFalse(arena.isExpanded(0));
+    assertEquals(0, arena.getVisits(0));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testSecondRoot() {
+    arena.addRoot(1);
+  }
+}
@@ -0,0 +1,103 @@
+package sanguine.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import sanguine.model.Card;
+import sanguine.model.Coordinate;
+import sanguine.model.Player;
+import sanguine.model.PositionHash;
+import sanguine.model.SanguineGame;
+import sanguine.model.SanguineModel;
+import sanguine.model.TestDecks;
+
+/**
+ * Tests for generating opening books from self-play and playing from them.
+ */
+public class OpeningBookTest {
+  private Path book;
+
+  /**
+   * Generates a small opening book from self-play on a 3x3 board.
+   */
+  @Before
+  public void setUp() throws IOException, InterruptedException {
+    book = Files.createTempDirectory("book").resolve("opening.book");
+    new OpeningBookGenerator(deck(Player.RED), deck(Player.BLUE), 3, 3, 3,
+            FillFirstStrategy::new).generate(20, 2, 2, book);
+  }
+
+  private List<Card> deck(Player player) {
+    return TestDecks.deck(player, 9, 3, 3, new Coordinate(1, 0));
+  }
+
+  private SanguineModel startedGame() {
+    SanguineModel game = new SanguineGame(deck(Player.RED), deck(Player.BLUE));
+    game.startGame(3, 3, 3, false);
+    return game;
+  }
+
+  // Tests that every game's first move is recorded under the starting position.
+  @Test
+  public void testRecordsOpeningMoves() throws IOException {
+    try (OpeningBook opening = OpeningBook.open(book)) {
+      List<OpeningBook.Entry> entries = opening.lookup(PositionHash.visibleKey(startedGame()));
+      assertTrue(opening.size() > 0);
+      int games = 0;
+      for (OpeningBook.Entry entry : entries) {
+        games += entry.getGames();
+        assertTrue(entry.getScoreRate() >= 0 && entry.getScoreRate() <= 1);
+      }
+      assertTrue(games > 0);
+    }
+  }
+
+  // Tests that the strategy plays the best scoring book move in a book position.
+  @Test
+  public void testPlaysBestBookMove() throws IOException {
+    SanguineModel game = startedGame();
+    try (OpeningBook opening = OpeningBook.open(book)) {
+      OpeningBook.Entry best = null;
+      for (OpeningBook.Entry entry : opening.lookup(PositionHash.visibleKey(game))) {
+        if (best == null || entry.getScoreRate() > best.getScoreRate()) {
+          best = entry;
+        }
+      }
+      List<Move> moves = new OpeningBookStrategy(opening, m -> null, 1).generateMoves(game);
+      assertEquals(1, moves.size());
+      assertEquals(best.getRow(), moves.get(0).getRow());
+      assertEquals(best.getCardCode(), PositionHash.cardCode(moves.get(0).getCard()));
+    }
+  }
+
+  // Tests that positions without enough games are left to the fallback.
+  @Test
+  public void testFallsBackOutsideBook() throws IOException {
+    List<Move> fallbackMoves = new ArrayList<>();
+    try (OpeningBook opening = OpeningBook.open(book)) {
+      Strategy strategy = new OpeningBookStrategy(opening, m -> fallbackMoves, 1000);
+      assertSame(fallbackMoves, strategy.generateMoves(startedGame()));
+    }
+  }
+
+  // Tests that the strategy descriptions used by the tools create the described strategies.
+  @Test
+  public void testStrategiesFromDescriptions() {
+    assertTrue(Strategies.create("fillfirst") instanceof FillFirstStrategy);
+    assertTrue(Strategies.create("maxrow+control") instanceof CompositeStrategy);
+    assertTrue(Strategies.create("endgame:maxrow") instanceof EndgameStrategy);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownStrategy() {
+    Strategies.create("random");
+  }
+}
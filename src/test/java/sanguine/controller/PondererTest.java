@@ -0,0 +1,122 @@
+package sanguine.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import sanguine.model.Player;
+import sanguine.model.SanguineGame;
+import sanguine.model.SanguineModel;
+import sanguine.model.TestDecks;
+
+/**
+ * Tests for pondering during the opponent's turn as the model announces turns.
+ */
+public class PondererTest {
+  private ExecutorService gameThread;
+
+  /**
+   * Creates a single thread standing in for the event dispatch thread.
+   */
+  @Before
+  public void setUp() {
+    gameThread = Executors.newSingleThreadExecutor();
+  }
+
+  /**
+   * Stops the game thread.
+   */
+  @After
+  public void tearDown() {
+    gameThread.shutdownNow();
+  }
+
+  // Tests that the ponder started by the opponent's turn searches the position after the
+  // opponent's draw, so the turn after it is answered from the positions it solved.
+  @Test
+  public void testPondersPositionAfterDraw() throws Exception {
+    SanguineModel game = new SanguineGame(TestDecks.endgame(Player.RED, "Big", 3),
+            TestDecks.endgame(Player.BLUE, "Jab", 1));
+    EndgameStrategy endgame = new EndgameStrategy(new FillFirstStrategy());
+    CountDownLatch pondered = new CountDownLatch(1);
+    PonderingStrategy strategy = new PonderingStrategy() {
+      @Override
+      public List<Move> generateMoves(SanguineModel model) {
+        return endgame.generateMoves(model);
+      }
+
+      @Override
+      public void ponder(SanguineModel model) {
+        endgame.ponder(model);
+        pondered.countDown();
+      }
+    };
+    Ponderer ponderer = new Ponderer(game, Player.RED, strategy, gameThread);
+    try {
+      gameThread.submit(() -> {
+        game.startGame(1, 3, 3, false);
+        Move first = endgame.generateMoves(game).get(0);
+        game.playCard(first.getCard(), first.getRow(), first.getCol());
+      }).get();
+
+      assertTrue(pondered.await(10, TimeUnit.SECONDS));
+      List<Move> moves = gameThread.submit(() -> {
+        game.pass();
+        return endgame.generateMoves(game);
+      }).get();
+      assertEquals(1, endgame.getNodesSearched());
+      assertEquals(1, moves.size());
+    } finally {
+      ponderer.close();
+    }
+  }
+
+  // Tests that the ponderer stops its background thread once the last pass ends the game.
+  @Test
+  public void testClosesWhenGameIsOver() throws Exception {
+    SanguineModel game = new SanguineGame(TestDecks.endgame(Player.RED, "Big", 3),
+            TestDecks.endgame(Player.BLUE, "Jab", 1));
+    CountDownLatch pondered = new CountDownLatch(1);
+    AtomicReference<Thread> worker = new AtomicReference<>();
+    PonderingStrategy strategy = new PonderingStrategy() {
+      @Override
+      public List<Move> generateMoves(SanguineModel model) {
+        return List.of();
+      }
+
+      @Override
+      public void ponder(SanguineModel model) {
+        worker.set(Thread.currentThread());
+        pondered.countDown();
+      }
+    };
+    new Ponderer(game, Player.RED, strategy, gameThread);
+    gameThread.submit(() -> {
+      game.startGame(1, 3, 3, false);
+      game.pass();
+    }).get();
+
+    assertTrue(pondered.await(10, TimeUnit.SECONDS));
+    gameThread.submit(game::pass).get();
+    worker.get().join(10_000);
+
+    assertTrue(game.gameOver());
+    assertFalse(worker.get().isAlive());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullDispatcher() {
+    new Ponderer(new SanguineGame(TestDecks.endgame(Player.RED, "Big", 3),
+            TestDecks.endgame(Player.BLUE, "Jab", 1)),
+            Player.RED, new EndgameStrategy(new FillFirstStrategy()), null);
+  }
+}
@@ -0,0 +1,170 @@
+package sanguine.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import sanguine.model.Card;
+import sanguine.model.Coordinate;
+import sanguine.model.InfluenceCard;
+import sanguine.model.Player;
+import sanguine.model.SanguineGame;
+import sanguine.model.SanguineModel;
+
+/**
+ * Tests for the PortfolioStrategy class.
+ * Verifies the weighted vote, the deadline and the statistics kept for each member.
+ */
+public class PortfolioStrategyTest {
+
+  private SanguineModel game() {
+    List<Card> red = new ArrayList<>();
+    List<Card> blue = new ArrayList<>();
+    for (int i = 0; i < 15; i++) {
+      red.add(new InfluenceCard(Player.RED, "Red" + i % 3, 1, 1 + i % 3,
+              Arrays.asList(new Coordinate(1, 0))));
+      blue.add(new InfluenceCard(Player.BLUE, "Blue", 1, 1, Arrays.asList(new Coordinate(1, 0))));
+    }
+    SanguineModel game = new SanguineGame(red, blue);
+    game.startGame(3, 5, 4, false);
+    return game;
+  }
+
+  //always plays the first legal move in the given row
+  private Strategy row(int row) {
+    return model -> {
+      for (Move move : new FillFirstStrategy().generateMoves(model)) {
+        if (move.getRow() == row) {
+          return List.of(move);
+        }
+      }
+      return new ArrayList<>();
+    };
+  }
+
+  // Tests that the move with the most weight wins the vote and is credited to its voters.
+  @Test
+  public void testWeightedVote() {
+    PortfolioStrategy portfolio = new PortfolioStrategy(5000,
+            List.of(row(0), row(1), row(1)), List.of(3.0, 1.0, 1.0));
+
+    List<Move> moves = portfolio.generateMoves(game());
+
+    assertEquals(1, moves.size());
+    assertEquals(0, moves.get(0).getRow());
+    assertEquals(1, portfolio.getStats(0).getChosen());
+    assertEquals(0, portfolio.getStats(1).getChosen());
+    assertEquals(1, portfolio.getStats(1).getFinished());
+    assertEquals(1.0, portfolio.getStats(0).getContribution(), 1e-9);
+    portfolio.close();
+  }
+
+  // Tests that a tie goes to the member listed first.
+  @Test
+  public void testTieGoesToFirstMember() {
+    PortfolioStrategy portfolio = new PortfolioStrategy(row(2), row(1));
+
+    assertEquals(2, portfolio.generateMoves(game()).get(0).getRow());
+    portfolio.close();
+  }
+
+  // Tests that a stalled member is cancelled at the deadline and the others still decide.
+  @Test
+  public void testStalledMemberIsCancelled() {
+    CountDownLatch never = new CountDownLatch(1);
+    Strategy stalled = model -> {
+      try {
+        never.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return new ArrayList<>();
+    };
+    PortfolioStrategy portfolio = new PortfolioStrategy(100, List.of(stalled, row(1)),
+            List.of(5.0, 1.0));
+
+    long start = System.nanoTime();
+    List<Move> moves = portfolio.generateMoves(game());
+
+    assertTrue(System.nanoTime() - start < 2_000_000_000L);
+    assertEquals(1, moves.get(0).getRow());
+    assertEquals(1, portfolio.getStats(0).getTimeouts());
+    assertEquals(0, portfolio.getStats(0).getMeanLatencyNanos());
+    assertTrue(portfolio.getStats(1).getMeanLatencyNanos() > 0);
+    portfolio.close();
+  }
+
+  // Tests that a member still searching after the deadline sits out the next turns instead of
+  // searching a second position at once.
+  @Test
+  public void testOverrunningMemberSitsOut() {
+    AtomicInteger calls = new AtomicInteger();
+    AtomicInteger searching = new AtomicInteger();
+    AtomicInteger overlaps = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    Strategy overrunning = model -> {
+      calls.incrementAndGet();
+      if (searching.incrementAndGet() > 1) {
+        overlaps.incrementAndGet();
+      }
+      //spins without checking for interrupts, like a search that ignores its cancellation
+      while (release.getCount() > 0) {
+        Thread.onSpinWait();
+      }
+      searching.decrementAndGet();
+      return new ArrayList<>();
+    };
+    PortfolioStrategy portfolio = new PortfolioStrategy(50, List.of(overrunning, row(1)),
+            List.of(5.0, 1.0));
+    SanguineModel game = game();
+
+    for (int turn = 0; turn < 3; turn++) {
+      assertEquals(1, portfolio.generateMoves(game).get(0).getRow());
+    }
+    release.countDown();
+
+    assertEquals(1, calls.get());
+    assertEquals(0, overlaps.get());
+    assertEquals(3, portfolio.getStats(0).getTimeouts());
+    assertEquals(3, portfolio.getStats(1).getChosen());
+    portfolio.close();
+  }
+
+  // Tests that the first legal move is played when no member finishes in time.
+  @Test
+  public void testFallsBackWhenNobodyFinishes() {
+    Strategy slow = model -> {
+      try {
+        Thread.sleep(5000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return new ArrayList<>();
+    };
+    PortfolioStrategy portfolio = new PortfolioStrategy(50, List.of(slow), List.of(1.0));
+    SanguineModel game = game();
+
+    assertEquals(new FillFirstStrategy().generateMoves(game).get(0),
+            portfolio.generateMoves(game).get(0));
+    portfolio.close();
+  }
+
+  // Tests that portfolios can be described by their members.
+  @Test
+  public void testCreatedFromDescription() {
+    Strategy strategy = Strategies.create("portfolio:maxrow,endgame:fillfirst,fillfirst");
+
+    assertTrue(strategy instanceof PortfolioStrategy);
+    assertEquals(1, strategy.generateMoves(game()).size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMismatchedWeights() {
+    new PortfolioStrategy(100, List.of(row(0)), List.of(1.0, 2.0));
+  }
+}
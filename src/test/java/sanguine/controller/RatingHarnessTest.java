@@ -0,0 +1,71 @@
+package sanguine.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+import sanguine.model.Player;
+import sanguine.model.TestDecks;
+
+/**
+ * Tests for Glicko-2 ratings and the rating harness.
+ */
+public class RatingHarnessTest {
+
+  // Tests the worked example from Glickman's description of Glicko-2.
+  @Test
+  public void testGlickmanExample() {
+    GlickoRating player = new GlickoRating(1500, 200, 0.06);
+    GlickoRating updated = player.update(
+            Arrays.asList(new GlickoRating(1400, 30, 0.06), new GlickoRating(1550, 100, 0.06),
+                    new GlickoRating(1700, 300, 0.06)),
+            Arrays.asList(1.0, 0.0, 0.0));
+
+    assertEquals(1464.06, updated.getRating(), 0.01);
+    assertEquals(151.52, updated.getDeviation(), 0.01);
+    assertEquals(0.05999, updated.getVolatility(), 0.00001);
+  }
+
+  // Tests that an entrant that does not play keeps its rating but becomes less certain.
+  @Test
+  public void testIdleRatingGrowsUncertain() {
+    GlickoRating player = new GlickoRating(1600, 50, 0.06);
+    GlickoRating updated = player.update(Collections.emptyList(), Collections.emptyList());
+
+    assertEquals(1600, updated.getRating(), 1e-9);
+    assertTrue(updated.getDeviation() > 50);
+  }
+
+  // Tests that equal ratings expect an even score.
+  @Test
+  public void testEqualRatingsExpectEvenScore() {
+    assertEquals(0.5, new GlickoRating().expectedScore(new GlickoRating()), 1e-9);
+  }
+
+  // Tests that a run stays within its budget, plays whole matches and is reproducible.
+  @Test
+  public void testRunWithinBudget() throws InterruptedException {
+    RatingHarness harness = new RatingHarness(TestDecks.small(Player.RED),
+            TestDecks.small(Player.BLUE), 3, 3, 3);
+    harness.addEntrant("fillfirst", FillFirstStrategy::new);
+    harness.addEntrant("maxrow", MaximizeRowScoreStrategy::new);
+    harness.addEntrant("control", ControlTheBoardStrategy::new);
+    RatingResult first = harness.run(21, 3, 2, 5);
+
+    assertTrue(first.getGames() <= 21);
+    assertEquals(0, first.getGames() % 2);
+    assertEquals(2 * first.getGames(),
+            first.getGamesPlayed(0) + first.getGamesPlayed(1) + first.getGamesPlayed(2));
+    RatingResult second = harness.run(21, 3, 1, 5);
+    assertEquals(first.getRanking(), second.getRanking());
+    assertEquals(first.getRating(0).getRating(), second.getRating(0).getRating(), 1e-9);
+    assertTrue(first.getRating(0).getDeviation() < GlickoRating.DEFAULT_DEVIATION);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMismatchedScores() {
+    new GlickoRating().update(Arrays.asList(new GlickoRating()), Collections.emptyList());
+  }
+}
@@ -0,0 +1,51 @@
+package sanguine.controller;
+
+import org.junit.Test;
+import sanguine.model.AllocationMeter;
+import sanguine.model.SanguineGame;
+import sanguine.model.TestDecks;
+
+/**
+ * Allocation budgets for one move of every strategy class, measured with the AllocationMeter on
+ * the same mid-game position. Budgets are about twice what each strategy allocates today, so
+ * they catch a change that copies the board or the game in an inner loop without failing on
+ * small changes.
+ */
+public class StrategyAllocationTest {
+
+  private void assertBudget(Strategy strategy, long budget, int calls) {
+    SanguineGame game = TestDecks.midGame();
+    AllocationMeter.assertWithinBudget(strategy.getClass().getSimpleName(), budget, calls, calls,
+            call -> strategy.generateMoves(game));
+  }
+
+  // Tests the strategies that look at every legal move once.
+  @Test
+  public void testGreedyStrategies() {
+    assertBudget(new FillFirstStrategy(), 2 * 1024, 2000);
+    assertBudget(new MaximizeRowScoreStrategy(), 4 * 1024, 2000);
+    assertBudget(new ControlTheBoardStrategy(), 16 * 1024, 2000);
+    assertBudget(new CompositeStrategy(new MaximizeRowScoreStrategy(),
+            new ControlTheBoardStrategy(), new FillFirstStrategy()), 24 * 1024, 2000);
+  }
+
+  // Tests the strategies that search ahead.
+  @Test
+  public void testSearchStrategies() {
+    assertBudget(new MinimaxStrategy(new FillFirstStrategy()), 192 * 1024, 300);
+    assertBudget(new EndgameStrategy(new FillFirstStrategy()), 4 * 1024, 2000);
+    assertBudget(new ExpectimaxStrategy(1), 512 * 1024, 100);
+    //about 20KB per iteration, copying the game and playing it out
+    assertBudget(new MctsStrategy(100, 10_000, 1), 2 * 1024 * 1024, 30);
+  }
+
+  // Tests a portfolio on the calling thread, which only counts its voting since its members
+  // search on threads of their own.
+  @Test
+  public void testPortfolioStrategy() {
+    try (PortfolioStrategy portfolio = new PortfolioStrategy(new MaximizeRowScoreStrategy(),
+            new FillFirstStrategy())) {
+      assertBudget(portfolio, 8 * 1024, 300);
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package sanguine.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import sanguine.model.Player;
+import sanguine.model.SanguineGame;
+import sanguine.model.SanguineModel;
+import sanguine.model.TestDecks;
+
+/**
+ * Tests for generating, probing and playing from endgame tablebases.
+ */
+public class TablebaseTest {
+  private Path dir;
+
+  /**
+   * Creates a temporary directory for tablebase files.
+   */
+  @Before
+  public void setUp() throws IOException {
+    dir = Files.createTempDirectory("tablebase");
+  }
+
+  private SanguineModel startedGame() {
+    SanguineModel game = new SanguineGame(TestDecks.endgame(Player.RED, "Big", 3),
+            TestDecks.endgame(Player.BLUE, "Jab", 1));
+    game.startGame(1, 3, 3, false);
+    return game;
+  }
+
+  private Path generate() throws IOException, InterruptedException {
+    TablebaseGenerator generator = new TablebaseGenerator(TestDecks.endgame(Player.RED, "Big", 3),
+            TestDecks.endgame(Player.BLUE, "Jab", 1), 1, 3, 3, 5, 12);
+    Path output = dir.resolve("endgame.tb");
+    generator.generate(4, 2, 2, dir.resolve("work"), output);
+    return output;
+  }
+
+  // Tests that the tablebase holds the same answer as solving the position directly.
+  @Test
+  public void testProbeMatchesSolver() throws IOException, InterruptedException {
+    SanguineModel game = startedGame();
+    List<Move> solved = new EndgameStrategy(new FillFirstStrategy()).generateMoves(game);
+
+    try (Tablebase tablebase = Tablebase.open(generate())) {
+      assertTrue(tablebase.size() > 1);
+      Tablebase.Record record = tablebase.probe(EndgameStrategy.key(game));
+      assertNotNull(record);
+      assertEquals(solved.get(0).getRow(), record.getRow());
+      assertEquals(solved.get(0).getCol(), record.getCol());
+      assertEquals(3, record.getValue());
+      assertNull(tablebase.probe(EndgameStrategy.key(game) + 1));
+    }
+  }
+
+  // Tests that the strategy plays the stored move for a covered position.
+  @Test
+  public void testStrategyPlaysStoredMove() throws IOException, InterruptedException {
+    SanguineModel game = startedGame();
+    try (Tablebase tablebase = Tablebase.open(generate())) {
+      List<Move> moves = new TablebaseStrategy(tablebase, m -> null).generateMoves(game);
+      assertEquals(1, moves.size());
+      assertEquals("Big", moves.get(0).getCard().getName());
+      assertEquals(0, moves.get(0).getCol());
+    }
+  }
+
+  // Tests that positions on another board size are left to the fallback.
+  @Test
+  public void testStrategyFallsBackForOtherBoards() throws IOException, InterruptedException {
+    List<Move> fallbackMoves = new ArrayList<>();
+    SanguineModel game = new SanguineGame(TestDecks.endgame(Player.RED, "Big", 3),
+            TestDecks.endgame(Player.BLUE, "Jab", 1));
+    game.startGame(3, 3, 3, false);
+    try (Tablebase tablebase = Tablebase.open(generate())) {
+      assertSame(fallbackMoves,
+              new TablebaseStrategy(tablebase, m -> fallbackMoves).generateMoves(game));
+    }
+  }
+
+  // Tests that finished chunks are kept as checkpoints and reused by a second run.
+  @Test
+  public void testResumesFromCheckpoints() throws IOException, InterruptedException {
+    generate();
+    Path checkpoint = dir.resolve("work").resolve("chunk-00000000.tb");
+    assertTrue(Files.exists(checkpoint));
+    long written = Files.getLastModifiedTime(checkpoint).toMillis();
+
+    generate();
+    assertEquals(written, Files.getLastModifiedTime(checkpoint).toMillis());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOpenInvalidFile() throws IOException {
+    Path file = dir.resolve("bad.tb");
+    Files.write(file, new byte[32]);
+    Tablebase.open(file);
+  }
+}
@@ -0,0 +1,66 @@
+package sanguine.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import sanguine.model.Player;
+import sanguine.model.SanguineModel;
+import sanguine.model.TestDecks;
+
+/**
+ * Tests for headless games and tournaments between machine players.
+ */
+public class TournamentTest {
+  private Tournament tournament;
+
+  /**
+   * Creates a tournament on a 3x3 board between two simple strategies.
+   */
+  @Before
+  public void setUp() {
+    tournament = new Tournament(TestDecks.small(Player.RED), TestDecks.small(Player.BLUE), 3, 3, 3);
+    tournament.addEntrant("fillfirst", FillFirstStrategy::new);
+    tournament.addEntrant("control", ControlTheBoardStrategy::new);
+  }
+
+  // Tests that a headless game between machine players is played to the end.
+  @Test
+  public void testPlaysGameToEnd() {
+    SanguineModel model = tournament.playGame(new FillFirstStrategy(), new FillFirstStrategy(),
+            1);
+    assertTrue(model.gameOver());
+  }
+
+  // Tests that every ordered pairing plays its games and every game is counted once.
+  @Test
+  public void testPlaysEveryPairing() throws InterruptedException {
+    TournamentResult result = tournament.run(5, 2, 7);
+
+    assertEquals(10, result.getGames());
+    assertEquals(10, result.getWins(0, 1) + result.getLosses(0, 1) + result.getDraws(0, 1));
+    assertEquals(result.getWins(0, 1), result.getLosses(1, 0));
+    assertEquals(result.getAverageMargin(0, 1), -result.getAverageMargin(1, 0), 1e-9);
+    assertTrue(result.getGamesPerSecond() > 0);
+  }
+
+  // Tests that the same seed deals the same games regardless of thread count.
+  @Test
+  public void testSameSeedSameResults() throws InterruptedException {
+    TournamentResult first = tournament.run(6, 1, 42);
+    TournamentResult second = tournament.run(6, 3, 42);
+
+    assertEquals(first.getWins(0, 1), second.getWins(0, 1));
+    assertEquals(first.getDraws(0, 1), second.getDraws(0, 1));
+    assertEquals(first.getAverageMargin(0, 1), second.getAverageMargin(0, 1), 1e-9);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNeedsTwoEntrants() throws InterruptedException {
+    Tournament single = new Tournament(TestDecks.small(Player.RED), TestDecks.small(Player.BLUE),
+            3, 3, 3);
+    single.addEntrant("fillfirst", FillFirstStrategy::new);
+    single.run(1, 1, 0);
+  }
+}
@@ -0,0 +1,104 @@
+package sanguine.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import sanguine.model.Card;
+import sanguine.model.Coordinate;
+import sanguine.model.Player;
+import sanguine.model.SanguineModel;
+import sanguine.model.TestDecks;
+
+/**
+ * Tests for running turns one at a time.
+ */
+public class TurnSchedulerTest {
+  private int depth;
+  private int maxDepth;
+  private int turnsTaken;
+
+  private List<Card> deck(Player player) {
+    return TestDecks.deck(player, 60, 4, 4, new Coordinate(1, 0), new Coordinate(0, 1));
+  }
+
+  // Tests that a turn scheduled by a running turn waits instead of nesting.
+  @Test
+  public void testNestedTurnsRunInOrder() {
+    TurnScheduler scheduler = new TurnScheduler();
+    List<Integer> order = new ArrayList<>();
+    scheduler.schedule(() -> {
+      order.add(1);
+      scheduler.schedule(() -> order.add(3));
+      order.add(2);
+    });
+    assertEquals(Arrays.asList(1, 2, 3), order);
+    assertFalse(scheduler.isRunning());
+  }
+
+  // Tests that a long chain of turns that schedule each other never nests.
+  @Test
+  public void testConstantDepth() {
+    TurnScheduler scheduler = new TurnScheduler();
+    scheduler.schedule(new Runnable() {
+      @Override
+      public void run() {
+        depth++;
+        maxDepth = Math.max(maxDepth, depth);
+        turnsTaken++;
+        if (turnsTaken < 100000) {
+          scheduler.schedule(this);
+        }
+        depth--;
+      }
+    });
+    assertEquals(100000, turnsTaken);
+    assertEquals(1, maxDepth);
+  }
+
+  // Tests that a waiting action runs once after the queued turns.
+  @Test
+  public void testIdleActionRunsOnceAfterTurns() {
+    TurnScheduler scheduler = new TurnScheduler();
+    List<String> log = new ArrayList<>();
+    Runnable refresh = () -> log.add("refresh");
+    scheduler.schedule(() -> {
+      scheduler.whenIdle(refresh);
+      scheduler.schedule(() -> {
+        log.add("turn");
+        scheduler.whenIdle(refresh);
+      });
+    });
+    assertEquals(Arrays.asList("turn", "refresh"), log);
+
+    scheduler.whenIdle(refresh);
+    assertEquals(3, log.size());
+  }
+
+  // Tests that a headless game between machine players never nests turns.
+  @Test
+  public void testHeadlessGameKeepsStackFlat() {
+    Tournament games = new Tournament(deck(Player.RED), deck(Player.BLUE), 5, 9, 5);
+    List<Integer> stackDepths = new ArrayList<>();
+    Strategy recording = model -> {
+      stackDepths.add(new Throwable().getStackTrace().length);
+      return new FillFirstStrategy().generateMoves(model);
+    };
+    SanguineModel model = games.playGame(recording, recording, 3);
+
+    assertTrue(model.gameOver());
+    assertTrue(stackDepths.size() > 20);
+    int min = stackDepths.stream().min(Integer::compare).orElseThrow();
+    int max = stackDepths.stream().max(Integer::compare).orElseThrow();
+    assertTrue(max - min < 5);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullTurn() {
+    new TurnScheduler().schedule(null);
+  }
+}
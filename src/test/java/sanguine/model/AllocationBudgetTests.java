@@ -0,0 +1,49 @@
+package sanguine.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Allocation budgets for the model operations strategies call most, measured with the
+ * AllocationMeter. Score queries and checking for the end of the game must not allocate at all;
+ * playing a card may only allocate the cells it changes.
+ */
+public class AllocationBudgetTests {
+  private static final int WARMUP = 20_000;
+  private static final int CALLS = 20_000;
+
+  //the cells a card with three influences changes and the card drawn into a hand
+  private static final long PLAY_CARD_BUDGET = 256;
+
+  // Tests that row and total scores are computed without allocating.
+  @Test
+  public void testScoresDoNotAllocate() {
+    SanguineGame game = TestDecks.midGame();
+    AllocationMeter.assertWithinBudget("getRowScore", 0, WARMUP, CALLS,
+            call -> game.getRowScore(call % 5, Player.RED));
+    AllocationMeter.assertWithinBudget("getTotalScore", 0, WARMUP, CALLS,
+            call -> game.getTotalScore(call % 2 == 0 ? Player.RED : Player.BLUE));
+  }
+
+  // Tests that checking for the end of the game and its winner does not allocate.
+  @Test
+  public void testGameOverDoesNotAllocate() {
+    SanguineGame game = TestDecks.midGame();
+    AllocationMeter.assertWithinBudget("gameOver", 0, WARMUP, CALLS, call -> game.gameOver());
+    AllocationMeter.assertWithinBudget("getWinner", 0, WARMUP, CALLS, call -> game.getWinner());
+  }
+
+  // Tests that playing a card only allocates the cells it changes, on a fresh copy per call.
+  @Test
+  public void testPlayCardBudget() {
+    SanguineGame position = TestDecks.midGame();
+    List<SanguineGame> games = new ArrayList<>();
+    for (int i = 0; i < WARMUP + CALLS; i++) {
+      games.add(new SanguineGame(position));
+    }
+    Card card = position.getPlayerHand(Player.RED).get(0);
+    AllocationMeter.assertWithinBudget("playCard", PLAY_CARD_BUDGET, WARMUP, CALLS,
+            call -> games.get(call).playCard(card, 2, 1));
+  }
+}
@@ -0,0 +1,74 @@
+package sanguine.model;
+
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.IntConsumer;
+import org.junit.Assume;
+
+/**
+ * Measures how many bytes an operation allocates on the heap, using the allocation counter the
+ * JVM keeps for every thread. The operation is run many times first so the JIT has compiled it
+ * and removed the allocations escape analysis can, then run again while counting, so a budget
+ * holds for the steady state a long game or tournament reaches. Only allocations made on the
+ * calling thread are counted.
+ */
+public final class AllocationMeter {
+  private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+  private AllocationMeter() {
+  }
+
+  private static com.sun.management.ThreadMXBean threads() {
+    if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean threads =
+              (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+      if (threads.isThreadAllocatedMemorySupported()) {
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the mean number of bytes one call of an operation allocates once warmed up. The
+   * operation is given the index of the call, counting from 0 through the warm up and on through
+   * the measured calls, so every call can use state prepared for it. Skips the calling test if
+   * this JVM does not count allocations.
+   *
+   * @param warmup how many calls to make before measuring
+   * @param calls how many calls to measure
+   * @param operation the operation to measure
+   * @return the mean bytes allocated per measured call
+   */
+  public static double bytesPerCall(int warmup, int calls, IntConsumer operation) {
+    Assume.assumeTrue("Thread allocation counting is not supported", THREADS != null);
+    for (int i = 0; i < warmup; i++) {
+      operation.accept(i);
+    }
+    long before = THREADS.getCurrentThreadAllocatedBytes();
+    for (int i = warmup; i < warmup + calls; i++) {
+      operation.accept(i);
+    }
+    long allocated = THREADS.getCurrentThreadAllocatedBytes() - before;
+    return (double) allocated / calls;
+  }
+
+  /**
+   * Fails if one call of an operation allocates more than its budget once warmed up. Fractions
+   * of a byte per call are ignored, since the counters may be off by a few bytes in total.
+   *
+   * @param name the name of the operation for the failure message
+   * @param budget the most bytes one call may allocate on average
+   * @param warmup how many calls to make before measuring
+   * @param calls how many calls to measure
+   * @param operation the operation to measure, given the index of the call
+   */
+  public static void assertWithinBudget(String name, long budget, int warmup, int calls,
+                                        IntConsumer operation) {
+    double bytes = bytesPerCall(warmup, calls, operation);
+    assertTrue(String.format("%s allocates %.0f bytes per call, over its budget of %d", name,
+            bytes, budget), (long) bytes <= budget);
+  }
+}
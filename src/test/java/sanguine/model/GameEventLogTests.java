@@ -0,0 +1,135 @@
+package sanguine.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Tests for the GameEventLog and StateEvent classes.
+ */
+public class GameEventLogTests {
+
+  private List<Card> deck(Player player) {
+    return TestDecks.deck(player, 15, 5, 3, new Coordinate(1, 0), new Coordinate(0, -1));
+  }
+
+  //plays the first legal card, or passes if there is none, until the game ends
+  private void playOut(SanguineGame game) {
+    while (!game.gameOver()) {
+      Player player = game.getCurrentPlayer();
+      boolean played = false;
+      for (int row = 0; row < game.getNumRows() && !played; row++) {
+        for (int col = 0; col < game.getNumCols() && !played; col++) {
+          Cell cell = game.getCell(row, col);
+          if (cell instanceof PawnCell && cell.getPlayer() == player) {
+            game.playCard(game.getPlayerHand(player).get(0), row, col);
+            played = true;
+          }
+        }
+      }
+      if (!played) {
+        game.pass();
+      }
+    }
+  }
+
+  private void assertSameState(SanguineGame expected, SanguineGame actual) {
+    assertEquals(expected.getBoard().getCells(), actual.getBoard().getCells());
+    for (Player player : Player.values()) {
+      assertEquals(expected.getDeck(player), actual.getDeck(player));
+      assertEquals(expected.getPlayerHand(player), actual.getPlayerHand(player));
+    }
+    assertEquals(expected.getCurrentPlayer(), actual.getCurrentPlayer());
+    assertEquals(expected.getConsecutivePasses(), actual.getConsecutivePasses());
+  }
+
+  // Tests that the deal, draws, plays, passes and turn switches are logged in order.
+  @Test
+  public void testLogsEveryChange() {
+    GameEventLog log = new GameEventLog();
+    SanguineGame game = new SanguineGame(deck(Player.RED), deck(Player.BLUE));
+    game.setEventLog(log);
+    game.startGame(3, 5, 4, false);
+    game.playCard(game.getPlayerHand(Player.RED).get(0), 1, 0);
+    game.pass();
+
+    List<String> events = new ArrayList<>();
+    for (StateEvent event : log.getEvents(0)) {
+      events.add(event.toString());
+    }
+    assertEquals(List.of("DEAL 3x5", "DRAW RED Card4", "PLAY RED Card0 (1, 0)", "TURN BLUE",
+            "DRAW BLUE Card4", "PASS BLUE", "TURN RED", "DRAW RED Card0"), events);
+    assertEquals(11, log.getEvents(0).get(0).getDeck(Player.RED).size());
+  }
+
+  // Tests that every position rebuilds the same with or without snapshots, and the last one
+  // matches the game.
+  @Test
+  public void testRebuildsEveryPosition() {
+    GameEventLog snapshotted = new GameEventLog(3);
+    SanguineGame game = new SanguineGame(deck(Player.RED), deck(Player.BLUE));
+    game.setEventLog(snapshotted);
+    game.startGame(3, 5, 4, true);
+    playOut(game);
+    GameEventLog unsnapshotted = new GameEventLog(Integer.MAX_VALUE);
+    for (StateEvent event : snapshotted.getEvents(0)) {
+      unsnapshotted.append(event, null);
+    }
+
+    for (int count = 1; count <= snapshotted.size(); count++) {
+      assertSameState(unsnapshotted.rebuild(count), snapshotted.rebuild(count));
+    }
+    assertSameState(game, snapshotted.rebuild());
+  }
+
+  // Tests that a snapshot taken between a pass and the turn it switches keeps who passed, so a
+  // pass by the other player still ends the rebuilt game.
+  @Test
+  public void testSnapshotBetweenPassAndTurn() {
+    //the sixth event is blue's pass, before the turn switches to red
+    GameEventLog log = new GameEventLog(6);
+    SanguineGame game = new SanguineGame(deck(Player.RED), deck(Player.BLUE));
+    game.setEventLog(log);
+    game.startGame(3, 5, 4, false);
+    game.playCard(game.getPlayerHand(Player.RED).get(0), 1, 0);
+    game.pass();
+    assertEquals(StateEvent.Kind.PASS, log.getEvents(5).get(0).getKind());
+    game.pass();
+
+    assertTrue(log.rebuild().gameOver());
+    assertSameState(game, log.rebuild());
+  }
+
+  // Tests that playing on a rebuilt game leaves the snapshots it came from unchanged.
+  @Test
+  public void testRebuiltGamesAreDetached() {
+    GameEventLog log = new GameEventLog(2);
+    SanguineGame game = new SanguineGame(deck(Player.RED), deck(Player.BLUE));
+    game.setEventLog(log);
+    game.startGame(3, 5, 4, false);
+    SanguineGame rebuilt = log.rebuild(2);
+    rebuilt.playCard(rebuilt.getPlayerHand(Player.RED).get(0), 0, 0);
+
+    assertSameState(game, log.rebuild(2));
+    assertEquals(2, log.size());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testLogAfterStart() {
+    SanguineGame game = new SanguineGame(deck(Player.RED), deck(Player.BLUE));
+    game.startGame(3, 5, 4, false);
+    game.setEventLog(new GameEventLog());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRebuildBeyondLog() {
+    GameEventLog log = new GameEventLog();
+    SanguineGame game = new SanguineGame(deck(Player.RED), deck(Player.BLUE));
+    game.setEventLog(log);
+    game.startGame(3, 5, 4, false);
+    log.rebuild(log.size() + 1);
+  }
+}
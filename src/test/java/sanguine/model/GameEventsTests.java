@@ -0,0 +1,91 @@
+package sanguine.model;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+/**
+ * Tests for the flight recorder events of the GameEvents class.
+ */
+public class GameEventsTests {
+
+  //runs a task while recording the game events and returns the ones recorded on this thread
+  private List<RecordedEvent> record(Runnable task) throws IOException {
+    Path file = Files.createTempFile("sanguine", ".jfr");
+    try (Recording recording = new Recording()) {
+      for (String name : Arrays.asList("PlayCard", "Pass", "TurnChanged", "GameOver")) {
+        recording.enable("sanguine." + name);
+      }
+      recording.start();
+      task.run();
+      recording.stop();
+      recording.dump(file);
+      List<RecordedEvent> events = new ArrayList<>();
+      for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+        if (event.getThread().getJavaThreadId() == Thread.currentThread().threadId()) {
+          events.add(event);
+        }
+      }
+      return events;
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  private long count(List<RecordedEvent> events, String name) {
+    return events.stream().filter(event -> event.getEventType().getName().equals(name)).count();
+  }
+
+  // Tests that plays, passes, turn changes and the end of a game are recorded with their details.
+  @Test
+  public void testGameRecordsEvents() throws IOException {
+    List<RecordedEvent> events = record(() -> {
+      SanguineModel game = new SanguineGame(TestDecks.plain(Player.RED),
+              TestDecks.plain(Player.BLUE));
+      game.startGame(3, 5, 4, false);
+      game.playCard(game.getPlayerHand(Player.RED).get(0), 0, 0);
+      game.pass();
+      game.pass();
+    });
+
+    assertEquals(1, count(events, "sanguine.PlayCard"));
+    assertEquals(2, count(events, "sanguine.Pass"));
+    assertEquals(3, count(events, "sanguine.TurnChanged"));
+    assertEquals(1, count(events, "sanguine.GameOver"));
+    for (RecordedEvent event : events) {
+      if (event.getEventType().getName().equals("sanguine.PlayCard")) {
+        assertEquals("Card", event.getString("card"));
+        assertEquals(0, event.getInt("row"));
+        //the influence below the top left cell is on the board
+        assertEquals(1, event.getInt("cellsInfluenced"));
+      } else if (event.getEventType().getName().equals("sanguine.GameOver")) {
+        assertEquals("RED", event.getString("winner"));
+        assertEquals(1, event.getInt("redScore"));
+      }
+    }
+  }
+
+  // Tests that moves simulated on a copy of a game are not recorded.
+  @Test
+  public void testCopiesDoNotRecord() throws IOException {
+    SanguineModel game = new SanguineGame(TestDecks.plain(Player.RED),
+            TestDecks.plain(Player.BLUE));
+    game.startGame(3, 5, 4, false);
+    List<RecordedEvent> events = record(() -> {
+      SanguineModel copy = new SanguineGame(game);
+      copy.playCard(copy.getPlayerHand(Player.RED).get(0), 0, 0);
+      copy.pass();
+    });
+
+    assertEquals(0, events.size());
+  }
+}
@@ -0,0 +1,243 @@
+package sanguine.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Tests for the GameJournal class.
+ */
+public class GameJournalTests {
+
+  private List<Card> deck(Player player) {
+    return TestDecks.deck(player, 15, 3, 3, new Coordinate(0, 1), new Coordinate(1, 0));
+  }
+
+  //plays a short game into the journal: a card from each side, then two passes
+  private void playGame(GameJournal journal, long seed) {
+    SanguineGame game = new SanguineGame(deck(Player.RED), deck(Player.BLUE));
+    game.setJournal(journal.newGame(seed, 42, 3, 5, 4));
+    game.startGame(3, 5, 4, false);
+    game.playCard(game.getPlayerHand(Player.RED).get(1), 0, 0);
+    game.playCard(game.getPlayerHand(Player.BLUE).get(0), 2, 4);
+    game.pass();
+    game.pass();
+  }
+
+  // Tests that a finished game is written with its header and one varint per move.
+  @Test
+  public void testGameLayout() throws IOException {
+    Path file = Files.createTempFile("journal", ".sgj");
+    Files.delete(file);
+    try (GameJournal journal = GameJournal.open(file)) {
+      playGame(journal, -7);
+      assertEquals(1, journal.getGames());
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+    GameJournal.checkHeader(buffer);
+    assertEquals(GameJournal.GAME, buffer.get());
+    assertEquals(3, GameJournal.readVarInt(buffer));
+    assertEquals(5, GameJournal.readVarInt(buffer));
+    assertEquals(4, GameJournal.readVarInt(buffer));
+    long zigzag = GameJournal.readVarLong(buffer);
+    assertEquals(-7, zigzag >>> 1 ^ -(zigzag & 1));
+    assertEquals(42, buffer.getLong());
+    assertEquals(GameJournal.FIRST_PLAY + (1 * 3 + 0) * 5 + 0, GameJournal.readVarInt(buffer));
+    assertEquals(GameJournal.FIRST_PLAY + (0 * 3 + 2) * 5 + 4, GameJournal.readVarInt(buffer));
+    assertEquals(GameJournal.PASS, GameJournal.readVarInt(buffer));
+    assertEquals(GameJournal.PASS, GameJournal.readVarInt(buffer));
+    assertEquals(GameJournal.END, GameJournal.readVarInt(buffer));
+    //the final scores of red's 2 in the top row against blue's 1 in the bottom row
+    assertEquals(2, GameJournal.readVarInt(buffer));
+    assertEquals(1, GameJournal.readVarInt(buffer));
+    assertFalse(buffer.hasRemaining());
+    Files.delete(file);
+    Files.delete(GameJournal.commitFile(file));
+  }
+
+  // Tests that games spanning several mapped regions are all kept, that reopening appends, and
+  // that an unfinished game is never written.
+  @Test
+  public void testAppendAcrossRegions() throws IOException {
+    Path file = Files.createTempFile("journal", ".sgj");
+    Files.delete(file);
+    try (GameJournal journal = GameJournal.open(file, 32)) {
+      for (int i = 0; i < 10; i++) {
+        playGame(journal, i);
+      }
+      journal.newGame(99, 42, 3, 5, 4).pass();
+    }
+    try (GameJournal journal = GameJournal.open(file, 32)) {
+      assertEquals(10, journal.getGames());
+      playGame(journal, 10);
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+    GameJournal.checkHeader(buffer);
+    int games = 0;
+    while (GameJournal.skipGame(buffer)) {
+      games++;
+    }
+    assertEquals(11, games);
+    assertFalse(buffer.hasRemaining());
+    Files.delete(file);
+    Files.delete(GameJournal.commitFile(file));
+  }
+
+  // Tests that a game cut short by a crash is dropped when the journal is reopened.
+  @Test
+  public void testReopenDropsCutShortGame() throws IOException {
+    Path file = Files.createTempFile("journal", ".sgj");
+    Files.delete(file);
+    try (GameJournal journal = GameJournal.open(file)) {
+      playGame(journal, 1);
+    }
+    long complete = Files.size(file);
+    //the start of a game whose moves never made it to the disk, then unwritten space
+    Files.write(file, new byte[] {GameJournal.GAME, 3, 5, 4, 2, 0, 0, 0},
+            StandardOpenOption.APPEND);
+
+    try (GameJournal journal = GameJournal.open(file)) {
+      assertEquals(1, journal.getGames());
+      assertEquals(complete, journal.getLength());
+    }
+    assertEquals(complete, Files.size(file));
+    Files.delete(file);
+    Files.delete(GameJournal.commitFile(file));
+  }
+
+  // Tests that a journal without its record is scanned a window at a time, reading a game that
+  // does not fit in a window again and dropping a game cut short at the start of a window.
+  @Test
+  public void testReopenScansInWindows() throws IOException {
+    Path file = Files.createTempFile("journal", ".sgj");
+    Files.delete(file);
+    try (GameJournal journal = GameJournal.open(file)) {
+      for (int i = 0; i < 10; i++) {
+        playGame(journal, i);
+      }
+    }
+    long complete = Files.size(file);
+    Files.write(file, new byte[] {GameJournal.GAME, 3, 5, 4, 2}, StandardOpenOption.APPEND);
+    Files.write(file, new byte[100], StandardOpenOption.APPEND);
+
+    for (long window : new long[] {8, 30, 64}) {
+      Files.delete(GameJournal.commitFile(file));
+      try (GameJournal journal = GameJournal.open(file, 32, window)) {
+        assertEquals(10, journal.getGames());
+        assertEquals(complete, journal.getLength());
+      }
+    }
+    Files.delete(file);
+    Files.delete(GameJournal.commitFile(file));
+  }
+
+  // Tests that reopening starts after the games of the record, counting only the games appended
+  // since it was written, and that a record of another journal is ignored.
+  @Test
+  public void testReopenStartsAtRecordedEnd() throws IOException {
+    Path file = Files.createTempFile("journal", ".sgj");
+    Files.delete(file);
+    Path commitFile = GameJournal.commitFile(file);
+    try (GameJournal journal = GameJournal.open(file)) {
+      for (int i = 0; i < 5; i++) {
+        playGame(journal, i);
+      }
+    }
+    byte[] older = Files.readAllBytes(commitFile);
+    //a first game that can no longer be skipped shows that the recorded games are not scanned
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(new byte[] {'X'}), 5);
+    }
+    try (GameJournal journal = GameJournal.open(file)) {
+      assertEquals(5, journal.getGames());
+      playGame(journal, 5);
+      playGame(journal, 6);
+    }
+    Files.write(commitFile, older);
+    try (GameJournal journal = GameJournal.open(file)) {
+      assertEquals(7, journal.getGames());
+    }
+
+    Path other = Files.createTempFile("journal", ".sgj");
+    Files.delete(other);
+    try (GameJournal journal = GameJournal.open(other)) {
+      for (int i = 0; i < 7; i++) {
+        playGame(journal, 10 + i);
+      }
+    }
+    //the other journal's games end where this one's do, but they are not the same games
+    Files.copy(GameJournal.commitFile(other), commitFile, StandardCopyOption.REPLACE_EXISTING);
+    try (GameJournal journal = GameJournal.open(file)) {
+      //so its record is ignored and the corrupt first game ends the journal
+      assertEquals(0, journal.getGames());
+    }
+    Files.delete(file);
+    Files.delete(commitFile);
+    Files.delete(other);
+    Files.delete(GameJournal.commitFile(other));
+  }
+
+  // Tests that a reader decodes every field and move of the games it reads.
+  @Test
+  public void testReader() throws IOException {
+    Path file = Files.createTempFile("journal", ".sgj");
+    Files.delete(file);
+    try (GameJournal journal = GameJournal.open(file)) {
+      playGame(journal, Long.MIN_VALUE);
+      playGame(journal, 3);
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+    GameJournal.checkHeader(buffer);
+    GameJournal.Reader reader = new GameJournal.Reader(buffer);
+
+    assertTrue(reader.nextGame());
+    assertEquals(Long.MIN_VALUE, reader.getSeed());
+    assertEquals(42, reader.getConfigHash());
+    assertEquals(4, reader.getHandSize());
+    int code = reader.nextMove();
+    assertEquals(1, reader.handIndex(code));
+    assertEquals(0, reader.row(code));
+    assertEquals(0, reader.col(code));
+    code = reader.nextMove();
+    assertEquals(0, reader.handIndex(code));
+    assertEquals(2, reader.row(code));
+    assertEquals(4, reader.col(code));
+    assertEquals(GameJournal.PASS, reader.nextMove());
+    assertEquals(GameJournal.PASS, reader.nextMove());
+    assertEquals(GameJournal.END, reader.nextMove());
+    assertEquals(2, reader.getRedScore());
+    assertEquals(1, reader.getBlueScore());
+
+    assertTrue(reader.nextGame());
+    assertEquals(3, reader.getSeed());
+    while (reader.nextMove() != GameJournal.END) {
+      //the moves are the same as the first game's
+    }
+    assertFalse(reader.nextGame());
+    Files.delete(file);
+    Files.delete(GameJournal.commitFile(file));
+  }
+
+  // Tests that the deck hash is stable and depends on every card.
+  @Test
+  public void testConfigHash() {
+    assertEquals(GameJournal.configHash(deck(Player.RED), deck(Player.BLUE)),
+            GameJournal.configHash(deck(Player.RED), deck(Player.BLUE)));
+    List<Card> changed = deck(Player.BLUE);
+    changed.set(14, new InfluenceCard(Player.BLUE, "Card2", 1, 2,
+            Arrays.asList(new Coordinate(0, 1), new Coordinate(1, 0))));
+    assertTrue(GameJournal.configHash(deck(Player.RED), deck(Player.BLUE))
+            != GameJournal.configHash(deck(Player.RED), changed));
+  }
+}
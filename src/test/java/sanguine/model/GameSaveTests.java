@@ -0,0 +1,178 @@
+package sanguine.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import sanguine.view.ModelListener;
+
+/**
+ * Tests for the GameSave class.
+ */
+public class GameSaveTests {
+  private Path file;
+
+  /**
+   * Picks a save file that does not exist yet.
+   */
+  @Before
+  public void setUp() throws IOException {
+    file = Files.createTempFile("game", ".sgs");
+    Files.delete(file);
+  }
+
+  /**
+   * Deletes the save file.
+   */
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  private List<Card> deck(Player player) {
+    return TestDecks.deck(player, 15, 5, 3, new Coordinate(1, 0), new Coordinate(0, -1));
+  }
+
+  //a game with cards played by both sides and a pass pending
+  private SanguineGame midGame() {
+    SanguineGame game = new SanguineGame(deck(Player.RED), deck(Player.BLUE));
+    game.startGame(3, 5, 4, true);
+    game.playCard(game.getPlayerHand(Player.RED).get(0), 1, 0);
+    game.playCard(game.getPlayerHand(Player.BLUE).get(0), 1, 4);
+    game.pass();
+    return game;
+  }
+
+  private void assertSameState(SanguineGame expected, SanguineGame actual) {
+    assertEquals(expected.getBoard().getCells(), actual.getBoard().getCells());
+    for (Player player : Player.values()) {
+      assertEquals(expected.getDeck(player), actual.getDeck(player));
+      assertEquals(expected.getPlayerHand(player), actual.getPlayerHand(player));
+    }
+    assertEquals(expected.getCurrentPlayer(), actual.getCurrentPlayer());
+    assertEquals(expected.getConsecutivePasses(), actual.getConsecutivePasses());
+  }
+
+  // Tests that a restored game has the same board, decks, hands, turn and pending pass.
+  @Test
+  public void testRestoresFullState() throws IOException {
+    SanguineGame game = midGame();
+    GameSave save = new GameSave(file);
+    save.save(game);
+    SanguineGame restored = new SanguineGame(new ArrayList<>(), new ArrayList<>());
+    save.restore(restored);
+
+    assertSameState(game, restored);
+    //red's pending pass still ends the game if blue passes too
+    restored.pass();
+    assertTrue(restored.gameOver());
+  }
+
+  // Tests that listeners attached before restoring hear the moves played after it.
+  @Test
+  public void testKeepsListeners() throws IOException {
+    GameSave save = new GameSave(file);
+    save.save(midGame());
+    SanguineGame restored = new SanguineGame(new ArrayList<>(), new ArrayList<>());
+    List<Player> turns = new ArrayList<>();
+    restored.setListener(new ModelListener() {
+      @Override
+      public void turnChanged(Player player) {
+        turns.add(player);
+      }
+
+      @Override
+      public void gameOver(Player winner) {
+        // not needed
+      }
+
+      @Override
+      public void errorOccurrence(String reason) {
+        // not needed
+      }
+
+      @Override
+      public void turnPassed(Player player) {
+        // not needed
+      }
+    });
+    save.restore(restored);
+    restored.playCard(restored.getPlayerHand(Player.BLUE).get(0), 0, 4);
+
+    assertEquals(List.of(Player.RED), turns);
+  }
+
+  // Tests that a checkpointed game is saved after every move, including its draw.
+  @Test
+  public void testCheckpointsEveryMove() throws IOException {
+    SanguineGame game = new SanguineGame(deck(Player.RED), deck(Player.BLUE));
+    GameSave save = new GameSave(file);
+    game.setCheckpoint(save);
+    game.startGame(3, 5, 4, false);
+    assertTrue(save.exists());
+    game.playCard(game.getPlayerHand(Player.RED).get(0), 1, 0);
+    game.pass();
+
+    SanguineGame restored = new SanguineGame(new ArrayList<>(), new ArrayList<>());
+    save.restore(restored);
+    assertSameState(game, restored);
+  }
+
+  // Tests that the save is deleted when the checkpointed game ends, so it is not restored again.
+  @Test
+  public void testDeletesSaveOfFinishedGame() {
+    SanguineGame game = new SanguineGame(deck(Player.RED), deck(Player.BLUE));
+    GameSave save = new GameSave(file);
+    game.setCheckpoint(save);
+    game.startGame(3, 5, 4, false);
+    game.pass();
+    assertTrue(save.exists());
+    game.pass();
+
+    assertTrue(game.gameOver());
+    assertFalse(save.exists());
+  }
+
+  // Tests that a save with a changed byte fails its checksum.
+  @Test(expected = IOException.class)
+  public void testRejectsCorruptSave() throws IOException {
+    GameSave save = new GameSave(file);
+    save.save(midGame());
+    byte[] bytes = Files.readAllBytes(file);
+    bytes[bytes.length / 2] ^= 1;
+    Files.write(file, bytes);
+    save.restore(new SanguineGame(new ArrayList<>(), new ArrayList<>()));
+  }
+
+  // Tests that a save of another version is refused.
+  @Test
+  public void testRejectsOtherVersion() throws IOException {
+    GameSave save = new GameSave(file);
+    save.save(midGame());
+    byte[] bytes = Files.readAllBytes(file);
+    bytes[Integer.BYTES] = GameSave.VERSION + 1;
+    Files.write(file, bytes);
+    try {
+      save.restore(new SanguineGame(new ArrayList<>(), new ArrayList<>()));
+      fail("restored another version");
+    } catch (IOException e) {
+      assertEquals("Unsupported save version " + (GameSave.VERSION + 1), e.getMessage());
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testRestoreIntoStartedGame() throws IOException {
+    GameSave save = new GameSave(file);
+    save.save(midGame());
+    save.restore(midGame());
+  }
+}
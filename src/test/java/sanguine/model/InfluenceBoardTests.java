@@ -153,5 +153,22 @@ public class InfluenceBoardTests {
     assertEquals(2, board.getRowScore(0, Player.RED));
     assertEquals(3, board.getRowScore(0, Player.BLUE));
   }
-}
 
+  @Test
+  public void testCopiedBoardIsIndependent() {
+    List<Coordinate> influences = new ArrayList<>();
+    influences.add(new Coordinate(1, 0));
+    Card card = new InfluenceCard(Player.RED, "Card1", 1, 2, influences);
+    Board copy = new InfluenceBoard(board.getCells());
+
+    copy.playCard(card, 0, 0);
+    assertEquals(2, copy.getRowScore(0, Player.RED));
+    assertEquals(0, board.getRowScore(0, Player.RED));
+    assertTrue(board.getCell(0, 0) instanceof PawnCell);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCopyEmptyCells() {
+    new InfluenceBoard(new ArrayList<>());
+  }
+}
@@ -0,0 +1,149 @@
+package sanguine.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.Test;
+
+/**
+ * Tests for the MetricsRegistry and LatencyHistogram classes.
+ */
+public class MetricsRegistryTests {
+
+  // Tests that every value falls into a bucket whose range contains it and that the buckets
+  // follow each other without gaps.
+  @Test
+  public void testBucketsCoverEveryValue() {
+    for (long value = 0; value < 100_000; value++) {
+      int index = LatencyHistogram.index(value);
+      assertTrue(value <= LatencyHistogram.highestValue(index));
+      assertTrue(index == 0 || value > LatencyHistogram.highestValue(index - 1));
+    }
+    long top = Long.MAX_VALUE;
+    assertEquals(top, LatencyHistogram.highestValue(LatencyHistogram.index(top)));
+  }
+
+  // Tests that percentiles are within one bucket of the exact value.
+  @Test
+  public void testPercentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long value = 1; value <= 10_000; value++) {
+      histogram.record(value * 1000);
+    }
+    assertEquals(10_000, histogram.getCount());
+    assertEquals(5_000_500, histogram.getMean(), 0.001);
+    assertEquals(10_000_000, histogram.getMax());
+    long median = histogram.getValueAtPercentile(50);
+    assertTrue(median >= 5_000_000 && median <= 5_000_000 * 17 / 16);
+    long p99 = histogram.getValueAtPercentile(99);
+    assertTrue(p99 >= 9_900_000 && p99 <= 9_900_000 * 17 / 16);
+    assertEquals(10_000_000, histogram.getValueAtPercentile(100));
+  }
+
+  // Tests that an empty histogram reports zeros and rejects percentiles outside 0 to 100.
+  @Test(expected = IllegalArgumentException.class)
+  public void testEmptyHistogram() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(0, histogram.getValueAtPercentile(99));
+    assertEquals(0, histogram.getMean(), 0);
+    histogram.getValueAtPercentile(101);
+  }
+
+  // Tests that counters and histograms are shared by name and keep counting across threads.
+  @Test
+  public void testConcurrentRecording() throws InterruptedException {
+    MetricsRegistry registry = new MetricsRegistry();
+    assertSame(registry.counter("a"), registry.counter("a"));
+    assertSame(registry.histogram("b"), registry.histogram("b"));
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      Thread thread = new Thread(() -> {
+        for (int j = 0; j < 10_000; j++) {
+          registry.counter("a").increment();
+          registry.histogram("b").record(j);
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(40_000, registry.counter("a").sum());
+    assertEquals(40_000, registry.histogram("b").getCount());
+  }
+
+  // Tests the text and JSON reports and that resetting keeps the metrics registered.
+  @Test
+  public void testReports() {
+    MetricsRegistry registry = new MetricsRegistry();
+    LongAdder counter = registry.counter("z.count");
+    counter.add(3);
+    registry.histogram("a.latency").record(2000);
+    assertEquals("{\"counters\":{\"z.count\":3},\"histograms\":{\"a.latency\":{\"count\":1,"
+            + "\"mean\":2000,\"p50\":2000,\"p90\":2000,\"p99\":2000,\"max\":2000}}}",
+            registry.toJson());
+    assertTrue(registry.report().contains("z.count"));
+    assertTrue(registry.report().contains("max=2.0us"));
+
+    registry.reset();
+    counter.increment();
+    assertEquals(1, registry.counter("z.count").sum());
+    assertEquals(0, registry.histogram("a.latency").getCount());
+  }
+
+  //the moves, passes, rejected moves and timed plays counted by games so far
+  private long[] gameMetrics() {
+    MetricsRegistry global = MetricsRegistry.global();
+    return new long[] {global.counter(MetricsRegistry.MOVES).sum(),
+        global.counter(MetricsRegistry.PASSES).sum(),
+        global.counter(MetricsRegistry.INVALID_MOVES).sum(),
+        global.histogram(MetricsRegistry.PLAY_CARD).getCount()};
+  }
+
+  //plays a card, passes and tries a card on a cell that is not influenced
+  private void playMoves(SanguineModel game) {
+    game.playCard(game.getPlayerHand(Player.RED).get(0), 0, 0);
+    game.pass();
+    try {
+      game.playCard(game.getPlayerHand(Player.RED).get(0), 1, 2);
+    } catch (IllegalArgumentException e) {
+      //expected, the cell is not influenced
+    }
+  }
+
+  // Tests that a game counts the cards played, passes and rejected moves into the global
+  // registry.
+  @Test
+  public void testGameRecordsMoves() {
+    SanguineModel game = new SanguineGame(TestDecks.plain(Player.RED),
+            TestDecks.plain(Player.BLUE));
+    game.startGame(3, 5, 4, false);
+    long[] before = gameMetrics();
+    playMoves(game);
+
+    //other tests may play at the same time, so only lower bounds are certain
+    long[] after = gameMetrics();
+    for (int i = 0; i < before.length; i++) {
+      assertTrue(after[i] >= before[i] + 1);
+    }
+  }
+
+  // Tests that the copies strategies simulate moves on are not counted.
+  @Test
+  public void testCopiesRecordNothing() {
+    SanguineModel game = new SanguineGame(TestDecks.plain(Player.RED),
+            TestDecks.plain(Player.BLUE));
+    game.startGame(3, 5, 4, false);
+    SanguineGame copy = new SanguineGame(game);
+    long[] before = gameMetrics();
+    playMoves(copy);
+
+    assertArrayEquals(before, gameMetrics());
+  }
+}
@@ -0,0 +1,79 @@
+package sanguine.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Tests for the PositionHash class.
+ */
+public class PositionHashTests {
+
+  private List<Card> deck(Player player, String name, Coordinate... influences) {
+    return TestDecks.deck(player, name, 1, 15, influences);
+  }
+
+  //plays the first card of the player to move at the given cell
+  private void play(SanguineModel game, int row, int col) {
+    game.playCard(game.getPlayerHand(game.getCurrentPlayer()).get(0), row, col);
+  }
+
+  // Tests that a position and its mirror image share a canonical key but not a full key.
+  @Test
+  public void testMirroredPositionsShareCanonicalKey() {
+    List<Card> blue = deck(Player.BLUE, "Wall", new Coordinate(0, 1), new Coordinate(0, -1));
+    SanguineModel up = new SanguineGame(deck(Player.RED, "Up", new Coordinate(0, -1)), blue);
+    SanguineModel down = new SanguineGame(deck(Player.RED, "Down", new Coordinate(0, 1)),
+            new ArrayList<>(blue));
+    up.startGame(3, 5, 4, false);
+    down.startGame(3, 5, 4, false);
+
+    play(up, 2, 0);
+    play(down, 0, 0);
+    play(up, 1, 4);
+    play(down, 1, 4);
+
+    assertNotEquals(PositionHash.of(up), PositionHash.of(down));
+    assertEquals(PositionHash.canonicalOf(up, 40), PositionHash.canonicalOf(down, 40));
+    assertEquals(PositionHash.orientedOf(up, 40, false), PositionHash.orientedOf(down, 40, true));
+  }
+
+  // Tests that a card whose pattern is symmetric from top to bottom keys the same both ways,
+  // whatever order its pattern is listed in.
+  @Test
+  public void testSymmetricCardClassCode() {
+    Card wall = new InfluenceCard(Player.RED, "Wall", 1, 1,
+            Arrays.asList(new Coordinate(0, 1), new Coordinate(0, -1)));
+    Card listedBackwards = new InfluenceCard(Player.RED, "Other", 1, 1,
+            Arrays.asList(new Coordinate(0, -1), new Coordinate(0, 1)));
+    Card up = new InfluenceCard(Player.RED, "Up", 1, 1, Arrays.asList(new Coordinate(0, -1)));
+    Card down = new InfluenceCard(Player.RED, "Down", 1, 1, Arrays.asList(new Coordinate(0, 1)));
+
+    assertEquals(PositionHash.classCode(wall, false), PositionHash.classCode(wall, true));
+    assertEquals(PositionHash.classCode(wall, false),
+            PositionHash.classCode(listedBackwards, false));
+    assertEquals(PositionHash.classCode(up, true), PositionHash.classCode(down, false));
+    assertNotEquals(PositionHash.classCode(up, false), PositionHash.classCode(down, false));
+  }
+
+  // Tests that playing symmetric cards in mirrored rows folds into one canonical position.
+  @Test
+  public void testSymmetricCardsInMirroredRows() {
+    List<Card> red = deck(Player.RED, "Wall", new Coordinate(0, 1), new Coordinate(0, -1));
+    List<Card> blue = deck(Player.BLUE, "Wall", new Coordinate(0, 1), new Coordinate(0, -1));
+    SanguineModel top = new SanguineGame(red, blue);
+    SanguineModel bottom = new SanguineGame(new ArrayList<>(red), new ArrayList<>(blue));
+    top.startGame(3, 5, 4, false);
+    bottom.startGame(3, 5, 4, false);
+
+    play(top, 0, 0);
+    play(bottom, 2, 0);
+
+    assertNotEquals(PositionHash.of(top), PositionHash.of(bottom));
+    assertEquals(PositionHash.canonicalOf(top, 40), PositionHash.canonicalOf(bottom, 40));
+  }
+}
@@ -240,4 +240,35 @@ public class SanguineModelTests {
     assertEquals(3, game.getNumRows());
     assertEquals(5, game.getNumCols());
   }
+
+  @Test
+  public void testCopiedGameIsDetached() {
+    game.startGame(3, 5, 5, false);
+    game.pass();
+    SanguineModel copy = new SanguineGame(game);
+    assertEquals(Player.BLUE, copy.getCurrentPlayer());
+    assertEquals(1, copy.getConsecutivePasses());
+
+    copy.playCard(copy.getPlayerHand(Player.BLUE).get(0), 0, 4);
+    assertEquals(1, copy.getTotalScore(Player.BLUE));
+    assertEquals(0, game.getTotalScore(Player.BLUE));
+    assertEquals(Player.BLUE, game.getCurrentPlayer());
+    assertEquals(game.getPlayerHand(Player.BLUE).size(),
+            copy.getPlayerHand(Player.BLUE).size() + 1);
+  }
+
+  @Test
+  public void testCopiedGameEndsOnNextPass() {
+    game.startGame(3, 5, 5, false);
+    game.pass();
+    SanguineModel copy = new SanguineGame(game);
+    copy.pass();
+    assertTrue(copy.gameOver());
+    assertFalse(game.gameOver());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCopyUnstartedGame() {
+    new SanguineGame(game);
+  }
 }
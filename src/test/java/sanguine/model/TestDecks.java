@@ -0,0 +1,109 @@
+package sanguine.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decks of influence cards and positions shared by the tests of the model and the controllers.
+ */
+public final class TestDecks {
+
+  private TestDecks() {
+  }
+
+  /**
+   * Creates a deck of cards that cost 1 and cycle through names and values: the card at index
+   * i is named "Card" followed by i modulo the number of names, and its value is 1 more than i
+   * modulo the number of values.
+   *
+   * @param player the owner of the cards
+   * @param size the number of cards
+   * @param names how many different names the cards cycle through
+   * @param values how many different values the cards cycle through
+   * @param influences the cells every card influences, relative to the card
+   * @return the deck
+   */
+  public static List<Card> deck(Player player, int size, int names, int values,
+                                Coordinate... influences) {
+    List<Card> deck = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      deck.add(new InfluenceCard(player, "Card" + i % names, 1, 1 + i % values,
+              Arrays.asList(influences)));
+    }
+    return deck;
+  }
+
+  /**
+   * Creates a deck of identical cards that cost 1.
+   *
+   * @param player the owner of the cards
+   * @param name the name of every card
+   * @param value the value of every card
+   * @param size the number of cards
+   * @param influences the cells every card influences, relative to the card
+   * @return the deck
+   */
+  public static List<Card> deck(Player player, String name, int value, int size,
+                                Coordinate... influences) {
+    List<Card> deck = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      deck.add(new InfluenceCard(player, name, 1, value, Arrays.asList(influences)));
+    }
+    return deck;
+  }
+
+  /**
+   * Creates the deck of the 3x3 games the tournament, rating, replay and archive tests play: 12
+   * cards cycling through 4 names and 4 values that influence the cells to their right and below.
+   *
+   * @param player the owner of the cards
+   * @return the deck
+   */
+  public static List<Card> small(Player player) {
+    return deck(player, 12, 4, 4, new Coordinate(1, 0), new Coordinate(0, 1));
+  }
+
+  /**
+   * Creates a deck of 15 identical cards named "Card" of value 1 that influence the cell below,
+   * for tests that count what happens to the game rather than how it is played.
+   *
+   * @param player the owner of the cards
+   * @return the deck
+   */
+  public static List<Card> plain(Player player) {
+    return deck(player, "Card", 1, 15, new Coordinate(0, 1));
+  }
+
+  /**
+   * Creates a deck of 9 identical cards that influence the cell to their right, for the endgame
+   * positions of the solver, tablebase and ponderer tests.
+   *
+   * @param player the owner of the cards
+   * @param name the name of every card
+   * @param value the value of every card
+   * @return the deck
+   */
+  public static List<Card> endgame(Player player, String name, int value) {
+    return deck(player, name, value, 9, new Coordinate(1, 0));
+  }
+
+  /**
+   * Creates a game on a 5x7 board with a card played in each of the three middle rows by both
+   * players, from decks of 35 cards that each influence three cells.
+   *
+   * @return the game, with red to move
+   */
+  public static SanguineGame midGame() {
+    Coordinate[] influences = {new Coordinate(0, 1), new Coordinate(0, -1),
+        new Coordinate(1, 0)};
+    SanguineGame game = new SanguineGame(deck(Player.RED, 35, 5, 3, influences),
+            deck(Player.BLUE, 35, 5, 3, influences));
+    game.startGame(5, 7, 5, false);
+    for (int row = 1; row < 4; row++) {
+      game.playCard(game.getPlayerHand(Player.RED).get(0), row, 0);
+      game.playCard(game.getPlayerHand(Player.BLUE).get(0), row, 6);
+    }
+    return game;
+  }
+}